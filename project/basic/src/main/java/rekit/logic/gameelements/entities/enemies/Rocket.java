@@ -93,7 +93,7 @@ public final class Rocket extends Enemy implements Configurable {
 	public Rocket(Vec startPos) {
 		super(startPos, new Vec(), new Vec(1.8f, 0.5f));
 		this.direction = Direction.LEFT;
-		this.paricleTimer = new Timer((long) (1000 * Rocket.PARTICLE_SPAWN_TIME));
+		this.paricleTimer = new Timer((long) (1000 * Rocket.PARTICLE_SPAWN_TIME), this::getClock);
 		this.currentSpeed = this.initialSpeed; 
 	}
 
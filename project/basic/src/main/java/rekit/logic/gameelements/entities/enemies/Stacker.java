@@ -11,7 +11,6 @@ import org.fuchss.configuration.annotations.SetterInfo;
 import net.jafama.FastMath;
 import rekit.config.GameConf;
 import rekit.core.GameGrid;
-import rekit.core.GameTime;
 import rekit.logic.gameelements.GameElement;
 import rekit.logic.gameelements.entities.Player;
 import rekit.logic.gameelements.type.Enemy;
@@ -132,7 +131,7 @@ public final class Stacker extends Enemy implements Configurable {
 
 		@Override
 		protected void innerLogicLoop() {
-			this.setPos(Stacker.this.getPos().add(this.relPos).addX((float) (0.1 * FastMath.sin(0.1 * GameTime.getTime() / 30 + this.offset))));
+			this.setPos(Stacker.this.getPos().add(this.relPos).addX((float) (0.1 * FastMath.sin(0.1 * this.getClock().getTime() / 30 + this.offset))));
 
 			if (this.timeToDie != null) {
 				this.timeToDie.logicLoop();
@@ -180,7 +179,7 @@ public final class Stacker extends Enemy implements Configurable {
 		 */
 		private void customDie() {
 			if (this.offset == Stacker.this.highestOffset) {
-				this.timeToDie = new Timer((long) (1000 * Stacker.DIE_ANIMATION_TIME));
+				this.timeToDie = new Timer((long) (1000 * Stacker.DIE_ANIMATION_TIME), Stacker.this::getClock);
 				Stacker.this.highestOffset--;
 			}
 		}
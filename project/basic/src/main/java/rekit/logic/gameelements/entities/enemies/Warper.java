@@ -37,7 +37,7 @@ public final class Warper extends Enemy implements Configurable {
 	 * The time between the next jump (to next position).
 	 */
 	@NoSet
-	private final Timer warpAction = new Timer((long) (1000 * Warper.WARPER_WARP_DELTA));
+	private final Timer warpAction = new Timer((long) (1000 * Warper.WARPER_WARP_DELTA), this::getClock);
 
 	/**
 	 * The particles of the warper.
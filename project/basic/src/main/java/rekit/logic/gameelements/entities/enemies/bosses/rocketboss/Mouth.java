@@ -17,12 +17,13 @@ public class Mouth {
 	private Vec pos;
 	private Vec size;
 
-	private Timer mouthCurveTimer = new Timer(50);
+	private Timer mouthCurveTimer;
 	private Vec mouthCurvePos;
 	private List<Vec> mouthCurve = new LinkedList<>();
 
 	public Mouth(RocketBoss parent, Vec pos, Vec size) {
 		this.parent = parent;
+		this.mouthCurveTimer = new Timer(50, parent::getClock);
 		this.pos = pos;
 		this.size = size;
 	}
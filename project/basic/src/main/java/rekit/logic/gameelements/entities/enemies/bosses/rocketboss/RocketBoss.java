@@ -254,14 +254,14 @@ public class RocketBoss extends Boss implements Configurable {
 	public RocketBoss(Vec startPos) {
 		super(startPos, new Vec(), RocketBoss.HEAD_SIZE);
 		this.startPos = startPos;
-		this.machine = new TimeStateMachine(new State3());
+		this.machine = new TimeStateMachine(new State3(), this::getClock);
 		this.mouth = new Mouth(this, RocketBoss.MOUTH_POS, RocketBoss.MOUTH_SIZE);
 		this.setLives(RocketBoss.LIVES);
 		this.arms = new LinkedList<Arm>();
 
 		this.moveToNextPosition(0);
 
-		this.particleTimer = new Timer(RocketBoss.JET_SPARK_SPAWN_DELTA);
+		this.particleTimer = new Timer(RocketBoss.JET_SPARK_SPAWN_DELTA, this::getClock);
 
 		for (int i = 0; i < RocketBoss.ARM_POSITIONS.length; ++i) {
 			float[] shapeSettings = RocketBoss.ARM_SHAPE_SETTINGS[i];
@@ -304,10 +304,10 @@ public class RocketBoss extends Boss implements Configurable {
 
 		this.nextPosProgress = new OpProgress<Vec>(oldPosition, newPosition);
 
-		this.nextPosTimer = new Timer((long) (RocketBoss.NEXT_POS_DURATION / this.getState().getTimeFactor()));
+		this.nextPosTimer = new Timer((long) (RocketBoss.NEXT_POS_DURATION / this.getState().getTimeFactor()), this::getClock);
 		this.positionId = i;
 
-		this.particleTimer = new Timer((long) (RocketBoss.JET_SPARK_SPAWN_DELTA / this.getState().getTimeFactor()));
+		this.particleTimer = new Timer((long) (RocketBoss.JET_SPARK_SPAWN_DELTA / this.getState().getTimeFactor()), this::getClock);
 	}
 
 	public void moveToNextPosition() {
@@ -40,7 +40,7 @@ public class Arm extends RocketBossChild {
 
 		this.actionProgressThreshold = actionProgressThreshold;
 
-		this.machine = new TimeStateMachine(new ArmIdleState(this));
+		this.machine = new TimeStateMachine(new ArmIdleState(this), this.parent::getClock);
 	}
 
 	public void nextArmAction() {
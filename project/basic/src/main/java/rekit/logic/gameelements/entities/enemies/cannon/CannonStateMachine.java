@@ -23,7 +23,7 @@ public class CannonStateMachine extends TimeStateMachine {
 
 	/**
 	 * Constructor that extends the {@link TimeStateMachine TimeStateMachines}
-	 * {@link TimeStateMachine#TimeStateMachine(rekit.util.state.State)
+	 * {@link TimeStateMachine#TimeStateMachine(rekit.util.state.State, java.util.function.Supplier)
 	 * constructor} by also saving the reference to a given parenting
 	 * {@link Cannon}.
 	 *
@@ -33,7 +33,7 @@ public class CannonStateMachine extends TimeStateMachine {
 	 *            the initial {@link CannonState}.
 	 */
 	public CannonStateMachine(Cannon parentCannon, CannonState initialState) {
-		super(initialState);
+		super(initialState, parentCannon::getClock);
 
 		// set reference to Cannon
 		initialState.setCannon(parentCannon);
@@ -173,7 +173,7 @@ public final class Piston extends Enemy implements Configurable, IPistonForState
 		this.calcTimeTransition = (long) Piston.TRANSITION_TIME.getNow(timeTransition);
 
 		// Create TimeStateMachine for opening/closing behavior.
-		this.machine = new TimeStateMachine(new OpenState(this));
+		this.machine = new TimeStateMachine(new OpenState(this), this::getClock);
 
 		// go to the right start phase
 		for (int i = 0; i < startPhaseId % 4; i++) {
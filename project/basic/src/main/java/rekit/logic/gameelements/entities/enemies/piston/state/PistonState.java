@@ -22,7 +22,7 @@ public abstract class PistonState extends State {
 	 */
 	public PistonState(IPistonForState piston) {
 		this.piston = piston;
-		this.timer = new Timer(this.getTimerTime());
+		this.timer = new Timer(this.getTimerTime(), this::getClock);
 	}
 
 	/**
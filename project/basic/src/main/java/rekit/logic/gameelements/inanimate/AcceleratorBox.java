@@ -6,7 +6,6 @@ import org.fuchss.configuration.annotations.SetterInfo;
 
 import rekit.config.GameConf;
 import rekit.core.GameGrid;
-import rekit.core.GameTime;
 import rekit.core.Team;
 import rekit.logic.gameelements.GameElement;
 import rekit.logic.gameelements.entities.Player;
@@ -155,10 +154,12 @@ public final class AcceleratorBox extends DynamicInanimate implements Configurab
 	private static long WARM_UP_TIME;
 
 	/**
-	 * The last time when {@link #logicLoop(float)} was invoked.
+	 * The time when {@link #logicLoop(float)} was invoked first (measured by
+	 * the clock of the scene, {@link Long#MIN_VALUE} before the first
+	 * invocation).
 	 */
 	@NoSet
-	private long lastTime = GameTime.getTime();
+	private long lastTime = Long.MIN_VALUE;
 
 	/**
 	 * The timer for the warmUp of the aiming.
@@ -264,7 +265,7 @@ public final class AcceleratorBox extends DynamicInanimate implements Configurab
 		this.getScene().getPlayer().getEntityState().floorCollision();
 
 		// Initialize warmUp timer
-		this.warmUp = new Timer(AcceleratorBox.WARM_UP_TIME);
+		this.warmUp = new Timer(AcceleratorBox.WARM_UP_TIME, this::getClock);
 
 		this.playerCaught = true;
 
@@ -299,6 +300,9 @@ public final class AcceleratorBox extends DynamicInanimate implements Configurab
 
 	@Override
 	public void logicLoop() {
+		if (this.lastTime == Long.MIN_VALUE) {
+			this.lastTime = this.getClock().getTime();
+		}
 		if (this.warmUp != null) {
 			this.warmUp.logicLoop();
 		}
@@ -308,7 +312,7 @@ public final class AcceleratorBox extends DynamicInanimate implements Configurab
 		if (this.playerCaught) {
 			// if aiming is already activated:
 			if (this.warmUp != null && this.warmUp.timeUp()) {
-				long deltaTime = GameTime.getTime() - this.lastTime;
+				long deltaTime = this.getClock().getTime() - this.lastTime;
 				Vec vel = player.getVel();
 
 				if (!player.getEntityState().canJump()) { // JUMP
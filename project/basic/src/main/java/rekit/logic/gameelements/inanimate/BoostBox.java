@@ -5,7 +5,6 @@ import org.fuchss.configuration.annotations.NoSet;
 import org.fuchss.configuration.annotations.SetterInfo;
 
 import rekit.core.GameGrid;
-import rekit.core.GameTime;
 import rekit.core.Team;
 import rekit.logic.gameelements.GameElement;
 import rekit.logic.gameelements.entities.Player;
@@ -91,16 +90,19 @@ public final class BoostBox extends DynamicInanimate implements Configurable {
 	}
 
 	/**
-	 * The last time when {@link #logicLoop(float)} was invoked.
+	 * The last time when {@link #logicLoop(float)} was invoked (measured by
+	 * the clock of the scene, {@link Long#MIN_VALUE} before the first
+	 * invocation).
 	 */
 	@NoSet
-	private long lastTime = GameTime.getTime();
+	private long lastTime = Long.MIN_VALUE;
 
 	@Override
 	public void logicLoop() {
 		// Get new strategy from strategy map
-		long deltaTime = GameTime.getTime() - this.lastTime;
-		this.lastTime += deltaTime;
+		long now = this.getClock().getTime();
+		long deltaTime = this.lastTime == Long.MIN_VALUE ? 0 : now - this.lastTime;
+		this.lastTime = now;
 		this.offset += deltaTime;
 
         this.sparkling = this.offset > BoostBox.PERIOD - 750;
@@ -96,7 +96,7 @@ public final class ClimbUpBox extends DynamicInanimate implements Configurable {
 	// instantiate the two strategies
 	this.strategies = new ClimbBoxStrategy[] { new NoClimb(), new BoostClimb() };
 
-	this.timer = new Timer(ClimbUpBox.PERIOD);
+	this.timer = new Timer(ClimbUpBox.PERIOD, this::getClock);
 	this.timer.offset(offset);
 
     }
@@ -2,7 +2,6 @@ package rekit.logic.gameelements.inanimate;
 
 import rekit.config.GameConf;
 import rekit.core.GameGrid;
-import rekit.core.GameTime;
 import rekit.logic.gameelements.GameElement;
 import rekit.logic.gameelements.entities.Player;
 import rekit.logic.gameelements.particles.ParticleSpawner;
@@ -60,9 +59,10 @@ public final class MovingBox extends DynamicInanimate {
 	 */
 	private float sizeX16;
 	/**
-	 * The last time of invoking {@link #logicLoop()}.
+	 * The last time of invoking {@link #logicLoop()} (measured by the clock of
+	 * the scene, {@link Long#MIN_VALUE} before the first invocation).
 	 */
-	private long lastTime = GameTime.getTime();
+	private long lastTime = Long.MIN_VALUE;
 	/**
 	 * The particle spawner.
 	 */
@@ -119,7 +119,7 @@ public final class MovingBox extends DynamicInanimate {
 
 		// initialize movement timer
 		long period = (long) (dist / (2 * MovingBox.SPEED) * 1000);
-		this.timer = new Timer(period);
+		this.timer = new Timer(period, this::getClock);
 		if (offset) {
 			this.timer.offset(period / 2);
 			// this.timer.removeTime();
@@ -135,8 +135,9 @@ public final class MovingBox extends DynamicInanimate {
 
 	@Override
 	public void logicLoop() {
-		long deltaTime = GameTime.getTime() - this.lastTime;
-		this.lastTime += deltaTime;
+		long now = this.getClock().getTime();
+		long deltaTime = this.lastTime == Long.MIN_VALUE ? 0 : now - this.lastTime;
+		this.lastTime = now;
 		this.timer.logicLoop();
 		// this.timer.removeTime(deltaTime);
 		this.setPos(this.currentStart.add(this.relativeTarget.scalar(this.timer.getProgress())));
@@ -4,7 +4,6 @@ import java.util.HashMap;
 import java.util.Map;
 
 import rekit.core.GameGrid;
-import rekit.core.GameTime;
 import rekit.logic.gameelements.GameElement;
 import rekit.logic.gameelements.type.DynamicInanimate;
 import rekit.primitives.geometry.Direction;
@@ -75,7 +74,7 @@ public final class ToggleBox extends DynamicInanimate {
 	@Override
 	public void logicLoop() {
 		// Get new strategy from strategy map
-		this.currentStrategy = this.strategies.get((GameTime.getTime() + this.offset) % ToggleBox.PERIOD < ToggleBox.PERIOD / 2);
+		this.currentStrategy = this.strategies.get((this.getClock().getTime() + this.offset) % ToggleBox.PERIOD < ToggleBox.PERIOD / 2);
 	}
 
 	@Override
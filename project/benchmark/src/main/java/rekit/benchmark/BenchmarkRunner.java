@@ -0,0 +1,65 @@
+package rekit.benchmark;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks. All JMH command line options are supported
+ * (e.g. a regex to select benchmarks or {@code -p population=1000}). Unless
+ * specified otherwise, the results will be written as JSON to
+ * {@value #DEFAULT_RESULT}.
+ *
+ */
+public final class BenchmarkRunner {
+	/**
+	 * The default result file.
+	 */
+	public static final String DEFAULT_RESULT = "jmh-result.json";
+
+	/**
+	 * Prevent instantiation.
+	 */
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * Run the benchmarks.
+	 *
+	 * @param args
+	 *            the JMH command line options
+	 * @throws RunnerException
+	 *             if a benchmark fails
+	 * @throws IOException
+	 *             if a listing cannot be printed
+	 */
+	public static void main(String[] args) throws RunnerException, IOException {
+		CommandLineOptions cli;
+		try {
+			cli = new CommandLineOptions(args);
+		} catch (CommandLineOptionException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+			return;
+		}
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+		if (!cli.getResultFormat().hasValue()) {
+			options.resultFormat(ResultFormatType.JSON);
+		}
+		if (!cli.getResult().hasValue()) {
+			options.result(BenchmarkRunner.DEFAULT_RESULT);
+		}
+		if (!cli.shouldHelp() && !cli.shouldList() && !cli.shouldListProfilers() && !cli.shouldListResultFormats()) {
+			new Runner(options.build()).run();
+			return;
+		}
+		// help and listings are handled by the default entry point
+		org.openjdk.jmh.Main.main(args);
+	}
+}
@@ -0,0 +1,112 @@
+package rekit.benchmark;
+
+import java.util.Random;
+
+import rekit.config.GameConf;
+import rekit.core.Team;
+import rekit.logic.GameModel;
+import rekit.logic.gameelements.GameElement;
+import rekit.logic.level.LevelFactory;
+import rekit.logic.scene.LevelScene;
+import rekit.persistence.level.LevelManager;
+import rekit.primitives.geometry.Vec;
+
+/**
+ * A {@link LevelScene} of the infinite level which exposes its internals to
+ * the benchmarks.
+ *
+ */
+public final class BenchmarkScene extends LevelScene {
+	/**
+	 * Indicates whether added elements shall be dropped instead of queued.
+	 */
+	private boolean discardAdded;
+	/**
+	 * The amount of elements which have been passed to
+	 * {@link #addGameElement(GameElement)}.
+	 */
+	private long added;
+
+	/**
+	 * Create and initialize a new scene.
+	 *
+	 * @param model
+	 *            the model
+	 */
+	public BenchmarkScene(GameModel model) {
+		super(model, LevelFactory.createLevel(LevelManager.getInfiniteLevel()));
+		this.init();
+		this.start();
+	}
+
+	@Override
+	public void addGameElement(GameElement element) {
+		this.added++;
+		if (!this.discardAdded) {
+			super.addGameElement(element);
+		}
+	}
+
+	/**
+	 * Set whether added elements shall be dropped instead of queued (e.g. for
+	 * benchmarking the generation of structures only).
+	 *
+	 * @param discardAdded
+	 *            {@code true} to drop added elements
+	 */
+	public void setDiscardAdded(boolean discardAdded) {
+		this.discardAdded = discardAdded;
+	}
+
+	/**
+	 * Get the amount of elements which have been passed to
+	 * {@link #addGameElement(GameElement)}.
+	 *
+	 * @return the amount of added elements
+	 */
+	public long getAdded() {
+		return this.added;
+	}
+
+	/**
+	 * Add a synthetic population and let it enter the scene. The elements are
+	 * spread over a region of about four elements per unit column starting at
+	 * the camera.
+	 *
+	 * @param amount
+	 *            the amount of elements
+	 * @param moving
+	 *            indicates whether the elements shall move
+	 * @param seed
+	 *            the seed of the population
+	 */
+	public void populate(int amount, boolean moving, long seed) {
+		Random random = new Random(seed);
+		float width = Math.max(GameConf.GRID_W, amount / 4f);
+		for (int i = 0; i < amount; i++) {
+			float p = random.nextFloat();
+			Team team = p < 0.6f ? Team.ENEMY : p < 0.8f ? Team.PICKUP : Team.INANIMATE;
+			Vec pos = new Vec(random.nextFloat() * width, 1 + random.nextFloat() * (GameConf.GRID_H - 3));
+			Vec vel = moving ? new Vec(random.nextFloat() * 4 - 2, random.nextFloat() * 4 - 2) : new Vec();
+			Vec size = new Vec(0.4f + random.nextFloat() * 0.6f);
+			this.addGameElement(new SyntheticElement(pos, vel, size, team, width));
+		}
+		this.tick();
+	}
+
+	/**
+	 * Advance the clock by {@link GameConf#LOGIC_DELTA} and perform one
+	 * {@link #logicLoop()}.
+	 */
+	public void tick() {
+		this.getClock().advance(GameConf.LOGIC_DELTA * 1_000_000L);
+		this.logicLoop();
+	}
+
+	/**
+	 * Perform the collision detection of one tick.
+	 */
+	public void collide() {
+		this.checkCollisions();
+	}
+}
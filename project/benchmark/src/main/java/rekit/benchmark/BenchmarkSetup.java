@@ -0,0 +1,46 @@
+package rekit.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import rekit.Main;
+import rekit.core.VirtualClock;
+import rekit.logic.gameelements.GameElementFactory;
+import rekit.persistence.level.LevelManager;
+
+/**
+ * This class prepares the game for benchmarking without any view or
+ * controller: all configs will be applied, levels and prototypes will be
+ * loaded. Every {@link rekit.logic.GameModel} of a benchmark keeps its time by
+ * a {@link VirtualClock} which will be advanced by the ticks of the scene.
+ *
+ */
+public final class BenchmarkSetup {
+	/**
+	 * Indicates whether {@link #init()} has been invoked.
+	 */
+	private static boolean initialized = false;
+
+	/**
+	 * Prevent instantiation.
+	 */
+	private BenchmarkSetup() {
+	}
+
+	/**
+	 * Prepare the game (only once per JVM).
+	 */
+	public static synchronized void init() {
+		if (BenchmarkSetup.initialized) {
+			return;
+		}
+		if (System.getProperty("java.awt.headless") == null) {
+			System.setProperty("java.awt.headless", "true");
+		}
+		Configurator.setRootLevel(Level.FATAL);
+		Main.applyAllConfigs();
+		LevelManager.init();
+		GameElementFactory.initializeNow();
+		BenchmarkSetup.initialized = true;
+	}
+}
@@ -0,0 +1,68 @@
+package rekit.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rekit.config.GameConf;
+import rekit.logic.GameModel;
+
+/**
+ * Benchmark of the collision detection of a level scene
+ * ({@link rekit.logic.scene.LevelScene#checkCollisions()}) with a static
+ * synthetic population.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+	/**
+	 * The amount of synthetic elements.
+	 */
+	@Param({ "100", "1000", "10000" })
+	public int population;
+	/**
+	 * Whether the spatial hash shall be used.
+	 */
+	@Param({ "true", "false" })
+	public boolean spatial;
+
+	/**
+	 * The scene.
+	 */
+	private BenchmarkScene scene;
+
+	/**
+	 * Create the scene and its population.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		BenchmarkSetup.init();
+		GameConf.SPATIAL_COLLISIONS = this.spatial;
+		this.scene = new BenchmarkScene(new GameModel());
+		this.scene.populate(this.population, false, 42);
+	}
+
+	/**
+	 * Check all collisions once.
+	 */
+	@Benchmark
+	public void checkCollisions() {
+		this.scene.collide();
+	}
+}
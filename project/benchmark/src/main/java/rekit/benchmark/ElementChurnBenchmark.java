@@ -0,0 +1,205 @@
+package rekit.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rekit.config.GameConf;
+import rekit.core.Team;
+import rekit.logic.GameModel;
+import rekit.logic.gameelements.GameElement;
+import rekit.primitives.geometry.Vec;
+
+/**
+ * Benchmark of adding and removing elements to / from a level scene
+ * ({@link rekit.logic.scene.Scene#addGameElement(GameElement)} and
+ * {@link rekit.logic.scene.Scene#markForRemove(GameElement)}).
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementChurnBenchmark {
+
+	/**
+	 * Create static elements which are spread over the teams (and therefore
+	 * over multiple z-layers) with about four elements per unit column.
+	 *
+	 * @param amount
+	 *            the amount of elements
+	 * @return the elements
+	 */
+	private static GameElement[] createElements(int amount) {
+		Random random = new Random(42);
+		Team[] teams = { Team.ENEMY, Team.PICKUP, Team.INANIMATE, Team.EFFECT };
+		float width = Math.max(GameConf.GRID_W, amount / 4f);
+		GameElement[] elements = new GameElement[amount];
+		for (int i = 0; i < amount; i++) {
+			Vec pos = new Vec(random.nextFloat() * width, 1 + random.nextFloat() * (GameConf.GRID_H - 3));
+			elements[i] = new SyntheticElement(pos, new Vec(), new Vec(0.5f), teams[i % teams.length], width);
+		}
+		return elements;
+	}
+
+	/**
+	 * The state of {@link ElementChurnBenchmark#burst(Burst)}.
+	 *
+	 */
+	@State(Scope.Thread)
+	public static class Burst {
+		/**
+		 * The amount of elements of a burst.
+		 */
+		@Param({ "100", "1000", "10000" })
+		public int amount;
+		/**
+		 * The scene.
+		 */
+		private BenchmarkScene scene;
+		/**
+		 * The elements.
+		 */
+		private GameElement[] elements;
+
+		/**
+		 * Create the scene and the elements.
+		 */
+		@Setup(Level.Trial)
+		public void setup() {
+			BenchmarkSetup.init();
+			this.scene = new BenchmarkScene(new GameModel());
+			this.elements = ElementChurnBenchmark.createElements(this.amount);
+		}
+	}
+
+	/**
+	 * Add a burst of elements, let them enter the scene, remove all of them
+	 * and let them leave the scene (e.g. a particle burst expiring).
+	 *
+	 * @param state
+	 *            the state
+	 * @return the amount of elements after the ticks
+	 */
+	@Benchmark
+	public int burst(Burst state) {
+		for (GameElement element : state.elements) {
+			state.scene.addGameElement(element);
+		}
+		state.scene.tick();
+		for (GameElement element : state.elements) {
+			state.scene.markForRemove(element);
+		}
+		state.scene.tick();
+		return state.scene.getGameElementCount();
+	}
+
+	/**
+	 * The shared state of the {@code concurrent} group.
+	 *
+	 */
+	@State(Scope.Group)
+	public static class Shared {
+		/**
+		 * The scene.
+		 */
+		private BenchmarkScene scene;
+		/**
+		 * The amount of finished ticks.
+		 */
+		private volatile long ticks;
+
+		/**
+		 * Create the scene.
+		 */
+		@Setup(Level.Trial)
+		public void setup() {
+			BenchmarkSetup.init();
+			this.scene = new BenchmarkScene(new GameModel());
+		}
+	}
+
+	/**
+	 * The elements of one producer of the {@code concurrent} group.
+	 *
+	 */
+	@State(Scope.Thread)
+	public static class Producer {
+		/**
+		 * The elements.
+		 */
+		private GameElement[] elements;
+		/**
+		 * The last tick in which the elements have been offered.
+		 */
+		private long offeredIn = -1;
+
+		/**
+		 * Create the elements.
+		 */
+		@Setup(Level.Trial)
+		public void setup() {
+			this.elements = ElementChurnBenchmark.createElements(64);
+		}
+	}
+
+	/**
+	 * Add and remove the elements of a producer from a foreign thread (e.g. a
+	 * timer). The elements will be offered at most once per tick, so the
+	 * queues cannot grow without bounds.
+	 *
+	 * @param shared
+	 *            the shared state
+	 * @param producer
+	 *            the producer state
+	 * @return the amount of offered elements
+	 */
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(3)
+	public int produce(Shared shared, Producer producer) {
+		long tick = shared.ticks;
+		if (producer.offeredIn == tick) {
+			return 0;
+		}
+		producer.offeredIn = tick;
+		for (GameElement element : producer.elements) {
+			shared.scene.addGameElement(element);
+		}
+		for (GameElement element : producer.elements) {
+			shared.scene.markForRemove(element);
+		}
+		return producer.elements.length;
+	}
+
+	/**
+	 * Drain the queues by ticking the scene.
+	 *
+	 * @param shared
+	 *            the shared state
+	 * @return the amount of elements after the tick
+	 */
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(1)
+	public int drain(Shared shared) {
+		shared.scene.tick();
+		shared.ticks++;
+		return shared.scene.getGameElementCount();
+	}
+}
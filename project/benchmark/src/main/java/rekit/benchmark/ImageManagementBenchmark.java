@@ -0,0 +1,80 @@
+package rekit.benchmark;
+
+import java.awt.Image;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rekit.gui.ImageManagement;
+import rekit.primitives.image.AbstractImage;
+
+/**
+ * Benchmark of the conversions of {@link ImageManagement}.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageManagementBenchmark {
+	/**
+	 * The image (relative to "/images/").
+	 */
+	@Param({ "icon.png", "rocketBoss/head_0.png" })
+	public String image;
+	/**
+	 * Whether the image shall be mirrored.
+	 */
+	@Param({ "false", "true" })
+	public boolean mirror;
+
+	/**
+	 * The converted image.
+	 */
+	private AbstractImage abstractImage;
+
+	/**
+	 * Load the image.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		BenchmarkSetup.init();
+		this.abstractImage = ImageManagement.getAsAbstractImage(this.image, this.mirror, false);
+		if (this.abstractImage == null) {
+			throw new IllegalStateException("Image not found: " + this.image);
+		}
+	}
+
+	/**
+	 * Convert a (cached) image to an {@link AbstractImage}.
+	 *
+	 * @return the converted image
+	 */
+	@Benchmark
+	public AbstractImage getAsAbstractImage() {
+		return ImageManagement.getAsAbstractImage(this.image, this.mirror, false);
+	}
+
+	/**
+	 * Convert an {@link AbstractImage} to an {@link Image}.
+	 *
+	 * @return the converted image
+	 */
+	@Benchmark
+	public Image toImage() {
+		return ImageManagement.toImage(this.abstractImage);
+	}
+}
@@ -0,0 +1,99 @@
+package rekit.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rekit.persistence.level.LevelDefinition;
+import rekit.persistence.level.LevelType;
+import rekit.persistence.level.parser.Token;
+import rekit.persistence.level.parser.TokenType;
+import rekit.persistence.level.parser.Tokenizer;
+
+/**
+ * Benchmark of the {@link rekit.persistence.level.LevelParser LevelParser}
+ * and the {@link Tokenizer} on the shipped level files.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelParserBenchmark {
+	/**
+	 * The level file (relative to "/levels/").
+	 */
+	@Param({ "infinite.dat", "1_Land_of_Smashin/level_1.dat", "2_Secret_Factory/level_6.dat", "3_Debug/level1.dat" })
+	public String level;
+
+	/**
+	 * The content of the level file.
+	 */
+	private String input;
+	/**
+	 * The raw bytes of the level file.
+	 */
+	private byte[] bytes;
+
+	/**
+	 * Load the level file.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be read
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		try (InputStream in = LevelParserBenchmark.class.getResourceAsStream("/levels/" + this.level)) {
+			if (in == null) {
+				throw new IOException("Level not found: " + this.level);
+			}
+			this.bytes = in.readAllBytes();
+		}
+		this.input = new String(this.bytes, Charset.defaultCharset());
+	}
+
+	/**
+	 * Parse the level into a new definition
+	 * ({@link rekit.persistence.level.LevelParser#parseLevel(String, LevelDefinition)}).
+	 *
+	 * @return the definition
+	 */
+	@Benchmark
+	public LevelDefinition parseLevel() {
+		return new LevelDefinition(new ByteArrayInputStream(this.bytes), LevelType.Arcade);
+	}
+
+	/**
+	 * Split the level into tokens.
+	 *
+	 * @return the amount of tokens
+	 */
+	@Benchmark
+	public int tokenize() {
+		Tokenizer tokenizer = new Tokenizer(this.input);
+		int tokens = 0;
+		Token token;
+		do {
+			token = tokenizer.nextToken();
+			tokens++;
+		} while (token.getType() != TokenType.EOS);
+		return tokens;
+	}
+}
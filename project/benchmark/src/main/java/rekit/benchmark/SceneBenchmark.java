@@ -0,0 +1,76 @@
+package rekit.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rekit.config.GameConf;
+import rekit.logic.GameModel;
+
+/**
+ * Benchmark of one logic tick ({@link rekit.logic.scene.Scene#logicLoop()})
+ * of a level scene with a synthetic population of moving elements.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SceneBenchmark {
+	/**
+	 * The amount of synthetic elements.
+	 */
+	@Param({ "100", "1000", "10000" })
+	public int population;
+	/**
+	 * Whether the spatial hash shall be used for collisions.
+	 */
+	@Param({ "true", "false" })
+	public boolean spatial;
+	/**
+	 * Whether the elements shall be updated in parallel.
+	 */
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	/**
+	 * The scene.
+	 */
+	private BenchmarkScene scene;
+
+	/**
+	 * Create the scene and its population.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		BenchmarkSetup.init();
+		GameConf.SPATIAL_COLLISIONS = this.spatial;
+		GameConf.PARALLEL_UPDATE = this.parallel;
+		this.scene = new BenchmarkScene(new GameModel());
+		this.scene.populate(this.population, true, 42);
+	}
+
+	/**
+	 * Perform one tick.
+	 *
+	 * @return the amount of elements after the tick
+	 */
+	@Benchmark
+	public int innerLogicLoop() {
+		this.scene.tick();
+		return this.scene.getGameElementCount();
+	}
+}
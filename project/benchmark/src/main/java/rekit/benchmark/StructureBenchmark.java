@@ -0,0 +1,92 @@
+package rekit.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rekit.logic.GameModel;
+import rekit.logic.gameelements.GameElementFactory;
+import rekit.logic.level.Structure;
+import rekit.persistence.level.LevelDefinition;
+
+/**
+ * Benchmark of the level generation ({@link Structure#build(int)} and
+ * {@link rekit.logic.level.StructurePart#generate(int)}) of the infinite
+ * level. The generated elements will be dropped.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StructureBenchmark {
+	/**
+	 * The amount of units to generate.
+	 */
+	@Param({ "100", "1000" })
+	public int units;
+
+	/**
+	 * The scene.
+	 */
+	private BenchmarkScene scene;
+	/**
+	 * All structures of the infinite level.
+	 */
+	private Structure[] structures;
+
+	/**
+	 * Create the scene and the structures.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		BenchmarkSetup.init();
+		this.scene = new BenchmarkScene(new GameModel());
+		this.scene.setDiscardAdded(true);
+		GameElementFactory.setScene(this.scene);
+		LevelDefinition definition = this.scene.getLevel().getDefinition();
+		this.structures = new Structure[definition.amountOfStructures()];
+		for (int i = 0; i < this.structures.length; i++) {
+			this.structures[i] = new Structure(definition, definition.getStructure(i));
+		}
+	}
+
+	/**
+	 * Build all structures of the level side by side.
+	 *
+	 * @return the width of all structures
+	 */
+	@Benchmark
+	public int build() {
+		int x = 0;
+		for (Structure structure : this.structures) {
+			x += structure.build(x);
+		}
+		return x;
+	}
+
+	/**
+	 * Reset the level and generate {@link #units} units.
+	 *
+	 * @return the amount of generated elements so far
+	 */
+	@Benchmark
+	public long generate() {
+		this.scene.getLevel().reset();
+		this.scene.getLevel().getSp().generate(this.units);
+		return this.scene.getAdded();
+	}
+}
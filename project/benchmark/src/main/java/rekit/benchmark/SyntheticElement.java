@@ -0,0 +1,59 @@
+package rekit.benchmark;
+
+import rekit.config.GameConf;
+import rekit.core.Team;
+import rekit.logic.gameelements.GameElement;
+import rekit.primitives.geometry.Direction;
+import rekit.primitives.geometry.Vec;
+
+/**
+ * A {@link GameElement} which moves in a fixed region and bounces at its
+ * borders. It ignores collisions, so a population of these elements stays
+ * stable over time.
+ *
+ */
+final class SyntheticElement extends GameElement {
+	/**
+	 * The width of the region.
+	 */
+	private final float width;
+
+	/**
+	 * Create a new element.
+	 *
+	 * @param startPos
+	 *            the start position
+	 * @param vel
+	 *            the velocity (units per second)
+	 * @param size
+	 *            the size
+	 * @param team
+	 *            the team
+	 * @param width
+	 *            the width of the region (starting at zero)
+	 */
+	SyntheticElement(Vec startPos, Vec vel, Vec size, Team team, float width) {
+		super(startPos, vel, size, team);
+		this.width = width;
+	}
+
+	@Override
+	public void logicLoop() {
+		super.logicLoop();
+		Vec vel = this.getVel();
+		Vec pos = this.getPos().add(vel.scalar(this.deltaTime / 1000F));
+		if (pos.x < 0 || pos.x > this.width) {
+			vel = vel.scalar(-1, 1);
+		}
+		if (pos.y < 1 || pos.y > GameConf.GRID_H - 2) {
+			vel = vel.scalar(1, -1);
+		}
+		this.setVel(vel);
+		this.setPos(pos);
+	}
+
+	@Override
+	public void reactToCollision(GameElement element, Direction dir) {
+		// keep the population stable
+	}
+}
@@ -0,0 +1,240 @@
+package rekit.gui;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rekit.benchmark.BenchmarkSetup;
+import rekit.config.GameConf;
+import rekit.core.GameGrid;
+import rekit.logic.filters.Filter;
+import rekit.logic.filters.GrayScaleMode;
+import rekit.logic.filters.InvertedMode;
+import rekit.primitives.TextOptions;
+import rekit.primitives.geometry.Polygon;
+import rekit.primitives.geometry.Vec;
+import rekit.primitives.image.RGBAColor;
+
+/**
+ * Benchmark of the drawing primitives of {@link GameGridImpl} into an
+ * offscreen {@link BufferedImage} and of {@link RasterGameGrid} (the baseline
+ * without Java2D). Each invocation draws {@link #BATCH} primitives.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameGridBenchmark {
+	/**
+	 * The amount of primitives per invocation.
+	 */
+	public static final int BATCH = 100;
+
+	/**
+	 * The filter: {@code none}, {@code inverted} (pixel filter) or
+	 * {@code grayscale} (image filter).
+	 */
+	@Param({ "none", "inverted", "grayscale" })
+	public String filter;
+	/**
+	 * The backend: {@code java2d} ({@link GameGridImpl}) or {@code raster}
+	 * ({@link RasterGameGrid}).
+	 */
+	@Param({ "java2d", "raster" })
+	public String backend;
+
+	/**
+	 * The target image.
+	 */
+	private BufferedImage image;
+	/**
+	 * The graphics of {@link #image}.
+	 */
+	private Graphics2D graphics;
+	/**
+	 * The grid of the {@code java2d} backend.
+	 */
+	private GameGridImpl java2d;
+	/**
+	 * The grid of the {@code raster} backend.
+	 */
+	private RasterGameGrid raster;
+	/**
+	 * The grid of the current backend.
+	 */
+	private GameGrid grid;
+	/**
+	 * The positions of the primitives (in units).
+	 */
+	private Vec[] positions;
+	/**
+	 * The colors of the primitives.
+	 */
+	private RGBAColor[] colors;
+	/**
+	 * The size of the primitives (in units).
+	 */
+	private Vec size;
+	/**
+	 * The polygon to draw.
+	 */
+	private Polygon polygon;
+	/**
+	 * The options for texts.
+	 */
+	private TextOptions text;
+
+	/**
+	 * Create the grid and the primitives.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		BenchmarkSetup.init();
+		this.image = new BufferedImage(GameConf.PIXEL_W, GameConf.PIXEL_H, BufferedImage.TYPE_INT_ARGB);
+		this.graphics = this.image.createGraphics();
+		Filter current;
+		switch (this.filter) {
+		case "inverted":
+			current = new InvertedMode();
+			break;
+		case "grayscale":
+			current = new GrayScaleMode();
+			break;
+		default:
+			current = null;
+			break;
+		}
+		if ("raster".equals(this.backend)) {
+			this.raster = new RasterGameGrid();
+			this.raster.setFilter(current);
+			this.grid = this.raster;
+		} else {
+			this.java2d = new GameGridImpl();
+			this.java2d.setGraphics(this.graphics);
+			this.java2d.setFilter(current);
+			this.grid = this.java2d;
+		}
+		this.grid.setCurrentOffset(0);
+
+		Random random = new Random(42);
+		this.positions = new Vec[GameGridBenchmark.BATCH];
+		this.colors = new RGBAColor[GameGridBenchmark.BATCH];
+		for (int i = 0; i < GameGridBenchmark.BATCH; i++) {
+			this.positions[i] = new Vec(random.nextFloat() * GameConf.GRID_W, random.nextFloat() * GameConf.GRID_H);
+			this.colors[i] = new RGBAColor(random.nextInt(256), random.nextInt(256), random.nextInt(256), 128 + random.nextInt(128));
+		}
+		this.size = new Vec(0.8f);
+		this.polygon = new Polygon(new Vec(), new Vec[] { new Vec(0.5f, -1), new Vec(1, 0), new Vec(0.5f, 0.5f), new Vec() });
+		this.text = new TextOptions(new Vec(-0.5f, -0.5f), 20, GameConf.GAME_TEXT_COLOR, GameConf.GAME_TEXT_FONT, 0);
+	}
+
+	/**
+	 * Release the graphics.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.graphics.dispose();
+	}
+
+	/**
+	 * Fill the background.
+	 */
+	@Benchmark
+	public void setBackground() {
+		if (this.raster != null) {
+			this.raster.setBackground(this.colors[0]);
+		} else {
+			this.java2d.setBackground(this.colors[0]);
+		}
+	}
+
+	/**
+	 * Draw rectangles.
+	 */
+	@Benchmark
+	public void drawRectangle() {
+		for (int i = 0; i < GameGridBenchmark.BATCH; i++) {
+			this.grid.drawRectangle(this.positions[i], this.size, this.colors[i], true, true);
+		}
+	}
+
+	/**
+	 * Draw circles.
+	 */
+	@Benchmark
+	public void drawCircle() {
+		for (int i = 0; i < GameGridBenchmark.BATCH; i++) {
+			this.grid.drawCircle(this.positions[i], this.size, this.colors[i], true, true);
+		}
+	}
+
+	/**
+	 * Draw rounded rectangles.
+	 */
+	@Benchmark
+	public void drawRoundRectangle() {
+		for (int i = 0; i < GameGridBenchmark.BATCH; i++) {
+			this.grid.drawRoundRectangle(this.positions[i], this.size, this.colors[i], 0.2f, 0.2f, true, true);
+		}
+	}
+
+	/**
+	 * Draw lines.
+	 */
+	@Benchmark
+	public void drawLine() {
+		for (int i = 0; i < GameGridBenchmark.BATCH; i++) {
+			this.grid.drawLine(this.positions[i], this.positions[(i + 1) % GameGridBenchmark.BATCH], 2, this.colors[i], true, true);
+		}
+	}
+
+	/**
+	 * Draw filled polygons.
+	 */
+	@Benchmark
+	public void drawPolygon() {
+		for (int i = 0; i < GameGridBenchmark.BATCH; i++) {
+			Polygon moved = this.polygon.clone();
+			moved.moveTo(this.positions[i]);
+			this.grid.drawPolygon(moved, this.colors[i], true, true);
+		}
+	}
+
+	/**
+	 * Draw images.
+	 */
+	@Benchmark
+	public void drawImage() {
+		for (int i = 0; i < GameGridBenchmark.BATCH; i++) {
+			this.grid.drawImage(this.positions[i], this.size, "icon.png", true, true, (i & 1) != 0, false);
+		}
+	}
+
+	/**
+	 * Draw texts.
+	 */
+	@Benchmark
+	public void drawText() {
+		for (int i = 0; i < GameGridBenchmark.BATCH; i++) {
+			this.grid.drawText(this.positions[i], "Score: " + i, this.text, true);
+		}
+	}
+}
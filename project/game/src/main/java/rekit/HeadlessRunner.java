@@ -0,0 +1,238 @@
+package rekit;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import rekit.config.GameConf;
+import rekit.core.VirtualClock;
+import rekit.logic.GameModel;
+import rekit.logic.ILevelScene;
+import rekit.logic.IScene;
+import rekit.logic.gameelements.GameElementFactory;
+import rekit.logic.gameelements.GameElementPool;
+import rekit.logic.gameelements.entities.Player;
+import rekit.logic.scene.Scenes;
+import rekit.persistence.level.LevelManager;
+
+/**
+ * Headless entry point which simulates a {@link Scenes scene} without any
+ * view or controller and reports the throughput of the logic. <br>
+ * Arguments (all optional, {@code key=value}):
+ * <ul>
+ * <li>{@code scene} the {@link Scenes} entry (default:
+ * {@link Scenes#INFINITE_FUN})</li>
+ * <li>{@code options} the comma separated options of the scene (e.g. the
+ * arcade level id)</li>
+ * <li>{@code ticks} the amount of measured ticks (default: 10000)</li>
+ * <li>{@code warmup} the amount of ticks before measuring (default: 1000)</li>
+ * <li>{@code rate} the ticks per second, {@code 0} for as fast as possible
+ * (default: 0)</li>
+ * <li>{@code walk} whether the player shall keep walking right (default:
+ * {@code true})</li>
+ * <li>{@code parallel} whether the elements shall be updated in parallel (see
+ * {@link GameConf#PARALLEL_UPDATE}, default: {@code false})</li>
+ * </ul>
+ * The simulated time is kept by a {@link VirtualClock} which always advances
+ * by {@link GameConf#LOGIC_DELTA} per tick, independent of the real time (so
+ * minutes of play can be simulated in seconds). Ended levels will be
+ * restarted.
+ *
+ */
+public final class HeadlessRunner {
+	/**
+	 * The scene to simulate.
+	 */
+	private Scenes type = Scenes.INFINITE_FUN;
+	/**
+	 * The options of the scene.
+	 */
+	private String[] options = new String[0];
+	/**
+	 * The amount of measured ticks.
+	 */
+	private int ticks = 10000;
+	/**
+	 * The amount of ticks before measuring.
+	 */
+	private int warmup = 1000;
+	/**
+	 * The ticks per second ({@code 0} for as fast as possible).
+	 */
+	private int rate = 0;
+	/**
+	 * Indicates whether the player shall keep walking right.
+	 */
+	private boolean walk = true;
+	/**
+	 * Indicates whether the elements shall be updated in parallel.
+	 */
+	private boolean parallel = false;
+
+	/**
+	 * The model.
+	 */
+	private GameModel model;
+	/**
+	 * The amount of restarted levels.
+	 */
+	private int restarts;
+
+	/**
+	 * Prevent instantiation from outside.
+	 */
+	private HeadlessRunner() {
+	}
+
+	/**
+	 * Run the simulation.
+	 *
+	 * @param args
+	 *            the arguments (see {@link HeadlessRunner})
+	 */
+	public static void main(String[] args) {
+		if (System.getProperty("java.awt.headless") == null) {
+			System.setProperty("java.awt.headless", "true");
+		}
+		Thread.currentThread().setName("Headless");
+		HeadlessRunner runner = new HeadlessRunner();
+		if (!runner.parse(args)) {
+			System.err.println("Usage: HeadlessRunner [scene=" + Arrays.toString(Scenes.values())
+					+ "] [options=a,b] [ticks=10000] [warmup=1000] [rate=0] [walk=true] [parallel=false]");
+			System.exit(1);
+		}
+		Configurator.setRootLevel(Level.FATAL);
+		Main.applyAllConfigs();
+		LevelManager.init();
+		GameElementFactory.initializeNow();
+		runner.run();
+	}
+
+	/**
+	 * Parse the arguments.
+	 *
+	 * @param args
+	 *            the arguments
+	 * @return {@code true} if successful, {@code false} otherwise
+	 */
+	private boolean parse(String[] args) {
+		try {
+			for (String arg : args) {
+				String[] kv = arg.split("=", 2);
+				if (kv.length != 2) {
+					return false;
+				}
+				switch (kv[0]) {
+				case "scene":
+					this.type = Scenes.valueOf(kv[1].toUpperCase(Locale.ROOT));
+					break;
+				case "options":
+					this.options = kv[1].isEmpty() ? new String[0] : kv[1].split(",");
+					break;
+				case "ticks":
+					this.ticks = Integer.parseInt(kv[1]);
+					break;
+				case "warmup":
+					this.warmup = Integer.parseInt(kv[1]);
+					break;
+				case "rate":
+					this.rate = Integer.parseInt(kv[1]);
+					break;
+				case "walk":
+					this.walk = Boolean.parseBoolean(kv[1]);
+					break;
+				case "parallel":
+					this.parallel = Boolean.parseBoolean(kv[1]);
+					break;
+				default:
+					return false;
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+		return this.ticks > 0 && this.warmup >= 0 && this.rate >= 0;
+	}
+
+	/**
+	 * Simulate and print the report.
+	 */
+	private void run() {
+		GameConf.PARALLEL_UPDATE = this.parallel;
+		this.model = new GameModel(new VirtualClock());
+		this.model.switchScene(this.type, this.options);
+		if (this.model.getScene() == null) {
+			System.err.println("Cannot create scene " + this.type);
+			System.exit(1);
+		}
+
+		for (int i = 0; i < this.warmup; i++) {
+			this.tick();
+		}
+
+		long[] durations = new long[this.ticks];
+		int peakElements = 0;
+		long simulated = this.model.getClock().getNanoTime();
+		long period = this.rate == 0 ? 0 : 1_000_000_000L / this.rate;
+		long start = System.nanoTime();
+		long next = start;
+		for (int i = 0; i < this.ticks; i++) {
+			if (period != 0) {
+				next += period;
+			}
+			long before = System.nanoTime();
+			this.tick();
+			long after = System.nanoTime();
+			durations[i] = after - before;
+			peakElements = Math.max(peakElements, this.model.getScene().getGameElementCount());
+			if (period != 0 && next > after) {
+				LockSupport.parkNanos(next - after);
+			}
+		}
+		long total = System.nanoTime() - start;
+		simulated = this.model.getClock().getNanoTime() - simulated;
+
+		Arrays.sort(durations);
+		long sum = 0;
+		for (long duration : durations) {
+			sum += duration;
+		}
+		int p99 = Math.max(0, (int) Math.ceil(0.99 * durations.length) - 1);
+
+		System.out.println("Scene:          " + this.type + (this.options.length == 0 ? "" : " " + Arrays.toString(this.options)));
+		System.out.println("Ticks:          " + this.ticks + " (warmup " + this.warmup + ", " + (this.rate == 0 ? "unbounded" : this.rate + "/s") + ")");
+		System.out.println(String.format(Locale.ROOT, "Ticks/s:        %.1f", this.ticks / (total / 1E9)));
+		System.out.println(String.format(Locale.ROOT, "Simulated:      %.1f s in %.1f s (%.1fx real time)", simulated / 1E9, total / 1E9, simulated / (double) total));
+		System.out.println(String.format(Locale.ROOT, "Mean tick:      %.3f ms", sum / (double) durations.length / 1E6));
+		System.out.println(String.format(Locale.ROOT, "p99 tick:       %.3f ms", durations[p99] / 1E6));
+		System.out.println(String.format(Locale.ROOT, "Max tick:       %.3f ms", durations[durations.length - 1] / 1E6));
+		System.out.println("Peak elements:  " + peakElements);
+		System.out.println("Update:         " + (this.parallel ? "parallel" : "serial"));
+		System.out.println("Restarts:       " + this.restarts);
+		for (GameElementPool.Statistics pool : GameElementPool.getStatistics()) {
+			System.out.println("Pool:           " + pool);
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * Perform one tick of the current scene (see {@link GameModel#step()}).
+	 */
+	private void tick() {
+		IScene scene = this.model.getScene();
+		if (scene.isLevelScene()) {
+			ILevelScene level = (ILevelScene) scene;
+			if (level.hasEnded()) {
+				this.restarts++;
+				this.model.switchScene(this.type, this.options);
+			} else if (this.walk) {
+				Player player = level.getPlayer();
+				player.setVel(player.getVel().setX(Player.WALK_MAX_SPEED));
+			}
+		}
+		this.model.step();
+	}
+}
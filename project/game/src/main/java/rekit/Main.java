@@ -1,5 +1,7 @@
 package rekit;
 
+import java.nio.file.Paths;
+
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.fuchss.configuration.Configurable;
@@ -15,6 +17,7 @@ import rekit.persistence.ModManager;
 import rekit.persistence.level.LevelManager;
 import rekit.util.ReflectUtils;
 import rekit.util.ThreadUtils;
+import rekit.util.profile.ProfileExporter;
 
 /**
  * Game class that instantiates all necessary classes that are required for a
@@ -42,6 +45,9 @@ public final class Main {
 		GameConf.GAME_LOGGER.debug(ModManager.SYSLOADER.getClass().getSimpleName() + " (Sysloader loaded.)");
 		Main.applyAllConfigs();
 		LevelManager.init();
+		if (GameConf.PROFILE_EXPORT != null) {
+			ProfileExporter.start(Paths.get(GameConf.PROFILE_EXPORT), 1000);
+		}
 
 		// Create MVC
 		// Set References:
@@ -77,7 +83,7 @@ public final class Main {
 	/**
 	 * Visit all Classes which shall be visited.
 	 */
-	private static void applyAllConfigs() {
+	public static void applyAllConfigs() {
 		ResourceBundleSetter setter = new ResourceBundleSetter(ModManager.SYSLOADER);
 		Main.applyAllConfigs(setter);
 	}
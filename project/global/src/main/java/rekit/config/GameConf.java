@@ -63,6 +63,101 @@ public final class GameConf implements Configurable {
 	@NoSet
 	public static boolean CONTINUOUS_ATTACK = false;
 
+	/**
+	 * Indicates whether collisions shall be detected by a spatial hash (broad
+	 * phase) instead of checking all pairs of elements.
+	 */
+	@NoSet
+	public static boolean SPATIAL_COLLISIONS = true;
+
+	/**
+	 * Indicates whether poolable game elements shall be recycled instead of
+	 * being created for every use.
+	 */
+	@NoSet
+	public static boolean ELEMENT_POOLING = true;
+
+	/**
+	 * Indicates whether game elements shall be updated in parallel. Effects
+	 * on other elements or the scene will be deferred until all elements have
+	 * been updated.
+	 */
+	@NoSet
+	public static boolean PARALLEL_UPDATE = false;
+
+	/**
+	 * Indicates whether only game elements which may be visible to the camera
+	 * shall be rendered.
+	 */
+	@NoSet
+	public static boolean VIEW_CULLING = true;
+
+	/**
+	 * Indicates whether the static terrain in view shall be rendered as
+	 * chunks which can be cached as images (requires
+	 * {@link GameConf#VIEW_CULLING}).
+	 */
+	@NoSet
+	public static boolean TERRAIN_CHUNKS = true;
+
+	/**
+	 * Indicates whether filters which can be applied pixel per pixel shall be
+	 * applied once to the whole rendered frame instead of every single draw.
+	 */
+	@NoSet
+	public static boolean POST_PROCESS_FILTERS = true;
+
+	/**
+	 * Indicates whether images shall be drawn via volatile images which can
+	 * be kept in video memory by the graphics pipeline.
+	 */
+	@NoSet
+	public static boolean VOLATILE_SPRITES = true;
+
+	/**
+	 * Indicates whether frames shall be split into horizontal strips which
+	 * will be rendered in parallel (see {@link GameConf#RENDER_THREADS}).
+	 */
+	@NoSet
+	public static boolean TILED_RENDERING = false;
+
+	/**
+	 * Indicates whether the strips of frames shall be rasterized in pure Java
+	 * instead of Java2D (requires {@link GameConf#TILED_RENDERING}).
+	 */
+	@NoSet
+	public static boolean RASTER_RENDERING = false;
+
+	/**
+	 * Indicates whether frames shall be rendered as fast as possible instead
+	 * of every {@link GameConf#RENDER_DELTA} ms.
+	 */
+	@NoSet
+	public static boolean UNCAPPED_FRAMES = false;
+
+	/**
+	 * Indicates whether the interval between frames shall be stretched to
+	 * the cost of the recent frames if they take longer than
+	 * {@link GameConf#RENDER_DELTA} ms.
+	 */
+	@NoSet
+	public static boolean ADAPTIVE_FRAMES = false;
+
+	/**
+	 * Indicates whether the phases of ticks and frames shall be measured per
+	 * class (see {@link rekit.util.profile.Profiler}).
+	 */
+	@NoSet
+	public static boolean PROFILING = true;
+
+	/**
+	 * The file the profiler shall be exported to as NDJSON (system property
+	 * {@code rekit.profile}) or {@code null} if it shall not be exported (see
+	 * {@link rekit.util.profile.ProfileExporter}).
+	 */
+	@NoSet
+	public static String PROFILE_EXPORT = System.getProperty("rekit.profile");
+
 	/**
 	 * The Name of the Game.
 	 */
@@ -113,11 +208,32 @@ public final class GameConf implements Configurable {
 	public static int RENDER_DELTA;
 
 	/**
-	 * Time in milliseconds to wait after each logicLoop, that simulates physics
-	 * changes positions, detects collisions, ...
+	 * The fixed time step in milliseconds of each logicLoop, that simulates
+	 * physics changes positions, detects collisions, ...
 	 */
 	public static int LOGIC_DELTA;
 
+	/**
+	 * The maximum amount of logic steps (of {@link GameConf#LOGIC_DELTA}) that
+	 * will be performed in a row to catch up with the real time. If the logic
+	 * falls further behind, the remaining time will be dropped (the game slows
+	 * down instead of stalling).
+	 */
+	public static int MAX_CATCH_UP_STEPS;
+
+	/**
+	 * The maximum amount of memory in MB of all cached images (original,
+	 * mirrored and filtered). If exceeded, the least recently used images will
+	 * be evicted.
+	 */
+	public static int IMAGE_CACHE_MB;
+
+	/**
+	 * The amount of threads (and strips) of the tiled rendering (see
+	 * {@link GameConf#TILED_RENDERING}).
+	 */
+	public static int RENDER_THREADS;
+
 	/**
 	 * Gravitational constant g in pxPerUnit/s^2. Determines how fast something
 	 * accelerates upon falling.
@@ -0,0 +1,71 @@
+package rekit.core;
+
+/**
+ * This interface defines the clock of a simulation (e.g. of a model and its
+ * scenes). The time of a clock has nanosecond resolution and stops while the
+ * clock is paused.<br>
+ * The speed of a clock is the factor of simulated time per real time (e.g.
+ * {@code 4} to fast-forward a simulation four times faster than real time).
+ *
+ * @see RealTimeClock
+ * @see VirtualClock
+ * @see GameTime
+ */
+public interface Clock {
+	/**
+	 * Get the current time in milliseconds.
+	 *
+	 * @return the current time
+	 */
+	default long getTime() {
+		return Math.floorDiv(this.getNanoTime(), 1_000_000L);
+	}
+
+	/**
+	 * Get the current time in nanoseconds.
+	 *
+	 * @return the current time
+	 */
+	long getNanoTime();
+
+	/**
+	 * Advance the clock by a fixed step. This has no effect if the clock is
+	 * paused or not driven by steps.
+	 *
+	 * @param nanos
+	 *            the step in nanoseconds
+	 */
+	void advance(long nanos);
+
+	/**
+	 * Stop the time.
+	 */
+	void pause();
+
+	/**
+	 * Continue the time (at the point in time it has been stopped).
+	 */
+	void resume();
+
+	/**
+	 * Indicates whether the time has been stopped.
+	 *
+	 * @return {@code true} if stopped, {@code false} otherwise
+	 */
+	boolean isPaused();
+
+	/**
+	 * Get the speed of the clock.
+	 *
+	 * @return the factor of simulated time per real time
+	 */
+	double getSpeed();
+
+	/**
+	 * Set the speed of the clock.
+	 *
+	 * @param speed
+	 *            the factor of simulated time per real time (positive)
+	 */
+	void setSpeed(double speed);
+}
@@ -270,7 +270,7 @@ public abstract class GameGrid {
 	}
 
 	/**
-	 * Draw a polygon.
+	 * Draw a polygon. Implementations must not modify the polygon.
 	 *
 	 * @param polygon
 	 *            the polygon
@@ -285,6 +285,49 @@ public abstract class GameGrid {
 	@Ingame
 	public abstract void drawPolygon(Polygon polygon, RGBAColor color, boolean fill, boolean usefilter);
 
+	/**
+	 * Draw a batch of filled polygons with the same amount of points.
+	 *
+	 * @param points
+	 *            the absolute points of all polygons (x1, y1, x2, y2, ...) in
+	 *            units
+	 * @param vertices
+	 *            the amount of points per polygon
+	 * @param colors
+	 *            the colors of the polygons (packed ARGB)
+	 * @param count
+	 *            the amount of polygons
+	 * @param usefilter
+	 *            indicates whether a filter (if set) shall applied before
+	 *            drawing
+	 */
+	@Ingame
+	public abstract void drawPolygons(float[] points, int vertices, int[] colors, int count, boolean usefilter);
+
+	/////////////////////////////////////////////////////////
+	// Draw Cached
+	////////////////////////////////////////////////////////
+	/**
+	 * Draw static content which has been recorded into a {@link RenderFrame}
+	 * (e.g. a chunk of terrain). A grid may rasterize the content once into an
+	 * image and reuse this image as long as the same content will be drawn;
+	 * so the content must not be changed after it has been passed to this
+	 * method. The default implementation replays the content.
+	 *
+	 * @param content
+	 *            the content (in-game coordinates, without shifts)
+	 * @param pos
+	 *            the position of the center of the content
+	 * @param size
+	 *            the size of the content (grids which cache the content will
+	 *            clip it to this area)
+	 */
+	@Ingame
+	public void drawCached(RenderFrame content, Vec pos, Vec size) {
+		content.replay(this, 1, (dx, dy) -> {
+		});
+	}
+
 	/////////////////////////////////////////////////////////
 	// Draw Text
 	////////////////////////////////////////////////////////
@@ -1,8 +1,10 @@
 package rekit.core;
 
 /**
- * This class manages the time of the game and replaces
- * {@link System#currentTimeMillis()}.
+ * This class manages the default {@link Clock} of the game and replaces
+ * {@link System#currentTimeMillis()}. Scenes and their elements use the clock
+ * of their model; the default clock will only be used by everything which does
+ * not belong to a scene (it will not be replaced by a model).
  *
  * @author Dominik Fuchss
  *
@@ -15,59 +17,61 @@ public final class GameTime {
 	}
 
 	/**
-	 * Time the game is paused.
+	 * The default clock.
 	 */
-	private static long paused = 0;
+	private static volatile Clock clock = new RealTimeClock();
+
 	/**
-	 * The time when the last pause started.
+	 * Get the default clock.
+	 *
+	 * @return the default clock
 	 */
-	private static long started = 0;
+	public static Clock getClock() {
+		return GameTime.clock;
+	}
+
 	/**
-	 * Indicates whether game is paused.
+	 * Set the default clock.
+	 *
+	 * @param clock
+	 *            the new default clock
 	 */
-	private static boolean pause = false;
+	public static void setClock(Clock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Clock cannot be null");
+		}
+		GameTime.clock = clock;
+	}
 
 	/**
-	 * Get the current time in the game.
+	 * Get the current time of the default clock.
 	 *
-	 * @return the current time
+	 * @return the current time in milliseconds
 	 */
 	public static long getTime() {
-		if (GameTime.pause) {
-			return GameTime.started;
-		}
-		return System.currentTimeMillis() - GameTime.paused;
+		return GameTime.clock.getTime();
 	}
 
 	/**
-	 * Pause the game.
+	 * Pause the default clock.
 	 */
-	public static synchronized void pause() {
-		if (GameTime.pause) {
-			return;
-		}
-		GameTime.pause = true;
-		GameTime.started = System.currentTimeMillis();
+	public static void pause() {
+		GameTime.clock.pause();
 	}
 
 	/**
-	 * Resume from pause.
+	 * Resume the default clock from pause.
 	 */
-	public static synchronized void resume() {
-		if (!GameTime.pause) {
-			return;
-		}
-		GameTime.pause = false;
-		GameTime.paused += System.currentTimeMillis() - GameTime.started;
-
+	public static void resume() {
+		GameTime.clock.resume();
 	}
 
 	/**
-	 * Indicates whether the time has been stopped.
+	 * Indicates whether the default clock has been stopped.
 	 *
 	 * @return {@code true} if stopped, {@code false} otherwise
 	 */
 	public static boolean isPaused() {
-		return GameTime.pause;
+		return GameTime.clock.isPaused();
 	}
 }
@@ -0,0 +1,96 @@
+package rekit.core;
+
+/**
+ * A {@link Clock} which follows the real time ({@link System#nanoTime()})
+ * multiplied by its speed. Steps (see {@link #advance(long)}) will be ignored.
+ *
+ */
+public final class RealTimeClock implements Clock {
+	/**
+	 * The simulated time at {@link #anchor}.
+	 */
+	private long base;
+	/**
+	 * The real time since which the time runs with the current speed.
+	 */
+	private long anchor;
+	/**
+	 * The speed.
+	 */
+	private double speed = 1;
+	/**
+	 * Indicates whether the clock is paused.
+	 */
+	private boolean pause;
+
+	/**
+	 * Create a new clock starting at a given time.
+	 *
+	 * @param start
+	 *            the start time in nanoseconds
+	 */
+	public RealTimeClock(long start) {
+		this.base = start;
+		this.anchor = System.nanoTime();
+	}
+
+	/**
+	 * Create a new clock starting at the current wall-clock time.
+	 */
+	public RealTimeClock() {
+		this(System.currentTimeMillis() * 1_000_000L);
+	}
+
+	@Override
+	public synchronized long getNanoTime() {
+		if (this.pause) {
+			return this.base;
+		}
+		return this.base + (long) ((System.nanoTime() - this.anchor) * this.speed);
+	}
+
+	@Override
+	public void advance(long nanos) {
+		// the real time advances by itself
+	}
+
+	@Override
+	public synchronized void pause() {
+		if (this.pause) {
+			return;
+		}
+		this.base = this.getNanoTime();
+		this.pause = true;
+	}
+
+	@Override
+	public synchronized void resume() {
+		if (!this.pause) {
+			return;
+		}
+		this.pause = false;
+		this.anchor = System.nanoTime();
+	}
+
+	@Override
+	public synchronized boolean isPaused() {
+		return this.pause;
+	}
+
+	@Override
+	public synchronized double getSpeed() {
+		return this.speed;
+	}
+
+	@Override
+	public synchronized void setSpeed(double speed) {
+		if (!(speed > 0)) {
+			throw new IllegalArgumentException("Speed has to be positive: " + speed);
+		}
+		if (!this.pause) {
+			this.base = this.getNanoTime();
+			this.anchor = System.nanoTime();
+		}
+		this.speed = speed;
+	}
+}
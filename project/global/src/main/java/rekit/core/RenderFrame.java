@@ -0,0 +1,431 @@
+package rekit.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import rekit.primitives.TextOptions;
+import rekit.primitives.geometry.Polygon;
+import rekit.primitives.geometry.Vec;
+import rekit.primitives.image.RGBAColor;
+
+/**
+ * This class holds the draw commands of one tick. The logic thread records the
+ * commands via {@link #getRecorder()} (a {@link GameGrid} which stores all
+ * invocations with copies of their mutable arguments); afterwards the frame
+ * will not be changed until it is recorded again, so a render thread can
+ * {@link #replay(GameGrid, float, Translation) replay} it without any lock of
+ * the scene.<br>
+ * The commands are stored as opcodes with their arguments in typed slots
+ * (floats, ints and references) which will be reused by the next recording,
+ * so recording does not allocate a command object per invocation.
+ *
+ */
+public final class RenderFrame {
+	/**
+	 * The opcodes.
+	 */
+	private static final int OFFSET = 0, RECTANGLE = 1, CIRCLE = 2, LINE = 3, IMAGE = 4, POLYGON = 5, POLYGONS = 6, CACHED = 7, TEXT = 8,
+			ROUND_RECTANGLE = 9, PATH = 10, BEGIN_SHIFT = 11, END_SHIFT = 12;
+	/**
+	 * The flags of the commands.
+	 */
+	private static final int INGAME = 1, USEFILTER = 2, MIRROR_X = 4, MIRROR_Y = 8, FILL = 16;
+
+	/**
+	 * The opcodes of the commands.
+	 */
+	private int[] ops = new int[64];
+	/**
+	 * The float arguments of the commands (in their order).
+	 */
+	private float[] floats = new float[64];
+	/**
+	 * The int arguments of the commands (in their order).
+	 */
+	private int[] ints = new int[64];
+	/**
+	 * The reference arguments of the commands (in their order).
+	 */
+	private Object[] objects = new Object[64];
+	/**
+	 * The amount of commands and of the used slots.
+	 */
+	private int size, floatSize, intSize, objectSize;
+	/**
+	 * The recorder.
+	 */
+	private final GameGrid recorder = new Recorder();
+	/**
+	 * The camera offset of the last and the current tick.
+	 */
+	private float cameraFrom, cameraTo;
+	/**
+	 * Indicates whether a shift has been started by
+	 * {@link #beginShift(float, float)} and not been ended.
+	 */
+	private boolean openShift;
+	/**
+	 * The distance of the open shift.
+	 */
+	private float shiftX, shiftY;
+
+	/**
+	 * Remove all commands.
+	 */
+	public void clear() {
+		Arrays.fill(this.objects, 0, this.objectSize, null);
+		this.size = 0;
+		this.floatSize = 0;
+		this.intSize = 0;
+		this.objectSize = 0;
+		this.openShift = false;
+		this.cameraFrom = 0;
+		this.cameraTo = 0;
+	}
+
+	/**
+	 * Set the camera offsets.
+	 *
+	 * @param from
+	 *            the offset of the last tick
+	 * @param to
+	 *            the offset of the current tick
+	 */
+	public void setCamera(float from, float to) {
+		this.cameraFrom = from;
+		this.cameraTo = to;
+	}
+
+	/**
+	 * Get the camera offset interpolated between the last and the current
+	 * tick.
+	 *
+	 * @param alpha
+	 *            the interpolation value in [0,1]
+	 * @return the camera offset
+	 */
+	public float getCameraOffset(float alpha) {
+		return this.cameraFrom + (this.cameraTo - this.cameraFrom) * alpha;
+	}
+
+	/**
+	 * Get the grid which records all draw invocations into this frame.
+	 *
+	 * @return the recorder
+	 */
+	public GameGrid getRecorder() {
+		return this.recorder;
+	}
+
+	/**
+	 * Shift all following commands until {@link #endShift()} by a distance
+	 * which will be scaled by {@code 1 - alpha} while replaying (e.g. to
+	 * interpolate an element between its last and its current position).
+	 *
+	 * @param dx
+	 *            the distance in x direction (in units)
+	 * @param dy
+	 *            the distance in y direction (in units)
+	 */
+	public void beginShift(float dx, float dy) {
+		this.op(RenderFrame.BEGIN_SHIFT);
+		this.f(dx);
+		this.f(dy);
+		this.openShift = true;
+		this.shiftX = dx;
+		this.shiftY = dy;
+	}
+
+	/**
+	 * End the shift which has been started by
+	 * {@link #beginShift(float, float)}.
+	 */
+	public void endShift() {
+		if (this.openShift) {
+			this.op(RenderFrame.END_SHIFT);
+			this.f(this.shiftX);
+			this.f(this.shiftY);
+			this.openShift = false;
+		}
+	}
+
+	/**
+	 * Get the amount of recorded commands.
+	 *
+	 * @return the amount of commands
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Replay all commands. The frame will not be changed, so several threads
+	 * may replay it at the same time.
+	 *
+	 * @param grid
+	 *            the target grid
+	 * @param alpha
+	 *            the interpolation value in [0,1]
+	 * @param translation
+	 *            the translation of the target grid for shifts (see
+	 *            {@link #beginShift(float, float)})
+	 */
+	@SuppressWarnings("unchecked")
+	public void replay(GameGrid grid, float alpha, Translation translation) {
+		final float[] fs = this.floats;
+		final int[] is = this.ints;
+		final Object[] os = this.objects;
+		int f = 0, i = 0, o = 0;
+		for (int c = 0; c < this.size; c++) {
+			switch (this.ops[c]) {
+			case OFFSET:
+				grid.setCurrentOffset(fs[f++]);
+				break;
+			case RECTANGLE:
+				grid.drawRectangle((Vec) os[o++], (Vec) os[o++], (RGBAColor) os[o++], RenderFrame.has(is[i], RenderFrame.INGAME),
+						RenderFrame.has(is[i++], RenderFrame.USEFILTER));
+				break;
+			case CIRCLE:
+				grid.drawCircle((Vec) os[o++], (Vec) os[o++], (RGBAColor) os[o++], RenderFrame.has(is[i], RenderFrame.INGAME),
+						RenderFrame.has(is[i++], RenderFrame.USEFILTER));
+				break;
+			case LINE:
+				grid.drawLine((Vec) os[o++], (Vec) os[o++], is[i++], (RGBAColor) os[o++], RenderFrame.has(is[i], RenderFrame.INGAME),
+						RenderFrame.has(is[i++], RenderFrame.USEFILTER));
+				break;
+			case IMAGE:
+				grid.drawImage((Vec) os[o++], (Vec) os[o++], (String) os[o++], RenderFrame.has(is[i], RenderFrame.INGAME), RenderFrame.has(is[i], RenderFrame.USEFILTER),
+						RenderFrame.has(is[i], RenderFrame.MIRROR_X), RenderFrame.has(is[i++], RenderFrame.MIRROR_Y));
+				break;
+			case POLYGON:
+				grid.drawPolygon((Polygon) os[o++], (RGBAColor) os[o++], RenderFrame.has(is[i], RenderFrame.FILL), RenderFrame.has(is[i++], RenderFrame.USEFILTER));
+				break;
+			case POLYGONS:
+				grid.drawPolygons((float[]) os[o++], is[i++], (int[]) os[o++], is[i++], RenderFrame.has(is[i++], RenderFrame.USEFILTER));
+				break;
+			case CACHED:
+				grid.drawCached((RenderFrame) os[o++], (Vec) os[o++], (Vec) os[o++]);
+				break;
+			case TEXT:
+				grid.drawText((Vec) os[o++], (String) os[o++], (TextOptions) os[o++], RenderFrame.has(is[i++], RenderFrame.INGAME));
+				break;
+			case ROUND_RECTANGLE:
+				grid.drawRoundRectangle((Vec) os[o++], (Vec) os[o++], (RGBAColor) os[o++], fs[f++], fs[f++], RenderFrame.has(is[i], RenderFrame.INGAME),
+						RenderFrame.has(is[i++], RenderFrame.USEFILTER));
+				break;
+			case PATH:
+				grid.drawPath((Vec) os[o++], (List<Vec>) os[o++], (RGBAColor) os[o++], is[i++], RenderFrame.has(is[i++], RenderFrame.USEFILTER));
+				break;
+			case BEGIN_SHIFT:
+				translation.translate(fs[f++] * (1 - alpha), fs[f++] * (1 - alpha));
+				break;
+			case END_SHIFT:
+				translation.translate(-fs[f++] * (1 - alpha), -fs[f++] * (1 - alpha));
+				break;
+			default:
+				throw new IllegalStateException("Unknown opcode: " + this.ops[c]);
+			}
+		}
+	}
+
+	/**
+	 * Append an opcode.
+	 *
+	 * @param op
+	 *            the opcode
+	 */
+	private void op(int op) {
+		if (this.size == this.ops.length) {
+			this.ops = Arrays.copyOf(this.ops, 2 * this.size);
+		}
+		this.ops[this.size++] = op;
+	}
+
+	/**
+	 * Append a float argument.
+	 *
+	 * @param value
+	 *            the argument
+	 */
+	private void f(float value) {
+		if (this.floatSize == this.floats.length) {
+			this.floats = Arrays.copyOf(this.floats, 2 * this.floatSize);
+		}
+		this.floats[this.floatSize++] = value;
+	}
+
+	/**
+	 * Append an int argument.
+	 *
+	 * @param value
+	 *            the argument
+	 */
+	private void i(int value) {
+		if (this.intSize == this.ints.length) {
+			this.ints = Arrays.copyOf(this.ints, 2 * this.intSize);
+		}
+		this.ints[this.intSize++] = value;
+	}
+
+	/**
+	 * Append a reference argument.
+	 *
+	 * @param value
+	 *            the argument
+	 */
+	private void o(Object value) {
+		if (this.objectSize == this.objects.length) {
+			this.objects = Arrays.copyOf(this.objects, 2 * this.objectSize);
+		}
+		this.objects[this.objectSize++] = value;
+	}
+
+	/**
+	 * Pack flags into an int argument.
+	 *
+	 * @param ingame
+	 *            the {@link #INGAME} flag
+	 * @param usefilter
+	 *            the {@link #USEFILTER} flag
+	 * @return the flags
+	 */
+	private static int flags(boolean ingame, boolean usefilter) {
+		return (ingame ? RenderFrame.INGAME : 0) | (usefilter ? RenderFrame.USEFILTER : 0);
+	}
+
+	/**
+	 * Check a flag.
+	 *
+	 * @param flags
+	 *            the flags
+	 * @param flag
+	 *            the flag
+	 * @return {@code true} if the flag is set
+	 */
+	private static boolean has(int flags, int flag) {
+		return (flags & flag) != 0;
+	}
+
+	/**
+	 * Translates a target grid while replaying.
+	 *
+	 */
+	@FunctionalInterface
+	public interface Translation {
+		/**
+		 * Translate the following drawings.
+		 *
+		 * @param dx
+		 *            the distance in x direction (in units)
+		 * @param dy
+		 *            the distance in y direction (in units)
+		 */
+		void translate(float dx, float dy);
+	}
+
+	/**
+	 * The {@link GameGrid} which records into the frame.
+	 *
+	 */
+	private final class Recorder extends GameGrid {
+		@Override
+		public void setCurrentOffset(float cameraOffsetUnits) {
+			RenderFrame.this.op(RenderFrame.OFFSET);
+			RenderFrame.this.f(cameraOffsetUnits);
+		}
+
+		@Override
+		public void drawRectangle(Vec pos, Vec size, RGBAColor color, boolean ingame, boolean usefilter) {
+			RenderFrame.this.op(RenderFrame.RECTANGLE);
+			RenderFrame.this.o(pos);
+			RenderFrame.this.o(size);
+			RenderFrame.this.o(color);
+			RenderFrame.this.i(RenderFrame.flags(ingame, usefilter));
+		}
+
+		@Override
+		public void drawCircle(Vec pos, Vec size, RGBAColor color, boolean ingame, boolean usefilter) {
+			RenderFrame.this.op(RenderFrame.CIRCLE);
+			RenderFrame.this.o(pos);
+			RenderFrame.this.o(size);
+			RenderFrame.this.o(color);
+			RenderFrame.this.i(RenderFrame.flags(ingame, usefilter));
+		}
+
+		@Override
+		public void drawLine(Vec a, Vec b, int lineWidth, RGBAColor color, boolean ingame, boolean usefilter) {
+			RenderFrame.this.op(RenderFrame.LINE);
+			RenderFrame.this.o(a);
+			RenderFrame.this.o(b);
+			RenderFrame.this.i(lineWidth);
+			RenderFrame.this.o(color);
+			RenderFrame.this.i(RenderFrame.flags(ingame, usefilter));
+		}
+
+		@Override
+		public void drawImage(Vec pos, Vec size, String imagePath, boolean ingame, boolean usefilter, boolean mirrorX, boolean mirrorY) {
+			RenderFrame.this.op(RenderFrame.IMAGE);
+			RenderFrame.this.o(pos);
+			RenderFrame.this.o(size);
+			RenderFrame.this.o(imagePath);
+			RenderFrame.this.i(RenderFrame.flags(ingame, usefilter) | (mirrorX ? RenderFrame.MIRROR_X : 0) | (mirrorY ? RenderFrame.MIRROR_Y : 0));
+		}
+
+		@Override
+		public void drawPolygon(Polygon polygon, RGBAColor color, boolean fill, boolean usefilter) {
+			RenderFrame.this.op(RenderFrame.POLYGON);
+			RenderFrame.this.o(polygon.clone());
+			RenderFrame.this.o(color);
+			RenderFrame.this.i(RenderFrame.flags(false, usefilter) | (fill ? RenderFrame.FILL : 0));
+		}
+
+		@Override
+		public void drawPolygons(float[] points, int vertices, int[] colors, int count, boolean usefilter) {
+			RenderFrame.this.op(RenderFrame.POLYGONS);
+			RenderFrame.this.o(Arrays.copyOf(points, 2 * vertices * count));
+			RenderFrame.this.i(vertices);
+			RenderFrame.this.o(Arrays.copyOf(colors, count));
+			RenderFrame.this.i(count);
+			RenderFrame.this.i(RenderFrame.flags(false, usefilter));
+		}
+
+		@Override
+		public void drawCached(RenderFrame content, Vec pos, Vec size) {
+			RenderFrame.this.op(RenderFrame.CACHED);
+			RenderFrame.this.o(content);
+			RenderFrame.this.o(pos);
+			RenderFrame.this.o(size);
+		}
+
+		@Override
+		public void drawText(Vec pos, String text, TextOptions options, boolean ingame) {
+			RenderFrame.this.op(RenderFrame.TEXT);
+			RenderFrame.this.o(pos);
+			RenderFrame.this.o(text);
+			RenderFrame.this.o(options.clone());
+			RenderFrame.this.i(RenderFrame.flags(ingame, false));
+		}
+
+		@Override
+		public void drawRoundRectangle(Vec pos, Vec size, RGBAColor color, float arcWidth, float arcHeight, boolean ingame, boolean usefilter) {
+			RenderFrame.this.op(RenderFrame.ROUND_RECTANGLE);
+			RenderFrame.this.o(pos);
+			RenderFrame.this.o(size);
+			RenderFrame.this.o(color);
+			RenderFrame.this.f(arcWidth);
+			RenderFrame.this.f(arcHeight);
+			RenderFrame.this.i(RenderFrame.flags(ingame, usefilter));
+		}
+
+		@Override
+		public void drawPath(Vec startPos, List<Vec> pts, RGBAColor color, int lineWidth, boolean usefilter) {
+			RenderFrame.this.op(RenderFrame.PATH);
+			RenderFrame.this.o(startPos);
+			RenderFrame.this.o(new ArrayList<>(pts));
+			RenderFrame.this.o(color);
+			RenderFrame.this.i(lineWidth);
+			RenderFrame.this.i(RenderFrame.flags(false, usefilter));
+		}
+	}
+}
@@ -69,6 +69,24 @@ public enum Team {
 		return false;
 	}
 
+	/**
+	 * Check whether elements of this team and team t can influence each other
+	 * on collision. This is the case if one of them is hostile to the other
+	 * or if one of them is {@link #INANIMATE} (as inanimates act as solid
+	 * ground for all non-neutral elements).
+	 *
+	 * @param t
+	 *            the other team
+	 * @return {@code true}, if a collision has to be checked, {@code false}
+	 *         otherwise
+	 */
+	public final boolean canInteract(Team t) {
+		if (this.isNeutral() || t.isNeutral()) {
+			return false;
+		}
+		return this == INANIMATE || t == INANIMATE || this.isHostile(t) || t.isHostile(this);
+	}
+
 	/**
 	 * Is this the {@link Team} neutral (no interactions possible).
 	 *
@@ -0,0 +1,84 @@
+package rekit.core;
+
+/**
+ * A {@link Clock} which will only be advanced by fixed steps (see
+ * {@link #advance(long)}), so a simulation is deterministic and independent
+ * of the real time. The speed will not change the steps but tells the driver
+ * of the clock how many steps shall be performed per real time (e.g. the
+ * game loop of the model); drivers without real-time constraints (e.g.
+ * headless runs or benchmarks) may advance the clock as fast as they can.
+ *
+ */
+public final class VirtualClock implements Clock {
+	/**
+	 * The current time.
+	 */
+	private volatile long time;
+	/**
+	 * The speed.
+	 */
+	private volatile double speed = 1;
+	/**
+	 * Indicates whether the clock is paused.
+	 */
+	private volatile boolean pause;
+
+	/**
+	 * Create a new clock.
+	 *
+	 * @param start
+	 *            the start time in nanoseconds
+	 */
+	public VirtualClock(long start) {
+		this.time = start;
+	}
+
+	/**
+	 * Create a new clock starting at the current time of the default clock
+	 * (see {@link GameTime#getClock()}).
+	 */
+	public VirtualClock() {
+		this(GameTime.getClock().getNanoTime());
+	}
+
+	@Override
+	public long getNanoTime() {
+		return this.time;
+	}
+
+	@Override
+	public synchronized void advance(long nanos) {
+		if (this.pause) {
+			return;
+		}
+		this.time += nanos;
+	}
+
+	@Override
+	public synchronized void pause() {
+		this.pause = true;
+	}
+
+	@Override
+	public synchronized void resume() {
+		this.pause = false;
+	}
+
+	@Override
+	public boolean isPaused() {
+		return this.pause;
+	}
+
+	@Override
+	public double getSpeed() {
+		return this.speed;
+	}
+
+	@Override
+	public void setSpeed(double speed) {
+		if (!(speed > 0)) {
+			throw new IllegalArgumentException("Speed has to be positive: " + speed);
+		}
+		this.speed = speed;
+	}
+}
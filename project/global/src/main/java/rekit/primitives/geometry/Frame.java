@@ -7,13 +7,13 @@ package rekit.primitives.geometry;
  */
 public final class Frame {
 	/**
-	 * The first anchor of the frame.
+	 * The first anchor (upper left) of the frame.
 	 */
-	private Vec upperLeftAnchor;
+	private final float x1, y1;
 	/**
-	 * The second anchor of the frame.
+	 * The second anchor (bottom right) of the frame.
 	 */
-	private Vec bottomRightAnchor;
+	private final float x2, y2;
 
 	/**
 	 * Create a frame by two anchors.
@@ -24,8 +24,26 @@ public final class Frame {
 	 *            the bottomRight anchor
 	 */
 	public Frame(Vec v1, Vec v2) {
-		this.upperLeftAnchor = v1;
-		this.bottomRightAnchor = v2;
+		this(v1.x, v1.y, v2.x, v2.y);
+	}
+
+	/**
+	 * Create a frame by the components of two anchors.
+	 *
+	 * @param x1
+	 *            the x component of the upperLeft anchor
+	 * @param y1
+	 *            the y component of the upperLeft anchor
+	 * @param x2
+	 *            the x component of the bottomRight anchor
+	 * @param y2
+	 *            the y component of the bottomRight anchor
+	 */
+	public Frame(float x1, float y1, float x2, float y2) {
+		this.x1 = x1;
+		this.y1 = y1;
+		this.x2 = x2;
+		this.y2 = y2;
 	}
 
 	/**
@@ -36,8 +54,7 @@ public final class Frame {
 	 * @return {@code true} if collision detected, {@code false} otherwise
 	 */
 	public boolean intersects(Frame otherFrame) {
-		return this.upperLeftAnchor.x < otherFrame.bottomRightAnchor.x && this.upperLeftAnchor.y < otherFrame.bottomRightAnchor.y
-				&& this.bottomRightAnchor.x > otherFrame.upperLeftAnchor.x && this.bottomRightAnchor.y > otherFrame.upperLeftAnchor.y;
+		return this.x1 < otherFrame.x2 && this.y1 < otherFrame.y2 && this.x2 > otherFrame.x1 && this.y2 > otherFrame.y1;
 	}
 
 	/**
@@ -48,8 +65,7 @@ public final class Frame {
 	 * @return {@code true} if collision detected, {@code false} otherwise
 	 */
 	public boolean intersects(Vec position) {
-		return position.x > this.upperLeftAnchor.x && position.x < this.bottomRightAnchor.x && position.y > this.upperLeftAnchor.y
-				&& position.y < this.bottomRightAnchor.y;
+		return position.x > this.x1 && position.x < this.x2 && position.y > this.y1 && position.y < this.y2;
 	}
 
 	/**
@@ -64,16 +80,16 @@ public final class Frame {
 		switch (dir) {
 		case UP:
 			// In case we want the upper border: take highest y
-			return this.upperLeftAnchor.y > this.bottomRightAnchor.y ? this.upperLeftAnchor.y : this.bottomRightAnchor.y;
+			return this.y1 > this.y2 ? this.y1 : this.y2;
 		case RIGHT:
 			// In case we want the right border: take highest x
-			return this.upperLeftAnchor.x > this.bottomRightAnchor.x ? this.upperLeftAnchor.x : this.bottomRightAnchor.x;
+			return this.x1 > this.x2 ? this.x1 : this.x2;
 		case DOWN:
 			// In case we want the lower border: take lowest y
-			return this.upperLeftAnchor.y > this.bottomRightAnchor.y ? this.bottomRightAnchor.y : this.upperLeftAnchor.y;
+			return this.y1 > this.y2 ? this.y2 : this.y1;
 		case LEFT:
 			// In case we want the left border: take lowest x
-			return this.upperLeftAnchor.x > this.bottomRightAnchor.x ? this.bottomRightAnchor.x : this.upperLeftAnchor.x;
+			return this.x1 > this.x2 ? this.x2 : this.x1;
 		default:
 			return -1;
 		}
@@ -82,7 +98,7 @@ public final class Frame {
 
 	@Override
 	public String toString() {
-		return "(" + this.upperLeftAnchor + ", " + this.bottomRightAnchor + ")";
+		return "((" + this.x1 + "|" + this.y1 + "), (" + this.x2 + "|" + this.y2 + "))";
 	}
 
 }
@@ -159,6 +159,34 @@ public final class Polygon implements Cloneable {
 		return actualArray;
 	}
 
+	/**
+	 * Get the amount of points of the polygon (start point and relative
+	 * points).
+	 *
+	 * @return the amount of points
+	 */
+	public int getPointCount() {
+		return 1 + this.relPts.size();
+	}
+
+	/**
+	 * Write the absolute points {x1, y1, x2, y2, ...} of this polygon into an
+	 * existing array (see {@link #getAbsoluteArray()}).
+	 *
+	 * @param target
+	 *            the array, has to hold at least {@code 2 * }
+	 *            {@link #getPointCount()} values
+	 */
+	public void getAbsoluteArray(float[] target) {
+		target[0] = this.startPoint.x;
+		target[1] = this.startPoint.y;
+		int i = 2;
+		for (Vec relPt : this.relPts) {
+			target[i++] = this.startPoint.x + relPt.x;
+			target[i++] = this.startPoint.y + relPt.y;
+		}
+	}
+
 	/**
 	 * Scale this polygon.
 	 *
@@ -158,7 +158,7 @@ public final class Vec implements Cloneable, Operable<Vec> {
 
 	@Override
 	public Vec sub(Vec other) {
-		return this.add(other.scalar(-1));
+		return new Vec(this.x - other.x, this.y - other.y, this.z);
 	}
 
 	/**
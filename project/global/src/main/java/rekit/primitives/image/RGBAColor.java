@@ -77,6 +77,15 @@ public final class RGBAColor implements Cloneable, Operable<RGBAColor> {
 		this.blue = (color) & 0xFF;
 	}
 
+	/**
+	 * Get the color as packed ARGB value (see {@link #RGBAColor(int)}).
+	 *
+	 * @return the ARGB value
+	 */
+	public int toARGB() {
+		return (this.alpha << 24) | (this.red << 16) | (this.green << 8) | this.blue;
+	}
+
 	/**
 	 * Darken the color.
 	 *
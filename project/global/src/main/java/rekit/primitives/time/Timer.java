@@ -1,8 +1,10 @@
 package rekit.primitives.time;
 
+import java.util.function.Supplier;
+
 import rekit.config.GameConf;
+import rekit.core.Clock;
 import rekit.core.GameTime;
-import rekit.util.ThreadUtils;
 
 /**
  * Data class that holds an duration time.
@@ -11,6 +13,10 @@ import rekit.util.ThreadUtils;
  * 
  */
 public final class Timer {
+	/**
+	 * The marker of a timer which starts at its first {@link #logicLoop()}.
+	 */
+	private static final long UNSET = Long.MIN_VALUE;
 
 	/**
 	 * The duration in millis.
@@ -21,19 +27,57 @@ public final class Timer {
 	 */
 	private long timeLeft;
 	/**
-	 * The last time {@link #logicLoop()} was invoked.
+	 * The clock (resolved per measurement, so the timer follows e.g. the
+	 * scene of its owner).
 	 */
-	private long lastTime = GameTime.getTime();
+	private final Supplier<Clock> clock;
+	/**
+	 * The last time {@link #logicLoop()} was invoked (or {@link #UNSET} if
+	 * the timer has not been started yet).
+	 */
+	private long lastTime;
 
 	/**
-	 * Create a TimeDependency by duration time.
+	 * Create a TimeDependency by duration time (measured by the default
+	 * clock, see {@link GameTime#getClock()}).
 	 *
 	 * @param duration
 	 *            the duration time in millis
 	 */
 	public Timer(long duration) {
+		this(duration, GameTime.getClock());
+	}
+
+	/**
+	 * Create a TimeDependency by duration time which starts at its first
+	 * {@link #logicLoop()} (so the clock may be unknown at creation, e.g. the
+	 * clock of the scene of an element which has not been added yet).
+	 *
+	 * @param duration
+	 *            the duration time in millis
+	 * @param clock
+	 *            the supplier of the clock which measures the time
+	 */
+	public Timer(long duration, Supplier<Clock> clock) {
+		this.duration = duration;
+		this.timeLeft = duration;
+		this.clock = clock;
+		this.lastTime = Timer.UNSET;
+	}
+
+	/**
+	 * Create a TimeDependency by duration time.
+	 *
+	 * @param duration
+	 *            the duration time in millis
+	 * @param clock
+	 *            the clock which measures the time
+	 */
+	public Timer(long duration, Clock clock) {
 		this.duration = duration;
 		this.timeLeft = duration;
+		this.clock = () -> clock;
+		this.lastTime = clock.getTime();
 	}
 
 	/**
@@ -41,8 +85,10 @@ public final class Timer {
 	 * {@link GameConf#LOGIC_DELTA} ms.
 	 */
 	public void logicLoop() {
-		long now = GameTime.getTime();
-		this.removeTime(now - this.lastTime);
+		long now = this.clock.get().getTime();
+		if (this.lastTime != Timer.UNSET) {
+			this.removeTime(now - this.lastTime);
+		}
 		this.lastTime = now;
 	}
 
@@ -72,6 +118,18 @@ public final class Timer {
 		this.timeLeft = this.timeUp() ? this.duration + this.timeLeft : this.duration;
 	}
 
+	/**
+	 * Restart the timer with a new duration.
+	 *
+	 * @param duration
+	 *            the duration time in millis
+	 */
+	public void restart(long duration) {
+		this.duration = duration;
+		this.timeLeft = duration;
+		this.lastTime = this.clock.get().getTime();
+	}
+
 	/**
 	 * Get current progress.
 	 *
@@ -91,35 +149,4 @@ public final class Timer {
 		this.removeTime(offset);
 	}
 
-	/**
-	 * This method can be used instead of {@link ThreadUtils#sleep(long)} if
-	 * {@link GameTime#pause()} shall take effect.<br>
-	 * <b>Be careful: If game is paused, this method will cause endless
-	 * waiting</b>
-	 *
-	 * @param offset
-	 *            the time to wait in millis
-	 */
-	public static void sleep(long offset) {
-		Timer t = new Timer(offset);
-		while (!t.timeUp()) {
-			t.logicLoop();
-			ThreadUtils.sleep(GameConf.LOGIC_DELTA);
-		}
-	}
-
-	/**
-	 * This method can be used instead to execute a job after a specified time.
-	 *
-	 * @param offset
-	 *            the time to wait in millis
-	 * @param r
-	 *            the job
-	 */
-	public static void execute(int offset, Runnable r) {
-		ThreadUtils.runDaemon("" + r, () -> {
-			Timer.sleep(offset);
-			r.run();
-		});
-	}
 }
@@ -0,0 +1,376 @@
+package rekit.primitives.time;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * This class realizes a hierarchical timing wheel for jobs which shall be
+ * executed after a delay or periodically. The wheel will be driven by
+ * {@link #advance(long)} (e.g. by the logic thread with the current game
+ * time), so all jobs will be executed on the thread which advances the wheel
+ * and the wheel stops while the driving time stops (e.g. while the game is
+ * paused).<br>
+ * The time will be divided into ticks of a fixed resolution. Every level of
+ * the wheel holds {@link #SLOTS} slots; a slot of a level covers all slots of
+ * the level below. Jobs will be moved to lower levels when their slots are
+ * reached, so advancing one tick costs O(1) plus the amount of expired (or
+ * moved) jobs.<br>
+ * Jobs can be scheduled and cancelled by any thread.
+ *
+ */
+public final class TimerWheel {
+	/**
+	 * The amount of bits of the index of a slot in a level.
+	 */
+	private static final int SLOT_BITS = 6;
+	/**
+	 * The amount of slots per level.
+	 */
+	private static final int SLOTS = 1 << TimerWheel.SLOT_BITS;
+	/**
+	 * The amount of levels. Jobs beyond the last level will be rescheduled
+	 * when the last level wraps.
+	 */
+	private static final int LEVELS = 4;
+
+	/**
+	 * The length of a tick.
+	 */
+	private final long resolution;
+	/**
+	 * The slots of all levels (head of a list of jobs or {@code null}).
+	 */
+	private final Job[][] wheel = new Job[TimerWheel.LEVELS][TimerWheel.SLOTS];
+	/**
+	 * The time of tick 0 (the creation of the wheel), so ticks are aligned to
+	 * a driving time which advances in steps of the resolution.
+	 */
+	private final long origin;
+	/**
+	 * The current time (see {@link #advance(long)}).
+	 */
+	private long time;
+	/**
+	 * The current tick.
+	 */
+	private long tick;
+	/**
+	 * The amount of scheduled jobs.
+	 */
+	private int size;
+	/**
+	 * The reused list of the expired jobs of a tick.
+	 */
+	private final List<Job> expired = new ArrayList<>();
+
+	/**
+	 * Create a new wheel.
+	 *
+	 * @param resolution
+	 *            the length of a tick (e.g. in millis)
+	 * @param now
+	 *            the current time
+	 */
+	public TimerWheel(long resolution, long now) {
+		if (resolution <= 0) {
+			throw new IllegalArgumentException("Resolution has to be positive: " + resolution);
+		}
+		this.resolution = resolution;
+		this.origin = now;
+		this.time = now;
+		this.tick = 0;
+	}
+
+	/**
+	 * Execute a job once after a delay.
+	 *
+	 * @param delay
+	 *            the delay
+	 * @param job
+	 *            the job
+	 * @return the handle of the job
+	 */
+	public Job schedule(long delay, Runnable job) {
+		return this.schedule(delay, 0, () -> {
+			job.run();
+			return false;
+		});
+	}
+
+	/**
+	 * Execute a job after a delay and repeat it periodically as long as it
+	 * returns {@code true}.
+	 *
+	 * @param delay
+	 *            the delay
+	 * @param period
+	 *            the period (the job will be executed once if not positive)
+	 * @param job
+	 *            the job (returns whether it shall be repeated)
+	 * @return the handle of the job
+	 */
+	public synchronized Job schedule(long delay, long period, BooleanSupplier job) {
+		Job scheduled = new Job(this, job, this.ticks(period));
+		// a job will be executed at the next tick at the earliest
+		scheduled.deadline = Math.max(this.tick + 1, this.ticks(this.time - this.origin + Math.max(0, delay)));
+		this.insert(scheduled);
+		this.size++;
+		return scheduled;
+	}
+
+	/**
+	 * Advance the wheel to a point in time and execute all expired jobs (on
+	 * the calling thread, in order of their deadlines).
+	 *
+	 * @param now
+	 *            the current time
+	 */
+	public void advance(long now) {
+		long target = Math.floorDiv(now - this.origin, this.resolution);
+		synchronized (this) {
+			this.time = Math.max(this.time, now);
+		}
+		while (true) {
+			synchronized (this) {
+				if (this.tick >= target) {
+					return;
+				}
+				if (this.size == 0) {
+					// nothing to expire in between
+					this.tick = target;
+					return;
+				}
+				this.tick++;
+				this.expire();
+			}
+			this.run();
+		}
+	}
+
+	/**
+	 * Cancel all scheduled jobs (e.g. when the owner of the wheel will be
+	 * reset). Jobs which are currently executed will not be repeated.
+	 */
+	public synchronized void clear() {
+		for (Job[] level : this.wheel) {
+			for (int slot = 0; slot < TimerWheel.SLOTS; slot++) {
+				for (Job job = level[slot]; job != null; job = job.next) {
+					job.cancelled = true;
+					job.level = -1;
+				}
+				level[slot] = null;
+			}
+		}
+		for (int i = 0; i < this.expired.size(); i++) {
+			this.expired.get(i).cancelled = true;
+		}
+		this.size = 0;
+	}
+
+	/**
+	 * Get the amount of scheduled jobs.
+	 *
+	 * @return the amount of jobs
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Convert a duration to ticks (rounded up).
+	 *
+	 * @param duration
+	 *            the duration
+	 * @return the amount of ticks
+	 */
+	private long ticks(long duration) {
+		return duration <= 0 ? 0 : (duration + this.resolution - 1) / this.resolution;
+	}
+
+	/**
+	 * Insert a job into the slot of its deadline.
+	 *
+	 * @param job
+	 *            the job
+	 */
+	private void insert(Job job) {
+		long delta = job.deadline - this.tick;
+		int level = 0;
+		while (level < TimerWheel.LEVELS - 1 && delta >= 1L << (TimerWheel.SLOT_BITS * (level + 1))) {
+			level++;
+		}
+		long slotTick = job.deadline;
+		if (delta >= 1L << (TimerWheel.SLOT_BITS * TimerWheel.LEVELS)) {
+			// too far away: park the job in the last slot of the last level
+			slotTick = this.tick + (1L << (TimerWheel.SLOT_BITS * TimerWheel.LEVELS)) - 1;
+		}
+		int slot = (int) (slotTick >>> (TimerWheel.SLOT_BITS * level)) & (TimerWheel.SLOTS - 1);
+		job.level = level;
+		job.slot = slot;
+		job.prev = null;
+		job.next = this.wheel[level][slot];
+		if (job.next != null) {
+			job.next.prev = job;
+		}
+		this.wheel[level][slot] = job;
+	}
+
+	/**
+	 * Remove a job from its slot.
+	 *
+	 * @param job
+	 *            the job
+	 */
+	private void unlink(Job job) {
+		if (job.prev != null) {
+			job.prev.next = job.next;
+		} else {
+			this.wheel[job.level][job.slot] = job.next;
+		}
+		if (job.next != null) {
+			job.next.prev = job.prev;
+		}
+		job.prev = null;
+		job.next = null;
+		job.level = -1;
+	}
+
+	/**
+	 * Move the jobs of the higher levels whose slots have been reached to the
+	 * lower levels and collect all jobs of the current tick in
+	 * {@link #expired}.
+	 */
+	private void expire() {
+		// a slot of level n is reached if all lower levels wrapped
+		int highest = 0;
+		while (highest < TimerWheel.LEVELS - 1 && (this.tick & ((1L << (TimerWheel.SLOT_BITS * (highest + 1))) - 1)) == 0) {
+			highest++;
+		}
+		// cascade top down, so jobs can move down several levels at once
+		for (int level = highest; level > 0; level--) {
+			int slot = (int) (this.tick >>> (TimerWheel.SLOT_BITS * level)) & (TimerWheel.SLOTS - 1);
+			Job job = this.wheel[level][slot];
+			this.wheel[level][slot] = null;
+			while (job != null) {
+				Job next = job.next;
+				job.level = -1;
+				this.insert(job);
+				job = next;
+			}
+		}
+		int slot = (int) this.tick & (TimerWheel.SLOTS - 1);
+		Job job = this.wheel[0][slot];
+		while (job != null) {
+			Job next = job.next;
+			if (job.deadline <= this.tick) {
+				this.unlink(job);
+				this.size--;
+				this.expired.add(job);
+			}
+			job = next;
+		}
+	}
+
+	/**
+	 * Execute all jobs of {@link #expired} and reschedule the periodic ones.
+	 */
+	private void run() {
+		for (int i = 0; i < this.expired.size(); i++) {
+			Job job = this.expired.get(i);
+			if (job.cancelled) {
+				continue;
+			}
+			boolean again = job.job.getAsBoolean() && job.period > 0;
+			synchronized (this) {
+				if (again && !job.cancelled) {
+					job.deadline += job.period;
+					this.insert(job);
+					this.size++;
+				} else {
+					job.cancelled = true;
+				}
+			}
+		}
+		this.expired.clear();
+	}
+
+	/**
+	 * The handle of a scheduled job.
+	 *
+	 */
+	public static final class Job {
+		/**
+		 * The wheel.
+		 */
+		private final TimerWheel wheel;
+		/**
+		 * The job.
+		 */
+		private final BooleanSupplier job;
+		/**
+		 * The period in ticks (or 0 if not periodic).
+		 */
+		private final long period;
+		/**
+		 * The tick of the next execution.
+		 */
+		private long deadline;
+		/**
+		 * The position in the wheel (level -1 if not in the wheel).
+		 */
+		private int level = -1, slot;
+		/**
+		 * The neighbours in the slot.
+		 */
+		private Job prev, next;
+		/**
+		 * Indicates whether the job has been cancelled or finished.
+		 */
+		private boolean cancelled;
+
+		/**
+		 * Create a new handle.
+		 *
+		 * @param wheel
+		 *            the wheel
+		 * @param job
+		 *            the job
+		 * @param period
+		 *            the period in ticks
+		 */
+		private Job(TimerWheel wheel, BooleanSupplier job, long period) {
+			this.wheel = wheel;
+			this.job = job;
+			this.period = period;
+		}
+
+		/**
+		 * Cancel the job. A job which is currently executed will not be
+		 * repeated.
+		 */
+		public void cancel() {
+			synchronized (this.wheel) {
+				if (this.cancelled) {
+					return;
+				}
+				this.cancelled = true;
+				if (this.level >= 0) {
+					this.wheel.unlink(this);
+					this.wheel.size--;
+				}
+			}
+		}
+
+		/**
+		 * Indicates whether the job has been cancelled or finished.
+		 *
+		 * @return {@code true} if the job will not be executed anymore
+		 */
+		public boolean isDone() {
+			synchronized (this.wheel) {
+				return this.cancelled;
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package rekit.util.container;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free triple buffer for one writer and one reader. The writer fills
+ * the back buffer and publishes it; the reader always gets the latest
+ * published buffer. Neither side ever waits for the other: the writer owns
+ * the back buffer, the reader owns the front buffer and the third buffer
+ * holds the latest published content.
+ *
+ * @param <T>
+ *            the type of the buffers
+ */
+public final class TripleBuffer<T> {
+	/**
+	 * The flag in {@link #latest} which indicates that the latest buffer has
+	 * not been acquired by the reader yet.
+	 */
+	private static final int FRESH = 4;
+	/**
+	 * The mask of the index in {@link #latest}.
+	 */
+	private static final int INDEX = 3;
+
+	/**
+	 * The buffers.
+	 */
+	private final Object[] buffers = new Object[3];
+	/**
+	 * The index of the buffer owned by the writer.
+	 */
+	private int back = 0;
+	/**
+	 * The index of the buffer owned by the reader.
+	 */
+	private int front = 1;
+	/**
+	 * The index of the latest published buffer (and {@link #FRESH}).
+	 */
+	private final AtomicInteger latest = new AtomicInteger(2);
+
+	/**
+	 * Create a new triple buffer.
+	 *
+	 * @param factory
+	 *            the factory for the three buffers
+	 */
+	public TripleBuffer(Supplier<T> factory) {
+		for (int i = 0; i < this.buffers.length; i++) {
+			this.buffers[i] = factory.get();
+		}
+	}
+
+	/**
+	 * Get the buffer of the writer (only invoked by the writer).
+	 *
+	 * @return the back buffer
+	 */
+	@SuppressWarnings("unchecked")
+	public T getBack() {
+		return (T) this.buffers[this.back];
+	}
+
+	/**
+	 * Publish the back buffer and take over the previously latest buffer as
+	 * new back buffer (only invoked by the writer).
+	 */
+	public void publish() {
+		this.back = this.latest.getAndSet(this.back | TripleBuffer.FRESH) & TripleBuffer.INDEX;
+	}
+
+	/**
+	 * Get the latest published buffer (only invoked by the reader). The buffer
+	 * stays valid until the next invocation.
+	 *
+	 * @return the latest published buffer
+	 */
+	@SuppressWarnings("unchecked")
+	public T acquire() {
+		if ((this.latest.get() & TripleBuffer.FRESH) != 0) {
+			this.front = this.latest.getAndSet(this.front) & TripleBuffer.INDEX;
+		}
+		return (T) this.buffers[this.front];
+	}
+}
@@ -0,0 +1,33 @@
+package rekit.util.profile;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The JFR event of a frame which has been rendered by the view.
+ *
+ */
+@Name("rekit.Frame")
+@Label("Frame")
+@Category("ReKiT")
+@Description("A frame rendered by the view")
+public final class FrameEvent extends Event {
+	/**
+	 * Indicates whether the frame has been rendered in strips.
+	 */
+	@Label("Tiled")
+	public boolean tiled;
+	/**
+	 * Indicates whether the frame has been rasterized in pure Java.
+	 */
+	@Label("Raster")
+	public boolean raster;
+	/**
+	 * The interpolation value of the frame.
+	 */
+	@Label("Interpolation")
+	public float alpha;
+}
@@ -0,0 +1,279 @@
+package rekit.util.profile;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class realizes a histogram of durations (in ns) which can be filled by
+ * any thread without locks. The values will be counted in log-linear buckets
+ * (four buckets per power of two, so a bucket covers at most 25% of its
+ * values).<br>
+ * Every thread writes into one of several stripes (chosen by its id), so
+ * concurrent threads rarely contend on the same cells; the stripes will be
+ * summed up by {@link #snapshot()}.
+ *
+ */
+public final class Histogram {
+	/**
+	 * The amount of bits of the index of a bucket per power of two.
+	 */
+	private static final int SUB_BITS = 2;
+	/**
+	 * The amount of buckets per power of two.
+	 */
+	private static final int SUB = 1 << Histogram.SUB_BITS;
+	/**
+	 * The amount of buckets (covers all non-negative longs).
+	 */
+	static final int BUCKETS = (64 - Histogram.SUB_BITS) * Histogram.SUB;
+	/**
+	 * The offsets of the sum and the maximum in a stripe (the count is the
+	 * sum of the buckets).
+	 */
+	private static final int SUM = Histogram.BUCKETS, MAX = Histogram.BUCKETS + 1;
+	/**
+	 * The size of a stripe (padded, so stripes do not share cache lines).
+	 */
+	private static final int STRIDE = Histogram.BUCKETS + 2 + 8;
+	/**
+	 * The amount of stripes (power of two).
+	 */
+	private static final int STRIPES = Integer.highestOneBit(Math.min(8, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+	/**
+	 * The cells of all stripes.
+	 */
+	private final AtomicLongArray cells = new AtomicLongArray(Histogram.STRIPES * Histogram.STRIDE);
+
+	/**
+	 * Create a new (empty) histogram.
+	 */
+	public Histogram() {
+	}
+
+	/**
+	 * Record a duration.
+	 *
+	 * @param nanos
+	 *            the duration in ns (negative values count as 0)
+	 */
+	@SuppressWarnings("deprecation")
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		int base = ((int) Thread.currentThread().getId() & (Histogram.STRIPES - 1)) * Histogram.STRIDE;
+		this.cells.getAndIncrement(base + Histogram.bucket(value));
+		this.cells.getAndAdd(base + Histogram.SUM, value);
+		long max;
+		while ((max = this.cells.get(base + Histogram.MAX)) < value) {
+			if (this.cells.compareAndSet(base + Histogram.MAX, max, value)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Get the current state of the histogram (concurrent records may be
+	 * partially visible).
+	 *
+	 * @return the snapshot
+	 */
+	public Snapshot snapshot() {
+		long[] buckets = new long[Histogram.BUCKETS];
+		long count = 0, sum = 0, max = 0;
+		for (int stripe = 0; stripe < Histogram.STRIPES; stripe++) {
+			int base = stripe * Histogram.STRIDE;
+			for (int i = 0; i < Histogram.BUCKETS; i++) {
+				long bucket = this.cells.get(base + i);
+				buckets[i] += bucket;
+				count += bucket;
+			}
+			sum += this.cells.get(base + Histogram.SUM);
+			max = Math.max(max, this.cells.get(base + Histogram.MAX));
+		}
+		return new Snapshot(buckets, count, sum, max);
+	}
+
+	/**
+	 * Reset the histogram (concurrent records may get lost).
+	 */
+	public void reset() {
+		for (int i = 0; i < this.cells.length(); i++) {
+			this.cells.set(i, 0);
+		}
+	}
+
+	/**
+	 * Get the index of the bucket of a value.
+	 *
+	 * @param value
+	 *            the non-negative value
+	 * @return the index
+	 */
+	static int bucket(long value) {
+		if (value < Histogram.SUB) {
+			return (int) value;
+		}
+		int exp = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exp - Histogram.SUB_BITS)) & (Histogram.SUB - 1);
+		return (exp - Histogram.SUB_BITS + 1) * Histogram.SUB + sub;
+	}
+
+	/**
+	 * Get the smallest value of a bucket.
+	 *
+	 * @param bucket
+	 *            the index of the bucket
+	 * @return the smallest value
+	 */
+	static long lowerBound(int bucket) {
+		if (bucket < Histogram.SUB) {
+			return bucket;
+		}
+		int exp = bucket / Histogram.SUB + Histogram.SUB_BITS - 1;
+		return (long) (Histogram.SUB + bucket % Histogram.SUB) << (exp - Histogram.SUB_BITS);
+	}
+
+	/**
+	 * Get the largest value of a bucket.
+	 *
+	 * @param bucket
+	 *            the index of the bucket
+	 * @return the largest value
+	 */
+	static long upperBound(int bucket) {
+		return bucket + 1 >= Histogram.BUCKETS ? Long.MAX_VALUE : Histogram.lowerBound(bucket + 1) - 1;
+	}
+
+	/**
+	 * An immutable state of a {@link Histogram}.
+	 *
+	 */
+	public static final class Snapshot {
+		/**
+		 * The counts of the buckets.
+		 */
+		private final long[] buckets;
+		/**
+		 * The amount of values.
+		 */
+		private final long count;
+		/**
+		 * The sum of the values.
+		 */
+		private final long sum;
+		/**
+		 * The maximum value.
+		 */
+		private final long max;
+
+		/**
+		 * Create a new snapshot.
+		 *
+		 * @param buckets
+		 *            the counts of the buckets
+		 * @param count
+		 *            the amount of values
+		 * @param sum
+		 *            the sum of the values
+		 * @param max
+		 *            the maximum value
+		 */
+		private Snapshot(long[] buckets, long count, long sum, long max) {
+			this.buckets = buckets;
+			this.count = count;
+			this.sum = sum;
+			this.max = max;
+		}
+
+		/**
+		 * Get the amount of values.
+		 *
+		 * @return the amount of values
+		 */
+		public long getCount() {
+			return this.count;
+		}
+
+		/**
+		 * Get the sum of the values.
+		 *
+		 * @return the sum in ns
+		 */
+		public long getSum() {
+			return this.sum;
+		}
+
+		/**
+		 * Get the maximum value.
+		 *
+		 * @return the maximum in ns
+		 */
+		public long getMax() {
+			return this.max;
+		}
+
+		/**
+		 * Get the mean of the values.
+		 *
+		 * @return the mean in ns (or 0 if empty)
+		 */
+		public long getMean() {
+			return this.count == 0 ? 0 : this.sum / this.count;
+		}
+
+		/**
+		 * Get a percentile of the values (the upper bound of its bucket, at
+		 * most the maximum).
+		 *
+		 * @param quantile
+		 *            the quantile in [0,1]
+		 * @return the percentile in ns (or 0 if empty)
+		 */
+		public long getPercentile(double quantile) {
+			long rank = (long) Math.ceil(Math.max(0, Math.min(1, quantile)) * this.count);
+			long seen = 0;
+			for (int i = 0; i < Histogram.BUCKETS; i++) {
+				seen += this.buckets[i];
+				if (seen >= rank && seen > 0) {
+					return Math.min(Histogram.upperBound(i), this.max);
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * Combine this snapshot with another one.
+		 *
+		 * @param other
+		 *            the other snapshot
+		 * @return the snapshot of the values of both snapshots
+		 */
+		public Snapshot plus(Snapshot other) {
+			long[] result = new long[Histogram.BUCKETS];
+			for (int i = 0; i < Histogram.BUCKETS; i++) {
+				result[i] = this.buckets[i] + other.buckets[i];
+			}
+			return new Snapshot(result, this.count + other.count, this.sum + other.sum, Math.max(this.max, other.max));
+		}
+
+		/**
+		 * Get the values which have been recorded since an earlier snapshot
+		 * of the same histogram. The maximum will be estimated by the highest
+		 * bucket of the difference.
+		 *
+		 * @param earlier
+		 *            the earlier snapshot
+		 * @return the snapshot of the difference
+		 */
+		public Snapshot minus(Snapshot earlier) {
+			long[] result = new long[Histogram.BUCKETS];
+			long max = 0;
+			for (int i = 0; i < Histogram.BUCKETS; i++) {
+				result[i] = Math.max(0, this.buckets[i] - earlier.buckets[i]);
+				if (result[i] > 0) {
+					max = Math.min(Histogram.upperBound(i), this.max);
+				}
+			}
+			return new Snapshot(result, Math.max(0, this.count - earlier.count), Math.max(0, this.sum - earlier.sum), max);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package rekit.util.profile;
+
+import java.util.Locale;
+
+/**
+ * The phases of a tick (or frame) which will be measured by the
+ * {@link Profiler}.
+ *
+ */
+public enum Phase {
+	/**
+	 * The preparation of a scene before its elements are updated.
+	 */
+	PRE,
+	/**
+	 * Adding the new elements to a scene.
+	 */
+	ADD,
+	/**
+	 * The update of a game element.
+	 */
+	UPDATE,
+	/**
+	 * Removing the deleted elements from a scene.
+	 */
+	REMOVE,
+	/**
+	 * The collision detection of a scene.
+	 */
+	COLLIDE,
+	/**
+	 * The update of a gui element.
+	 */
+	GUI,
+	/**
+	 * Rendering (recording an element or drawing a frame).
+	 */
+	RENDER;
+
+	/**
+	 * Get the name of the phase for exports.
+	 *
+	 * @return the name in lower case
+	 */
+	public String getName() {
+		return this.name().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,155 @@
+package rekit.util.profile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import rekit.config.GameConf;
+import rekit.core.ShutdownManager;
+
+/**
+ * This class exports the {@link Profiler} periodically as NDJSON (one JSON
+ * object per line): every interval, one line per class and phase which has
+ * been measured in the interval, e.g.
+ *
+ * <pre>
+ * {"time":1700000000000,"class":"rekit.logic.gameelements.entities.Player","phase":"update","count":50,"mean":4100,"p50":4095,"p99":8191,"max":8191}
+ * </pre>
+ *
+ * All durations are in ns. If the file exceeds {@link #MAX_BYTES}, it will be
+ * moved to {@code <file>.1} (replacing the previous one) and a new file will
+ * be started.
+ *
+ */
+public final class ProfileExporter {
+	/**
+	 * The maximum size of the file before it will be rolled.
+	 */
+	public static final long MAX_BYTES = 8L << 20;
+
+	/**
+	 * The file.
+	 */
+	private final Path file;
+	/**
+	 * The file of the previous roll.
+	 */
+	private final Path rolled;
+	/**
+	 * The snapshots of the last export.
+	 */
+	private final Map<Histogram, Histogram.Snapshot> last = new IdentityHashMap<>();
+	/**
+	 * The thread of the exports.
+	 */
+	private final ScheduledExecutorService executor;
+
+	/**
+	 * Create a new exporter.
+	 *
+	 * @param file
+	 *            the file
+	 */
+	private ProfileExporter(Path file) {
+		this.file = file;
+		this.rolled = file.resolveSibling(file.getFileName() + ".1");
+		this.executor = Executors.newSingleThreadScheduledExecutor(job -> {
+			Thread thread = new Thread(job, "Profile-Exporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Start exporting the profiler to a file. The export will be flushed and
+	 * stopped by the {@link ShutdownManager}.
+	 *
+	 * @param file
+	 *            the file (new lines will be appended)
+	 * @param interval
+	 *            the interval in ms
+	 */
+	public static void start(Path file, long interval) {
+		ProfileExporter exporter = new ProfileExporter(file);
+		exporter.executor.scheduleAtFixedRate(exporter::export, interval, interval, TimeUnit.MILLISECONDS);
+		ShutdownManager.registerObserver(exporter::stop);
+	}
+
+	/**
+	 * Stop the exports after a final one.
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the last export
+	 */
+	private void stop() throws InterruptedException {
+		this.executor.shutdown();
+		this.executor.awaitTermination(1, TimeUnit.SECONDS);
+		this.export();
+	}
+
+	/**
+	 * Append the measurements since the last export to the file.
+	 */
+	private synchronized void export() {
+		StringBuilder lines = new StringBuilder();
+		long time = System.currentTimeMillis();
+		for (Phase phase : Phase.values()) {
+			Profiler.forEach(phase, (type, histogram) -> {
+				Histogram.Snapshot current = histogram.snapshot();
+				Histogram.Snapshot previous = this.last.put(histogram, current);
+				Histogram.Snapshot delta = previous == null ? current : current.minus(previous);
+				if (delta.getCount() > 0) {
+					ProfileExporter.append(lines, time, type, phase, delta);
+				}
+			});
+		}
+		if (lines.length() == 0) {
+			return;
+		}
+		try {
+			if (Files.exists(this.file) && Files.size(this.file) > ProfileExporter.MAX_BYTES) {
+				Files.move(this.file, this.rolled, StandardCopyOption.REPLACE_EXISTING);
+			}
+			try (Writer writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+				writer.append(lines);
+			}
+		} catch (IOException e) {
+			GameConf.GAME_LOGGER.error("Cannot export profile to " + this.file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Append the line of a measurement.
+	 *
+	 * @param lines
+	 *            the lines
+	 * @param time
+	 *            the time of the export
+	 * @param type
+	 *            the measured class
+	 * @param phase
+	 *            the phase
+	 * @param snapshot
+	 *            the measurements
+	 */
+	private static void append(StringBuilder lines, long time, Class<?> type, Phase phase, Histogram.Snapshot snapshot) {
+		lines.append("{\"time\":").append(time);
+		lines.append(",\"class\":\"").append(type.getName()).append('"');
+		lines.append(",\"phase\":\"").append(phase.getName()).append('"');
+		lines.append(",\"count\":").append(snapshot.getCount());
+		lines.append(",\"mean\":").append(snapshot.getMean());
+		lines.append(",\"p50\":").append(snapshot.getPercentile(0.5));
+		lines.append(",\"p99\":").append(snapshot.getPercentile(0.99));
+		lines.append(",\"max\":").append(snapshot.getMax());
+		lines.append("}\n");
+	}
+}
@@ -0,0 +1,195 @@
+package rekit.util.profile;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+import rekit.config.GameConf;
+
+/**
+ * This class measures the durations of the {@link Phase phases} of ticks and
+ * frames per class (e.g. the update of every class of game elements) with
+ * nanosecond resolution. Every class and phase has its own {@link Histogram}
+ * which will be looked up without locks, so the profiler is cheap enough to
+ * stay enabled (see {@link GameConf#PROFILING}).<br>
+ * Usage:
+ *
+ * <pre>
+ * long start = Profiler.start();
+ * element.logicLoop();
+ * Profiler.stop(Phase.UPDATE, element.getClass(), start);
+ * </pre>
+ *
+ */
+public final class Profiler {
+	/**
+	 * Prevent instantiation.
+	 */
+	private Profiler() {
+	}
+
+	/**
+	 * The start of a measurement while the profiler is disabled.
+	 */
+	private static final long DISABLED = Long.MIN_VALUE;
+	/**
+	 * The phases.
+	 */
+	private static final Phase[] PHASES = Phase.values();
+	/**
+	 * The histograms of the phases by class (created on first use).
+	 */
+	private static final ClassValue<AtomicReferenceArray<Histogram>> HISTOGRAMS = new ClassValue<>() {
+		@Override
+		protected AtomicReferenceArray<Histogram> computeValue(Class<?> type) {
+			return new AtomicReferenceArray<>(Profiler.PHASES.length);
+		}
+	};
+	/**
+	 * All created histograms.
+	 */
+	private static final Queue<Entry> ENTRIES = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Start a measurement.
+	 *
+	 * @return the start of the measurement
+	 */
+	public static long start() {
+		return GameConf.PROFILING ? System.nanoTime() : Profiler.DISABLED;
+	}
+
+	/**
+	 * Finish a measurement.
+	 *
+	 * @param phase
+	 *            the phase
+	 * @param type
+	 *            the measured class
+	 * @param start
+	 *            the start of the measurement (see {@link #start()})
+	 */
+	public static void stop(Phase phase, Class<?> type, long start) {
+		if (start != Profiler.DISABLED) {
+			Profiler.histogram(phase, type).record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Finish a measurement and start the next one (saves a call of
+	 * {@link System#nanoTime()} for consecutive phases).
+	 *
+	 * @param phase
+	 *            the phase
+	 * @param type
+	 *            the measured class
+	 * @param start
+	 *            the start of the measurement (see {@link #start()})
+	 * @return the start of the next measurement
+	 */
+	public static long lap(Phase phase, Class<?> type, long start) {
+		if (start == Profiler.DISABLED) {
+			return Profiler.start();
+		}
+		long now = System.nanoTime();
+		Profiler.histogram(phase, type).record(now - start);
+		return now;
+	}
+
+	/**
+	 * Get (or create) the histogram of a class and phase.
+	 *
+	 * @param phase
+	 *            the phase
+	 * @param type
+	 *            the class
+	 * @return the histogram
+	 */
+	public static Histogram histogram(Phase phase, Class<?> type) {
+		AtomicReferenceArray<Histogram> histograms = Profiler.HISTOGRAMS.get(type);
+		Histogram histogram = histograms.get(phase.ordinal());
+		if (histogram == null) {
+			Histogram created = new Histogram();
+			if (histograms.compareAndSet(phase.ordinal(), null, created)) {
+				Profiler.ENTRIES.add(new Entry(phase, type, created));
+				return created;
+			}
+			histogram = histograms.get(phase.ordinal());
+		}
+		return histogram;
+	}
+
+	/**
+	 * Apply a function to all histograms of a phase.
+	 *
+	 * @param phase
+	 *            the phase
+	 * @param action
+	 *            the function (gets the class and its histogram)
+	 */
+	public static void forEach(Phase phase, BiConsumer<Class<?>, Histogram> action) {
+		for (Entry entry : Profiler.ENTRIES) {
+			if (entry.phase == phase) {
+				action.accept(entry.type, entry.histogram);
+			}
+		}
+	}
+
+	/**
+	 * Get the snapshots of all histograms of a phase.
+	 *
+	 * @param phase
+	 *            the phase
+	 * @return the snapshots by simple class name
+	 */
+	public static Map<String, Histogram.Snapshot> snapshot(Phase phase) {
+		Map<String, Histogram.Snapshot> snapshots = new TreeMap<>();
+		Profiler.forEach(phase, (type, histogram) -> snapshots.merge(type.getSimpleName(), histogram.snapshot(), Histogram.Snapshot::plus));
+		return snapshots;
+	}
+
+	/**
+	 * Reset all histograms.
+	 */
+	public static void reset() {
+		Profiler.ENTRIES.forEach(entry -> entry.histogram.reset());
+	}
+
+	/**
+	 * A created histogram.
+	 *
+	 */
+	private static final class Entry {
+		/**
+		 * The phase.
+		 */
+		private final Phase phase;
+		/**
+		 * The class.
+		 */
+		private final Class<?> type;
+		/**
+		 * The histogram.
+		 */
+		private final Histogram histogram;
+
+		/**
+		 * Create a new entry.
+		 *
+		 * @param phase
+		 *            the phase
+		 * @param type
+		 *            the class
+		 * @param histogram
+		 *            the histogram
+		 */
+		private Entry(Phase phase, Class<?> type, Histogram histogram) {
+			this.phase = phase;
+			this.type = type;
+			this.histogram = histogram;
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package rekit.util.profile;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The JFR event of a logic tick (see {@link Profiler} for the phases of the
+ * tick).
+ *
+ */
+@Name("rekit.Tick")
+@Label("Logic Tick")
+@Category("ReKiT")
+@Description("A fixed step of the game logic")
+public final class TickEvent extends Event {
+	/**
+	 * The class of the scene.
+	 */
+	@Label("Scene")
+	public String scene;
+	/**
+	 * The amount of game elements after the tick.
+	 */
+	@Label("Elements")
+	public int elements;
+}
@@ -1,5 +1,7 @@
 package rekit.util.state;
 
+import rekit.core.Clock;
+import rekit.core.GameTime;
 import rekit.primitives.time.Timer;
 
 /**
@@ -47,7 +49,19 @@ public abstract class State {
 	 * {@link #getTimerTime()}.
 	 */
 	public State() {
-		this.timer = new Timer(this.getTimerTime());
+		this.timer = new Timer(this.getTimerTime(), this::getClock);
+	}
+
+	/**
+	 * Get the {@link Clock} of the parenting {@link TimeStateMachine} (or the
+	 * default clock if this {@link State} has not been entered yet, see
+	 * {@link GameTime#getClock()}).
+	 *
+	 * @return the clock
+	 */
+	public Clock getClock() {
+		TimeStateMachine current = this.parent;
+		return current == null ? GameTime.getClock() : current.getClock();
 	}
 
 	/**
@@ -1,5 +1,10 @@
 package rekit.util.state;
 
+import java.util.function.Supplier;
+
+import rekit.core.Clock;
+import rekit.core.GameTime;
+
 /**
  * <p>
  * Simple StateMachine that is meant to be extended or decorated to achieve
@@ -20,15 +25,36 @@ public class TimeStateMachine {
 	 * The {@link State}, the {@link TimeStateMachine} is currently in.
 	 */
 	protected State currentState;
+	/**
+	 * The supplier of the {@link Clock} which measures the time of the
+	 * {@link State States}.
+	 */
+	private final Supplier<Clock> clock;
 
 	/**
 	 * The constructor that initializes the {@link TimeStateMachine} with a
-	 * given {@link State initialState}.
+	 * given {@link State initialState}. The time will be measured by the
+	 * default clock (see {@link GameTime#getClock()}).
 	 *
 	 * @param initialState
 	 *            the initial {@link State}.
 	 */
 	public TimeStateMachine(State initialState) {
+		this(initialState, GameTime::getClock);
+	}
+
+	/**
+	 * The constructor that initializes the {@link TimeStateMachine} with a
+	 * given {@link State initialState} and the clock of its owner.
+	 *
+	 * @param initialState
+	 *            the initial {@link State}.
+	 * @param clock
+	 *            the supplier of the {@link Clock} (e.g. the clock of the
+	 *            scene of the owning element)
+	 */
+	public TimeStateMachine(State initialState, Supplier<Clock> clock) {
+		this.clock = clock;
 		this.currentState = initialState;
 		initialState.enter(this);
 	}
@@ -81,4 +107,14 @@ public class TimeStateMachine {
 	public State getState() {
 		return this.currentState;
 	}
+
+	/**
+	 * Get the {@link Clock} which measures the time of the {@link State
+	 * States}.
+	 *
+	 * @return the clock
+	 */
+	public Clock getClock() {
+		return this.clock.get();
+	}
 }
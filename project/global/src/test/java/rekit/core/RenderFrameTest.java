@@ -0,0 +1,207 @@
+package rekit.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import rekit.primitives.TextOptions;
+import rekit.primitives.geometry.Polygon;
+import rekit.primitives.geometry.Vec;
+import rekit.primitives.image.RGBAColor;
+
+/**
+ * Tests for the record and replay of {@link RenderFrame}.
+ *
+ */
+public class RenderFrameTest {
+	/**
+	 * Draw every kind of command with varying flags on several grids (with
+	 * the same argument instances).
+	 *
+	 * @param round
+	 *            the round (varies the flags)
+	 * @param grids
+	 *            the grids
+	 */
+	private static void draw(int round, GameGrid... grids) {
+		boolean a = (round & 1) != 0, b = (round & 2) != 0, c = (round & 4) != 0, d = (round & 8) != 0;
+		Vec pos = new Vec(round, -round);
+		Vec size = new Vec(1, 2);
+		RGBAColor color = new RGBAColor(round % 256, 0, 0);
+		Polygon polygon = new Polygon(pos, new Vec[] { size });
+		int vertices = 2, count = round % 3 + 1;
+		float[] points = new float[2 * vertices * count];
+		int[] colors = new int[count];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = round + i;
+		}
+		Arrays.fill(colors, round);
+		TextOptions options = new TextOptions(size, round, color, "font", 0);
+		List<Vec> path = Arrays.asList(size);
+		for (GameGrid grid : grids) {
+			grid.setCurrentOffset(round * 0.5f);
+			grid.drawRectangle(pos, size, color, a, b);
+			grid.drawCircle(pos, size, color, b, a);
+			grid.drawLine(pos, size, round, color, c, d);
+			grid.drawImage(pos, size, "image" + round, a, b, c, d);
+			grid.drawPolygon(polygon, color, c, a);
+			grid.drawPolygons(points, vertices, colors, count, d);
+			grid.drawText(pos, "text" + round, options, b);
+			grid.drawRoundRectangle(pos, size, color, round + 0.25f, round + 0.75f, d, c);
+			grid.drawPath(pos, path, color, round + 3, b);
+		}
+	}
+
+	/**
+	 * A replay invokes the same commands with the same arguments as the
+	 * recording (more commands than the initial capacity, so all slot arrays
+	 * grow).
+	 */
+	@Test
+	public void testReplayEqualsDirectDrawing() {
+		RenderFrame frame = new RenderFrame();
+		LoggingGrid direct = new LoggingGrid();
+		for (int round = 0; round < 40; round++) {
+			RenderFrameTest.draw(round, frame.getRecorder(), direct);
+		}
+		RenderFrame cached = new RenderFrame();
+		Vec pos = new Vec(1, 1), size = new Vec(2, 2);
+		frame.getRecorder().drawCached(cached, pos, size);
+		direct.drawCached(cached, pos, size);
+		assertEquals(40 * 10 + 1, frame.size());
+
+		LoggingGrid replayed = new LoggingGrid();
+		frame.replay(replayed, 0, (dx, dy) -> {
+			throw new AssertionError("No shift recorded");
+		});
+		assertEquals(direct.log, replayed.log);
+	}
+
+	/**
+	 * Shifts are scaled by {@code 1 - alpha} and an end without a begin is
+	 * ignored.
+	 */
+	@Test
+	public void testShift() {
+		RenderFrame frame = new RenderFrame();
+		frame.endShift();
+		frame.beginShift(4, -2);
+		frame.getRecorder().setCurrentOffset(1);
+		frame.endShift();
+		frame.endShift();
+		assertEquals(3, frame.size());
+		List<Float> translations = new ArrayList<>();
+		LoggingGrid replayed = new LoggingGrid();
+		frame.replay(replayed, 0.25f, (dx, dy) -> {
+			translations.add(dx);
+			translations.add(dy);
+		});
+		assertEquals(Arrays.asList(3f, -1.5f, -3f, 1.5f), translations);
+		assertEquals(1, replayed.log.size());
+	}
+
+	/**
+	 * A cleared frame resets its camera and can be recorded again.
+	 */
+	@Test
+	public void testClear() {
+		RenderFrame frame = new RenderFrame();
+		frame.setCamera(2, 4);
+		assertEquals(3, frame.getCameraOffset(0.5f), 0);
+		RenderFrameTest.draw(7, frame.getRecorder());
+		frame.clear();
+		assertEquals(0, frame.size());
+		assertEquals(0, frame.getCameraOffset(0.5f), 0);
+		LoggingGrid replayed = new LoggingGrid();
+		frame.replay(replayed, 0, (dx, dy) -> {
+		});
+		assertTrue(replayed.log.isEmpty());
+		LoggingGrid direct = new LoggingGrid();
+		RenderFrameTest.draw(3, frame.getRecorder(), direct);
+		frame.replay(replayed, 0, (dx, dy) -> {
+		});
+		assertEquals(direct.log, replayed.log);
+	}
+
+	/**
+	 * A {@link GameGrid} which logs all invocations with their arguments.
+	 *
+	 */
+	private static final class LoggingGrid extends GameGrid {
+		/**
+		 * The invocations (name followed by the values of the arguments, as
+		 * the frame may copy mutable arguments).
+		 */
+		private final List<String> log = new ArrayList<>();
+
+		/**
+		 * Log an invocation.
+		 *
+		 * @param args
+		 *            the name and the arguments
+		 */
+		private void log(Object... args) {
+			this.log.add(Arrays.toString(args));
+		}
+
+		@Override
+		public void setCurrentOffset(float cameraOffsetUnits) {
+			this.log("offset", cameraOffsetUnits);
+		}
+
+		@Override
+		public void drawRectangle(Vec pos, Vec size, RGBAColor color, boolean ingame, boolean usefilter) {
+			this.log("rectangle", pos, size, color, ingame, usefilter);
+		}
+
+		@Override
+		public void drawCircle(Vec pos, Vec size, RGBAColor color, boolean ingame, boolean usefilter) {
+			this.log("circle", pos, size, color, ingame, usefilter);
+		}
+
+		@Override
+		public void drawLine(Vec a, Vec b, int lineWidth, RGBAColor color, boolean ingame, boolean usefilter) {
+			this.log("line", a, b, lineWidth, color, ingame, usefilter);
+		}
+
+		@Override
+		public void drawImage(Vec pos, Vec size, String imagePath, boolean ingame, boolean usefilter, boolean mirrorX, boolean mirrorY) {
+			this.log("image", pos, size, imagePath, ingame, usefilter, mirrorX, mirrorY);
+		}
+
+		@Override
+		public void drawPolygon(Polygon polygon, RGBAColor color, boolean fill, boolean usefilter) {
+			this.log("polygon", Arrays.toString(polygon.getAbsoluteArray()), color, fill, usefilter);
+		}
+
+		@Override
+		public void drawPolygons(float[] points, int vertices, int[] colors, int count, boolean usefilter) {
+			this.log("polygons", Arrays.toString(points), vertices, Arrays.toString(colors), count, usefilter);
+		}
+
+		@Override
+		public void drawCached(RenderFrame content, Vec pos, Vec size) {
+			this.log("cached", content, pos, size);
+		}
+
+		@Override
+		public void drawText(Vec pos, String text, TextOptions options, boolean ingame) {
+			this.log("text", pos, text, options.getHeight(), options.getColor(), ingame);
+		}
+
+		@Override
+		public void drawRoundRectangle(Vec pos, Vec size, RGBAColor color, float arcWidth, float arcHeight, boolean ingame, boolean usefilter) {
+			this.log("roundRectangle", pos, size, color, arcWidth, arcHeight, ingame, usefilter);
+		}
+
+		@Override
+		public void drawPath(Vec startPos, List<Vec> pts, RGBAColor color, int lineWidth, boolean usefilter) {
+			this.log("path", startPos, pts, color, lineWidth, usefilter);
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package rekit.primitives.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link TimerWheel}.
+ *
+ */
+public class TimerWheelTest {
+	/**
+	 * The ticks of one level (see {@link TimerWheel}).
+	 */
+	private static final long LEVEL_1 = 64, LEVEL_2 = 64 * 64, LEVEL_3 = 64 * 64 * 64, LEVELS = 64L * 64 * 64 * 64;
+
+	/**
+	 * The current time of the test.
+	 */
+	private long now;
+
+	/**
+	 * Advance a wheel tick by tick and return the time of the first
+	 * execution of a job.
+	 *
+	 * @param wheel
+	 *            the wheel
+	 * @param fired
+	 *            the executions (will be checked after every tick)
+	 * @param limit
+	 *            the last time to advance to
+	 * @return the time of the first execution or -1 if none
+	 */
+	private long advanceUntilFired(TimerWheel wheel, List<Long> fired, long limit) {
+		while (this.now < limit) {
+			wheel.advance(++this.now);
+			if (!fired.isEmpty()) {
+				return this.now;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Jobs are executed exactly when their delay has passed, also at the
+	 * boundaries where they have to be cascaded from higher levels.
+	 */
+	@Test
+	public void testCascadeBoundaries() {
+		long[] delays = { 0, 1, 2, TimerWheelTest.LEVEL_1 - 1, TimerWheelTest.LEVEL_1, TimerWheelTest.LEVEL_1 + 1, TimerWheelTest.LEVEL_2 - 1,
+				TimerWheelTest.LEVEL_2, TimerWheelTest.LEVEL_2 + 1, TimerWheelTest.LEVEL_3 - 1, TimerWheelTest.LEVEL_3, TimerWheelTest.LEVEL_3 + 1 };
+		for (long delay : delays) {
+			this.now = 0;
+			TimerWheel wheel = new TimerWheel(1, 0);
+			List<Long> fired = new ArrayList<>();
+			wheel.schedule(delay, () -> fired.add(this.now));
+			long expected = Math.max(1, delay);
+			assertEquals("delay " + delay, expected, this.advanceUntilFired(wheel, fired, expected + 1));
+			assertEquals(0, wheel.size());
+		}
+	}
+
+	/**
+	 * Jobs which are scheduled while the lower levels are about to wrap are
+	 * executed on time (the current tick is not aligned to a level).
+	 */
+	@Test
+	public void testUnalignedStart() {
+		long[] starts = { TimerWheelTest.LEVEL_1 - 3, TimerWheelTest.LEVEL_2 - 3, TimerWheelTest.LEVEL_2 + 5, TimerWheelTest.LEVEL_3 - 1 };
+		long[] delays = { 1, 3, 4, TimerWheelTest.LEVEL_1, TimerWheelTest.LEVEL_1 + 7, TimerWheelTest.LEVEL_2 + 1 };
+		for (long start : starts) {
+			for (long delay : delays) {
+				TimerWheel wheel = new TimerWheel(1, 0);
+				// keep a job in the wheel, so the ticks are not skipped
+				wheel.schedule(TimerWheelTest.LEVELS, () -> {
+				});
+				wheel.advance(start);
+				this.now = start;
+				List<Long> fired = new ArrayList<>();
+				wheel.schedule(delay, () -> fired.add(this.now));
+				assertEquals("start " + start + ", delay " + delay, start + delay, this.advanceUntilFired(wheel, fired, start + delay + 1));
+			}
+		}
+	}
+
+	/**
+	 * A job beyond the range of all levels is parked and rescheduled until
+	 * it is due.
+	 */
+	@Test
+	public void testBeyondAllLevels() {
+		TimerWheel wheel = new TimerWheel(1, 0);
+		List<Long> fired = new ArrayList<>();
+		long delay = TimerWheelTest.LEVELS + 10;
+		wheel.schedule(delay, () -> fired.add(1L));
+		wheel.advance(delay - 1);
+		assertTrue(fired.isEmpty());
+		assertEquals(1, wheel.size());
+		wheel.advance(delay);
+		assertEquals(1, fired.size());
+	}
+
+	/**
+	 * A big step executes all due jobs in the order of their deadlines.
+	 */
+	@Test
+	public void testOrderOfBigStep() {
+		TimerWheel wheel = new TimerWheel(10, 1000);
+		List<Integer> fired = new ArrayList<>();
+		wheel.schedule(5000, () -> fired.add(3));
+		wheel.schedule(15, () -> fired.add(1));
+		wheel.schedule(700, () -> fired.add(2));
+		wheel.schedule(50000, () -> fired.add(4));
+		wheel.advance(1000 + 6000);
+		assertEquals(Arrays.asList(1, 2, 3), fired);
+		assertEquals(1, wheel.size());
+	}
+
+	/**
+	 * Delays are rounded up to whole ticks and time before the origin does
+	 * not execute anything.
+	 */
+	@Test
+	public void testResolution() {
+		TimerWheel wheel = new TimerWheel(16, 100);
+		List<Integer> fired = new ArrayList<>();
+		wheel.schedule(17, () -> fired.add(1));
+		wheel.advance(50);
+		wheel.advance(100 + 31);
+		assertTrue(fired.isEmpty());
+		wheel.advance(100 + 32);
+		assertEquals(Arrays.asList(1), fired);
+	}
+
+	/**
+	 * Periodic jobs are repeated as long as they return {@code true}.
+	 */
+	@Test
+	public void testPeriodic() {
+		TimerWheel wheel = new TimerWheel(1, 0);
+		List<Long> fired = new ArrayList<>();
+		TimerWheel.Job job = wheel.schedule(10, 100, () -> {
+			fired.add(this.now);
+			return fired.size() < 3;
+		});
+		for (this.now = 1; this.now <= 1000; this.now++) {
+			wheel.advance(this.now);
+		}
+		assertEquals(Arrays.asList(10L, 110L, 210L), fired);
+		assertTrue(job.isDone());
+		assertEquals(0, wheel.size());
+	}
+
+	/**
+	 * Cancelled jobs are not executed and periodic jobs which cancel
+	 * themselves are not repeated.
+	 */
+	@Test
+	public void testCancel() {
+		TimerWheel wheel = new TimerWheel(1, 0);
+		List<String> fired = new ArrayList<>();
+		TimerWheel.Job cancelled = wheel.schedule(5, () -> fired.add("cancelled"));
+		TimerWheel.Job[] self = new TimerWheel.Job[1];
+		self[0] = wheel.schedule(1, 1, () -> {
+			fired.add("self");
+			self[0].cancel();
+			return true;
+		});
+		assertEquals(2, wheel.size());
+		cancelled.cancel();
+		cancelled.cancel();
+		assertTrue(cancelled.isDone());
+		assertEquals(1, wheel.size());
+		wheel.advance(100);
+		assertEquals(Arrays.asList("self"), fired);
+		assertEquals(0, wheel.size());
+	}
+
+	/**
+	 * Jobs may schedule further jobs; they are executed at the next tick at
+	 * the earliest.
+	 */
+	@Test
+	public void testScheduleFromJob() {
+		TimerWheel wheel = new TimerWheel(1, 0);
+		List<Long> fired = new ArrayList<>();
+		wheel.schedule(5, () -> wheel.schedule(0, () -> fired.add(this.now)));
+		for (this.now = 1; this.now <= 10; this.now++) {
+			wheel.advance(this.now);
+		}
+		assertEquals(Arrays.asList(6L), fired);
+	}
+
+	/**
+	 * Clearing cancels all jobs of all levels.
+	 */
+	@Test
+	public void testClear() {
+		TimerWheel wheel = new TimerWheel(1, 0);
+		List<Long> fired = new ArrayList<>();
+		TimerWheel.Job near = wheel.schedule(3, () -> fired.add(1L));
+		wheel.schedule(TimerWheelTest.LEVEL_2 + 3, () -> fired.add(2L));
+		wheel.schedule(TimerWheelTest.LEVELS * 2, () -> fired.add(3L));
+		wheel.clear();
+		assertEquals(0, wheel.size());
+		assertTrue(near.isDone());
+		near.cancel();
+		assertEquals(0, wheel.size());
+		wheel.advance(TimerWheelTest.LEVEL_3);
+		assertTrue(fired.isEmpty());
+		// the wheel can be used again
+		wheel.schedule(1, () -> fired.add(4L));
+		wheel.advance(TimerWheelTest.LEVEL_3 + 1);
+		assertEquals(Arrays.asList(4L), fired);
+	}
+}
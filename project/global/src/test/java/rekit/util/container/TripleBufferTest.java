@@ -0,0 +1,114 @@
+package rekit.util.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link TripleBuffer}.
+ *
+ */
+public class TripleBufferTest {
+	/**
+	 * The reader gets the latest published buffer; buffers published in
+	 * between are skipped.
+	 */
+	@Test
+	public void testLatestWins() {
+		TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[1]);
+		buffer.getBack()[0] = 1;
+		buffer.publish();
+		buffer.getBack()[0] = 2;
+		buffer.publish();
+		buffer.getBack()[0] = 3;
+		buffer.publish();
+		assertEquals(3, buffer.acquire()[0]);
+		// nothing new: the front buffer stays
+		int[] front = buffer.acquire();
+		assertEquals(3, front[0]);
+		assertSame(front, buffer.acquire());
+	}
+
+	/**
+	 * Writer and reader never own the same buffer and all three buffers are
+	 * used.
+	 */
+	@Test
+	public void testBuffersAreDisjoint() {
+		TripleBuffer<Object> buffer = new TripleBuffer<>(Object::new);
+		Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int i = 0; i < 10; i++) {
+			Object back = buffer.getBack();
+			seen.add(back);
+			buffer.publish();
+			Object front = buffer.acquire();
+			seen.add(front);
+			assertSame(back, front);
+			assertNotSame(front, buffer.getBack());
+			seen.add(buffer.getBack());
+			if (i % 2 == 0) {
+				// publish without acquire: the back buffer must not be the front
+				buffer.publish();
+				assertNotSame(front, buffer.getBack());
+			}
+		}
+		assertEquals(3, seen.size());
+	}
+
+	/**
+	 * Acquiring before the first publish returns a buffer which is not the
+	 * back buffer.
+	 */
+	@Test
+	public void testAcquireBeforePublish() {
+		TripleBuffer<Object> buffer = new TripleBuffer<>(Object::new);
+		assertNotSame(buffer.getBack(), buffer.acquire());
+	}
+
+	/**
+	 * A concurrent reader only sees completely written buffers in the order
+	 * of their publication.
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted
+	 */
+	@Test(timeout = 30000)
+	public void testConcurrentWriter() throws InterruptedException {
+		final int frames = 200000;
+		TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[8]);
+		AtomicBoolean finished = new AtomicBoolean();
+		Thread writer = new Thread(() -> {
+			for (long frame = 1; frame <= frames; frame++) {
+				long[] back = buffer.getBack();
+				for (int i = 0; i < back.length; i++) {
+					back[i] = frame;
+				}
+				buffer.publish();
+			}
+			finished.set(true);
+		});
+		writer.setDaemon(true);
+		writer.start();
+		long last = 0;
+		boolean done = false;
+		while (!done) {
+			done = finished.get();
+			long[] front = buffer.acquire();
+			for (int i = 1; i < front.length; i++) {
+				assertEquals("Torn buffer", front[0], front[i]);
+			}
+			assertTrue("Frames must not go back", front[0] >= last);
+			last = front[0];
+		}
+		writer.join();
+		assertEquals(frames, last);
+	}
+}
@@ -0,0 +1,163 @@
+package rekit.util.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link Histogram}.
+ *
+ */
+public class HistogramTest {
+	/**
+	 * Small values have buckets of their own.
+	 */
+	@Test
+	public void testSmallValues() {
+		for (int value = 0; value < 8; value++) {
+			assertEquals(value, Histogram.bucket(value));
+			assertEquals(value, Histogram.lowerBound(value));
+			assertEquals(value, Histogram.upperBound(value));
+		}
+		assertEquals(8, Histogram.bucket(8));
+		assertEquals(8, Histogram.bucket(9));
+		assertEquals(9, Histogram.bucket(10));
+		assertEquals(11, Histogram.bucket(15));
+		assertEquals(12, Histogram.bucket(16));
+	}
+
+	/**
+	 * The bounds of all buckets are contiguous and map back to their bucket;
+	 * a bucket covers at most 25% of its values.
+	 */
+	@Test
+	public void testBucketBoundaries() {
+		assertEquals(0, Histogram.lowerBound(0));
+		for (int bucket = 0; bucket < Histogram.BUCKETS; bucket++) {
+			long lower = Histogram.lowerBound(bucket);
+			long upper = Histogram.upperBound(bucket);
+			assertTrue(lower <= upper);
+			assertEquals(bucket, Histogram.bucket(lower));
+			assertEquals(bucket, Histogram.bucket(upper));
+			if (bucket + 1 < Histogram.BUCKETS) {
+				assertEquals(upper + 1, Histogram.lowerBound(bucket + 1));
+			}
+			if (lower >= 4) {
+				assertTrue("bucket " + bucket, upper - lower + 1 <= lower / 4);
+			}
+		}
+		assertEquals(Histogram.BUCKETS - 1, Histogram.bucket(Long.MAX_VALUE));
+		assertEquals(Long.MAX_VALUE, Histogram.upperBound(Histogram.BUCKETS - 1));
+	}
+
+	/**
+	 * The values next to every power of two end up in the buckets of their
+	 * bounds.
+	 */
+	@Test
+	public void testPowersOfTwo() {
+		for (int exp = 2; exp < 63; exp++) {
+			long power = 1L << exp;
+			int bucket = Histogram.bucket(power);
+			assertEquals(power, Histogram.lowerBound(bucket));
+			assertEquals(bucket - 1, Histogram.bucket(power - 1));
+			assertEquals(power - 1, Histogram.upperBound(bucket - 1));
+		}
+	}
+
+	/**
+	 * Percentiles are the upper bounds of their buckets, limited by the
+	 * maximum.
+	 */
+	@Test
+	public void testPercentile() {
+		Histogram histogram = new Histogram();
+		assertEquals(0, histogram.snapshot().getPercentile(0.5));
+		for (int value = 1; value <= 100; value++) {
+			histogram.record(value);
+		}
+		Histogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(100, snapshot.getCount());
+		assertEquals(5050, snapshot.getSum());
+		assertEquals(50, snapshot.getMean());
+		assertEquals(100, snapshot.getMax());
+		// 50 is in the bucket [48,55]
+		assertEquals(55, snapshot.getPercentile(0.5));
+		// 99 and 100 are in the bucket [96,111], limited by the maximum
+		assertEquals(100, snapshot.getPercentile(0.99));
+		assertEquals(100, snapshot.getPercentile(1));
+		assertEquals(100, snapshot.getPercentile(2));
+		assertEquals(1, snapshot.getPercentile(0));
+		assertEquals(1, snapshot.getPercentile(-1));
+	}
+
+	/**
+	 * Negative values count as 0.
+	 */
+	@Test
+	public void testNegativeValues() {
+		Histogram histogram = new Histogram();
+		histogram.record(-5);
+		Histogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(1, snapshot.getCount());
+		assertEquals(0, snapshot.getSum());
+		assertEquals(0, snapshot.getPercentile(1));
+	}
+
+	/**
+	 * The difference of two snapshots holds the values recorded in between.
+	 */
+	@Test
+	public void testMinus() {
+		Histogram histogram = new Histogram();
+		histogram.record(1000);
+		Histogram.Snapshot earlier = histogram.snapshot();
+		histogram.record(10);
+		histogram.record(12);
+		Histogram.Snapshot window = histogram.snapshot().minus(earlier);
+		assertEquals(2, window.getCount());
+		assertEquals(22, window.getSum());
+		// the maximum is estimated by the highest bucket of the window
+		assertEquals(Histogram.upperBound(Histogram.bucket(12)), window.getMax());
+		assertEquals(window.getMax(), window.getPercentile(1));
+		Histogram.Snapshot empty = earlier.minus(earlier);
+		assertEquals(0, empty.getCount());
+		assertEquals(0, empty.getMax());
+		assertEquals(0, empty.getPercentile(0.5));
+		Histogram.Snapshot both = earlier.plus(window);
+		assertEquals(3, both.getCount());
+		assertEquals(1000, both.getMax());
+	}
+
+	/**
+	 * Concurrent records are all counted.
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted
+	 */
+	@Test(timeout = 30000)
+	public void testConcurrentRecords() throws InterruptedException {
+		final int threads = 8;
+		final int values = 10000;
+		Histogram histogram = new Histogram();
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			workers[t] = new Thread(() -> {
+				for (int i = 1; i <= values; i++) {
+					histogram.record(i);
+				}
+			});
+			workers[t].start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		Histogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(threads * values, snapshot.getCount());
+		assertEquals(threads * (long) values * (values + 1) / 2, snapshot.getSum());
+		assertEquals(values, snapshot.getMax());
+		histogram.reset();
+		assertEquals(0, histogram.snapshot().getCount());
+	}
+}
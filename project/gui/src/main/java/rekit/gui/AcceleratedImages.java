@@ -0,0 +1,204 @@
+package rekit.gui;
+
+import java.awt.AlphaComposite;
+import java.awt.BufferCapabilities;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Transparency;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import rekit.config.GameConf;
+
+/**
+ * This class draws images via {@link VolatileImage VolatileImages}, so the
+ * graphics pipeline (e.g. OpenGL, XRender or Direct3D) can keep them in video
+ * memory. If the content of a volatile image has been lost, it will be
+ * restored from the original image. Images will only be accelerated if
+ * {@link GameConf#VOLATILE_SPRITES} is set and they will be drawn to a screen;
+ * all other draws use the original image.<br>
+ * The video memory of a volatile image will be released
+ * ({@link VolatileImage#flush()}) as soon as its original image is
+ * {@link #release(BufferedImage) released} or has been garbage collected (see
+ * {@link #expunge()}).<br>
+ * This class is not thread-safe.
+ *
+ */
+final class AcceleratedImages {
+	/**
+	 * The maximum amount of tries to draw a volatile image whose content has
+	 * been lost while drawing.
+	 */
+	private static final int MAX_TRIES = 3;
+	/**
+	 * The volatile images of the original images (will be dropped with the
+	 * original images).
+	 */
+	private final Map<BufferedImage, Surface> surfaces = new WeakHashMap<>();
+	/**
+	 * All volatile images which have not been flushed yet (keeps their
+	 * references reachable until they have been enqueued).
+	 */
+	private final Set<Surface> live = new HashSet<>();
+	/**
+	 * The queue of the volatile images whose original images have been
+	 * garbage collected.
+	 */
+	private final ReferenceQueue<BufferedImage> collected = new ReferenceQueue<>();
+
+	/**
+	 * Draw an image.
+	 *
+	 * @param graphics
+	 *            the target graphics
+	 * @param image
+	 *            the original image
+	 * @param x
+	 *            the x coordinate of the upper left corner
+	 * @param y
+	 *            the y coordinate of the upper left corner
+	 */
+	void draw(Graphics2D graphics, BufferedImage image, int x, int y) {
+		GraphicsConfiguration configuration = graphics.getDeviceConfiguration();
+		if (!GameConf.VOLATILE_SPRITES || configuration.getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN) {
+			graphics.drawImage(image, x, y, null);
+			return;
+		}
+		Surface entry = this.surfaces.get(image);
+		for (int tries = 0; tries < AcceleratedImages.MAX_TRIES; tries++) {
+			int state = entry == null ? VolatileImage.IMAGE_INCOMPATIBLE : entry.surface.validate(configuration);
+			if (state == VolatileImage.IMAGE_INCOMPATIBLE) {
+				this.release(image);
+				entry = new Surface(image, configuration.createCompatibleVolatileImage(image.getWidth(), image.getHeight(), image.getTransparency()), this.collected);
+				this.surfaces.put(image, entry);
+				this.live.add(entry);
+				state = VolatileImage.IMAGE_RESTORED;
+			}
+			if (state == VolatileImage.IMAGE_RESTORED) {
+				AcceleratedImages.restore(entry.surface, image);
+			}
+			// the content may have been lost again while restoring
+			if (!entry.surface.contentsLost()) {
+				graphics.drawImage(entry.surface, x, y, null);
+				return;
+			}
+		}
+		// the surface is not stable, so use the original image
+		graphics.drawImage(image, x, y, null);
+	}
+
+	/**
+	 * Release the volatile image of an original image which will not be drawn
+	 * anymore (e.g. a dropped chunk of static content).
+	 *
+	 * @param image
+	 *            the original image
+	 */
+	void release(BufferedImage image) {
+		Surface entry = this.surfaces.remove(image);
+		if (entry != null) {
+			entry.clear();
+			this.flush(entry);
+		}
+	}
+
+	/**
+	 * Release the volatile images whose original images have been garbage
+	 * collected.
+	 */
+	void expunge() {
+		Surface entry;
+		while ((entry = (Surface) this.collected.poll()) != null) {
+			this.flush(entry);
+		}
+	}
+
+	/**
+	 * Flush a volatile image.
+	 *
+	 * @param entry
+	 *            the volatile image
+	 */
+	private void flush(Surface entry) {
+		if (this.live.remove(entry)) {
+			entry.surface.flush();
+		}
+	}
+
+	/**
+	 * Copy the original image to its volatile image.
+	 *
+	 * @param surface
+	 *            the volatile image
+	 * @param image
+	 *            the original image
+	 */
+	private static void restore(VolatileImage surface, BufferedImage image) {
+		Graphics2D graphics = surface.createGraphics();
+		graphics.setComposite(AlphaComposite.Src);
+		graphics.drawImage(image, 0, 0, null);
+		graphics.dispose();
+	}
+
+	/**
+	 * Log the capabilities of the render pipeline.
+	 *
+	 * @param configuration
+	 *            the configuration of the screen
+	 * @param strategy
+	 *            the buffer strategy of the screen
+	 */
+	static void report(GraphicsConfiguration configuration, BufferStrategy strategy) {
+		StringBuilder report = new StringBuilder("Render pipeline:");
+		for (String pipeline : new String[] { "opengl", "xrender", "d3d", "metal" }) {
+			report.append(' ').append(pipeline).append('=').append(System.getProperty("sun.java2d." + pipeline, "default"));
+		}
+		GraphicsDevice device = configuration.getDevice();
+		report.append("\n  Device: ").append(device.getIDstring()).append(", accelerated memory: ").append(device.getAvailableAcceleratedMemory());
+		report.append("\n  Images accelerated: ").append(configuration.getImageCapabilities().isAccelerated());
+
+		VolatileImage probe = configuration.createCompatibleVolatileImage(1, 1, Transparency.TRANSLUCENT);
+		report.append("\n  Translucent volatile images accelerated: ").append(probe.getCapabilities().isAccelerated());
+		probe.flush();
+
+		BufferCapabilities buffers = strategy.getCapabilities();
+		report.append("\n  Buffers: page flipping: ").append(buffers.isPageFlipping());
+		report.append(", front accelerated: ").append(buffers.getFrontBufferCapabilities().isAccelerated());
+		report.append(", back accelerated: ").append(buffers.getBackBufferCapabilities().isAccelerated());
+		GameConf.GAME_LOGGER.info(report.toString());
+	}
+
+	/**
+	 * A volatile image which references its original image weakly.
+	 *
+	 */
+	private static final class Surface extends WeakReference<BufferedImage> {
+		/**
+		 * The volatile image.
+		 */
+		private final VolatileImage surface;
+
+		/**
+		 * Create a new entry.
+		 *
+		 * @param image
+		 *            the original image
+		 * @param surface
+		 *            the volatile image
+		 * @param queue
+		 *            the queue of collected original images
+		 */
+		private Surface(BufferedImage image, VolatileImage surface, ReferenceQueue<BufferedImage> queue) {
+			super(image, queue);
+			this.surface = surface;
+		}
+	}
+}
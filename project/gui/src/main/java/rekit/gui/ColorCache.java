@@ -0,0 +1,133 @@
+package rekit.gui;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * This class interns {@link Color Colors} by their ARGB value in an open
+ * addressing hash table, so a color can be looked up without any allocation.
+ * The cache is bounded; if it is full it will be cleared (e.g. for fading
+ * particles which produce many short-living colors).<br>
+ * This class is not thread-safe.
+ *
+ */
+final class ColorCache {
+	/**
+	 * The maximum amount of cached colors.
+	 */
+	private static final int MAX_SIZE = 4096;
+	/**
+	 * The initial capacity of the table.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+	/**
+	 * The ARGB values of the slots.
+	 */
+	private int[] keys = new int[ColorCache.INITIAL_CAPACITY];
+	/**
+	 * The colors of the slots ({@code null} for free slots).
+	 */
+	private Color[] values = new Color[ColorCache.INITIAL_CAPACITY];
+	/**
+	 * The amount of cached colors.
+	 */
+	private int size;
+
+	/**
+	 * Get a cached color.
+	 *
+	 * @param argb
+	 *            the ARGB value
+	 * @return the color or {@code null} if not cached
+	 */
+	Color get(int argb) {
+		int mask = this.keys.length - 1;
+		for (int i = ColorCache.hash(argb) & mask; this.values[i] != null; i = (i + 1) & mask) {
+			if (this.keys[i] == argb) {
+				return this.values[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Cache a color.
+	 *
+	 * @param argb
+	 *            the ARGB value
+	 * @param color
+	 *            the color
+	 * @return the color
+	 */
+	Color put(int argb, Color color) {
+		if (this.size >= ColorCache.MAX_SIZE) {
+			this.clear();
+		} else if (2 * (this.size + 1) > this.keys.length) {
+			this.resize(2 * this.keys.length);
+		}
+		this.insert(argb, color);
+		return color;
+	}
+
+	/**
+	 * Remove all colors.
+	 */
+	void clear() {
+		Arrays.fill(this.values, null);
+		this.size = 0;
+	}
+
+	/**
+	 * Insert a color (the table needs a free slot).
+	 *
+	 * @param argb
+	 *            the ARGB value
+	 * @param color
+	 *            the color
+	 */
+	private void insert(int argb, Color color) {
+		int mask = this.keys.length - 1;
+		int i = ColorCache.hash(argb) & mask;
+		while (this.values[i] != null) {
+			if (this.keys[i] == argb) {
+				this.values[i] = color;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		this.keys[i] = argb;
+		this.values[i] = color;
+		this.size++;
+	}
+
+	/**
+	 * Rehash all colors into a new table.
+	 *
+	 * @param capacity
+	 *            the new capacity (power of two)
+	 */
+	private void resize(int capacity) {
+		int[] oldKeys = this.keys;
+		Color[] oldValues = this.values;
+		this.keys = new int[capacity];
+		this.values = new Color[capacity];
+		this.size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] != null) {
+				this.insert(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	/**
+	 * Spread the bits of an ARGB value.
+	 *
+	 * @param argb
+	 *            the ARGB value
+	 * @return the hash
+	 */
+	private static int hash(int argb) {
+		int h = argb * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,221 @@
+package rekit.gui;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.locks.LockSupport;
+
+import rekit.config.GameConf;
+
+/**
+ * This class paces the frames of the render thread. Frames start every
+ * {@link GameConf#RENDER_DELTA} ms; the time until the next frame will be
+ * parked (see {@link LockSupport#parkNanos(long)}) except for a short final
+ * spin, so waiting costs (almost) no CPU time.<br>
+ * If {@link GameConf#UNCAPPED_FRAMES} is set, frames will be rendered without
+ * waiting. If {@link GameConf#ADAPTIVE_FRAMES} is set, the interval will be
+ * stretched to the recent cost of a frame whenever frames cannot be rendered
+ * in time (so the frames are paced steadily instead of alternating between
+ * short and long intervals).<br>
+ * The pacer records the interval, the duration and the CPU time of the render
+ * thread of the last frames.<br>
+ * This class is not thread-safe.
+ *
+ */
+final class FramePacer {
+	/**
+	 * The amount of frames of the statistics (power of two).
+	 */
+	private static final int FRAMES = 1 << 7;
+	/**
+	 * The time before the start of the next frame which will be spent
+	 * spinning instead of parking (in ns, covers the inaccuracy of parking).
+	 */
+	private static final long SPIN_NANOS = 500_000L;
+	/**
+	 * The headroom of the adaptive interval over the mean duration of the
+	 * recent frames (in percent).
+	 */
+	private static final int ADAPTIVE_HEADROOM = 10;
+
+	/**
+	 * The bean for the CPU time of the render thread (or {@code null} if not
+	 * supported).
+	 */
+	private final ThreadMXBean threads;
+	/**
+	 * The intervals between the starts of the last frames (in ns).
+	 */
+	private final Ring intervals = new Ring();
+	/**
+	 * The durations of the last frames (in ns).
+	 */
+	private final Ring durations = new Ring();
+	/**
+	 * The CPU times of the render thread of the last frames (in ns).
+	 */
+	private final Ring cpuTimes = new Ring();
+	/**
+	 * The start of the current frame (or -1 before the first frame).
+	 */
+	private long start = -1;
+	/**
+	 * The CPU time of the render thread at the start of the current frame.
+	 */
+	private long cpuStart;
+
+	/**
+	 * Create a new pacer for the calling (render) thread.
+	 */
+	FramePacer() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		this.threads = bean.isCurrentThreadCpuTimeSupported() ? bean : null;
+	}
+
+	/**
+	 * Start a frame.
+	 */
+	void begin() {
+		long now = System.nanoTime();
+		if (this.start >= 0) {
+			this.intervals.add(now - this.start);
+		}
+		this.start = now;
+		this.cpuStart = this.cpuTime();
+	}
+
+	/**
+	 * End the current frame and wait until the next frame shall start.
+	 */
+	void end() {
+		long now = System.nanoTime();
+		this.durations.add(now - this.start);
+		this.cpuTimes.add(this.cpuTime() - this.cpuStart);
+		if (GameConf.UNCAPPED_FRAMES) {
+			return;
+		}
+		long interval = GameConf.RENDER_DELTA * 1_000_000L;
+		if (GameConf.ADAPTIVE_FRAMES) {
+			interval = Math.max(interval, this.durations.mean() * (100 + FramePacer.ADAPTIVE_HEADROOM) / 100);
+		}
+		FramePacer.waitUntil(this.start + interval);
+	}
+
+	/**
+	 * Wait until a point in time.
+	 *
+	 * @param deadline
+	 *            the point in time (see {@link System#nanoTime()})
+	 */
+	private static void waitUntil(long deadline) {
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > FramePacer.SPIN_NANOS) {
+			LockSupport.parkNanos(remaining - FramePacer.SPIN_NANOS);
+		}
+		while (deadline - System.nanoTime() > 0) {
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Get the CPU time of the calling thread.
+	 *
+	 * @return the CPU time in ns (or 0 if not supported)
+	 */
+	private long cpuTime() {
+		return this.threads == null ? 0 : this.threads.getCurrentThreadCpuTime();
+	}
+
+	/**
+	 * Get the frames per second of the last frames.
+	 *
+	 * @return the FPS
+	 */
+	long getFPS() {
+		long mean = this.intervals.mean();
+		return mean == 0 ? 0 : 1_000_000_000L / mean;
+	}
+
+	/**
+	 * Get the mean duration of the last frames.
+	 *
+	 * @return the duration in ns
+	 */
+	long getMeanDuration() {
+		return this.durations.mean();
+	}
+
+	/**
+	 * Get the maximum interval between the last frames.
+	 *
+	 * @return the interval in ns
+	 */
+	long getMaxInterval() {
+		return this.intervals.max();
+	}
+
+	/**
+	 * Get the mean CPU time of the render thread per frame of the last
+	 * frames.
+	 *
+	 * @return the CPU time in ns (0 if not supported)
+	 */
+	long getMeanCpuTime() {
+		return this.cpuTimes.mean();
+	}
+
+	/**
+	 * A ring buffer of the values of the last {@link FramePacer#FRAMES}
+	 * frames with a running sum.
+	 *
+	 */
+	private static final class Ring {
+		/**
+		 * The values.
+		 */
+		private final long[] values = new long[FramePacer.FRAMES];
+		/**
+		 * The amount of added values.
+		 */
+		private long count;
+		/**
+		 * The sum of the values in the buffer.
+		 */
+		private long sum;
+
+		/**
+		 * Add a value (replaces the oldest one if full).
+		 *
+		 * @param value
+		 *            the value
+		 */
+		private void add(long value) {
+			int index = (int) this.count & (FramePacer.FRAMES - 1);
+			this.sum += value - this.values[index];
+			this.values[index] = value;
+			this.count++;
+		}
+
+		/**
+		 * Get the mean of the values.
+		 *
+		 * @return the mean (or 0 if empty)
+		 */
+		private long mean() {
+			long size = Math.min(this.count, FramePacer.FRAMES);
+			return size == 0 ? 0 : this.sum / size;
+		}
+
+		/**
+		 * Get the maximum of the values.
+		 *
+		 * @return the maximum (or 0 if empty)
+		 */
+		private long max() {
+			long max = 0;
+			for (long value : this.values) {
+				max = Math.max(max, value);
+			}
+			return max;
+		}
+	}
+}
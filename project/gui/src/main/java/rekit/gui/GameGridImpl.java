@@ -2,22 +2,23 @@ package rekit.gui;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
-import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
-import java.awt.Image;
+import java.awt.Transparency;
 import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
-import org.fuchss.tools.tuple.Tuple3;
-
 import rekit.config.GameConf;
 import rekit.core.GameGrid;
+import rekit.core.RenderFrame;
 import rekit.logic.filters.Filter;
 import rekit.primitives.TextOptions;
 import rekit.primitives.geometry.Polygon;
@@ -35,13 +36,13 @@ import rekit.util.CalcUtil;
 class GameGridImpl extends GameGrid {
 
 	/**
-	 * The current camera offset.
+	 * The current camera offset in pixels.
 	 */
-	private Vec cameraOffset = new Vec();
+	private float offsetX, offsetY;
 	/**
-	 * The current camera offset in units.
+	 * The current camera offset in units (x-axis, used for perspective).
 	 */
-	private Vec cameraOffsetUnits = new Vec();
+	private float offsetUnits;
 	/**
 	 * The current filter.
 	 */
@@ -51,9 +52,88 @@ class GameGridImpl extends GameGrid {
 	 */
 	private Graphics2D graphics;
 	/**
-	 * The image cache: (Path, Filter, etc) -&gt; Image.
+	 * The reused key for lookups in the image cache (see
+	 * {@link ImageManagement#getCache()}).
+	 */
+	private final ImageCache.Key lookup = new ImageCache.Key(null, null, false, false);
+	/**
+	 * The accelerated versions of all drawn images.
+	 */
+	private final AcceleratedImages accelerated = new AcceleratedImages();
+	/**
+	 * The color cache: ARGB -&gt; Color.
+	 */
+	private final ColorCache colors = new ColorCache();
+	/**
+	 * The color cache for the current filter: original ARGB -&gt; filtered
+	 * Color.
+	 */
+	private final ColorCache filteredColors = new ColorCache();
+	/**
+	 * The font cache (see {@link #font(TextOptions)}).
+	 */
+	private final List<FontEntry> fonts = new ArrayList<>();
+	/**
+	 * The stroke cache indexed by line width.
+	 */
+	private BasicStroke[] strokes = new BasicStroke[0];
+	/**
+	 * The reused circle of {@link #drawCircleImpl(Graphics2D, float, float, float, float)}.
+	 */
+	private final Ellipse2D.Float circle = new Ellipse2D.Float();
+	/**
+	 * The reused unit buffer of
+	 * {@link #drawPolygon(Polygon, RGBAColor, boolean, boolean)}.
+	 */
+	private float[] units = new float[0];
+	/**
+	 * The images of static content (see
+	 * {@link #drawCached(RenderFrame, Vec, Vec)}).
+	 */
+	private final CachedImages cached;
+	/**
+	 * Indicates whether {@link #cached} belongs to this grid (otherwise its
+	 * owner has to begin its frames).
+	 */
+	private final boolean ownsCached;
+	/**
+	 * The grid which rasterizes static content (created on demand).
+	 */
+	private GameGridImpl cacheGrid;
+	/**
+	 * The reused pixel buffers of
+	 * {@link #drawPolygon(Polygon, RGBAColor, boolean, boolean)} and
+	 * {@link #drawPolygons(float[], int, int[], int, boolean)}.
+	 */
+	private int[] xpoints = new int[0], ypoints = new int[0];
+
+	/**
+	 * The post processor which filters whole frames (or {@code null} if the
+	 * filter shall be applied to every single draw).
+	 */
+	private PostProcessor postProcessor;
+
+	/**
+	 * Create a new grid with its own images of static content.
+	 */
+	GameGridImpl() {
+		this.cached = new CachedImages(new HashMap<>());
+		this.ownsCached = true;
+	}
+
+	/**
+	 * Create a new grid which shares the images of static content with
+	 * other grids (e.g. the strips of {@link TiledRenderer}). The owner of
+	 * the images has to call {@link CachedImages#beginFrame(boolean)}.
+	 *
+	 * @param shared
+	 *            the shared images (have to be thread-safe if the grids
+	 *            draw in parallel)
 	 */
-	private final Map<CacheKey, Image> images = new HashMap<>();
+	GameGridImpl(CachedImages shared) {
+		this.cached = shared;
+		this.ownsCached = false;
+	}
 
 	/**
 	 * Set the current graphics.
@@ -66,32 +146,90 @@ class GameGridImpl extends GameGrid {
 	}
 
 	/**
-	 * Offset correction value, estimated by tests.
+	 * Set the post processor which filters whole frames. The current graphics
+	 * have to be the graphics of its frame (see
+	 * {@link PostProcessor#begin(Graphics2D, rekit.logic.filters.Filter)}).
+	 *
+	 * @param postProcessor
+	 *            the post processor or {@code null} to draw everything to the
+	 *            current graphics
 	 */
-	private static final Vec CORRECTION = new Vec(0.1f, 0.5f);
+	void setPostProcessor(PostProcessor postProcessor) {
+		this.postProcessor = postProcessor;
+	}
 
-	@Override
-	public void setCurrentOffset(float cameraOffsetUnits) {
-		this.cameraOffsetUnits = GameGridImpl.CORRECTION.addX(cameraOffsetUnits);
-		this.cameraOffset = CalcUtil.units2pixel(this.cameraOffsetUnits).scalar(-1, 1);
+	/**
+	 * Translate the following drawings.
+	 *
+	 * @param dx
+	 *            the distance in x direction (in units)
+	 * @param dy
+	 *            the distance in y direction (in units)
+	 */
+	void translate(float dx, float dy) {
+		this.graphics.translate(dx * GameConf.PX_PER_UNIT, dy * GameConf.PX_PER_UNIT);
+		if (this.postProcessor != null) {
+			this.postProcessor.translate(dx * GameConf.PX_PER_UNIT, dy * GameConf.PX_PER_UNIT);
+		}
 	}
 
 	/**
-	 * Get offset for {@link #drawTextImpl(Vec, String, TextOptions)}.
+	 * Get the graphics for a draw.
 	 *
-	 * @param text
-	 *            the line
-	 * @param metrics
-	 *            the metrics
-	 * @return the dimensions for the correction of positioning
+	 * @param usefilter
+	 *            indicates whether the draw shall be filtered
+	 * @return the graphics
 	 */
-	private Dimension getTextOffset(String text, FontMetrics metrics) {
-		// get the height of a line of text in this font and render context
-		int hgt = metrics.getHeight();
-		// get the advance of my text in this font and render context
-		int adv = metrics.stringWidth(text);
-		// calculate the size of a box to hold the text with some padding.
-		return new Dimension(adv + 2, hgt + 2);
+	private Graphics2D target(boolean usefilter) {
+		return this.postProcessor == null ? this.graphics : this.postProcessor.target(usefilter);
+	}
+
+	/**
+	 * Pass the bounds of the current draw to the post processor (see
+	 * {@link PostProcessor#mark(float, float, float, float)}).
+	 *
+	 * @param minX
+	 *            the left bound (in pixels)
+	 * @param minY
+	 *            the upper bound (in pixels)
+	 * @param maxX
+	 *            the right bound (in pixels)
+	 * @param maxY
+	 *            the lower bound (in pixels)
+	 */
+	private void mark(float minX, float minY, float maxX, float maxY) {
+		if (this.postProcessor != null) {
+			this.postProcessor.mark(minX, minY, maxX, maxY);
+		}
+	}
+
+	/**
+	 * Same as {@link #mark(float, float, float, float)} for a draw around a
+	 * center.
+	 *
+	 * @param x
+	 *            the center in x direction (in pixels)
+	 * @param y
+	 *            the center in y direction (in pixels)
+	 * @param width
+	 *            the width (in pixels)
+	 * @param height
+	 *            the height (in pixels)
+	 */
+	private void markAround(float x, float y, float width, float height) {
+		this.mark(x - width / 2f, y - height / 2f, x + width / 2f, y + height / 2f);
+	}
+
+	/**
+	 * Offset correction value, estimated by tests.
+	 */
+	static final Vec CORRECTION = new Vec(0.1f, 0.5f);
+
+	@Override
+	public void setCurrentOffset(float cameraOffsetUnits) {
+		this.offsetUnits = GameGridImpl.CORRECTION.x + cameraOffsetUnits;
+		this.offsetX = -this.offsetUnits * GameConf.PX_PER_UNIT;
+		this.offsetY = GameGridImpl.CORRECTION.y * GameConf.PX_PER_UNIT;
 	}
 
 	/**
@@ -101,10 +239,49 @@ class GameGridImpl extends GameGrid {
 	 *            the filter or {@code null} for deleting current filters
 	 */
 	void setFilter(Filter filter) {
-		if (filter == null) {
-			this.filter = null;
-		} else {
-			this.filter = filter;
+		if (filter != this.filter) {
+			this.invalidateFilter();
+		}
+		this.filter = filter;
+	}
+
+	/**
+	 * Prepare the caches for a new frame. If the state of the current filter
+	 * has changed (see {@link Filter#changed()}), all filtered colors and
+	 * images will be dropped. Images of static content which have not been
+	 * drawn for a while will be dropped as well.
+	 */
+	void beginFrame() {
+		this.beginFrame(this.filter != null && this.filter.changed());
+	}
+
+	/**
+	 * Prepare the caches for a new frame (like {@link #beginFrame()}) if the
+	 * state of the filter has already been checked (e.g. for several grids).
+	 *
+	 * @param filterChanged
+	 *            indicates whether the state of the current filter has
+	 *            changed
+	 */
+	void beginFrame(boolean filterChanged) {
+		if (this.filter != null && filterChanged) {
+			this.invalidateFilter();
+			ImageManagement.invalidate(this.filter);
+		}
+		if (this.ownsCached) {
+			this.cached.beginFrame(filterChanged && this.filter != null, this.accelerated);
+		}
+		this.accelerated.expunge();
+	}
+
+	/**
+	 * Drop everything which depends on the current filter (except the image
+	 * cache which is keyed by filter).
+	 */
+	private void invalidateFilter() {
+		this.filteredColors.clear();
+		if (this.cacheGrid != null) {
+			this.cacheGrid.filteredColors.clear();
 		}
 	}
 
@@ -115,73 +292,130 @@ class GameGridImpl extends GameGrid {
 	 *            the color
 	 */
 	public void setBackground(RGBAColor in) {
-		RGBAColor col = (this.filter == null || !this.filter.isApplyPixel()) ? in : this.filter.apply(in);
-		this.graphics.setColor(this.calcRGBA(col));
-		this.graphics.fillRect(0, 0, GameConf.PIXEL_W, GameConf.PIXEL_H);
+		Graphics2D g = this.target(true);
+		this.mark(0, 0, GameConf.PIXEL_W, GameConf.PIXEL_H);
+		g.setColor(this.color(in.toARGB(), true));
+		g.fillRect(0, 0, GameConf.PIXEL_W, GameConf.PIXEL_H);
 	}
 
 	// Adapt methods (separate world position calculation from drawing)
 
 	@Override
 	public void drawRectangle(Vec pos, Vec size, RGBAColor in, boolean inGame, boolean usefilter) {
-		Tuple3<Vec, Vec, Color> preProcessing = this.preProcessing(pos, size, in, inGame, usefilter);
-		this.drawRectangleImpl(preProcessing.getFirst(), preProcessing.getSecond(), preProcessing.getThird());
+		float x = this.toPixelX(pos, inGame), y = this.toPixelY(pos, inGame), width = this.toPixel(size.x, inGame), height = this.toPixel(size.y, inGame);
+		Graphics2D g = this.target(usefilter);
+		this.markAround(x, y, width, height);
+		g.setColor(this.color(in.toARGB(), usefilter));
+		this.drawRectangleImpl(g, x, y, width, height);
 	}
 
 	@Override
 	public void drawCircle(Vec pos, Vec size, RGBAColor in, boolean inGame, boolean usefilter) {
-		Tuple3<Vec, Vec, Color> preProcessing = this.preProcessing(pos, size, in, inGame, usefilter);
-		this.drawCircleImpl(preProcessing.getFirst(), preProcessing.getSecond(), preProcessing.getThird());
+		float x = this.toPixelX(pos, inGame), y = this.toPixelY(pos, inGame), width = this.toPixel(size.x, inGame), height = this.toPixel(size.y, inGame);
+		Graphics2D g = this.target(usefilter);
+		this.markAround(x, y, width, height);
+		g.setColor(this.color(in.toARGB(), usefilter));
+		this.drawCircleImpl(g, x, y, width, height);
 	}
 
 	@Override
 	public void drawPolygon(Polygon polygon, RGBAColor in, boolean fill, boolean usefilter) {
-		RGBAColor col = (!usefilter || this.filter == null || !this.filter.isApplyPixel()) ? in : this.filter.apply(in);
-		polygon.moveTo(this.translate2D(polygon.getStartPoint(), false));
-
-		float[] unitArray = polygon.getAbsoluteArray();
-		int[] pixelArray = new int[unitArray.length];
+		int vertices = polygon.getPointCount();
+		if (this.units.length < 2 * vertices) {
+			this.units = new float[2 * vertices];
+		}
+		this.ensurePoints(vertices);
+		polygon.getAbsoluteArray(this.units);
+		// see Vec#translate2D(float)
+		Vec start = polygon.getStartPoint();
+		float perspective = start.z != 0 ? this.offsetUnits / start.z : 0;
 
 		// calculate to pixels and add level scrolling offset
-		for (int i = 0; i < unitArray.length; i += 2) {
-			pixelArray[i] = (int) (this.cameraOffset.x + CalcUtil.units2pixel(unitArray[i]));
-			pixelArray[i + 1] = (int) (this.cameraOffset.y + CalcUtil.units2pixel(unitArray[i + 1]));
+		for (int v = 0; v < vertices; v++) {
+			this.xpoints[v] = (int) (this.offsetX + CalcUtil.units2pixel(this.units[2 * v] + perspective));
+			this.ypoints[v] = (int) (this.offsetY + CalcUtil.units2pixel(this.units[2 * v + 1]));
+		}
+		Graphics2D g = this.target(usefilter);
+		this.markPoints(vertices);
+		g.setColor(this.color(in.toARGB(), usefilter));
+		this.drawPolygonImpl(g, vertices, fill);
+	}
+
+	@Override
+	public void drawPolygons(float[] points, int vertices, int[] colors, int count, boolean usefilter) {
+		this.ensurePoints(vertices);
+		Graphics2D g = this.target(usefilter);
+		int lastArgb = 0;
+		Color color = null;
+		int p = 0;
+		for (int i = 0; i < count; i++) {
+			// consecutive polygons often share their color
+			if (color == null || colors[i] != lastArgb) {
+				lastArgb = colors[i];
+				color = this.color(lastArgb, usefilter);
+				g.setColor(color);
+			}
+			for (int v = 0; v < vertices; v++) {
+				this.xpoints[v] = (int) (this.offsetX + CalcUtil.units2pixel(points[p++]));
+				this.ypoints[v] = (int) (this.offsetY + CalcUtil.units2pixel(points[p++]));
+			}
+			this.markPoints(vertices);
+			g.fillPolygon(this.xpoints, this.ypoints, vertices);
 		}
-		this.drawPolygonImpl(pixelArray, this.calcRGBA(col), fill);
 	}
 
 	@Override
 	public void drawImage(Vec pos, Vec size, String imagePath, boolean inGame, boolean usefilter, boolean mirrorX, boolean mirrorY) {
-		Tuple3<Vec, Vec, Color> preProcessing = this.preProcessing(pos, size, new RGBAColor(0), inGame, usefilter);
-		this.drawImageImpl(preProcessing.getFirst(), preProcessing.getSecond(), imagePath, usefilter, mirrorX, mirrorY);
+		// images will be filtered iff the filter supports whole images
+		// (regardless of usefilter, see drawImageImpl)
+		boolean filtered = this.postProcessor == null ? usefilter : this.postProcessor.getFilter().isApplyImage();
+		float x = this.toPixelX(pos, inGame), y = this.toPixelY(pos, inGame), width = this.toPixel(size.x, inGame), height = this.toPixel(size.y, inGame);
+		Graphics2D g = this.target(filtered);
+		this.markAround(x, y, width, height);
+		this.drawImageImpl(g, x, y, width, height, imagePath, mirrorX, mirrorY);
+	}
+
+	@Override
+	public void drawCached(RenderFrame content, Vec pos, Vec size) {
+		CachedImage image = this.cached.images.get(content);
+		if (image == null) {
+			// a shared map rasterizes the content once for all grids
+			image = this.cached.images.computeIfAbsent(content, key -> new CachedImage(this.rasterize(key, pos, size)));
+		}
+		image.lastUsed = this.cached.frame;
+		float x = this.toPixelX(pos, true), y = this.toPixelY(pos, true), width = this.toPixel(size.x, true), height = this.toPixel(size.y, true);
+		Graphics2D g = this.target(true);
+		this.markAround(x, y, width, height);
+		this.accelerated.draw(g, image.image, (int) (x - width / 2f), (int) (y - height / 2f));
 	}
 
 	@Override
 	public void drawText(Vec pos, String text, TextOptions options, boolean inGame) {
-		this.drawTextImpl(this.translate2D(pos, inGame), text, options);
+		this.drawTextImpl(this.toPixelX(pos, inGame), this.toPixelY(pos, inGame), text, options);
 	}
 
 	@Override
 	public void drawRoundRectangle(Vec pos, Vec size, RGBAColor in, float arcWidth, float arcHeight, boolean inGame, boolean usefilter) {
-		Tuple3<Vec, Vec, Color> preProcessing = this.preProcessing(pos, size, in, inGame, usefilter);
 		int calcArcWidth = inGame ? CalcUtil.units2pixel(arcWidth) : (int) arcWidth;
 		int calcArcHeight = inGame ? CalcUtil.units2pixel(arcHeight) : (int) arcHeight;
-		this.drawRoundRectangleImpl(preProcessing.getFirst(), preProcessing.getSecond(), preProcessing.getThird(), calcArcWidth, calcArcHeight);
+		float x = this.toPixelX(pos, inGame), y = this.toPixelY(pos, inGame), width = this.toPixel(size.x, inGame), height = this.toPixel(size.y, inGame);
+		Graphics2D g = this.target(usefilter);
+		this.markAround(x, y, width, height);
+		g.setColor(this.color(in.toARGB(), usefilter));
+		this.drawRoundRectangleImpl(g, x, y, width, height, calcArcWidth, calcArcHeight);
 	}
 
 	@Override
 	public void drawLine(Vec a, Vec b, int lineWidth, RGBAColor color, boolean ingame, boolean usefilter) {
-		// calc col and position
-		RGBAColor col = (!usefilter || this.filter == null || !this.filter.isApplyPixel()) ? color : this.filter.apply(color);
-		Vec calcA = this.translate2D(a, ingame);
-		Vec calcB = this.translate2D(b, ingame);
-
+		int ax = (int) this.toPixelX(a, ingame), ay = (int) this.toPixelY(a, ingame), bx = (int) this.toPixelX(b, ingame), by = (int) this.toPixelY(b, ingame);
 		// set parameters for drawing
-		this.graphics.setColor(this.calcRGBA(col));
-		this.graphics.setStroke(new BasicStroke(lineWidth));
+		Graphics2D g = this.target(usefilter);
+		this.mark(Math.min(ax, bx) - lineWidth, Math.min(ay, by) - lineWidth, Math.max(ax, bx) + lineWidth, Math.max(ay, by) + lineWidth);
+		g.setColor(this.color(color.toARGB(), usefilter));
+		g.setStroke(this.stroke(lineWidth));
 
 		// draw line
-		this.graphics.drawLine((int) calcA.x, (int) calcA.y, (int) calcB.x, (int) calcB.y);
+		g.drawLine(ax, ay, bx, by);
 	}
 
 	@Override
@@ -190,30 +424,81 @@ class GameGridImpl extends GameGrid {
 			return;
 		}
 
-		RGBAColor col = (!usefilter || this.filter == null || !this.filter.isApplyPixel()) ? in : this.filter.apply(in);
-		Vec calcPos = this.translate2D(startPos, true);
+		float x = this.toPixelX(startPos, true);
+		float y = this.toPixelY(startPos, true);
 
 		Iterator<Vec> it = pts.iterator();
 
-		Vec lastPt = calcPos.add(CalcUtil.units2pixel(it.next()));
-		this.graphics.setColor(this.calcRGBA(col));
-		this.graphics.setStroke(new BasicStroke(lineWidth));
+		Vec pt = it.next();
+		int lastX = (int) (x + pt.x * GameConf.PX_PER_UNIT);
+		int lastY = (int) (y + pt.y * GameConf.PX_PER_UNIT);
+		Graphics2D g = this.target(usefilter);
+		g.setColor(this.color(in.toARGB(), usefilter));
+		g.setStroke(this.stroke(lineWidth));
 		while (it.hasNext()) {
-			Vec pt = calcPos.add(CalcUtil.units2pixel(it.next()));
-			this.graphics.drawLine((int) lastPt.x, (int) lastPt.y, (int) pt.x, (int) pt.y);
-			lastPt = pt;
+			pt = it.next();
+			int nextX = (int) (x + pt.x * GameConf.PX_PER_UNIT);
+			int nextY = (int) (y + pt.y * GameConf.PX_PER_UNIT);
+			this.mark(Math.min(lastX, nextX) - lineWidth, Math.min(lastY, nextY) - lineWidth, Math.max(lastX, nextX) + lineWidth, Math.max(lastY, nextY) + lineWidth);
+			g.drawLine(lastX, lastY, nextX, nextY);
+			lastX = nextX;
+			lastY = nextY;
+		}
+	}
+
+	/**
+	 * Rasterize static content into a compatible image.
+	 *
+	 * @param content
+	 *            the content
+	 * @param pos
+	 *            the position of the center of the content
+	 * @param size
+	 *            the size of the content
+	 * @return the image
+	 */
+	private BufferedImage rasterize(RenderFrame content, Vec pos, Vec size) {
+		int width = (int) Math.ceil(this.toPixel(size.x, true));
+		int height = (int) Math.ceil(this.toPixel(size.y, true));
+		BufferedImage image = this.graphics.getDeviceConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+		Graphics2D imageGraphics = image.createGraphics();
+		imageGraphics.setRenderingHints(this.graphics.getRenderingHints());
+		if (this.cacheGrid == null) {
+			this.cacheGrid = new GameGridImpl();
 		}
+		this.cacheGrid.setFilter(this.filter);
+		this.cacheGrid.setGraphics(imageGraphics);
+		// map the upper left corner of the content to (0,0)
+		float left = pos.x - size.x / 2f;
+		float top = pos.y - size.y / 2f;
+		this.cacheGrid.setCurrentOffset(left - GameGridImpl.CORRECTION.x);
+		imageGraphics.translate(0, -this.toPixel(top + GameGridImpl.CORRECTION.y, true));
+		content.replay(this.cacheGrid, 1, (dx, dy) -> {
+		});
+		imageGraphics.dispose();
+		GameConf.GAME_LOGGER.debug("GameGrid: Rasterized " + content.size() + " commands into " + width + "x" + height + " image");
+		return image;
 	}
 
-	private Tuple3<Vec, Vec, Color> preProcessing(Vec pos, Vec size, RGBAColor in, boolean inGame, boolean usefilter) {
-		Vec calcPos = this.translate2D(pos, inGame);
-		Vec calcSize = inGame ? CalcUtil.units2pixel(size) : size;
-		RGBAColor col = (!usefilter || this.filter == null || !this.filter.isApplyPixel()) ? in : this.filter.apply(in);
-		return Tuple3.of(calcPos, calcSize, this.calcRGBA(col));
+	/**
+	 * Translate the x coordinate of a vec3D to the x coordinate of a vec2D
+	 * (see {@link Vec#translate2D(float)}).
+	 *
+	 * @param vec3D
+	 *            the vec3D
+	 * @param ingame
+	 *            indicates whether it shall drawn as entity of the game
+	 *            (relative to current game progress) or relative to the
+	 *            surrounding frame
+	 * @return the x coordinate of the vec2D
+	 */
+	private float toPixelX(Vec vec3D, boolean ingame) {
+		float x = vec3D.z != 0 ? vec3D.x + this.offsetUnits / vec3D.z : vec3D.x;
+		return ingame ? x * GameConf.PX_PER_UNIT + this.offsetX : x;
 	}
 
 	/**
-	 * Translate a vec3D to a vec2D.
+	 * Translate the y coordinate of a vec3D to the y coordinate of a vec2D.
 	 *
 	 * @param vec3D
 	 *            the vec3D
@@ -221,166 +506,360 @@ class GameGridImpl extends GameGrid {
 	 *            indicates whether it shall drawn as entity of the game
 	 *            (relative to current game progress) or relative to the
 	 *            surrounding frame
-	 * @return the vec2D
+	 * @return the y coordinate of the vec2D
+	 */
+	private float toPixelY(Vec vec3D, boolean ingame) {
+		return ingame ? vec3D.y * GameConf.PX_PER_UNIT + this.offsetY : vec3D.y;
+	}
+
+	/**
+	 * Translate a length to pixels.
+	 *
+	 * @param length
+	 *            the length
+	 * @param ingame
+	 *            indicates whether the length is given in units
+	 * @return the length in pixels
 	 */
-	private Vec translate2D(Vec vec3D, boolean ingame) {
-		Vec perspective = vec3D.z != 0 ? vec3D.translate2D(this.cameraOffsetUnits.x) : vec3D;
+	private float toPixel(float length, boolean ingame) {
+		return ingame ? length * GameConf.PX_PER_UNIT : length;
+	}
 
-		Vec newPos = perspective;
-		if (ingame) {
-			newPos = CalcUtil.units2pixel(newPos);
-			newPos = newPos.add(this.cameraOffset);
+	/**
+	 * Get the (cached) {@link Color} of an ARGB value.
+	 *
+	 * @param argb
+	 *            the ARGB value
+	 * @param usefilter
+	 *            indicates whether the current filter (if set) shall be
+	 *            applied
+	 * @return the color
+	 */
+	private Color color(int argb, boolean usefilter) {
+		if (!usefilter || this.filter == null || !this.filter.isApplyPixel()) {
+			Color color = this.colors.get(argb);
+			return color != null ? color : this.colors.put(argb, new Color(argb, true));
 		}
-		return newPos;
+		Color color = this.filteredColors.get(argb);
+		if (color == null) {
+			color = this.filteredColors.put(argb, new Color(this.filter.apply(argb), true));
+		}
+		return color;
 	}
 
 	/**
-	 * Convert a {@link RGBAColor} to a {@link Color}.
+	 * Get the (cached) stroke of a line width.
 	 *
-	 * @param color
-	 *            the color
-	 * @return the converted color
+	 * @param lineWidth
+	 *            the line width
+	 * @return the stroke
 	 */
-	private Color calcRGBA(RGBAColor color) {
-		return new Color(color.red, color.green, color.blue, color.alpha);
+	private BasicStroke stroke(int lineWidth) {
+		if (lineWidth < 0) {
+			return new BasicStroke(lineWidth);
+		}
+		if (lineWidth >= this.strokes.length) {
+			this.strokes = Arrays.copyOf(this.strokes, lineWidth + 1);
+		}
+		BasicStroke stroke = this.strokes[lineWidth];
+		if (stroke == null) {
+			stroke = this.strokes[lineWidth] = new BasicStroke(lineWidth);
+		}
+		return stroke;
 	}
 
-	private void drawCircleImpl(Vec pos, Vec size, Color col) {
-		this.graphics.setColor(col);
-		Ellipse2D.Float circle = new Ellipse2D.Float(//
-				(pos.x - size.x / 2f), //
-				(pos.y - size.y / 2f), //
-				size.x, size.y);
+	/**
+	 * Get the (cached) font of {@link TextOptions}.
+	 *
+	 * @param options
+	 *            the options
+	 * @return the font and its metrics
+	 */
+	private FontEntry font(TextOptions options) {
+		for (int i = 0; i < this.fonts.size(); i++) {
+			FontEntry entry = this.fonts.get(i);
+			if (entry.matches(options)) {
+				return entry;
+			}
+		}
+		Font font = new Font(options.getFont(), options.getFontOptions(), options.getHeight());
+		FontEntry entry = new FontEntry(options, font, this.graphics.getFontMetrics(font));
+		this.fonts.add(entry);
+		return entry;
+	}
 
-		this.graphics.fill(circle);
+	/**
+	 * Pass the bounds of the first points of {@link #xpoints} and
+	 * {@link #ypoints} to {@link #mark(float, float, float, float)}.
+	 *
+	 * @param vertices
+	 *            the amount of points
+	 */
+	private void markPoints(int vertices) {
+		if (this.postProcessor == null) {
+			return;
+		}
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		for (int v = 0; v < vertices; v++) {
+			minX = Math.min(minX, this.xpoints[v]);
+			minY = Math.min(minY, this.ypoints[v]);
+			maxX = Math.max(maxX, this.xpoints[v]);
+			maxY = Math.max(maxY, this.ypoints[v]);
+		}
+		this.mark(minX, minY, maxX, maxY);
+	}
+
+	/**
+	 * Make sure that {@link #xpoints} and {@link #ypoints} can hold a certain
+	 * amount of points.
+	 *
+	 * @param vertices
+	 *            the amount of points
+	 */
+	private void ensurePoints(int vertices) {
+		if (this.xpoints.length < vertices) {
+			this.xpoints = new int[vertices];
+			this.ypoints = new int[vertices];
+		}
+	}
+
+	private void drawCircleImpl(Graphics2D g, float x, float y, float width, float height) {
+		this.circle.setFrame(//
+				(x - width / 2f), //
+				(y - height / 2f), //
+				width, height);
+
+		g.fill(this.circle);
 
 	}
 
-	private void drawRectangleImpl(Vec pos, Vec size, Color col) {
-		this.graphics.setColor(col);
-		this.graphics.fillRect(//
-				(int) (pos.x - size.x / 2f), //
-				(int) (pos.y - size.y / 2f), //
-				(int) size.x, (int) size.y);
+	private void drawRectangleImpl(Graphics2D g, float x, float y, float width, float height) {
+		g.fillRect(//
+				(int) (x - width / 2f), //
+				(int) (y - height / 2f), //
+				(int) width, (int) height);
 
 	}
 
-	private void drawRoundRectangleImpl(Vec pos, Vec size, Color col, int arcWidth, int arcHeight) {
-		this.graphics.setColor(col);
-		this.graphics.fillRoundRect(//
-				(int) (pos.x - size.x / 2f), // X
-				(int) (pos.y - size.y / 2f), // Y
-				(int) size.x, (int) size.y, // Size
+	private void drawRoundRectangleImpl(Graphics2D g, float x, float y, float width, float height, int arcWidth, int arcHeight) {
+		g.fillRoundRect(//
+				(int) (x - width / 2f), // X
+				(int) (y - height / 2f), // Y
+				(int) width, (int) height, // Size
 				arcWidth, arcHeight); // arc
 
 	}
 
-	private void drawPolygonImpl(int[] polygon, Color col, boolean fill) {
-		this.graphics.setColor(col);
-		// Split in x and y points.
-		int[] xpoints = new int[polygon.length / 2];
-		int[] ypoints = new int[polygon.length / 2];
-		for (int i = 0; i < polygon.length; i += 2) {
-			xpoints[i / 2] = polygon[i];
-			ypoints[i / 2] = polygon[i + 1];
-		}
-
-		java.awt.Polygon toDraw = new java.awt.Polygon(xpoints, ypoints, polygon.length / 2);
+	private void drawPolygonImpl(Graphics2D g, int vertices, boolean fill) {
 		// draw actual polygon
 		if (fill) {
-			this.graphics.fillPolygon(toDraw);
+			g.fillPolygon(this.xpoints, this.ypoints, vertices);
 		} else {
-			this.graphics.drawPolygon(toDraw);
+			g.drawPolygon(this.xpoints, this.ypoints, vertices);
 		}
 
 	}
 
-	private void drawImageImpl(Vec pos, Vec size, String imagePath, boolean usefilter, boolean mirrorX, boolean mirrorY) {
-		Image image = null;
-		CacheKey key = new CacheKey(imagePath, usefilter ? this.filter : null, mirrorX, mirrorY);
-		if (this.images.containsKey(key) && !(this.filter != null && this.filter.changed())) {
-			image = this.images.get(key);
-		} else {
-			if (this.filter != null && this.filter.isApplyImage()) {
-				image = ImageManagement.toImage(this.filter.apply(ImageManagement.getAsAbstractImage(imagePath, mirrorX, mirrorY)));
-			} else {
-				image = ImageManagement.get(imagePath, mirrorX, mirrorY);
-			}
-			this.images.put(key, image);
-			GameConf.GAME_LOGGER.debug("GameGrid: Image Cache Miss: " + key);
+	private void drawImageImpl(Graphics2D g, float x, float y, float width, float height, String imagePath, boolean mirrorX, boolean mirrorY) {
+		// images will be filtered iff the filter supports whole images
+		Filter imageFilter = this.filter != null && this.filter.isApplyImage() ? this.filter : null;
+		BufferedImage image = ImageManagement.get(this.lookup.set(imagePath, imageFilter, mirrorX, mirrorY));
+		if (image == null) {
+			return;
 		}
 
-		this.graphics.drawImage(image, // image
-				(int) (pos.x - size.x / 2f), // dstX
-				(int) (pos.y - size.y / 2f), // dstY
-				null);
+		this.accelerated.draw(g, image, //
+				(int) (x - width / 2f), // dstX
+				(int) (y - height / 2f)); // dstY
 
 	}
 
-	private void drawTextImpl(Vec pos, String text, TextOptions options) {
-		// Set color to red and set font
-		RGBAColor in = options.getColor();
-		RGBAColor col = (!options.getUseFilter() || this.filter == null || !this.filter.isApplyPixel()) ? in : this.filter.apply(in);
-		this.graphics.setColor(this.calcRGBA(col));
+	private void drawTextImpl(float x, float y, String text, TextOptions options) {
+		// Set color and font
+		Graphics2D g = this.target(options.getUseFilter());
+		g.setColor(this.color(options.getColor().toARGB(), options.getUseFilter()));
 
-		Font font = new Font(options.getFont(), options.getFontOptions(), options.getHeight());
-		this.graphics.setFont(font);
-		FontMetrics metrics = this.graphics.getFontMetrics(font);
+		FontEntry font = this.font(options);
+		g.setFont(font.font);
+		FontMetrics metrics = font.metrics;
 
-		float x = pos.x;
-		float y = pos.y;
 		float xAlign = options.getAlignment().x;
 		float yAlign = options.getAlignment().y;
-		for (String line : text.split("\n")) {
-			Dimension offset = this.getTextOffset(line, metrics);
-			this.graphics.drawString(line, //
-					(x + xAlign * offset.width), //
-					(y += metrics.getHeight()) + yAlign * offset.height);
+		// get the height of a line of text in this font and render context
+		int height = metrics.getHeight();
+		int start = 0;
+		// like String#split: no trailing empty lines
+		int limit = text.length();
+		while (limit > 0 && text.charAt(limit - 1) == '\n') {
+			limit--;
+		}
+		while (start == 0 || start < limit) {
+			int end = text.indexOf('\n', start);
+			if (end < 0 || end > limit) {
+				end = limit;
+			}
+			String line = start == 0 && end == text.length() ? text : text.substring(start, end);
+			// the size of a box to hold the text with some padding
+			int width = metrics.stringWidth(line) + 2;
+			float lineX = x + xAlign * width;
+			float lineY = (y += height) + yAlign * (height + 2);
+			this.mark(lineX, lineY - height, lineX + width, lineY + height);
+			g.drawString(line, lineX, lineY);
+			start = end + 1;
 		}
 
 	}
 
-	private static final class CacheKey {
-		public final String image;
-		public final Filter filter;
-		public final boolean mirrorX;
-		public final boolean mirrorY;
+	/**
+	 * The images of static content of one or several grids (see
+	 * {@link GameGridImpl#drawCached(RenderFrame, Vec, Vec)}). Images which
+	 * have not been drawn for {@link #CACHED_FRAMES} frames will be dropped.
+	 *
+	 */
+	static final class CachedImages {
+		/**
+		 * The amount of frames a cached image of static content will be kept
+		 * without being drawn.
+		 */
+		private static final int CACHED_FRAMES = 60;
+		/**
+		 * The images by content.
+		 */
+		private final Map<RenderFrame, CachedImage> images;
+		/**
+		 * The number of the current frame (see {@link #beginFrame(boolean)}).
+		 */
+		private long frame;
+
+		/**
+		 * Create new images of static content.
+		 *
+		 * @param images
+		 *            the (empty) map which will hold the images (has to be
+		 *            thread-safe if several grids draw in parallel)
+		 */
+		CachedImages(Map<RenderFrame, CachedImage> images) {
+			this.images = images;
+		}
 
-		public CacheKey(String image, Filter filter, boolean mirrorX, boolean mirrorY) {
-			this.image = image;
-			this.filter = filter;
-			this.mirrorX = mirrorX;
-			this.mirrorY = mirrorY;
-		}
-
-		@Override
-		public int hashCode() {
-			final int prime = 31;
-			int result = 1;
-			result = prime * result + ((this.filter == null) ? 0 : this.filter.hashCode());
-			result = prime * result + ((this.image == null) ? 0 : this.image.hashCode());
-			result = prime * result + (this.mirrorX ? 1231 : 1237);
-			result = prime * result + (this.mirrorY ? 1231 : 1237);
-			return result;
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj) {
-				return true;
-			}
-			if (obj == null || this.getClass() != obj.getClass()) {
-				return false;
+		/**
+		 * Begin a new frame. Must not be invoked while grids draw.
+		 *
+		 * @param filterChanged
+		 *            indicates whether the state of the current filter has
+		 *            changed (drops all images)
+		 */
+		void beginFrame(boolean filterChanged) {
+			this.beginFrame(filterChanged, null);
+		}
+
+		/**
+		 * Begin a new frame. Must not be invoked while grids draw.
+		 *
+		 * @param filterChanged
+		 *            indicates whether the state of the current filter has
+		 *            changed (drops all images)
+		 * @param accelerated
+		 *            the accelerated images which shall release the dropped
+		 *            images or {@code null} (see
+		 *            {@link AcceleratedImages#expunge()})
+		 */
+		private void beginFrame(boolean filterChanged, AcceleratedImages accelerated) {
+			this.frame++;
+			Iterator<CachedImage> it = this.images.values().iterator();
+			while (it.hasNext()) {
+				CachedImage image = it.next();
+				if (filterChanged || this.frame - image.lastUsed > CachedImages.CACHED_FRAMES) {
+					it.remove();
+					if (accelerated != null) {
+						accelerated.release(image.image);
+					}
+				}
 			}
-			CacheKey other = (CacheKey) obj;
-			return Objects.equals(this.filter, other.filter) && Objects.equals(this.image, other.image) && this.mirrorX == other.mirrorX && this.mirrorY == other.mirrorY;
 		}
+	}
 
-		@Override
-		public String toString() {
-			return "CacheKey [image=" + this.image + ", filter=" + this.filter + ", mirrorX=" + this.mirrorX + ", mirrorY=" + this.mirrorY + "]";
+	/**
+	 * A cached image of {@link GameGridImpl#drawCached(RenderFrame, Vec, Vec)}.
+	 *
+	 */
+	static final class CachedImage {
+		/**
+		 * The image.
+		 */
+		private final BufferedImage image;
+		/**
+		 * The number of the frame in which the image has been drawn last.
+		 */
+		private long lastUsed;
+
+		/**
+		 * Create a new cached image.
+		 *
+		 * @param image
+		 *            the image
+		 */
+		private CachedImage(BufferedImage image) {
+			this.image = image;
+		}
+	}
+
+	/**
+	 * A cached font of {@link GameGridImpl#font(TextOptions)}. The metrics are
+	 * taken from the graphics of the view, whose rendering hints do not
+	 * change.
+	 *
+	 */
+	private static final class FontEntry {
+		/**
+		 * The name of the font.
+		 */
+		private final String name;
+		/**
+		 * The style of the font.
+		 */
+		private final int style;
+		/**
+		 * The size of the font.
+		 */
+		private final int size;
+		/**
+		 * The font.
+		 */
+		private final Font font;
+		/**
+		 * The metrics of the font.
+		 */
+		private final FontMetrics metrics;
+
+		/**
+		 * Create a new entry.
+		 *
+		 * @param options
+		 *            the options which define the font
+		 * @param font
+		 *            the font
+		 * @param metrics
+		 *            the metrics of the font
+		 */
+		private FontEntry(TextOptions options, Font font, FontMetrics metrics) {
+			this.name = options.getFont();
+			this.style = options.getFontOptions();
+			this.size = options.getHeight();
+			this.font = font;
+			this.metrics = metrics;
 		}
 
+		/**
+		 * Check whether the entry holds the font of {@link TextOptions}.
+		 *
+		 * @param options
+		 *            the options
+		 * @return {@code true} if the font matches, {@code false} otherwise
+		 */
+		private boolean matches(TextOptions options) {
+			return this.size == options.getHeight() && this.style == options.getFontOptions() && Objects.equals(this.name, options.getFont());
+		}
 	}
 
 }
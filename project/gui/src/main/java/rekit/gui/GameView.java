@@ -9,23 +9,20 @@ import java.awt.Toolkit;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferStrategy;
-import java.util.ArrayDeque;
-import java.util.Map;
-import java.util.Queue;
-import java.util.TreeMap;
 
 import javax.swing.JFrame;
 import javax.swing.WindowConstants;
 
 import rekit.config.GameConf;
-import rekit.core.GameTime;
+import rekit.core.RenderFrame;
 import rekit.core.ShutdownManager;
-import rekit.logic.IScene;
 import rekit.logic.Model;
-import rekit.logic.gameelements.GameElement;
-import rekit.logic.gui.GuiElement;
+import rekit.logic.filters.Filter;
 import rekit.primitives.geometry.Vec;
 import rekit.util.ThreadUtils;
+import rekit.util.profile.FrameEvent;
+import rekit.util.profile.Phase;
+import rekit.util.profile.Profiler;
 
 /**
  * Main class of the View. Manages the window and a canvas an periodically
@@ -49,26 +46,32 @@ class GameView implements View {
 	private Model model;
 
 	/**
-	 * The last render time.
+	 * The pacer of the frames (created by the render thread).
 	 */
-	private long lastRenderTime;
+	private FramePacer pacer;
+
 	/**
-	 * The queue used for fps calculation.
+	 * The Field that manages the graphic context.
 	 */
-	private Queue<Long> fpsQueue = new ArrayDeque<>();
+	private GameGridImpl grid;
 	/**
-	 * The last calculated fps-sum value.
+	 * The post processor which applies the filter to whole frames (see
+	 * {@link GameConf#POST_PROCESS_FILTERS}).
 	 */
-	private long lastFpsSum = -1;
+	private final PostProcessor postProcessor;
 	/**
-	 * Amount of points in time to calculate FPS.
+	 * The renderer which renders strips of frames in parallel (see
+	 * {@link GameConf#TILED_RENDERING}).
 	 */
-	private static final int FPS_COUNTER = 100;
-
+	private final TiledRenderer tiledRenderer;
 	/**
-	 * The Field that manages the graphic context.
+	 * The input helper (see {@link #attachMe(InputHelper)}).
 	 */
-	private GameGridImpl grid;
+	private InputHelper inputHelper;
+	/**
+	 * The current filter of the model.
+	 */
+	private Filter filter;
 	/**
 	 * The frame.
 	 */
@@ -91,6 +94,7 @@ class GameView implements View {
 	 */
 	GameView(Model model) {
 		this.model = model;
+		ThreadUtils.runDaemon("ImagePreload", ImageManagement::preload);
 		// Create window
 		this.frame = new JFrame(GameConf.NAME + " (v." + GameConf.VERSION + ")");
 		this.frame.setIconImage(ImageManagement.get(GameView.ICON_LOCATION, false, false));
@@ -110,10 +114,13 @@ class GameView implements View {
 
 		this.canvas.createBufferStrategy(2);
 		this.bufferStrategy = this.canvas.getBufferStrategy();
+		AcceleratedImages.report(this.canvas.getGraphicsConfiguration(), this.bufferStrategy);
 		this.frame.setVisible(true);
 
 		// Create Graphic context
 		this.grid = new GameGridImpl();
+		this.postProcessor = new PostProcessor();
+		this.tiledRenderer = new TiledRenderer(GameConf.RENDER_THREADS);
 	}
 
 	/**
@@ -141,138 +148,120 @@ class GameView implements View {
 	 * "Update-Thread" content.
 	 */
 	private void update() {
-		long last = System.currentTimeMillis();
+		this.pacer = new FramePacer();
 		while (this.frame.isVisible()) {
-			while (System.currentTimeMillis() - last < GameConf.RENDER_DELTA) {
-				Thread.yield();
-			}
-			last = System.currentTimeMillis();
+			this.pacer.begin();
 			this.renderLoop();
+			this.pacer.end();
 		}
 		ShutdownManager.shutdown();
 	}
 
 	/**
 	 * Games main render loop that is periodically called. It updates the canvas
-	 * by iterating over all GameElements that GameMode.getGameElementIterator()
-	 * supplies and invoking each render()
+	 * by replaying the latest frame of draw commands of the model (see
+	 * {@link Model#getFrame()}), so the scene will not be locked while drawing.
+	 * If {@link GameConf#TILED_RENDERING} is set, strips of the frame will be
+	 * rendered in parallel (see {@link TiledRenderer}). Every frame will be
+	 * measured by the {@link Profiler} and emitted as {@link FrameEvent}.
 	 */
 	private void renderLoop() {
-		IScene scene = this.model.getScene();
+		FrameEvent event = new FrameEvent();
+		event.begin();
+		long start = Profiler.start();
 		if (this.model.filterChanged()) {
-			this.grid.setFilter(this.model.getFilter());
+			this.filter = this.model.getFilter();
 		}
+		RenderFrame frame = this.model.getFrame();
 
 		// Create temporary GC on new Image and let field draw on that
 		// Double buffering reduces flickering
-		Graphics2D graphics = (Graphics2D) this.bufferStrategy.getDrawGraphics();
-
-		// set current camera position
-		this.grid.setGraphics(graphics);
-		this.grid.setCurrentOffset(scene.getCameraOffset());
-		this.grid.setBackground(GameConf.GAME_BACKGROUD_COLOR);
-
-		this.drawElements(scene);
-		this.drawDebug();
+		Graphics2D screen = (Graphics2D) this.bufferStrategy.getDrawGraphics();
+
+		// blend between last and current tick
+		float alpha = this.model.getInterpolation();
+
+		if (GameConf.TILED_RENDERING) {
+			this.tiledRenderer.render(screen, frame, alpha, this.filter, GameConf.RASTER_RENDERING);
+			// the debug overlay is not part of the frame
+			this.grid.setFilter(null);
+			this.grid.setGraphics(screen);
+			this.grid.setPostProcessor(null);
+			this.drawDebug();
+		} else {
+			this.render(screen, frame, alpha);
+		}
 
 		// draw temporary image on actual cavans
-		graphics.dispose();
+		screen.dispose();
 		this.bufferStrategy.show();
+
+		Profiler.stop(Phase.RENDER, this.getClass(), start);
+		if (event.shouldCommit()) {
+			event.tiled = GameConf.TILED_RENDERING;
+			event.raster = GameConf.TILED_RENDERING && GameConf.RASTER_RENDERING;
+			event.alpha = alpha;
+			event.commit();
+		}
 	}
 
 	/**
-	 * Draw {@link GuiElement GuiElements} and {@link GameElement GameElements}.
+	 * Render a frame on one thread. If {@link GameConf#POST_PROCESS_FILTERS}
+	 * is set and the filter supports it, the frame will be rendered
+	 * unfiltered and filtered afterwards as a whole (see
+	 * {@link PostProcessor}).
 	 *
-	 * @param scene
-	 *            the current scene
+	 * @param screen
+	 *            the target graphics
+	 * @param frame
+	 *            the frame
+	 * @param alpha
+	 *            the interpolation value in [0,1]
 	 */
-	private void drawElements(IScene scene) {
-		scene.applyToGameElements(e -> e.render(this.grid));
-		scene.applyToGuiElements(e -> e.render(this.grid));
+	private void render(Graphics2D screen, RenderFrame frame, float alpha) {
+		boolean postProcess = GameConf.POST_PROCESS_FILTERS && this.filter != null && this.filter.isApplyPixel();
+		this.grid.setFilter(postProcess ? null : this.filter);
+		this.grid.beginFrame();
+		Graphics2D graphics = postProcess ? this.postProcessor.begin(screen, this.filter) : screen;
+
+		// set current camera position
+		this.grid.setGraphics(graphics);
+		this.grid.setPostProcessor(postProcess ? this.postProcessor : null);
+		this.grid.setCurrentOffset(frame.getCameraOffset(alpha));
+		this.grid.setBackground(GameConf.GAME_BACKGROUD_COLOR);
+
+		frame.replay(this.grid, alpha, this.grid::translate);
+		this.drawDebug();
+
+		if (postProcess) {
+			this.postProcessor.show(screen);
+		}
 	}
 
 	/**
 	 * If {@link GameConf#DEBUG} is set this method will be used for drawing
-	 * stats.
+	 * the FPS and the frame times (see {@link FramePacer}), the stats of the
+	 * image cache and the input latency (the stats of the elements are part of
+	 * the frame).
 	 */
 	private void drawDebug() {
 		if (!GameConf.DEBUG) {
 			return;
 		}
-		// draw FPS
-		String debugInfo = "FPS: " + this.getFPS();
-		this.grid.drawText(new Vec(GameConf.PIXEL_W - 10, GameConf.PIXEL_H - 60), debugInfo, GameConf.HINT_TEXT, false);
-
-		Map<String, Integer> classCounter = new TreeMap<>();
-
-		this.model.getScene().applyToGameElements(e -> {
-			String className = e.getClass().getSimpleName();
-			if (classCounter.containsKey(className)) {
-				classCounter.put(className, classCounter.get(className) + 1);
-			} else {
-				classCounter.put(className, 1);
-			}
-		});
-
-		StringBuilder resultName = new StringBuilder().append("GameElements\n");
-		StringBuilder resultNum = new StringBuilder();
-		StringBuilder resultDur = new StringBuilder().append("\n");
-
-		resultNum.append(this.model.getScene().getGameElementCount()).append("\n");
-
-		Map<String, Long> durations = this.model.getScene().getGameElementDurations();
-		classCounter.entrySet().forEach((e) -> {
-			resultName.append(e.getKey());
-			resultName.append("\n");
-			resultNum.append(e.getValue());
-			resultNum.append("\n");
-			Long dur = durations.get(e.getKey());
-			resultDur.append(dur == null ? "-" : dur);
-			resultDur.append("\n");
-		});
-
-		this.grid.drawText(new Vec(GameConf.PIXEL_W - 55, GameConf.PIXEL_H / 4f), resultName.toString(), GameConf.HINT_TEXT, false);
-		this.grid.drawText(new Vec(GameConf.PIXEL_W - 30, GameConf.PIXEL_H / 4f), resultNum.toString(), GameConf.HINT_TEXT, false);
-		this.grid.drawText(new Vec(GameConf.PIXEL_W - 5, GameConf.PIXEL_H / 4f), resultDur.toString(), GameConf.HINT_TEXT, false);
-	}
-
-	/**
-	 * Get the latest FPS.
-	 *
-	 * @return the FPS
-	 */
-	private long getFPS() {
-		if (GameTime.isPaused()) {
-			return 1000L * this.fpsQueue.size() / this.lastFpsSum;
-		}
-
-		long thisTime = GameTime.getTime();
-		long deltaTime = thisTime - this.lastRenderTime;
-		this.lastRenderTime = GameTime.getTime();
-
-		if (this.fpsQueue.size() > GameView.FPS_COUNTER && this.lastFpsSum != -1) {
-			// Queue filled & fps set --> Speedup
-			long fpsDelete = this.fpsQueue.remove();
-			this.fpsQueue.add(deltaTime);
-			this.lastFpsSum -= fpsDelete;
-			this.lastFpsSum += deltaTime;
-			return 1000 * GameView.FPS_COUNTER / this.lastFpsSum;
-
-		}
-
-		if (this.lastFpsSum == -1) {
-			// Fill Queue
-			this.fpsQueue.add(deltaTime);
-		}
-		if (this.fpsQueue.size() > GameView.FPS_COUNTER) {
-			this.lastFpsSum = this.fpsQueue.stream().mapToLong(Long::longValue).sum();
+		// draw FPS and image cache
+		ImageCache images = ImageManagement.getCache();
+		String debugInfo = String.format("FPS: %d (frame %.2f ms, max interval %.2f ms, CPU %.2f ms)", this.pacer.getFPS(), this.pacer.getMeanDuration() / 1E6,
+				this.pacer.getMaxInterval() / 1E6, this.pacer.getMeanCpuTime() / 1E6) + "\nImages: " + images.size() + " (" + images.getResidentBytes() / 1024 + " KB), " + images.getHits() + " hits, "
+				+ images.getMisses() + " misses";
+		if (this.inputHelper != null) {
+			debugInfo += String.format("\nInput latency: %.2f ms (max %.2f ms)", this.inputHelper.getMeanLatency() / 1E6, this.inputHelper.getMaxLatency() / 1E6);
 		}
-
-		return 1000L * this.fpsQueue.size() / this.fpsQueue.stream().mapToLong(Long::longValue).sum();
+		this.grid.drawText(new Vec(GameConf.PIXEL_W - 10, GameConf.PIXEL_H - 80), debugInfo, GameConf.HINT_TEXT, false);
 	}
 
 	@Override
 	public void attachMe(InputHelper inputHelper) {
+		this.inputHelper = inputHelper;
 		// Add our custom KeyListener to an object
 		KeyAdapter adapter = new KeyAdapter() {
 			@Override
@@ -0,0 +1,342 @@
+package rekit.gui;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import rekit.config.GameConf;
+import rekit.logic.filters.Filter;
+
+/**
+ * This class is the concurrent cache of all images of the game (see
+ * {@link ImageManagement}). The images are keyed by path, mirror flags and
+ * filter. The memory of the images is bounded by
+ * {@link GameConf#IMAGE_CACHE_MB}; if the bound has been exceeded, the least
+ * recently used images will be evicted.
+ *
+ */
+public final class ImageCache {
+	/**
+	 * The images.
+	 */
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+	/**
+	 * The logical clock for the last usages of the images.
+	 */
+	private final AtomicLong clock = new AtomicLong();
+	/**
+	 * The amount of cache hits.
+	 */
+	private final LongAdder hits = new LongAdder();
+	/**
+	 * The amount of cache misses.
+	 */
+	private final LongAdder misses = new LongAdder();
+	/**
+	 * The amount of bytes of all cached images.
+	 */
+	private final AtomicLong residentBytes = new AtomicLong();
+
+	/**
+	 * Create a new cache.
+	 */
+	ImageCache() {
+	}
+
+	/**
+	 * Get a cached image.
+	 *
+	 * @param key
+	 *            the key (may be a reused lookup key)
+	 * @return the image or {@code null} if not cached
+	 */
+	BufferedImage get(Key key) {
+		Entry entry = this.entries.get(key);
+		if (entry == null) {
+			this.misses.increment();
+			return null;
+		}
+		this.hits.increment();
+		entry.lastUsed = this.clock.incrementAndGet();
+		return entry.image;
+	}
+
+	/**
+	 * Cache an image. If another thread has cached an image for the key in the
+	 * meantime, this image will be kept.
+	 *
+	 * @param key
+	 *            the key (will be copied)
+	 * @param image
+	 *            the image
+	 * @return the cached image
+	 */
+	BufferedImage put(Key key, BufferedImage image) {
+		Entry entry = new Entry(image, this.clock.incrementAndGet());
+		Entry previous = this.entries.putIfAbsent(key.copy(), entry);
+		if (previous != null) {
+			return previous.image;
+		}
+		if (this.residentBytes.addAndGet(entry.bytes) > this.getMaxBytes()) {
+			this.evict();
+		}
+		return image;
+	}
+
+	/**
+	 * Remove all images of a filter (e.g. if the state of the filter has been
+	 * changed).
+	 *
+	 * @param filter
+	 *            the filter
+	 */
+	void invalidate(Filter filter) {
+		this.entries.entrySet().removeIf(e -> {
+			if (e.getKey().filter != filter) {
+				return false;
+			}
+			this.residentBytes.addAndGet(-e.getValue().bytes);
+			return true;
+		});
+	}
+
+	/**
+	 * Evict the least recently used images until the memory bound holds.
+	 */
+	private synchronized void evict() {
+		long max = this.getMaxBytes();
+		if (this.residentBytes.get() <= max) {
+			return;
+		}
+		List<Map.Entry<Key, Entry>> lru = new ArrayList<>(this.entries.entrySet());
+		lru.sort(Comparator.comparingLong(e -> e.getValue().lastUsed));
+		for (Map.Entry<Key, Entry> e : lru) {
+			if (this.residentBytes.get() <= max) {
+				break;
+			}
+			if (this.entries.remove(e.getKey(), e.getValue())) {
+				this.residentBytes.addAndGet(-e.getValue().bytes);
+				GameConf.GAME_LOGGER.debug("ImageCache: Evicted " + e.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Get the memory bound of the cache.
+	 *
+	 * @return the maximum amount of bytes
+	 */
+	long getMaxBytes() {
+		return GameConf.IMAGE_CACHE_MB * 1024L * 1024L;
+	}
+
+	/**
+	 * Get the amount of cache hits.
+	 *
+	 * @return the amount of hits
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Get the amount of cache misses.
+	 *
+	 * @return the amount of misses
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Get the amount of bytes of all cached images.
+	 *
+	 * @return the amount of bytes
+	 */
+	public long getResidentBytes() {
+		return this.residentBytes.get();
+	}
+
+	/**
+	 * Get the amount of cached images.
+	 *
+	 * @return the amount of images
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * A cached image.
+	 *
+	 */
+	private static final class Entry {
+		/**
+		 * The image.
+		 */
+		private final BufferedImage image;
+		/**
+		 * The (estimated) amount of bytes of the image.
+		 */
+		private final long bytes;
+		/**
+		 * The logical time of the last usage.
+		 */
+		private volatile long lastUsed;
+
+		/**
+		 * Create a new entry.
+		 *
+		 * @param image
+		 *            the image
+		 * @param lastUsed
+		 *            the logical time of the creation
+		 */
+		private Entry(BufferedImage image, long lastUsed) {
+			this.image = image;
+			this.bytes = 4L * image.getWidth() * image.getHeight();
+			this.lastUsed = lastUsed;
+		}
+	}
+
+	/**
+	 * The key of an image. Keys can be reused for lookups (see
+	 * {@link #set(String, Filter, boolean, boolean)}); keys which are stored
+	 * in the cache will not be changed.
+	 *
+	 */
+	static final class Key {
+		/**
+		 * The path of the image (relative to "/images/").
+		 */
+		private String image;
+		/**
+		 * The filter or {@code null}.
+		 */
+		private Filter filter;
+		/**
+		 * Mirror image at X-Axis.
+		 */
+		private boolean mirrorX;
+		/**
+		 * Mirror image at Y-Axis.
+		 */
+		private boolean mirrorY;
+
+		/**
+		 * Create a new key.
+		 *
+		 * @param image
+		 *            the path of the image
+		 * @param filter
+		 *            the filter or {@code null}
+		 * @param mirrorX
+		 *            mirror image at X-Axis
+		 * @param mirrorY
+		 *            mirror image at Y-Axis
+		 */
+		Key(String image, Filter filter, boolean mirrorX, boolean mirrorY) {
+			this.set(image, filter, mirrorX, mirrorY);
+		}
+
+		/**
+		 * Reuse this key for a lookup.
+		 *
+		 * @param image
+		 *            the path of the image
+		 * @param filter
+		 *            the filter or {@code null}
+		 * @param mirrorX
+		 *            mirror image at X-Axis
+		 * @param mirrorY
+		 *            mirror image at Y-Axis
+		 * @return this key
+		 */
+		Key set(String image, Filter filter, boolean mirrorX, boolean mirrorY) {
+			this.image = image;
+			this.filter = filter;
+			this.mirrorX = mirrorX;
+			this.mirrorY = mirrorY;
+			return this;
+		}
+
+		/**
+		 * Copy this key.
+		 *
+		 * @return the copy
+		 */
+		Key copy() {
+			return new Key(this.image, this.filter, this.mirrorX, this.mirrorY);
+		}
+
+		/**
+		 * Get the path of the image.
+		 *
+		 * @return the path (relative to "/images/")
+		 */
+		String getImage() {
+			return this.image;
+		}
+
+		/**
+		 * Get the filter.
+		 *
+		 * @return the filter or {@code null}
+		 */
+		Filter getFilter() {
+			return this.filter;
+		}
+
+		/**
+		 * Indicates whether the image shall be mirrored at X-Axis.
+		 *
+		 * @return {@code true} if mirrored
+		 */
+		boolean isMirrorX() {
+			return this.mirrorX;
+		}
+
+		/**
+		 * Indicates whether the image shall be mirrored at Y-Axis.
+		 *
+		 * @return {@code true} if mirrored
+		 */
+		boolean isMirrorY() {
+			return this.mirrorY;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + ((this.filter == null) ? 0 : this.filter.hashCode());
+			result = prime * result + ((this.image == null) ? 0 : this.image.hashCode());
+			result = prime * result + (this.mirrorX ? 1231 : 1237);
+			result = prime * result + (this.mirrorY ? 1231 : 1237);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || this.getClass() != obj.getClass()) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return Objects.equals(this.filter, other.filter) && Objects.equals(this.image, other.image) && this.mirrorX == other.mirrorX && this.mirrorY == other.mirrorY;
+		}
+
+		@Override
+		public String toString() {
+			return "Key [image=" + this.image + ", filter=" + this.filter + ", mirrorX=" + this.mirrorX + ", mirrorY=" + this.mirrorY + "]";
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package rekit.gui;
 
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
 import java.awt.Image;
 import java.awt.geom.AffineTransform;
 import java.awt.image.AffineTransformOp;
@@ -9,8 +12,7 @@ import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 import javax.imageio.ImageIO;
 
@@ -19,6 +21,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 
 import rekit.config.GameConf;
+import rekit.logic.filters.Filter;
 import rekit.persistence.ModManager;
 import rekit.primitives.image.AbstractImage;
 
@@ -36,9 +39,9 @@ public final class ImageManagement {
 	}
 
 	/**
-	 * The cache.
+	 * The cache of all images (original, mirrored and filtered).
 	 */
-	private static final Map<String, BufferedImage> CACHE = new HashMap<>();
+	private static final ImageCache CACHE = new ImageCache();
 
 	/**
 	 * The loader Object for the Resource loading.
@@ -58,43 +61,173 @@ public final class ImageManagement {
 	 * @return the Image
 	 */
 	public static Image get(String src, boolean mirrorX, boolean mirrorY) {
-		if (!ImageManagement.CACHE.containsKey(src)) {
-			synchronized (ImageManagement.class) {
-				if (!ImageManagement.CACHE.containsKey(src)) {
-					BufferedImage img = ImageManagement.get("/images/" + src, 0);
-					if (img == null) {
-						return null;
-					}
-					ImageManagement.CACHE.put(src, ImageManagement.convertToRGB(img));
-				}
-			}
-		}
-		return ImageManagement.mirror(ImageManagement.CACHE.get(src), mirrorX, mirrorY);
+		return ImageManagement.get(src, mirrorX, mirrorY, null);
 	}
 
-	private static Image mirror(BufferedImage image, boolean mirrorX, boolean mirrorY) {
+	/**
+	 * Get the filtered {@link Image} from the resources by name.<br>
+	 *
+	 * @param src
+	 *            the path relative to "/images/"
+	 * @param mirrorX
+	 *            mirror at X-Axis
+	 * @param mirrorY
+	 *            mirror at Y-Axis
+	 * @param filter
+	 *            the filter (has to support
+	 *            {@link Filter#apply(AbstractImage)}) or {@code null}
+	 *
+	 * @return the Image
+	 */
+	public static Image get(String src, boolean mirrorX, boolean mirrorY, Filter filter) {
+		return ImageManagement.get(new ImageCache.Key(src, filter, mirrorX, mirrorY));
+	}
 
-		if (!mirrorX && !mirrorY) {
+	/**
+	 * Get an image from the cache or load it on a cache miss.
+	 *
+	 * @param key
+	 *            the key (may be a reused lookup key)
+	 * @return the image or {@code null} if not found
+	 */
+	static BufferedImage get(ImageCache.Key key) {
+		BufferedImage image = ImageManagement.CACHE.get(key);
+		if (image != null) {
 			return image;
 		}
+		GameConf.GAME_LOGGER.debug("ImageManagement: Image Cache Miss: " + key);
+		image = ImageManagement.load(key);
+		return image == null ? null : ImageManagement.CACHE.put(key, image);
+	}
+
+	/**
+	 * Load an image (the original image will be taken from the cache).
+	 *
+	 * @param key
+	 *            the key
+	 * @return the image or {@code null} if not found
+	 */
+	private static BufferedImage load(ImageCache.Key key) {
+		if (key.getFilter() != null) {
+			AbstractImage image = ImageManagement.getAsAbstractImage(key.getImage(), key.isMirrorX(), key.isMirrorY());
+			return image == null ? null : ImageManagement.toCompatible((BufferedImage) ImageManagement.toImage(key.getFilter().apply(image)));
+		}
+		if (key.isMirrorX() || key.isMirrorY()) {
+			BufferedImage image = ImageManagement.get(new ImageCache.Key(key.getImage(), null, false, false));
+			return image == null ? null : ImageManagement.toCompatible(ImageManagement.mirror(image, key.isMirrorX(), key.isMirrorY()));
+		}
+		BufferedImage image = ImageManagement.get("/images/" + key.getImage(), 0);
+		return image == null ? null : ImageManagement.toCompatible(ImageManagement.convertToRGB(image));
+	}
+
+	/**
+	 * Remove all images of a filter from the cache (e.g. if the state of the
+	 * filter has been changed).
+	 *
+	 * @param filter
+	 *            the filter
+	 */
+	public static void invalidate(Filter filter) {
+		ImageManagement.CACHE.invalidate(filter);
+	}
+
+	/**
+	 * Get the image cache (e.g. for its metrics).
+	 *
+	 * @return the image cache
+	 */
+	public static ImageCache getCache() {
+		return ImageManagement.CACHE;
+	}
+
+	/**
+	 * Load all images of the resources (in "/images/") in parallel, until the
+	 * memory bound of the cache has been reached.
+	 */
+	public static void preload() {
+		long start = System.nanoTime();
+		Resource[] images;
+		try {
+			images = ImageManagement.LOAD.getResources("classpath*:/images/**/*.png");
+		} catch (IOException e) {
+			GameConf.GAME_LOGGER.error("Images could not be listed: " + e.getMessage());
+			return;
+		}
+		long loaded = Arrays.stream(images).parallel().map(ImageManagement::relativePath).filter(src -> src != null).filter(src -> {
+			if (ImageManagement.CACHE.getResidentBytes() >= ImageManagement.CACHE.getMaxBytes()) {
+				return false;
+			}
+			return ImageManagement.get(src, false, false) != null;
+		}).count();
+		GameConf.GAME_LOGGER.info("Preloaded " + loaded + " images (" + ImageManagement.CACHE.getResidentBytes() / 1024 + " KB) in "
+				+ (System.nanoTime() - start) / 1000000 + " ms");
+	}
 
-		AffineTransformOp op = null;
-		BufferedImage result = null;
+	/**
+	 * Get the path of an image resource relative to "/images/".
+	 *
+	 * @param image
+	 *            the resource
+	 * @return the relative path or {@code null} if not possible
+	 */
+	private static String relativePath(Resource image) {
+		try {
+			String url = image.getURL().toString();
+			int index = url.lastIndexOf("/images/");
+			return index < 0 ? null : url.substring(index + "/images/".length());
+		} catch (IOException e) {
+			return null;
+		}
+	}
 
+	/**
+	 * Mirror an image.
+	 *
+	 * @param image
+	 *            the image
+	 * @param mirrorX
+	 *            mirror at X-Axis
+	 * @param mirrorY
+	 *            mirror at Y-Axis
+	 * @return the mirrored image
+	 */
+	private static BufferedImage mirror(BufferedImage image, boolean mirrorX, boolean mirrorY) {
+		AffineTransform tx;
 		if (mirrorX && mirrorY) {
-			AffineTransform tx = AffineTransform.getScaleInstance(-1, -1);
+			tx = AffineTransform.getScaleInstance(-1, -1);
 			tx.translate(-image.getWidth(), -image.getHeight());
-			op = new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR);
 		} else if (mirrorX) {
-			AffineTransform tx = AffineTransform.getScaleInstance(1, -1);
+			tx = AffineTransform.getScaleInstance(1, -1);
 			tx.translate(0, -image.getHeight());
-			op = new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR);
-		} else if (mirrorY) {
-			AffineTransform tx = AffineTransform.getScaleInstance(-1, 1);
+		} else {
+			tx = AffineTransform.getScaleInstance(-1, 1);
 			tx.translate(-image.getWidth(), 0);
-			op = new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR);
 		}
-		result = op.filter(image, null);
+		return new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR).filter(image, null);
+	}
+
+	/**
+	 * Convert an image to the format of the screen, so it can be drawn
+	 * without conversion (and accelerated by the graphics pipeline).
+	 *
+	 * @param image
+	 *            the image
+	 * @return the original image (if already compatible or headless) or the
+	 *         converted image
+	 */
+	private static BufferedImage toCompatible(BufferedImage image) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return image;
+		}
+		GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+		if (image.getColorModel().equals(configuration.getColorModel(image.getTransparency()))) {
+			return image;
+		}
+		BufferedImage result = configuration.createCompatibleImage(image.getWidth(), image.getHeight(), image.getTransparency());
+		Graphics2D graphics = result.createGraphics();
+		graphics.drawImage(image, 0, 0, null);
+		graphics.dispose();
+		result.setAccelerationPriority(1);
 		return result;
 	}
 
@@ -146,30 +279,18 @@ public final class ImageManagement {
 	 * @return the Image
 	 */
 	public static AbstractImage getAsAbstractImage(String src, boolean mirrorX, boolean mirrorY) {
-		BufferedImage image = (BufferedImage) ImageManagement.get(src, mirrorX, mirrorY);
+		BufferedImage image = ImageManagement.get(new ImageCache.Key(src, null, mirrorX, mirrorY));
 		if (image == null) {
 			return null;
 		}
-		image = ImageManagement.convertToRGB(image);
-		int bandwidth = image.getColorModel().hasAlpha() ? 4 : 3;
-		int[] data = new int[bandwidth * image.getWidth() * image.getHeight()];
-		image.getRaster().getPixels(0, 0, image.getWidth(), image.getHeight(), data);
-
-		byte[] abstractData = new byte[4 * image.getWidth() * image.getHeight()];
-		if (bandwidth == 3) {
-			for (int i = 0, j = 0; i < abstractData.length; i += 4, j += 3) {
-				abstractData[i] = (byte) data[j];
-				abstractData[i + 1] = (byte) data[j + 1];
-				abstractData[i + 2] = (byte) data[j + 2];
-				abstractData[i + 3] = (byte) 255;
-			}
-		} else {
-			for (int i = 0; i < abstractData.length; i += 4) {
-				abstractData[i] = (byte) data[i];
-				abstractData[i + 1] = (byte) data[i + 1];
-				abstractData[i + 2] = (byte) data[i + 2];
-				abstractData[i + 3] = (byte) data[i + 3];
-			}
+		// getRGB is independent of the format of the (compatible) image
+		int[] data = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+		byte[] abstractData = new byte[4 * data.length];
+		for (int i = 0, j = 0; j < data.length; i += 4, j++) {
+			abstractData[i] = (byte) (data[j] >> 16);
+			abstractData[i + 1] = (byte) (data[j] >> 8);
+			abstractData[i + 2] = (byte) data[j];
+			abstractData[i + 3] = (byte) (data[j] >>> 24);
 		}
 
 		return new AbstractImage(image.getHeight(), image.getWidth(), abstractData);
@@ -70,4 +70,20 @@ public interface InputHelper {
 	 */
 	void release(int keyCode);
 
+	/**
+	 * Get the mean latency between the last key events and their dispatch by
+	 * the logic.
+	 *
+	 * @return the latency in ns
+	 */
+	long getMeanLatency();
+
+	/**
+	 * Get the maximum latency between the last key events and their dispatch
+	 * by the logic.
+	 *
+	 * @return the latency in ns
+	 */
+	long getMaxLatency();
+
 }
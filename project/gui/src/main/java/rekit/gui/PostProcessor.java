@@ -0,0 +1,366 @@
+package rekit.gui;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.stream.IntStream;
+
+import rekit.config.GameConf;
+import rekit.logic.filters.Filter;
+
+/**
+ * This class applies a {@link Filter} to whole frames instead of every single
+ * draw. Filtered draws will be rendered unfiltered into offscreen images which
+ * are backed by an {@code int[]}; afterwards the filter will be applied once
+ * per pixel (see {@link Filter#apply(int)}) in parallel strips of rows.<br>
+ * To keep the order of filtered and unfiltered draws, every run of filtered
+ * draws will be filtered before the next unfiltered draw: the first run will
+ * be rendered directly into the frame, all following runs into a transparent
+ * layer which will be composited onto the frame while filtering. The layer
+ * tracks the bounds of its draws, so compositing a run only touches its dirty
+ * rectangle instead of the whole frame.<br>
+ * This class is not thread-safe.
+ *
+ */
+final class PostProcessor {
+	/**
+	 * The amount of rows of one strip of the parallel pass.
+	 */
+	private static final int STRIP_HEIGHT = 32;
+
+	/**
+	 * The offscreen image of the frame.
+	 */
+	private final BufferedImage frame;
+	/**
+	 * The pixels of {@link #frame}.
+	 */
+	private final int[] framePixels;
+	/**
+	 * The offscreen image of the layer for filtered draws after unfiltered
+	 * ones.
+	 */
+	private final BufferedImage layer;
+	/**
+	 * The pixels of {@link #layer}.
+	 */
+	private final int[] layerPixels;
+
+	/**
+	 * The filter of the current frame.
+	 */
+	private Filter filter;
+	/**
+	 * The graphics of the current frame.
+	 */
+	private Graphics2D frameGraphics;
+	/**
+	 * The graphics of the layer.
+	 */
+	private Graphics2D layerGraphics;
+	/**
+	 * Indicates whether the frame contains filtered draws which have not been
+	 * filtered yet.
+	 */
+	private boolean framePending;
+	/**
+	 * Indicates whether the layer contains draws which have not been filtered
+	 * and composited yet.
+	 */
+	private boolean layerPending;
+	/**
+	 * Indicates whether the frame contains unfiltered draws.
+	 */
+	private boolean unfilteredDrawn;
+	/**
+	 * Indicates whether the current draw targets the layer.
+	 */
+	private boolean layerTarget;
+	/**
+	 * The translation of the layer (in pixels).
+	 */
+	private float translateX, translateY;
+	/**
+	 * The dirty rectangle of the layer (in pixels, max exclusive).
+	 */
+	private int dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY;
+	/**
+	 * The identity transformation.
+	 */
+	private final AffineTransform identity = new AffineTransform();
+
+	/**
+	 * Create a new post processor for frames of size
+	 * {@link GameConf#PIXEL_W} x {@link GameConf#PIXEL_H}.
+	 */
+	PostProcessor() {
+		this.frame = new BufferedImage(GameConf.PIXEL_W, GameConf.PIXEL_H, BufferedImage.TYPE_INT_RGB);
+		this.framePixels = ((DataBufferInt) this.frame.getRaster().getDataBuffer()).getData();
+		this.layer = new BufferedImage(GameConf.PIXEL_W, GameConf.PIXEL_H, BufferedImage.TYPE_INT_ARGB);
+		this.layerPixels = ((DataBufferInt) this.layer.getRaster().getDataBuffer()).getData();
+	}
+
+	/**
+	 * Begin a new frame.
+	 *
+	 * @param screen
+	 *            the graphics whose rendering hints shall be used
+	 * @param filter
+	 *            the filter (has to support {@link Filter#apply(int)})
+	 * @return the graphics of the frame
+	 */
+	Graphics2D begin(Graphics2D screen, Filter filter) {
+		this.filter = filter;
+		// nothing depends on the state of the filter, but it shall be updated
+		filter.changed();
+		if (this.frameGraphics == null) {
+			this.frameGraphics = this.frame.createGraphics();
+			this.frameGraphics.setRenderingHints(screen.getRenderingHints());
+			this.layerGraphics = this.layer.createGraphics();
+			this.layerGraphics.setRenderingHints(screen.getRenderingHints());
+		}
+		this.frameGraphics.setTransform(this.identity);
+		this.layerGraphics.setTransform(this.identity);
+		this.translateX = 0;
+		this.translateY = 0;
+		this.framePending = false;
+		this.layerPending = false;
+		this.unfilteredDrawn = false;
+		this.layerTarget = false;
+		this.resetDirty();
+		return this.frameGraphics;
+	}
+
+	/**
+	 * Get the filter of the current frame.
+	 *
+	 * @return the filter
+	 */
+	Filter getFilter() {
+		return this.filter;
+	}
+
+	/**
+	 * Get the graphics for the next draw.
+	 *
+	 * The bounds of a draw into the layer have to be passed to
+	 * {@link #mark(float, float, float, float)}.
+	 *
+	 * @param usefilter
+	 *            indicates whether the draw shall be filtered
+	 * @return the graphics
+	 */
+	Graphics2D target(boolean usefilter) {
+		if (usefilter) {
+			if (!this.unfilteredDrawn) {
+				this.framePending = true;
+				this.layerTarget = false;
+				return this.frameGraphics;
+			}
+			this.layerPending = true;
+			this.layerTarget = true;
+			return this.layerGraphics;
+		}
+		this.flush();
+		this.unfilteredDrawn = true;
+		this.layerTarget = false;
+		return this.frameGraphics;
+	}
+
+	/**
+	 * Add the bounds of the current draw (see {@link #target(boolean)}) to the
+	 * dirty rectangle of the layer. This has no effect if the draw does not
+	 * target the layer.
+	 *
+	 * @param minX
+	 *            the left bound (in untranslated pixels)
+	 * @param minY
+	 *            the upper bound (in untranslated pixels)
+	 * @param maxX
+	 *            the right bound (in untranslated pixels)
+	 * @param maxY
+	 *            the lower bound (in untranslated pixels)
+	 */
+	void mark(float minX, float minY, float maxX, float maxY) {
+		if (!this.layerTarget) {
+			return;
+		}
+		// padding for antialiasing and rounding
+		this.dirtyMinX = Math.min(this.dirtyMinX, (int) Math.floor(minX + this.translateX) - 1);
+		this.dirtyMinY = Math.min(this.dirtyMinY, (int) Math.floor(minY + this.translateY) - 1);
+		this.dirtyMaxX = Math.max(this.dirtyMaxX, (int) Math.ceil(maxX + this.translateX) + 2);
+		this.dirtyMaxY = Math.max(this.dirtyMaxY, (int) Math.ceil(maxY + this.translateY) + 2);
+	}
+
+	/**
+	 * Translate the layer (the frame will be translated by its owner).
+	 *
+	 * @param dx
+	 *            the distance in x direction (in pixels)
+	 * @param dy
+	 *            the distance in y direction (in pixels)
+	 */
+	void translate(float dx, float dy) {
+		this.layerGraphics.translate(dx, dy);
+		this.translateX += dx;
+		this.translateY += dy;
+	}
+
+	/**
+	 * Filter all pending draws and draw the frame.
+	 *
+	 * @param screen
+	 *            the target graphics
+	 */
+	void show(Graphics2D screen) {
+		this.flush();
+		screen.drawImage(this.frame, 0, 0, null);
+	}
+
+	/**
+	 * Filter all pending draws.
+	 */
+	private void flush() {
+		if (this.framePending) {
+			this.framePending = false;
+			this.parallel(0, GameConf.PIXEL_H, this::filterFrame);
+		}
+		if (this.layerPending) {
+			this.layerPending = false;
+			int fromRow = Math.max(0, this.dirtyMinY);
+			int toRow = Math.min(GameConf.PIXEL_H, this.dirtyMaxY);
+			if (fromRow < toRow && this.dirtyMinX < Math.min(GameConf.PIXEL_W, this.dirtyMaxX)) {
+				this.parallel(fromRow, toRow, this::compositeLayer);
+			}
+			this.resetDirty();
+		}
+	}
+
+	/**
+	 * Clear the dirty rectangle of the layer.
+	 */
+	private void resetDirty() {
+		this.dirtyMinX = Integer.MAX_VALUE;
+		this.dirtyMinY = Integer.MAX_VALUE;
+		this.dirtyMaxX = Integer.MIN_VALUE;
+		this.dirtyMaxY = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Apply a pass to strips of rows in parallel.
+	 *
+	 * @param fromRow
+	 *            the first row
+	 * @param toRow
+	 *            the last row (exclusive)
+	 * @param pass
+	 *            the pass (gets the first and the last (exclusive) row of
+	 *            the strip)
+	 */
+	private void parallel(int fromRow, int toRow, Pass pass) {
+		int strips = (toRow - fromRow + PostProcessor.STRIP_HEIGHT - 1) / PostProcessor.STRIP_HEIGHT;
+		if (strips == 1) {
+			pass.apply(fromRow, toRow);
+			return;
+		}
+		IntStream.range(0, strips).parallel().forEach(strip -> {
+			int from = fromRow + strip * PostProcessor.STRIP_HEIGHT;
+			pass.apply(from, Math.min(toRow, from + PostProcessor.STRIP_HEIGHT));
+		});
+	}
+
+	/**
+	 * Filter a strip of the frame. Runs of equal pixels (which are very common
+	 * in the game) will be mapped only once.
+	 *
+	 * @param fromRow
+	 *            the first row
+	 * @param toRow
+	 *            the last row (exclusive)
+	 */
+	private void filterFrame(int fromRow, int toRow) {
+		int[] pixels = this.framePixels;
+		int from = fromRow * GameConf.PIXEL_W;
+		int to = toRow * GameConf.PIXEL_W;
+		int last = ~pixels[from];
+		int mapped = 0;
+		for (int i = from; i < to; i++) {
+			int pixel = pixels[i];
+			if (pixel != last) {
+				last = pixel;
+				mapped = this.filter.apply(pixel | 0xFF000000);
+			}
+			pixels[i] = mapped;
+		}
+	}
+
+	/**
+	 * Filter the dirty rectangle of a strip of the layer, blend it onto the
+	 * frame and clear it.
+	 *
+	 * @param fromRow
+	 *            the first row
+	 * @param toRow
+	 *            the last row (exclusive)
+	 */
+	private void compositeLayer(int fromRow, int toRow) {
+		int[] pixels = this.layerPixels;
+		int minX = Math.max(0, this.dirtyMinX);
+		int maxX = Math.min(GameConf.PIXEL_W, this.dirtyMaxX);
+		int last = 0;
+		int mapped = 0;
+		for (int row = fromRow; row < toRow; row++) {
+			int offset = row * GameConf.PIXEL_W;
+			for (int i = offset + minX; i < offset + maxX; i++) {
+				int pixel = pixels[i];
+				int alpha = pixel >>> 24;
+				if (alpha == 0) {
+					continue;
+				}
+				pixels[i] = 0;
+				if ((pixel | 0xFF000000) != last) {
+					last = pixel | 0xFF000000;
+					mapped = this.filter.apply(last);
+				}
+				this.framePixels[i] = alpha == 255 ? mapped : PostProcessor.blend(mapped, this.framePixels[i], alpha);
+			}
+		}
+	}
+
+	/**
+	 * Blend two colors.
+	 *
+	 * @param src
+	 *            the source color
+	 * @param dst
+	 *            the destination color
+	 * @param alpha
+	 *            the alpha of the source in [0,255]
+	 * @return the blended (opaque) color
+	 */
+	private static int blend(int src, int dst, int alpha) {
+		int inverse = 255 - alpha;
+		int r = (((src >> 16) & 0xFF) * alpha + ((dst >> 16) & 0xFF) * inverse + 127) / 255;
+		int g = (((src >> 8) & 0xFF) * alpha + ((dst >> 8) & 0xFF) * inverse + 127) / 255;
+		int b = ((src & 0xFF) * alpha + (dst & 0xFF) * inverse + 127) / 255;
+		return 0xFF000000 | (r << 16) | (g << 8) | b;
+	}
+
+	/**
+	 * A pass over a strip of pixels.
+	 *
+	 */
+	@FunctionalInterface
+	private interface Pass {
+		/**
+		 * Apply the pass.
+		 *
+		 * @param fromRow
+		 *            the first row
+		 * @param toRow
+		 *            the last row (exclusive)
+		 */
+		void apply(int fromRow, int toRow);
+	}
+}
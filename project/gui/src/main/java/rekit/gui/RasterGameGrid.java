@@ -0,0 +1,1000 @@
+package rekit.gui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+import rekit.config.GameConf;
+import rekit.core.GameGrid;
+import rekit.logic.filters.Filter;
+import rekit.primitives.TextOptions;
+import rekit.primitives.geometry.Polygon;
+import rekit.primitives.geometry.Vec;
+import rekit.primitives.image.RGBAColor;
+import rekit.util.CalcUtil;
+
+/**
+ * This class is a {@link GameGrid} which rasterizes all primitives in pure
+ * Java into an {@code int[]} framebuffer (opaque RGB) without any window or
+ * {@link Graphics2D}. It uses the same coordinates as {@link GameGridImpl};
+ * shapes are rasterized without antialiasing (a pixel will be drawn if its
+ * center is inside the shape), texts are drawn from cached glyph bitmaps.
+ * <br>
+ * This grid can be used for headless rendering (e.g. benchmarks, frame
+ * captures or thumbnails). A grid may also cover only a horizontal strip of
+ * the frame (see {@link TiledRenderer}).<br>
+ * This class is not thread-safe.
+ *
+ */
+public final class RasterGameGrid extends GameGrid {
+	/**
+	 * The width of the framebuffer.
+	 */
+	private final int width;
+	/**
+	 * The height of the framebuffer.
+	 */
+	private final int height;
+	/**
+	 * The first (inclusive) and the last (exclusive) row of the frame which
+	 * are covered by the framebuffer.
+	 */
+	private final int top, bottom;
+	/**
+	 * The framebuffer (RGB, the alpha channel is always 255).
+	 */
+	private final int[] pixels;
+	/**
+	 * The current filter.
+	 */
+	private Filter filter;
+	/**
+	 * The current camera offset in units and the resulting pixel offsets of
+	 * ingame positions.
+	 */
+	private float offsetUnits, offsetX, offsetY;
+	/**
+	 * The current translation (in pixels, see {@link #translate(float, float)}).
+	 */
+	private float translateX, translateY;
+	/**
+	 * The reused unit buffer of
+	 * {@link #drawPolygon(Polygon, RGBAColor, boolean, boolean)}.
+	 */
+	private float[] units = new float[0];
+	/**
+	 * The reused vertex buffers of all polygons (in pixels).
+	 */
+	private float[] xpoints = new float[4], ypoints = new float[4];
+	/**
+	 * The reused buffer of the intersections of a scanline with a polygon.
+	 */
+	private float[] crossings = new float[4];
+	/**
+	 * The reused key for lookups in the image cache (see
+	 * {@link ImageManagement#getCache()}).
+	 */
+	private final ImageCache.Key lookup = new ImageCache.Key(null, null, false, false);
+	/**
+	 * The ARGB pixels of all drawn images (will be dropped with the images).
+	 */
+	private final Map<BufferedImage, int[]> images = new WeakHashMap<>();
+	/**
+	 * The fonts of all drawn texts.
+	 */
+	private final List<GlyphFont> fonts = new ArrayList<>();
+
+	/**
+	 * Create a new grid of size {@link GameConf#PIXEL_W} x
+	 * {@link GameConf#PIXEL_H}.
+	 */
+	public RasterGameGrid() {
+		this(GameConf.PIXEL_W, GameConf.PIXEL_H);
+	}
+
+	/**
+	 * Create a new grid.
+	 *
+	 * @param width
+	 *            the width in pixels
+	 * @param height
+	 *            the height in pixels
+	 */
+	public RasterGameGrid(int width, int height) {
+		this(new int[width * height], width, height, 0);
+		Arrays.fill(this.pixels, 0xFF000000);
+	}
+
+	/**
+	 * Create a new grid which covers a horizontal strip of the frame.
+	 *
+	 * @param pixels
+	 *            the framebuffer of the strip (row by row)
+	 * @param width
+	 *            the width in pixels
+	 * @param height
+	 *            the height of the strip in pixels
+	 * @param top
+	 *            the first row of the frame which is covered by the strip
+	 */
+	RasterGameGrid(int[] pixels, int width, int height, int top) {
+		this.width = width;
+		this.height = height;
+		this.pixels = pixels;
+		this.top = top;
+		this.bottom = top + height;
+	}
+
+	/**
+	 * Get the width of the framebuffer.
+	 *
+	 * @return the width in pixels
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+
+	/**
+	 * Get the height of the framebuffer.
+	 *
+	 * @return the height in pixels
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+
+	/**
+	 * Get the framebuffer (row by row, packed ARGB with alpha 255). The array
+	 * will be changed by all following draws.
+	 *
+	 * @return the framebuffer
+	 */
+	public int[] getPixels() {
+		return this.pixels;
+	}
+
+	/**
+	 * Copy the framebuffer to an image.
+	 *
+	 * @return the image
+	 */
+	public BufferedImage toImage() {
+		BufferedImage image = new BufferedImage(this.width, this.height, BufferedImage.TYPE_INT_RGB);
+		image.setRGB(0, 0, this.width, this.height, this.pixels, 0, this.width);
+		return image;
+	}
+
+	/**
+	 * Set the current filter.
+	 *
+	 * @param filter
+	 *            the filter or {@code null} for deleting current filters
+	 */
+	public void setFilter(Filter filter) {
+		this.filter = filter;
+	}
+
+	/**
+	 * Translate the following drawings (e.g. for the shifts of
+	 * {@link rekit.core.RenderFrame#replay(GameGrid, float, rekit.core.RenderFrame.Translation)}).
+	 *
+	 * @param dx
+	 *            the distance in x direction (in units)
+	 * @param dy
+	 *            the distance in y direction (in units)
+	 */
+	public void translate(float dx, float dy) {
+		this.translateX += dx * GameConf.PX_PER_UNIT;
+		this.translateY += dy * GameConf.PX_PER_UNIT;
+	}
+
+	/**
+	 * Set the background of the field.
+	 *
+	 * @param in
+	 *            the color
+	 */
+	public void setBackground(RGBAColor in) {
+		this.translateX = 0;
+		this.translateY = 0;
+		int argb = this.color(in.toARGB(), true);
+		for (int row = this.top; row < this.bottom; row++) {
+			this.span(row, 0, this.width, argb);
+		}
+	}
+
+	@Override
+	public void setCurrentOffset(float cameraOffsetUnits) {
+		this.offsetUnits = GameGridImpl.CORRECTION.x + cameraOffsetUnits;
+		this.offsetX = -this.offsetUnits * GameConf.PX_PER_UNIT;
+		this.offsetY = GameGridImpl.CORRECTION.y * GameConf.PX_PER_UNIT;
+	}
+
+	@Override
+	public void drawRectangle(Vec pos, Vec size, RGBAColor in, boolean inGame, boolean usefilter) {
+		float w = this.toPixel(size.x, inGame);
+		float h = this.toPixel(size.y, inGame);
+		this.fillRect((int) (this.toPixelX(pos, inGame) - w / 2f), (int) (this.toPixelY(pos, inGame) - h / 2f), (int) w, (int) h, this.color(in.toARGB(), usefilter));
+	}
+
+	@Override
+	public void drawCircle(Vec pos, Vec size, RGBAColor in, boolean inGame, boolean usefilter) {
+		float w = this.toPixel(size.x, inGame);
+		float h = this.toPixel(size.y, inGame);
+		this.fillOval(this.toPixelX(pos, inGame) - w / 2f, this.toPixelY(pos, inGame) - h / 2f, w, h, this.color(in.toARGB(), usefilter));
+	}
+
+	@Override
+	public void drawRoundRectangle(Vec pos, Vec size, RGBAColor in, float arcWidth, float arcHeight, boolean inGame, boolean usefilter) {
+		float w = this.toPixel(size.x, inGame);
+		float h = this.toPixel(size.y, inGame);
+		int arcW = inGame ? CalcUtil.units2pixel(arcWidth) : (int) arcWidth;
+		int arcH = inGame ? CalcUtil.units2pixel(arcHeight) : (int) arcHeight;
+		this.fillRoundRect((int) (this.toPixelX(pos, inGame) - w / 2f), (int) (this.toPixelY(pos, inGame) - h / 2f), (int) w, (int) h, arcW, arcH,
+				this.color(in.toARGB(), usefilter));
+	}
+
+	@Override
+	public void drawPolygon(Polygon polygon, RGBAColor in, boolean fill, boolean usefilter) {
+		int vertices = polygon.getPointCount();
+		if (this.units.length < 2 * vertices) {
+			this.units = new float[2 * vertices];
+		}
+		this.ensurePoints(vertices);
+		polygon.getAbsoluteArray(this.units);
+		// see Vec#translate2D(float)
+		Vec start = polygon.getStartPoint();
+		float perspective = start.z != 0 ? this.offsetUnits / start.z : 0;
+		for (int v = 0; v < vertices; v++) {
+			this.xpoints[v] = (int) (this.offsetX + CalcUtil.units2pixel(this.units[2 * v] + perspective));
+			this.ypoints[v] = (int) (this.offsetY + CalcUtil.units2pixel(this.units[2 * v + 1]));
+		}
+		int argb = this.color(in.toARGB(), usefilter);
+		if (fill) {
+			this.fillPolygon(vertices, argb);
+			return;
+		}
+		for (int v = 0, last = vertices - 1; v < vertices; last = v++) {
+			this.drawLine(this.xpoints[last], this.ypoints[last], this.xpoints[v], this.ypoints[v], 1, argb);
+		}
+	}
+
+	@Override
+	public void drawPolygons(float[] points, int vertices, int[] colors, int count, boolean usefilter) {
+		this.ensurePoints(vertices);
+		int lastArgb = 0;
+		int argb = 0;
+		int p = 0;
+		for (int i = 0; i < count; i++) {
+			// consecutive polygons often share their color
+			if (i == 0 || colors[i] != lastArgb) {
+				lastArgb = colors[i];
+				argb = this.color(lastArgb, usefilter);
+			}
+			for (int v = 0; v < vertices; v++) {
+				this.xpoints[v] = (int) (this.offsetX + CalcUtil.units2pixel(points[p++]));
+				this.ypoints[v] = (int) (this.offsetY + CalcUtil.units2pixel(points[p++]));
+			}
+			this.fillPolygon(vertices, argb);
+		}
+	}
+
+	@Override
+	public void drawImage(Vec pos, Vec size, String imagePath, boolean inGame, boolean usefilter, boolean mirrorX, boolean mirrorY) {
+		// images will be filtered iff the filter supports whole images (like
+		// GameGridImpl)
+		Filter imageFilter = this.filter != null && this.filter.isApplyImage() ? this.filter : null;
+		BufferedImage image = ImageManagement.get(this.lookup.set(imagePath, imageFilter, mirrorX, mirrorY));
+		if (image == null) {
+			return;
+		}
+		int[] src = this.images.get(image);
+		if (src == null) {
+			src = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+			this.images.put(image, src);
+		}
+		float w = this.toPixel(size.x, inGame);
+		float h = this.toPixel(size.y, inGame);
+		this.blit(src, image.getWidth(), image.getHeight(), (int) (this.toPixelX(pos, inGame) - w / 2f), (int) (this.toPixelY(pos, inGame) - h / 2f));
+	}
+
+	@Override
+	public void drawLine(Vec a, Vec b, int lineWidth, RGBAColor color, boolean ingame, boolean usefilter) {
+		this.drawLine((int) this.toPixelX(a, ingame), (int) this.toPixelY(a, ingame), (int) this.toPixelX(b, ingame), (int) this.toPixelY(b, ingame), lineWidth,
+				this.color(color.toARGB(), usefilter));
+	}
+
+	@Override
+	public void drawPath(Vec startPos, List<Vec> pts, RGBAColor in, int lineWidth, boolean usefilter) {
+		if (pts.size() == 0) {
+			return;
+		}
+		float x = this.toPixelX(startPos, true);
+		float y = this.toPixelY(startPos, true);
+		int argb = this.color(in.toARGB(), usefilter);
+
+		Iterator<Vec> it = pts.iterator();
+		Vec pt = it.next();
+		int lastX = (int) (x + pt.x * GameConf.PX_PER_UNIT);
+		int lastY = (int) (y + pt.y * GameConf.PX_PER_UNIT);
+		while (it.hasNext()) {
+			pt = it.next();
+			int nextX = (int) (x + pt.x * GameConf.PX_PER_UNIT);
+			int nextY = (int) (y + pt.y * GameConf.PX_PER_UNIT);
+			this.drawLine(lastX, lastY, nextX, nextY, lineWidth, argb);
+			lastX = nextX;
+			lastY = nextY;
+		}
+	}
+
+	@Override
+	public void drawText(Vec pos, String text, TextOptions options, boolean inGame) {
+		float x = this.toPixelX(pos, inGame);
+		float y = this.toPixelY(pos, inGame);
+		int argb = this.color(options.getColor().toARGB(), options.getUseFilter());
+		GlyphFont font = this.font(options);
+
+		float xAlign = options.getAlignment().x;
+		float yAlign = options.getAlignment().y;
+		int lineHeight = font.height;
+		int start = 0;
+		// like String#split: no trailing empty lines
+		while (start == 0 || start < text.length()) {
+			int end = text.indexOf('\n', start);
+			if (end < 0) {
+				end = text.length();
+			}
+			// the size of a box to hold the text with some padding
+			int lineWidth = 2;
+			for (int i = start; i < end; i++) {
+				lineWidth += font.glyph(text.charAt(i)).advance;
+			}
+			y += lineHeight;
+			int penX = Math.round(x + xAlign * lineWidth + this.translateX);
+			int baseline = Math.round(y + yAlign * (lineHeight + 2) + this.translateY);
+			for (int i = start; i < end; i++) {
+				Glyph glyph = font.glyph(text.charAt(i));
+				this.drawGlyph(glyph, penX + glyph.originX, baseline + glyph.originY, argb);
+				penX += glyph.advance;
+			}
+			start = end + 1;
+		}
+	}
+
+	/**
+	 * Translate the x coordinate of a vec3D to the x coordinate of a vec2D
+	 * (see {@link Vec#translate2D(float)}).
+	 *
+	 * @param vec3D
+	 *            the vec3D
+	 * @param ingame
+	 *            indicates whether it shall drawn as entity of the game
+	 *            (relative to current game progress) or relative to the
+	 *            surrounding frame
+	 * @return the x coordinate of the vec2D
+	 */
+	private float toPixelX(Vec vec3D, boolean ingame) {
+		float x = vec3D.z != 0 ? vec3D.x + this.offsetUnits / vec3D.z : vec3D.x;
+		return ingame ? x * GameConf.PX_PER_UNIT + this.offsetX : x;
+	}
+
+	/**
+	 * Translate the y coordinate of a vec3D to the y coordinate of a vec2D.
+	 *
+	 * @param vec3D
+	 *            the vec3D
+	 * @param ingame
+	 *            indicates whether it shall drawn as entity of the game
+	 *            (relative to current game progress) or relative to the
+	 *            surrounding frame
+	 * @return the y coordinate of the vec2D
+	 */
+	private float toPixelY(Vec vec3D, boolean ingame) {
+		return ingame ? vec3D.y * GameConf.PX_PER_UNIT + this.offsetY : vec3D.y;
+	}
+
+	/**
+	 * Translate a length to pixels.
+	 *
+	 * @param length
+	 *            the length
+	 * @param ingame
+	 *            indicates whether the length is given in units
+	 * @return the length in pixels
+	 */
+	private float toPixel(float length, boolean ingame) {
+		return ingame ? length * GameConf.PX_PER_UNIT : length;
+	}
+
+	/**
+	 * Get the color of a draw.
+	 *
+	 * @param argb
+	 *            the ARGB value
+	 * @param usefilter
+	 *            indicates whether the current filter (if set) shall be
+	 *            applied
+	 * @return the (filtered) ARGB value
+	 */
+	private int color(int argb, boolean usefilter) {
+		return !usefilter || this.filter == null || !this.filter.isApplyPixel() ? argb : this.filter.apply(argb);
+	}
+
+	/**
+	 * Make sure that {@link #xpoints} and {@link #ypoints} can hold a certain
+	 * amount of points.
+	 *
+	 * @param vertices
+	 *            the amount of points
+	 */
+	private void ensurePoints(int vertices) {
+		if (this.xpoints.length < vertices) {
+			this.xpoints = new float[vertices];
+			this.ypoints = new float[vertices];
+		}
+	}
+
+	/**
+	 * Fill a span of a row.
+	 *
+	 * @param y
+	 *            the row
+	 * @param from
+	 *            the first column
+	 * @param to
+	 *            the last column (exclusive)
+	 * @param argb
+	 *            the color
+	 */
+	private void span(int y, int from, int to, int argb) {
+		if (y < this.top || y >= this.bottom) {
+			return;
+		}
+		int x0 = Math.max(0, from);
+		int x1 = Math.min(this.width, to);
+		if (x0 >= x1) {
+			return;
+		}
+		int row = (y - this.top) * this.width;
+		int alpha = argb >>> 24;
+		if (alpha == 255) {
+			Arrays.fill(this.pixels, row + x0, row + x1, argb);
+		} else if (alpha != 0) {
+			for (int i = row + x0; i < row + x1; i++) {
+				this.pixels[i] = RasterGameGrid.blend(argb, alpha, this.pixels[i]);
+			}
+		}
+	}
+
+	/**
+	 * Draw one pixel.
+	 *
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @param argb
+	 *            the color
+	 */
+	private void plot(int x, int y, int argb) {
+		if (x >= 0 && x < this.width && y >= this.top && y < this.bottom) {
+			int i = (y - this.top) * this.width + x;
+			this.pixels[i] = RasterGameGrid.blend(argb, argb >>> 24, this.pixels[i]);
+		}
+	}
+
+	/**
+	 * Blend a color onto an opaque color.
+	 *
+	 * @param src
+	 *            the source color
+	 * @param alpha
+	 *            the alpha of the source in [0,255]
+	 * @param dst
+	 *            the destination color
+	 * @return the blended (opaque) color
+	 */
+	private static int blend(int src, int alpha, int dst) {
+		if (alpha == 255) {
+			return src;
+		}
+		if (alpha == 0) {
+			return dst;
+		}
+		int inverse = 255 - alpha;
+		int r = (((src >> 16) & 0xFF) * alpha + ((dst >> 16) & 0xFF) * inverse + 127) / 255;
+		int g = (((src >> 8) & 0xFF) * alpha + ((dst >> 8) & 0xFF) * inverse + 127) / 255;
+		int b = ((src & 0xFF) * alpha + (dst & 0xFF) * inverse + 127) / 255;
+		return 0xFF000000 | (r << 16) | (g << 8) | b;
+	}
+
+	/**
+	 * Convert the left (or top) border of a shape to the first pixel whose
+	 * center is inside the shape.
+	 *
+	 * @param border
+	 *            the border
+	 * @return the first pixel
+	 */
+	private static int first(float border) {
+		return (int) Math.ceil(border - 0.5f);
+	}
+
+	/**
+	 * Fill a rectangle.
+	 *
+	 * @param x
+	 *            the left border
+	 * @param y
+	 *            the top border
+	 * @param w
+	 *            the width
+	 * @param h
+	 *            the height
+	 * @param argb
+	 *            the color
+	 */
+	private void fillRect(int x, int y, int w, int h, int argb) {
+		int left = RasterGameGrid.first(x + this.translateX);
+		int top = RasterGameGrid.first(y + this.translateY);
+		for (int row = Math.max(this.top, top); row < Math.min(this.bottom, top + h); row++) {
+			this.span(row, left, left + w, argb);
+		}
+	}
+
+	/**
+	 * Fill an ellipse.
+	 *
+	 * @param x
+	 *            the left border of the bounds
+	 * @param y
+	 *            the top border of the bounds
+	 * @param w
+	 *            the width of the bounds
+	 * @param h
+	 *            the height of the bounds
+	 * @param argb
+	 *            the color
+	 */
+	private void fillOval(float x, float y, float w, float h, int argb) {
+		if (w <= 0 || h <= 0) {
+			return;
+		}
+		float rx = w / 2;
+		float ry = h / 2;
+		float cx = x + rx + this.translateX;
+		float cy = y + ry + this.translateY;
+		int top = Math.max(this.top, RasterGameGrid.first(cy - ry));
+		int bottom = Math.min(this.bottom, RasterGameGrid.first(cy + ry));
+		for (int row = top; row < bottom; row++) {
+			float dy = (row + 0.5f - cy) / ry;
+			float dx = rx * (float) Math.sqrt(Math.max(0, 1 - dy * dy));
+			this.span(row, RasterGameGrid.first(cx - dx), RasterGameGrid.first(cx + dx), argb);
+		}
+	}
+
+	/**
+	 * Fill a rectangle with rounded corners (quarters of ellipses).
+	 *
+	 * @param x
+	 *            the left border
+	 * @param y
+	 *            the top border
+	 * @param w
+	 *            the width
+	 * @param h
+	 *            the height
+	 * @param arcWidth
+	 *            the horizontal diameter of the corners
+	 * @param arcHeight
+	 *            the vertical diameter of the corners
+	 * @param argb
+	 *            the color
+	 */
+	private void fillRoundRect(int x, int y, int w, int h, int arcWidth, int arcHeight, int argb) {
+		float rx = Math.min(Math.abs(arcWidth), w) / 2f;
+		float ry = Math.min(Math.abs(arcHeight), h) / 2f;
+		float left = x + this.translateX;
+		float top = y + this.translateY;
+		int first = Math.max(this.top, RasterGameGrid.first(top));
+		int last = Math.min(this.bottom, RasterGameGrid.first(top + h));
+		for (int row = first; row < last; row++) {
+			float center = row + 0.5f;
+			// vertical distance into the corner ellipse (if any)
+			float dy = Math.max(top + ry - center, center - (top + h - ry));
+			float inset = 0;
+			if (ry > 0 && dy > 0) {
+				float t = dy / ry;
+				inset = rx * (1 - (float) Math.sqrt(Math.max(0, 1 - t * t)));
+			}
+			this.span(row, RasterGameGrid.first(left + inset), RasterGameGrid.first(left + w - inset), argb);
+		}
+	}
+
+	/**
+	 * Fill the polygon in {@link #xpoints} and {@link #ypoints} (even-odd
+	 * rule).
+	 *
+	 * @param vertices
+	 *            the amount of vertices
+	 * @param argb
+	 *            the color
+	 */
+	private void fillPolygon(int vertices, int argb) {
+		if (vertices < 3) {
+			return;
+		}
+		if (this.crossings.length < vertices) {
+			this.crossings = new float[vertices];
+		}
+		float minY = Float.MAX_VALUE;
+		float maxY = -Float.MAX_VALUE;
+		for (int v = 0; v < vertices; v++) {
+			this.xpoints[v] += this.translateX;
+			this.ypoints[v] += this.translateY;
+			minY = Math.min(minY, this.ypoints[v]);
+			maxY = Math.max(maxY, this.ypoints[v]);
+		}
+		int top = Math.max(this.top, RasterGameGrid.first(minY));
+		int bottom = Math.min(this.bottom, RasterGameGrid.first(maxY));
+		for (int row = top; row < bottom; row++) {
+			float center = row + 0.5f;
+			int count = 0;
+			for (int v = 0, last = vertices - 1; v < vertices; last = v++) {
+				float y0 = this.ypoints[last];
+				float y1 = this.ypoints[v];
+				if ((y0 > center) != (y1 > center)) {
+					float x0 = this.xpoints[last];
+					float cross = x0 + (center - y0) * (this.xpoints[v] - x0) / (y1 - y0);
+					// insertion sort (few crossings)
+					int i = count++;
+					while (i > 0 && this.crossings[i - 1] > cross) {
+						this.crossings[i] = this.crossings[i - 1];
+						i--;
+					}
+					this.crossings[i] = cross;
+				}
+			}
+			for (int i = 0; i + 1 < count; i += 2) {
+				this.span(row, RasterGameGrid.first(this.crossings[i]), RasterGameGrid.first(this.crossings[i + 1]), argb);
+			}
+		}
+	}
+
+	/**
+	 * Draw a line. Lines with a width of one pixel will be drawn with
+	 * Bresenham's algorithm, wider lines as polygons with square caps.
+	 *
+	 * @param x0
+	 *            the x coordinate of the start
+	 * @param y0
+	 *            the y coordinate of the start
+	 * @param x1
+	 *            the x coordinate of the end
+	 * @param y1
+	 *            the y coordinate of the end
+	 * @param lineWidth
+	 *            the width of the line
+	 * @param argb
+	 *            the color
+	 */
+	private void drawLine(float x0, float y0, float x1, float y1, int lineWidth, int argb) {
+		if (lineWidth > 1) {
+			float dx = x1 - x0;
+			float dy = y1 - y0;
+			float length = (float) Math.sqrt(dx * dx + dy * dy);
+			float half = lineWidth / 2f;
+			// direction and normal scaled to the half width
+			float ux = length == 0 ? half : dx / length * half;
+			float uy = length == 0 ? 0 : dy / length * half;
+			this.ensurePoints(4);
+			this.xpoints[0] = x0 - ux - uy;
+			this.ypoints[0] = y0 - uy + ux;
+			this.xpoints[1] = x1 + ux - uy;
+			this.ypoints[1] = y1 + uy + ux;
+			this.xpoints[2] = x1 + ux + uy;
+			this.ypoints[2] = y1 + uy - ux;
+			this.xpoints[3] = x0 - ux + uy;
+			this.ypoints[3] = y0 - uy - ux;
+			this.fillPolygon(4, argb);
+			return;
+		}
+		int x = (int) Math.floor(x0 + this.translateX);
+		int y = (int) Math.floor(y0 + this.translateY);
+		int endX = (int) Math.floor(x1 + this.translateX);
+		int endY = (int) Math.floor(y1 + this.translateY);
+		int dx = Math.abs(endX - x);
+		int dy = -Math.abs(endY - y);
+		int sx = x < endX ? 1 : -1;
+		int sy = y < endY ? 1 : -1;
+		int error = dx + dy;
+		while (true) {
+			this.plot(x, y, argb);
+			if (x == endX && y == endY) {
+				return;
+			}
+			int e2 = 2 * error;
+			if (e2 >= dy) {
+				error += dy;
+				x += sx;
+			}
+			if (e2 <= dx) {
+				error += dx;
+				y += sy;
+			}
+		}
+	}
+
+	/**
+	 * Draw an image.
+	 *
+	 * @param src
+	 *            the ARGB pixels of the image
+	 * @param w
+	 *            the width of the image
+	 * @param h
+	 *            the height of the image
+	 * @param x
+	 *            the x coordinate of the upper left corner
+	 * @param y
+	 *            the y coordinate of the upper left corner
+	 */
+	private void blit(int[] src, int w, int h, int x, int y) {
+		int left = RasterGameGrid.first(x + this.translateX);
+		int top = RasterGameGrid.first(y + this.translateY);
+		int fromX = Math.max(0, -left);
+		int toX = Math.min(w, this.width - left);
+		for (int sy = Math.max(0, this.top - top); sy < Math.min(h, this.bottom - top); sy++) {
+			int s = sy * w;
+			int d = (top + sy - this.top) * this.width + left;
+			for (int sx = fromX; sx < toX; sx++) {
+				int argb = src[s + sx];
+				this.pixels[d + sx] = RasterGameGrid.blend(argb, argb >>> 24, this.pixels[d + sx]);
+			}
+		}
+	}
+
+	/**
+	 * Draw a glyph.
+	 *
+	 * @param glyph
+	 *            the glyph
+	 * @param x
+	 *            the x coordinate of the upper left corner of its mask
+	 * @param y
+	 *            the y coordinate of the upper left corner of its mask
+	 * @param argb
+	 *            the color
+	 */
+	private void drawGlyph(Glyph glyph, int x, int y, int argb) {
+		int alpha = argb >>> 24;
+		int fromX = Math.max(0, -x);
+		int toX = Math.min(glyph.width, this.width - x);
+		for (int gy = Math.max(0, this.top - y); gy < Math.min(glyph.height, this.bottom - y); gy++) {
+			int s = gy * glyph.width;
+			int d = (y + gy - this.top) * this.width + x;
+			for (int gx = fromX; gx < toX; gx++) {
+				int coverage = glyph.mask[s + gx] & 0xFF;
+				if (coverage != 0) {
+					this.pixels[d + gx] = RasterGameGrid.blend(argb, alpha * coverage / 255, this.pixels[d + gx]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the (cached) glyphs of {@link TextOptions}.
+	 *
+	 * @param options
+	 *            the options
+	 * @return the glyphs
+	 */
+	private GlyphFont font(TextOptions options) {
+		for (int i = 0; i < this.fonts.size(); i++) {
+			GlyphFont font = this.fonts.get(i);
+			if (font.matches(options)) {
+				return font;
+			}
+		}
+		GlyphFont font = new GlyphFont(options);
+		this.fonts.add(font);
+		return font;
+	}
+
+	/**
+	 * The bitmap of a character.
+	 *
+	 */
+	private static final class Glyph {
+		/**
+		 * The coverage of the pixels (row by row).
+		 */
+		private final byte[] mask;
+		/**
+		 * The size of the mask.
+		 */
+		private final int width, height;
+		/**
+		 * The position of the upper left corner of the mask relative to the
+		 * pen position on the baseline.
+		 */
+		private final int originX, originY;
+		/**
+		 * The horizontal advance of the pen.
+		 */
+		private final int advance;
+
+		/**
+		 * Create a new glyph.
+		 *
+		 * @param mask
+		 *            the coverage of the pixels
+		 * @param width
+		 *            the width of the mask
+		 * @param height
+		 *            the height of the mask
+		 * @param originX
+		 *            the x position of the mask relative to the pen
+		 * @param originY
+		 *            the y position of the mask relative to the baseline
+		 * @param advance
+		 *            the advance of the pen
+		 */
+		private Glyph(byte[] mask, int width, int height, int originX, int originY, int advance) {
+			this.mask = mask;
+			this.width = width;
+			this.height = height;
+			this.originX = originX;
+			this.originY = originY;
+			this.advance = advance;
+		}
+	}
+
+	/**
+	 * A font whose glyphs will be rasterized once (via an offscreen image)
+	 * and cached.
+	 *
+	 */
+	private static final class GlyphFont {
+		/**
+		 * The amount of characters which will be cached in an array.
+		 */
+		private static final int ASCII = 256;
+		/**
+		 * The name of the font.
+		 */
+		private final String name;
+		/**
+		 * The style of the font.
+		 */
+		private final int style;
+		/**
+		 * The size of the font.
+		 */
+		private final int size;
+		/**
+		 * The font.
+		 */
+		private final Font font;
+		/**
+		 * The metrics of the font.
+		 */
+		private final FontMetrics metrics;
+		/**
+		 * The height of a line.
+		 */
+		private final int height;
+		/**
+		 * The glyphs of the first {@link #ASCII} characters.
+		 */
+		private final Glyph[] ascii = new Glyph[GlyphFont.ASCII];
+		/**
+		 * The glyphs of all other characters.
+		 */
+		private final Map<Character, Glyph> others = new HashMap<>();
+
+		/**
+		 * Create a new font.
+		 *
+		 * @param options
+		 *            the options which define the font
+		 */
+		private GlyphFont(TextOptions options) {
+			this.name = options.getFont();
+			this.style = options.getFontOptions();
+			this.size = options.getHeight();
+			this.font = new Font(this.name, this.style, this.size);
+			Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY).createGraphics();
+			this.metrics = graphics.getFontMetrics(this.font);
+			graphics.dispose();
+			this.height = this.metrics.getHeight();
+		}
+
+		/**
+		 * Check whether this font matches {@link TextOptions}.
+		 *
+		 * @param options
+		 *            the options
+		 * @return {@code true} if the font matches, {@code false} otherwise
+		 */
+		private boolean matches(TextOptions options) {
+			return this.size == options.getHeight() && this.style == options.getFontOptions() && Objects.equals(this.name, options.getFont());
+		}
+
+		/**
+		 * Get the (cached) glyph of a character.
+		 *
+		 * @param c
+		 *            the character
+		 * @return the glyph
+		 */
+		private Glyph glyph(char c) {
+			Glyph glyph = c < GlyphFont.ASCII ? this.ascii[c] : this.others.get(c);
+			if (glyph == null) {
+				glyph = this.rasterize(c);
+				if (c < GlyphFont.ASCII) {
+					this.ascii[c] = glyph;
+				} else {
+					this.others.put(c, glyph);
+				}
+			}
+			return glyph;
+		}
+
+		/**
+		 * Rasterize a glyph.
+		 *
+		 * @param c
+		 *            the character
+		 * @return the glyph
+		 */
+		private Glyph rasterize(char c) {
+			int advance = this.metrics.charWidth(c);
+			// room for parts of the glyph outside of its advance
+			int pad = this.size / 2 + 2;
+			int w = advance + 2 * pad;
+			int h = this.metrics.getAscent() + this.metrics.getDescent() + 2 * pad;
+			BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_BYTE_GRAY);
+			Graphics2D graphics = image.createGraphics();
+			graphics.setFont(this.font);
+			graphics.setColor(Color.WHITE);
+			graphics.drawString(String.valueOf(c), pad, pad + this.metrics.getAscent());
+			graphics.dispose();
+			byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+
+			// crop to the drawn pixels
+			int minX = w, minY = h, maxX = -1, maxY = -1;
+			for (int y = 0; y < h; y++) {
+				for (int x = 0; x < w; x++) {
+					if (data[y * w + x] != 0) {
+						minX = Math.min(minX, x);
+						maxX = Math.max(maxX, x);
+						minY = Math.min(minY, y);
+						maxY = Math.max(maxY, y);
+					}
+				}
+			}
+			if (maxX < 0) {
+				return new Glyph(new byte[0], 0, 0, 0, 0, advance);
+			}
+			int cw = maxX - minX + 1;
+			int ch = maxY - minY + 1;
+			byte[] mask = new byte[cw * ch];
+			for (int y = 0; y < ch; y++) {
+				System.arraycopy(data, (minY + y) * w + minX, mask, y * cw, cw);
+			}
+			return new Glyph(mask, cw, ch, minX - pad, minY - pad - this.metrics.getAscent(), advance);
+		}
+	}
+}
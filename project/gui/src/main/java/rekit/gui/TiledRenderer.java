@@ -0,0 +1,264 @@
+package rekit.gui;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+import rekit.config.GameConf;
+import rekit.core.RenderFrame;
+import rekit.logic.filters.Filter;
+
+/**
+ * This class renders frames in parallel: the frame will be split into
+ * horizontal strips, every strip will be rendered by a worker into its own
+ * offscreen image (replaying the whole frame; all draws outside of the strip
+ * will be clipped by its grid) and all strips will be drawn to the screen
+ * afterwards. A strip can be rendered via Java2D ({@link GameGridImpl}) or
+ * the pure Java raster ({@link RasterGameGrid}). The Java2D grids share the
+ * images of static content, so every chunk will be rasterized once.<br>
+ * Filters will be applied to every single draw.<br>
+ * This class is not thread-safe.
+ *
+ */
+final class TiledRenderer {
+	/**
+	 * The workers.
+	 */
+	private final ForkJoinPool pool;
+	/**
+	 * The strips.
+	 */
+	private final Strip[] strips;
+	/**
+	 * The images of static content of all strips.
+	 */
+	private final GameGridImpl.CachedImages cached = new GameGridImpl.CachedImages(new ConcurrentHashMap<>());
+
+	/**
+	 * Create a new renderer for frames of size {@link GameConf#PIXEL_W} x
+	 * {@link GameConf#PIXEL_H}.
+	 *
+	 * @param workers
+	 *            the amount of workers (and strips)
+	 */
+	TiledRenderer(int workers) {
+		int count = Math.max(1, Math.min(workers, GameConf.PIXEL_H));
+		this.pool = new ForkJoinPool(count, pool -> {
+			ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			worker.setName("GameView-Worker-" + worker.getPoolIndex());
+			return worker;
+		}, null, false);
+		this.strips = new Strip[count];
+		for (int i = 0; i < count; i++) {
+			int top = i * GameConf.PIXEL_H / count;
+			this.strips[i] = new Strip(top, (i + 1) * GameConf.PIXEL_H / count - top, this.cached);
+		}
+	}
+
+	/**
+	 * Render a frame.
+	 *
+	 * @param screen
+	 *            the target graphics (its rendering hints will be used by all
+	 *            strips)
+	 * @param frame
+	 *            the frame
+	 * @param alpha
+	 *            the interpolation value in [0,1]
+	 * @param filter
+	 *            the filter or {@code null}
+	 * @param raster
+	 *            indicates whether the strips shall be rendered by
+	 *            {@link RasterGameGrid} instead of Java2D
+	 */
+	void render(Graphics2D screen, RenderFrame frame, float alpha, Filter filter, boolean raster) {
+		// the state of the filter shall be checked once for all strips
+		boolean filterChanged = filter != null && filter.changed();
+		if (raster && filterChanged) {
+			ImageManagement.invalidate(filter);
+		}
+		this.cached.beginFrame(filterChanged);
+		for (Strip strip : this.strips) {
+			strip.begin(screen, filter, filterChanged, raster);
+		}
+		this.pool.invoke(new StripRender(this.strips, frame, alpha, 0, this.strips.length));
+		for (Strip strip : this.strips) {
+			strip.end();
+			screen.drawImage(strip.image, 0, strip.top, null);
+		}
+	}
+
+	/**
+	 * A horizontal strip of the frame.
+	 *
+	 */
+	private static final class Strip {
+		/**
+		 * The first row of the frame which is covered by this strip.
+		 */
+		private final int top;
+		/**
+		 * The offscreen image of the strip.
+		 */
+		private final BufferedImage image;
+		/**
+		 * The Java2D grid of the strip.
+		 */
+		private final GameGridImpl java2d;
+		/**
+		 * The raster grid of the strip.
+		 */
+		private final RasterGameGrid raster;
+		/**
+		 * The graphics of the current frame (if rendered via Java2D).
+		 */
+		private Graphics2D graphics;
+		/**
+		 * Indicates whether the current frame shall be rendered by
+		 * {@link #raster}.
+		 */
+		private boolean useRaster;
+
+		/**
+		 * Create a new strip.
+		 *
+		 * @param top
+		 *            the first row of the frame which is covered by the strip
+		 * @param height
+		 *            the height of the strip
+		 * @param cached
+		 *            the images of static content of all strips
+		 */
+		private Strip(int top, int height, GameGridImpl.CachedImages cached) {
+			this.top = top;
+			this.image = new BufferedImage(GameConf.PIXEL_W, height, BufferedImage.TYPE_INT_RGB);
+			int[] pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+			this.java2d = new GameGridImpl(cached);
+			this.raster = new RasterGameGrid(pixels, GameConf.PIXEL_W, height, top);
+		}
+
+		/**
+		 * Prepare the strip for a new frame.
+		 *
+		 * @param screen
+		 *            the graphics whose rendering hints shall be used
+		 * @param filter
+		 *            the filter or {@code null}
+		 * @param filterChanged
+		 *            indicates whether the state of the filter has changed
+		 * @param useRaster
+		 *            indicates whether the strip shall be rendered by
+		 *            {@link RasterGameGrid}
+		 */
+		private void begin(Graphics2D screen, Filter filter, boolean filterChanged, boolean useRaster) {
+			this.useRaster = useRaster;
+			if (useRaster) {
+				this.raster.setFilter(filter);
+				return;
+			}
+			this.graphics = this.image.createGraphics();
+			this.graphics.setRenderingHints(screen.getRenderingHints());
+			this.graphics.translate(0, -this.top);
+			this.graphics.clipRect(0, this.top, GameConf.PIXEL_W, this.image.getHeight());
+			this.java2d.setFilter(filter);
+			this.java2d.beginFrame(filterChanged);
+			this.java2d.setGraphics(this.graphics);
+		}
+
+		/**
+		 * Render a frame into this strip.
+		 *
+		 * @param frame
+		 *            the frame
+		 * @param alpha
+		 *            the interpolation value in [0,1]
+		 */
+		private void render(RenderFrame frame, float alpha) {
+			if (this.useRaster) {
+				this.raster.setCurrentOffset(frame.getCameraOffset(alpha));
+				this.raster.setBackground(GameConf.GAME_BACKGROUD_COLOR);
+				frame.replay(this.raster, alpha, this.raster::translate);
+			} else {
+				this.java2d.setCurrentOffset(frame.getCameraOffset(alpha));
+				this.java2d.setBackground(GameConf.GAME_BACKGROUD_COLOR);
+				frame.replay(this.java2d, alpha, this.java2d::translate);
+			}
+		}
+
+		/**
+		 * Finish the current frame.
+		 */
+		private void end() {
+			if (this.graphics != null) {
+				this.graphics.dispose();
+				this.graphics = null;
+			}
+		}
+	}
+
+	/**
+	 * This task renders a range of strips by splitting it in halves.
+	 *
+	 */
+	private static final class StripRender extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		/**
+		 * The strips.
+		 */
+		private final transient Strip[] strips;
+		/**
+		 * The frame.
+		 */
+		private final transient RenderFrame frame;
+		/**
+		 * The interpolation value.
+		 */
+		private final float alpha;
+		/**
+		 * The first strip (inclusive).
+		 */
+		private final int from;
+		/**
+		 * The last strip (exclusive).
+		 */
+		private final int to;
+
+		/**
+		 * Create a new task.
+		 *
+		 * @param strips
+		 *            the strips
+		 * @param frame
+		 *            the frame
+		 * @param alpha
+		 *            the interpolation value in [0,1]
+		 * @param from
+		 *            the first strip (inclusive)
+		 * @param to
+		 *            the last strip (exclusive)
+		 */
+		private StripRender(Strip[] strips, RenderFrame frame, float alpha, int from, int to) {
+			this.strips = strips;
+			this.frame = frame;
+			this.alpha = alpha;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from == 1) {
+				this.strips[this.from].render(this.frame, this.alpha);
+				return;
+			}
+			int mid = (this.from + this.to) >>> 1;
+			ForkJoinTask.invokeAll(new StripRender(this.strips, this.frame, this.alpha, this.from, mid), //
+					new StripRender(this.strips, this.frame, this.alpha, mid, this.to));
+		}
+	}
+}
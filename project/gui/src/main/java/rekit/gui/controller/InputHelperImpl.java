@@ -1,166 +1,242 @@
 package rekit.gui.controller;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import rekit.config.GameConf;
 import rekit.gui.InputHelper;
-import rekit.util.LambdaUtil;
-import rekit.util.ThreadUtils;
+import rekit.gui.controller.commands.InputMethod;
 
 /**
  * This class establishes a Listener to Components of the Shell<br>
- * Also {@link Observer Observers} can register to receive events.
+ * All key events will be stamped with {@link System#nanoTime()} and stored in
+ * a lock-free ring buffer (any thread may press or release keys). The logic
+ * thread drains the buffer at the start of every tick (see
+ * {@link #dispatch(Dispatcher)}) and dispatches the events in order of their
+ * arrival; keys which are held down will be dispatched once per tick.
  *
  * @author Dominik Fuchss
  *
  */
 final class InputHelperImpl implements InputHelper {
-
 	/**
-	 * Instantiate the InputHelper.
+	 * The amount of key codes which will be tracked (all other keys will be
+	 * ignored).
 	 */
-	InputHelperImpl() {
-		ThreadUtils.runDaemon("InputHelper", this::run);
-	}
-
+	static final int KEYS = 256;
 	/**
-	 * The notifying method.
+	 * The capacity of the ring buffer (power of two). If the buffer is full,
+	 * further events will be dropped until the next tick.
 	 */
-	private void run() {
-		while (true) {
-			this.notifyObservers();
-			ThreadUtils.sleep(GameConf.LOGIC_DELTA);
-		}
-	}
+	private static final int CAPACITY = 1 << 8;
+	/**
+	 * The amount of latencies of {@link #getMeanLatency()} and
+	 * {@link #getMaxLatency()} (power of two).
+	 */
+	private static final int LATENCIES = 1 << 7;
 
 	/**
-	 * List of all observers that registered to key changes.
+	 * The sequence numbers of the slots of the ring buffer. A slot can be
+	 * written at position {@code p} if its sequence is {@code p} and read if
+	 * its sequence is {@code p + 1}.
 	 */
-	private List<Observer> observers = new ArrayList<>();
+	private final AtomicLongArray sequences = new AtomicLongArray(InputHelperImpl.CAPACITY);
+	/**
+	 * The key codes of the events (shifted by one, the lowest bit indicates a
+	 * press).
+	 */
+	private final int[] events = new int[InputHelperImpl.CAPACITY];
+	/**
+	 * The timestamps of the events.
+	 */
+	private final long[] timestamps = new long[InputHelperImpl.CAPACITY];
+	/**
+	 * The next position to write.
+	 */
+	private final AtomicLong tail = new AtomicLong();
+	/**
+	 * The next position to read (only used by the logic thread).
+	 */
+	private long head;
 
 	/**
-	 * List of all keyCodes that are currently pressed.
+	 * The keys which are currently pressed (only used by the logic thread).
+	 */
+	private final boolean[] pressed = new boolean[InputHelperImpl.KEYS];
+	/**
+	 * The last tick when a press of a key has been dispatched (only used by
+	 * the logic thread).
+	 */
+	private final long[] dispatched = new long[InputHelperImpl.KEYS];
+	/**
+	 * The current tick.
 	 */
-	private ConcurrentSkipListSet<Integer> pressedKeys = new ConcurrentSkipListSet<>();
+	private long tick;
 
 	/**
-	 * List of all keyCodes that have just been released.
+	 * The latencies of the last events (in ns).
 	 */
-	private ConcurrentSkipListSet<Integer> releasedKeys = new ConcurrentSkipListSet<>();
+	private final long[] latencies = new long[InputHelperImpl.LATENCIES];
+	/**
+	 * The amount of measured latencies.
+	 */
+	private volatile long measured;
 
 	/**
-	 * The lock to synchronize {@link #press(int)} and {@link #release(int)}.
+	 * Instantiate the InputHelper.
 	 */
-	private final Lock lock = new ReentrantLock();
+	InputHelperImpl() {
+		for (int i = 0; i < InputHelperImpl.CAPACITY; i++) {
+			this.sequences.set(i, i);
+		}
+	}
 
 	/**
-	 * Adds a pressed keys keyCode to the List and notifies observers.
+	 * Adds a pressed key to the events.
 	 *
 	 * @param code
 	 *            the keyCode of the just pressed key
 	 */
 	@Override
 	public void press(int code) {
-		try {
-			this.lock.lock();
-			this.pressedKeys.add(code);
-			this.releasedKeys.remove(code);
-		} finally {
-			this.lock.unlock();
-		}
+		this.push(code, true);
 	}
 
 	/**
-	 * Remove a released keys keyCode to the List and notifies observers.
+	 * Adds a released key to the events.
 	 *
 	 * @param code
 	 *            the keyCode of the just released key
 	 */
 	@Override
 	public void release(int code) {
-		try {
-			this.lock.lock();
-			this.releasedKeys.add(code);
-			this.pressedKeys.remove(code);
-		} finally {
-			this.lock.unlock();
-		}
+		this.push(code, false);
 	}
 
 	/**
-	 * Get an Iterator to iterate over all pressed keys keyCodes.
+	 * Add an event to the ring buffer.
 	 *
-	 * @return the Iterator for all pressed keyCodes
+	 * @param code
+	 *            the keyCode
+	 * @param press
+	 *            indicates whether the key has been pressed or released
 	 */
-	public Iterator<Integer> getPressedKeyIterator() {
-		return this.pressedKeys.iterator();
+	private void push(int code, boolean press) {
+		long now = System.nanoTime();
+		if (code < 0 || code >= InputHelperImpl.KEYS) {
+			GameConf.GAME_LOGGER.debug("Ignored Key-ID: " + code);
+			return;
+		}
+		while (true) {
+			long position = this.tail.get();
+			int slot = (int) position & (InputHelperImpl.CAPACITY - 1);
+			long sequence = this.sequences.get(slot);
+			if (sequence < position) {
+				GameConf.GAME_LOGGER.warn("Input buffer full, dropped Key-ID: " + code);
+				return;
+			}
+			if (sequence == position && this.tail.compareAndSet(position, position + 1)) {
+				this.events[slot] = code << 1 | (press ? 1 : 0);
+				this.timestamps[slot] = now;
+				// publish the event
+				this.sequences.set(slot, position + 1);
+				return;
+			}
+		}
 	}
 
 	/**
-	 * Get an Iterator to iterate over all pressed keys keyCodes.
+	 * Dispatch all events since the last tick (in order of their arrival)
+	 * and all keys which are still held down. A key will be dispatched as
+	 * {@link InputMethod#PRESS} at most once per tick. This method shall only
+	 * be invoked by the logic thread.
 	 *
-	 * @return the Iterator for all pressed keyCodes
+	 * @param dispatcher
+	 *            the dispatcher
 	 */
-	public Iterator<Integer> getReleasedKeyIterator() {
-		return this.releasedKeys.iterator();
+	void dispatch(Dispatcher dispatcher) {
+		this.tick++;
+		while (true) {
+			int slot = (int) this.head & (InputHelperImpl.CAPACITY - 1);
+			if (this.sequences.get(slot) != this.head + 1) {
+				break;
+			}
+			int event = this.events[slot];
+			long timestamp = this.timestamps[slot];
+			// free the slot for the next round
+			this.sequences.set(slot, this.head + InputHelperImpl.CAPACITY);
+			this.head++;
+
+			this.measure(System.nanoTime() - timestamp);
+			int code = event >>> 1;
+			if ((event & 1) == 0) {
+				this.pressed[code] = false;
+				dispatcher.dispatch(code, InputMethod.RELEASE);
+				continue;
+			}
+			this.pressed[code] = true;
+			if (this.dispatched[code] != this.tick) {
+				this.dispatched[code] = this.tick;
+				dispatcher.dispatch(code, InputMethod.PRESS);
+			}
+		}
+		for (int code = 0; code < InputHelperImpl.KEYS; code++) {
+			if (this.pressed[code] && this.dispatched[code] != this.tick) {
+				this.dispatched[code] = this.tick;
+				dispatcher.dispatch(code, InputMethod.PRESS);
+			}
+		}
 	}
 
 	/**
-	 * Synchronization Lock that is used as a lock variable for blocking
-	 * operations.
+	 * Store the latency of an event.
+	 *
+	 * @param latency
+	 *            the time between the event and its dispatch (in ns)
 	 */
-	private final Lock observerLock = new ReentrantLock();
+	private void measure(long latency) {
+		long count = this.measured;
+		this.latencies[(int) count & (InputHelperImpl.LATENCIES - 1)] = latency;
+		this.measured = count + 1;
+	}
 
-	/**
-	 * Used to tell all Observers that something important changed Iterates all
-	 * Observers and invokes every {@link Observer#update()}.
-	 */
-	private void notifyObservers() {
-		List<Observer> obs = new ArrayList<>();
-		try {
-			this.observerLock.lock();
-			this.observers.forEach(obs::add);
-		} finally {
-			this.observerLock.unlock();
+	@Override
+	public long getMeanLatency() {
+		int count = (int) Math.min(this.measured, InputHelperImpl.LATENCIES);
+		if (count == 0) {
+			return 0;
+		}
+		long sum = 0;
+		for (int i = 0; i < count; i++) {
+			sum += this.latencies[i];
 		}
-		LambdaUtil.invoke(() -> obs.forEach(o -> o.update()));
+		return sum / count;
 	}
 
-	/**
-	 * Adds an Observer to the List that will be notified every time something
-	 * important changes.
-	 *
-	 * @param observer
-	 *            The Observer that wants to listen
-	 */
-	public void register(Observer observer) {
-		try {
-			this.observerLock.lock();
-			this.observers.add(observer);
-		} finally {
-			this.observerLock.unlock();
+	@Override
+	public long getMaxLatency() {
+		int count = (int) Math.min(this.measured, InputHelperImpl.LATENCIES);
+		long max = 0;
+		for (int i = 0; i < count; i++) {
+			max = Math.max(max, this.latencies[i]);
 		}
+		return max;
 	}
 
 	/**
-	 * Removes an Observer from the List to prevent further notification of
-	 * changes.
+	 * Receives the dispatched keys of {@link InputHelperImpl#dispatch(Dispatcher)}.
 	 *
-	 * @param observer
-	 *            The Observer that does not want to listen anymore
-	 */
-	public void unregister(Observer observer) {
-		try {
-			this.observerLock.lock();
-			this.observers.remove(observer);
-		} finally {
-			this.observerLock.unlock();
-		}
+	 */
+	@FunctionalInterface
+	interface Dispatcher {
+		/**
+		 * Dispatch a key.
+		 *
+		 * @param code
+		 *            the keyCode
+		 * @param inputMethod
+		 *            {@link InputMethod#PRESS} or {@link InputMethod#RELEASE}
+		 */
+		void dispatch(int code, InputMethod inputMethod);
 	}
-
 }
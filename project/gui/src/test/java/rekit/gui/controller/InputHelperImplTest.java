@@ -0,0 +1,177 @@
+package rekit.gui.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import rekit.gui.controller.commands.InputMethod;
+
+/**
+ * Tests for the ring buffer and the dispatching of {@link InputHelperImpl}.
+ *
+ */
+public class InputHelperImplTest {
+	/**
+	 * The capacity of the ring buffer of {@link InputHelperImpl}.
+	 */
+	private static final int CAPACITY = 256;
+	/**
+	 * The helper under test.
+	 */
+	private InputHelperImpl helper;
+	/**
+	 * The dispatched keys of the last tick (press as positive code + 1,
+	 * release as negative code - 1).
+	 */
+	private List<Integer> dispatched;
+
+	/**
+	 * Create a new helper.
+	 */
+	@Before
+	public void setUp() {
+		this.helper = new InputHelperImpl();
+		this.dispatched = new ArrayList<>();
+	}
+
+	/**
+	 * Dispatch one tick.
+	 *
+	 * @return the dispatched keys (see {@link #dispatched})
+	 */
+	private List<Integer> tick() {
+		this.dispatched.clear();
+		this.helper.dispatch((code, method) -> this.dispatched.add(method == InputMethod.PRESS ? code + 1 : -code - 1));
+		return this.dispatched;
+	}
+
+	/**
+	 * Events are dispatched in order of their arrival and held keys once per
+	 * tick.
+	 */
+	@Test
+	public void testHeldKeys() {
+		this.helper.press(10);
+		this.helper.press(20);
+		assertEquals(Arrays.asList(11, 21), this.tick());
+		assertEquals(Arrays.asList(11, 21), this.tick());
+		this.helper.release(10);
+		assertEquals(Arrays.asList(-11, 21), this.tick());
+		this.helper.release(20);
+		assertEquals(Arrays.asList(-21), this.tick());
+		assertTrue(this.tick().isEmpty());
+	}
+
+	/**
+	 * A short tap within one tick is dispatched as press and release and a
+	 * key is pressed at most once per tick.
+	 */
+	@Test
+	public void testTapWithinTick() {
+		this.helper.press(5);
+		this.helper.release(5);
+		this.helper.press(5);
+		this.helper.release(5);
+		assertEquals(Arrays.asList(6, -6, -6), this.tick());
+		assertTrue(this.tick().isEmpty());
+	}
+
+	/**
+	 * Key codes outside of the tracked range are ignored.
+	 */
+	@Test
+	public void testIgnoredCodes() {
+		this.helper.press(-1);
+		this.helper.press(InputHelperImpl.KEYS);
+		this.helper.press(InputHelperImpl.KEYS - 1);
+		assertEquals(Arrays.asList(InputHelperImpl.KEYS), this.tick());
+	}
+
+	/**
+	 * The positions wrap around the buffer many times without losing or
+	 * reordering events.
+	 */
+	@Test
+	public void testWrapAround() {
+		int code = 0;
+		for (int round = 0; round < 20; round++) {
+			List<Integer> expected = new ArrayList<>();
+			// not a divisor of the capacity, so every slot boundary is hit
+			for (int i = 0; i < 199; i++) {
+				this.helper.release(code);
+				expected.add(-code - 1);
+				code = (code + 7) % InputHelperImpl.KEYS;
+			}
+			assertEquals(expected, this.tick());
+		}
+	}
+
+	/**
+	 * A full buffer drops further events until it has been drained.
+	 */
+	@Test
+	public void testFullBuffer() {
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < InputHelperImplTest.CAPACITY + 44; i++) {
+			int code = i % InputHelperImpl.KEYS;
+			this.helper.release(code);
+			if (i < InputHelperImplTest.CAPACITY) {
+				expected.add(-code - 1);
+			}
+		}
+		assertEquals(expected, this.tick());
+		assertTrue(this.tick().isEmpty());
+		// the buffer is usable again
+		this.helper.press(3);
+		assertEquals(Arrays.asList(4), this.tick());
+		assertTrue(this.helper.getMaxLatency() >= 0);
+		assertTrue(this.helper.getMeanLatency() <= this.helper.getMaxLatency());
+	}
+
+	/**
+	 * Concurrent producers lose no events (as long as the buffer does not
+	 * overflow) and the events of each producer keep their order.
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted
+	 */
+	@Test(timeout = 30000)
+	public void testConcurrentProducers() throws InterruptedException {
+		final int producers = 4;
+		final int rounds = 500;
+		final int perRound = InputHelperImplTest.CAPACITY / producers / 2;
+		for (int round = 0; round < rounds; round++) {
+			CountDownLatch done = new CountDownLatch(producers);
+			for (int p = 0; p < producers; p++) {
+				final int producer = p;
+				Thread thread = new Thread(() -> {
+					// each producer uses its own range of key codes
+					for (int i = 0; i < perRound; i++) {
+						this.helper.release(producer * 64 + i);
+					}
+					done.countDown();
+				});
+				thread.setDaemon(true);
+				thread.start();
+			}
+			done.await();
+			int[] seen = new int[producers];
+			for (int event : this.tick()) {
+				int code = -event - 1;
+				int producer = code / 64;
+				assertEquals(seen[producer], code % 64);
+				seen[producer]++;
+			}
+			for (int p = 0; p < producers; p++) {
+				assertEquals(perRound, seen[p]);
+			}
+		}
+	}
+}
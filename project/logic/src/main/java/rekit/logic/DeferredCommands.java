@@ -0,0 +1,122 @@
+package rekit.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rekit.config.GameConf;
+
+/**
+ * This class buffers commands which have been issued while game elements are
+ * updated in parallel (see {@link rekit.config.GameConf#PARALLEL_UPDATE}).
+ * Commands which mutate other elements or the scene (e.g.
+ * {@link IScene#addGameElement(rekit.logic.gameelements.GameElement)} or
+ * {@link Collidable#addDamage(int)}) shall be passed to
+ * {@link #defer(Runnable)} (guarded by {@link #isRecording()}, so nothing will
+ * be allocated while no buffer records); they will be applied after the
+ * parallel phase in the order of the buffers.<br>
+ * Every buffer has its own random generator which will be seeded before
+ * recording (see {@link #record(long, Runnable)}), so elements which need
+ * random numbers while updated in parallel shall use {@link #random()} to stay
+ * deterministic.
+ *
+ */
+public final class DeferredCommands {
+	/**
+	 * The buffer of the current thread ({@code null} if not recording).
+	 */
+	private static final ThreadLocal<DeferredCommands> CURRENT = new ThreadLocal<>();
+	/**
+	 * The amount of buffers which are currently recording (so the
+	 * {@link #CURRENT thread local} will only be looked up while recording).
+	 */
+	private static final AtomicInteger RECORDING = new AtomicInteger();
+	/**
+	 * The recorded commands.
+	 */
+	private final List<Runnable> commands = new ArrayList<>();
+	/**
+	 * The random generator of this buffer.
+	 */
+	private final Random random = new Random();
+
+	/**
+	 * Indicates whether the current thread may be recording. This is a cheap
+	 * check which shall guard the creation of the commands for
+	 * {@link #defer(Runnable)}.
+	 *
+	 * @return {@code true} if any buffer is recording, {@code false} if the
+	 *         current thread is not recording
+	 */
+	public static boolean isRecording() {
+		return DeferredCommands.RECORDING.get() != 0;
+	}
+
+	/**
+	 * Defer a command if the current thread is recording (see
+	 * {@link #record(long, Runnable)}).
+	 *
+	 * @param command
+	 *            the command
+	 * @return {@code true} if the command has been deferred, {@code false} if
+	 *         the caller has to execute it directly
+	 */
+	public static boolean defer(Runnable command) {
+		if (!DeferredCommands.isRecording()) {
+			return false;
+		}
+		DeferredCommands current = DeferredCommands.CURRENT.get();
+		if (current == null) {
+			return false;
+		}
+		current.commands.add(command);
+		return true;
+	}
+
+	/**
+	 * Get the random generator of the current thread: the seeded generator of
+	 * the buffer if the current thread is recording (see
+	 * {@link #record(long, Runnable)}), {@link GameConf#PRNG} otherwise.
+	 *
+	 * @return the random generator
+	 */
+	public static Random random() {
+		if (!DeferredCommands.isRecording()) {
+			return GameConf.PRNG;
+		}
+		DeferredCommands current = DeferredCommands.CURRENT.get();
+		return current == null ? GameConf.PRNG : current.random;
+	}
+
+	/**
+	 * Run a task and record all commands it defers.
+	 *
+	 * @param seed
+	 *            the seed of the random generator of this buffer (see
+	 *            {@link #random()})
+	 * @param task
+	 *            the task
+	 */
+	public void record(long seed, Runnable task) {
+		this.random.setSeed(seed);
+		DeferredCommands.RECORDING.incrementAndGet();
+		DeferredCommands.CURRENT.set(this);
+		try {
+			task.run();
+		} finally {
+			DeferredCommands.CURRENT.remove();
+			DeferredCommands.RECORDING.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Execute all recorded commands in their order and clear the buffer.
+	 */
+	public void apply() {
+		for (int i = 0; i < this.commands.size(); i++) {
+			this.commands.get(i).run();
+		}
+		this.commands.clear();
+	}
+}
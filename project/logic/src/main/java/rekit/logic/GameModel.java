@@ -1,16 +1,31 @@
 package rekit.logic;
 
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import rekit.config.GameConf;
+import rekit.core.Clock;
+import rekit.core.GameGrid;
 import rekit.core.GameTime;
+import rekit.core.RenderFrame;
+import rekit.core.VirtualClock;
 import rekit.logic.filters.Filter;
+import rekit.logic.gameelements.GameElement;
 import rekit.logic.gameelements.GameElementFactory;
 import rekit.logic.gameelements.entities.Player;
 import rekit.logic.gui.menu.MenuItem;
 import rekit.logic.scene.Scenes;
+import rekit.primitives.geometry.Vec;
+import rekit.util.LambdaUtil;
 import rekit.util.ThreadUtils;
+import rekit.util.container.TripleBuffer;
+import rekit.util.profile.Histogram;
+import rekit.util.profile.Phase;
+import rekit.util.profile.Profiler;
+import rekit.util.profile.TickEvent;
 
 /**
  * Main class of the Model. Manages the logic.
@@ -20,6 +35,10 @@ import rekit.util.ThreadUtils;
  */
 public class GameModel implements Model {
 
+	/**
+	 * The clock of the model and its scenes.
+	 */
+	private final Clock clock;
 	/**
 	 * The current scene.
 	 */
@@ -40,12 +59,62 @@ public class GameModel implements Model {
 	 * Indicates a filter change.
 	 */
 	private boolean filterChange;
+	/**
+	 * The (real) time in nanoseconds the current tick belongs to.
+	 */
+	private volatile long tickTime = System.nanoTime();
+	/**
+	 * The handler of the user's input (see {@link #setInputHandler(Runnable)}).
+	 */
+	private volatile Runnable inputHandler;
+	/**
+	 * The frames of the render command buffer (see {@link #getFrame()}).
+	 */
+	private final TripleBuffer<RenderFrame> frames = new TripleBuffer<>(RenderFrame::new);
+	/**
+	 * The maximum distance (in units) which will be interpolated while
+	 * rendering.
+	 */
+	private static final float MAX_INTERPOLATION = 1;
+	/**
+	 * The length of the window of the stats of
+	 * {@link #recordDebug(IScene, GameGrid)} in millis.
+	 */
+	private static final long DEBUG_WINDOW = 1000;
+	/**
+	 * The snapshots of the update phase at the start of the current window of
+	 * {@link #recordDebug(IScene, GameGrid)}.
+	 */
+	private Map<String, Histogram.Snapshot> debugStart = new TreeMap<>();
+	/**
+	 * The update durations of the last complete window of
+	 * {@link #recordDebug(IScene, GameGrid)}.
+	 */
+	private Map<String, Histogram.Snapshot> debugDurations = new TreeMap<>();
+	/**
+	 * The start of the current window of
+	 * {@link #recordDebug(IScene, GameGrid)}.
+	 */
+	private long debugTime;
 
 	/**
-	 * Get a new model.
+	 * Get a new model with a {@link VirtualClock}.
 	 */
 	public GameModel() {
+		this(new VirtualClock());
+	}
+
+	/**
+	 * Get a new model. The clock will be advanced by the model (see
+	 * {@link #start()}); the default clock (see {@link GameTime#getClock()})
+	 * stays untouched, so several models may run side by side.
+	 *
+	 * @param clock
+	 *            the clock of the model and its scenes
+	 */
+	public GameModel(Clock clock) {
 		this.end = false;
+		this.clock = clock;
 		GameElementFactory.initialize();
 	}
 
@@ -61,18 +130,209 @@ public class GameModel implements Model {
 	}
 
 	/**
-	 * This method will be invoked by the logic thread.
+	 * This method will be invoked by the logic thread. The logic will be
+	 * performed in fixed steps of {@link GameConf#LOGIC_DELTA}. The elapsed
+	 * real time (multiplied by the speed of the clock) is accumulated and
+	 * consumed by (at most {@link GameConf#MAX_CATCH_UP_STEPS} times the
+	 * speed) steps. Every step advances the clock, handles the input
+	 * and executes the expired jobs of {@link IScene#getJobs()} before the
+	 * scene. After the
+	 * steps the scene will be recorded for the view (see {@link #getFrame()}).
 	 */
 	private void playGame() {
+		final long step = GameConf.LOGIC_DELTA * 1_000_000L;
+		long last = System.nanoTime();
+		long accumulator = step;
 		// repeat until player is dead
 		while (!this.end) {
-			long before = System.currentTimeMillis();
-			this.scene.logicLoop();
-			long after = System.currentTimeMillis();
-			ThreadUtils.sleep(GameConf.LOGIC_DELTA - (after - before));
+			long now = System.nanoTime();
+			// the speed of the clock fast-forwards (or slows down) the steps
+			double speed = this.clock.getSpeed();
+			int maxSteps = Math.max(1, (int) Math.ceil(GameConf.MAX_CATCH_UP_STEPS * speed));
+			accumulator += (long) ((now - last) * speed);
+			last = now;
+
+			int steps = 0;
+			while (accumulator >= step && steps < maxSteps) {
+				this.tick();
+				accumulator -= step;
+				steps++;
+			}
+			if (accumulator >= step) {
+				// too far behind: drop time instead of spiraling
+				accumulator %= step;
+			}
+			this.tickTime = now - (long) (accumulator / speed);
+			this.recordFrame();
+
+			long wait = (long) ((step - accumulator) / speed) - (System.nanoTime() - now);
+			ThreadUtils.sleep((wait + 999_999L) / 1_000_000L);
+		}
+	}
+
+	/**
+	 * Perform one logic step of {@link GameConf#LOGIC_DELTA} ms (emitted as
+	 * {@link TickEvent}).
+	 */
+	private void tick() {
+		TickEvent event = new TickEvent();
+		event.begin();
+		this.handleInput();
+		IScene scene = this.step();
+		if (event.shouldCommit()) {
+			event.scene = scene.getClass().getSimpleName();
+			event.elements = scene.getGameElementCount();
+			event.commit();
 		}
 	}
 
+	/**
+	 * Perform one step of the simulation without input handling or timing
+	 * (e.g. for headless runs): advance the clock by
+	 * {@link GameConf#LOGIC_DELTA} ms, execute the expired jobs of
+	 * {@link IScene#getJobs()} and update the current scene.
+	 *
+	 * @return the updated scene
+	 */
+	public IScene step() {
+		this.clock.advance(GameConf.LOGIC_DELTA * 1_000_000L);
+		IScene scene = this.scene;
+		scene.getJobs().advance(this.clock.getTime());
+		scene.logicLoop();
+		return scene;
+	}
+
+	/**
+	 * Invoke the handler of the user's input (if set).
+	 */
+	private void handleInput() {
+		Runnable handler = this.inputHandler;
+		if (handler != null) {
+			LambdaUtil.invoke(handler::run);
+		}
+	}
+
+	@Override
+	public void setInputHandler(Runnable handler) {
+		this.inputHandler = handler;
+	}
+
+	@Override
+	public Clock getClock() {
+		return this.clock;
+	}
+
+	/**
+	 * Record the current scene into the back buffer of {@link #frames} and
+	 * publish it. Moving elements will be shifted to their last position, so
+	 * the view can interpolate them. If {@link GameConf#VIEW_CULLING} is set,
+	 * only elements in view of the camera will be recorded (and the static
+	 * terrain may be recorded as cached chunks). The recording of every
+	 * element will be measured by the {@link Profiler}.
+	 */
+	private void recordFrame() {
+		IScene scene = this.scene;
+		RenderFrame frame = this.frames.getBack();
+		frame.clear();
+		float from = scene.getCameraOffset(0);
+		float to = scene.getCameraOffset(1);
+		frame.setCamera(from, to);
+		GameGrid recorder = frame.getRecorder();
+		Consumer<GameElement> interpolated = scene.isPaused() ? e -> e.render(recorder) : e -> this.recordInterpolated(e, frame);
+		Consumer<GameElement> record = !GameConf.PROFILING ? interpolated : e -> {
+			long start = Profiler.start();
+			interpolated.accept(e);
+			Profiler.stop(Phase.RENDER, e.getClass(), start);
+		};
+		if (GameConf.VIEW_CULLING) {
+			scene.renderGameElementsInView(from, to, recorder, record);
+		} else {
+			scene.applyToGameElements(record);
+		}
+		scene.applyToGuiElements(e -> e.render(recorder));
+		this.recordDebug(scene, recorder);
+		this.frames.publish();
+	}
+
+	/**
+	 * Record a {@link GameElement} which shall be drawn between its last and
+	 * its current position.
+	 *
+	 * @param element
+	 *            the element
+	 * @param frame
+	 *            the frame
+	 */
+	private void recordInterpolated(GameElement element, RenderFrame frame) {
+		if (!element.hasLastPos()) {
+			element.render(frame.getRecorder());
+			return;
+		}
+		float dx = element.getLastX() - element.getPosX();
+		float dy = element.getLastY() - element.getPosY();
+		// do not blend teleports
+		if (Math.abs(dx) > GameModel.MAX_INTERPOLATION || Math.abs(dy) > GameModel.MAX_INTERPOLATION) {
+			element.render(frame.getRecorder());
+			return;
+		}
+		frame.beginShift(dx, dy);
+		element.render(frame.getRecorder());
+		frame.endShift();
+	}
+
+	/**
+	 * If {@link GameConf#DEBUG} is set this method will be used for recording
+	 * the stats of the elements (amount and mean / 99th percentile of the
+	 * update in µs, see {@link Profiler}). The durations cover the last
+	 * complete window of {@link #DEBUG_WINDOW} ms (the difference of the
+	 * snapshots at its start and its end).
+	 *
+	 * @param scene
+	 *            the scene
+	 * @param grid
+	 *            the recorder
+	 */
+	private void recordDebug(IScene scene, GameGrid grid) {
+		if (!GameConf.DEBUG) {
+			return;
+		}
+		Map<String, Integer> classCounter = new TreeMap<>();
+
+		scene.applyToGameElements(e -> classCounter.merge(e.getClass().getSimpleName(), 1, Integer::sum));
+
+		StringBuilder resultName = new StringBuilder().append("GameElements\n");
+		StringBuilder resultNum = new StringBuilder();
+		StringBuilder resultDur = new StringBuilder().append("\n");
+
+		resultNum.append(scene.getGameElementCount()).append("\n");
+
+		long now = this.clock.getTime();
+		if (now - this.debugTime >= GameModel.DEBUG_WINDOW || now < this.debugTime) {
+			Map<String, Histogram.Snapshot> snapshots = Profiler.snapshot(Phase.UPDATE);
+			this.debugDurations.clear();
+			snapshots.forEach((type, snapshot) -> {
+				Histogram.Snapshot start = this.debugStart.get(type);
+				this.debugDurations.put(type, start == null ? snapshot : snapshot.minus(start));
+			});
+			this.debugStart = snapshots;
+			this.debugTime = now;
+		}
+		Map<String, Histogram.Snapshot> durations = this.debugDurations;
+		classCounter.entrySet().forEach((e) -> {
+			resultName.append(e.getKey());
+			resultName.append("\n");
+			resultNum.append(e.getValue());
+			resultNum.append("\n");
+			Histogram.Snapshot dur = durations.get(e.getKey());
+			resultDur.append(dur == null || dur.getCount() == 0 ? "-" : String.format("%.1f / %.1f", dur.getMean() / 1E3, dur.getPercentile(0.99) / 1E3));
+			resultDur.append("\n");
+		});
+
+		grid.drawText(new Vec(GameConf.PIXEL_W - 55, GameConf.PIXEL_H / 4f), resultName.toString(), GameConf.HINT_TEXT, false);
+		grid.drawText(new Vec(GameConf.PIXEL_W - 30, GameConf.PIXEL_H / 4f), resultNum.toString(), GameConf.HINT_TEXT, false);
+		grid.drawText(new Vec(GameConf.PIXEL_W - 5, GameConf.PIXEL_H / 4f), resultDur.toString(), GameConf.HINT_TEXT, false);
+	}
+
 	/**
 	 * Switch to scene with default parameters.
 	 *
@@ -96,7 +356,7 @@ public class GameModel implements Model {
 		nextScene.start();
 		this.scene = nextScene;
 		this.state = GameState.INGAME;
-		GameTime.resume();
+		this.clock.resume();
 	}
 
 	/**
@@ -120,7 +380,18 @@ public class GameModel implements Model {
 		nextScene.start();
 		this.scene = nextScene;
 		this.state = Scenes.getByInstance(this.scene).isMenu() ? GameState.MENU : GameState.INGAME;
-		GameTime.resume();
+		this.clock.resume();
+	}
+
+	@Override
+	public float getInterpolation() {
+		float alpha = (float) ((System.nanoTime() - this.tickTime) * this.clock.getSpeed() / (GameConf.LOGIC_DELTA * 1E6));
+		return alpha < 0 ? 0 : alpha > 1 ? 1 : alpha;
+	}
+
+	@Override
+	public RenderFrame getFrame() {
+		return this.frames.acquire();
 	}
 
 	@Override
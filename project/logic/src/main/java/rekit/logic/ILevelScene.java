@@ -1,6 +1,7 @@
 package rekit.logic;
 
 import rekit.logic.gameelements.entities.Player;
+import rekit.logic.gameelements.particles.ParticleSystem;
 import rekit.logic.level.Level;
 
 /**
@@ -25,6 +26,14 @@ public interface ILevelScene extends IScene {
 	 */
 	Level getLevel();
 
+	/**
+	 * Get the particle system which simulates the plain particles of this
+	 * scene.
+	 *
+	 * @return the particle system
+	 */
+	ParticleSystem getParticleSystem();
+
 	/**
 	 * End a level.
 	 *
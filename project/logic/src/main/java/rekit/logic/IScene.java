@@ -1,15 +1,17 @@
 package rekit.logic;
 
-import java.util.Map;
 import java.util.function.Consumer;
 
 import rekit.config.GameConf;
 import rekit.core.CameraTarget;
+import rekit.core.Clock;
+import rekit.core.GameGrid;
 import rekit.core.Team;
 import rekit.logic.gameelements.GameElement;
 import rekit.logic.gui.GuiElement;
 import rekit.logic.gui.menu.MenuItem;
 import rekit.logic.scene.Scenes;
+import rekit.primitives.time.TimerWheel;
 
 /**
  * This is the public interface of all Scenes.
@@ -71,6 +73,18 @@ public interface IScene {
 	 */
 	float getCameraOffset();
 
+	/**
+	 * Get the camera offset interpolated between the last and the current
+	 * tick.
+	 *
+	 * @param alpha
+	 *            the interpolation value in [0,1] ({@code 1} is the current
+	 *            tick)
+	 * @return the interpolated camera offset
+	 * @see Model#getInterpolation()
+	 */
+	float getCameraOffset(float alpha);
+
 	/**
 	 * Apply function on game elements (non-neutral).
 	 *
@@ -88,6 +102,39 @@ public interface IScene {
 	 */
 	void applyToGameElements(Consumer<GameElement> function);
 
+	/**
+	 * Apply function on all game elements which may be visible for a camera
+	 * moving between two offsets (see
+	 * {@link GameElement#isInView(float, float)}). The elements will be passed
+	 * in the same order as in {@link #applyToGameElements(Consumer)}.
+	 *
+	 * @param fromOffset
+	 *            the first camera offset
+	 * @param toOffset
+	 *            the second camera offset
+	 * @param function
+	 *            the function
+	 */
+	void applyToGameElementsInView(float fromOffset, float toOffset, Consumer<GameElement> function);
+
+	/**
+	 * Render all game elements which may be visible for a camera moving
+	 * between two offsets. Like
+	 * {@link #applyToGameElementsInView(float, float, Consumer)}, but the
+	 * static terrain may be drawn directly to the grid as cached chunks (see
+	 * {@link GameGrid#drawCached(rekit.core.RenderFrame, rekit.primitives.geometry.Vec, rekit.primitives.geometry.Vec)}).
+	 *
+	 * @param fromOffset
+	 *            the first camera offset
+	 * @param toOffset
+	 *            the second camera offset
+	 * @param grid
+	 *            the grid
+	 * @param render
+	 *            the function which renders an element
+	 */
+	void renderGameElementsInView(float fromOffset, float toOffset, GameGrid grid, Consumer<GameElement> render);
+
 	/**
 	 * Apply function on game elements.
 	 *
@@ -103,6 +150,22 @@ public interface IScene {
 	 */
 	Model getModel();
 
+	/**
+	 * Get the clock of the scene (the clock of its model).
+	 *
+	 * @return the clock
+	 */
+	Clock getClock();
+
+	/**
+	 * Get the jobs of the scene. The wheel will be advanced with the clock of
+	 * the scene by the logic thread while the scene is the current scene of
+	 * its model and will be cleared if the scene will be initialized again.
+	 *
+	 * @return the wheel of the jobs
+	 */
+	TimerWheel getJobs();
+
 	/**
 	 * Invoke logic.
 	 *
@@ -129,13 +192,6 @@ public interface IScene {
 		this.start();
 	}
 
-	/**
-	 * Get a map of duration-time of elements.
-	 *
-	 * @return the duration-time of elements by class
-	 */
-	Map<String, Long> getGameElementDurations();
-
 	/**
 	 * Get the amount of elements in the scene.
 	 *
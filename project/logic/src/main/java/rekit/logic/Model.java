@@ -3,7 +3,9 @@ package rekit.logic;
 import java.util.function.Function;
 import java.util.logging.Level;
 
+import rekit.core.Clock;
 import rekit.core.GameTime;
+import rekit.core.RenderFrame;
 import rekit.logic.filters.Filter;
 import rekit.logic.gameelements.entities.Player;
 import rekit.logic.gui.menu.MenuItem;
@@ -90,6 +92,39 @@ public interface Model {
 	 */
 	boolean filterChanged();
 
+	/**
+	 * Get the interpolation value between the last and the current tick. This
+	 * is the fraction of a logic step that has elapsed since the current tick.
+	 *
+	 * @return the interpolation value in [0,1]
+	 */
+	float getInterpolation();
+
+	/**
+	 * Get the latest completed frame of draw commands. The frame will not be
+	 * changed until the next invocation, so it can be drawn without locking
+	 * the scene. Only one (render) thread may invoke this method.
+	 *
+	 * @return the latest frame
+	 */
+	RenderFrame getFrame();
+
+	/**
+	 * Set the handler of the user's input. It will be invoked by the logic
+	 * thread at the start of every tick (also while the game is paused).
+	 *
+	 * @param handler
+	 *            the handler
+	 */
+	void setInputHandler(Runnable handler);
+
+	/**
+	 * Get the clock of the model and its scenes.
+	 *
+	 * @return the clock
+	 */
+	Clock getClock();
+
 	/**
 	 * Register a special testscene for debugging.
 	 *
@@ -0,0 +1,556 @@
+package rekit.logic.collision;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import rekit.logic.gameelements.GameElement;
+import rekit.primitives.geometry.Direction;
+import rekit.primitives.geometry.Frame;
+
+/**
+ * This class realizes a broad phase for collision detection. All
+ * {@link GameElement GameElements} are sorted into a uniform grid of cells
+ * (by default one unit per cell). Only elements which share at least one cell,
+ * whose {@link Frame Frames} overlap and whose teams can interact (see
+ * {@link rekit.core.Team#canInteract(rekit.core.Team)}) will be reported as
+ * candidate pairs. <br>
+ * Elements will only be moved between cells if the range of cells they cover
+ * has changed since the last invocation of
+ * {@link #forEachCandidatePair(BiConsumer)}. <br>
+ * The cells are held by an open addressing table with primitive keys. Empty
+ * cells are kept (elements often move back and forth between the same
+ * cells) until they make up the majority of all cells. Every entry knows its
+ * position in each of its cells, so it can be removed in constant time.
+ *
+ */
+public final class SpatialHash {
+	/**
+	 * The maximum amount of cells an element may cover. Bigger elements will
+	 * be checked against all other elements.
+	 */
+	private static final int MAX_CELLS_PER_ELEMENT = 1024;
+	/**
+	 * The initial capacity of the cell table (power of two).
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+	/**
+	 * The minimum amount of empty cells before they will be dropped (see
+	 * {@link #compact()}).
+	 */
+	private static final int MIN_EMPTY_CELLS = 256;
+	/**
+	 * The size of one cell (in units).
+	 */
+	private final float cellSize;
+	/**
+	 * The keys of the cell table (see {@link #key(int, int)}); only valid if
+	 * the cell at the same index of {@link #table} is set.
+	 */
+	private long[] keys = new long[SpatialHash.INITIAL_CAPACITY];
+	/**
+	 * The cell table (open addressing with linear probing, {@code null} for
+	 * free slots).
+	 */
+	private Cell[] table = new Cell[SpatialHash.INITIAL_CAPACITY];
+	/**
+	 * All cells (including empty ones) in order of their creation.
+	 */
+	private Cell[] cells = new Cell[SpatialHash.INITIAL_CAPACITY];
+	/**
+	 * The amount of {@link #cells}.
+	 */
+	private int cellCount;
+	/**
+	 * The amount of empty {@link #cells}.
+	 */
+	private int emptyCells;
+	/**
+	 * The entries of all registered elements.
+	 */
+	private final Map<GameElement, Entry> entries = new IdentityHashMap<>();
+	/**
+	 * All registered entries (in arbitrary order).
+	 */
+	private final List<Entry> order = new ArrayList<>();
+	/**
+	 * All elements which are too big (or invalid) to be put into cells.
+	 */
+	private final List<Entry> oversized = new ArrayList<>();
+
+	/**
+	 * Create a spatial hash with cells of one unit.
+	 */
+	public SpatialHash() {
+		this(1);
+	}
+
+	/**
+	 * Create a spatial hash.
+	 *
+	 * @param cellSize
+	 *            the size of one cell (in units)
+	 */
+	public SpatialHash(float cellSize) {
+		if (!(cellSize > 0)) {
+			throw new IllegalArgumentException("Cell size has to be positive: " + cellSize);
+		}
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Register an element. Elements with a neutral team will be ignored.
+	 *
+	 * @param element
+	 *            the element
+	 */
+	public void add(GameElement element) {
+		if (element.getTeam().isNeutral() || this.entries.containsKey(element)) {
+			return;
+		}
+		Entry entry = new Entry(element);
+		entry.index = this.order.size();
+		this.entries.put(element, entry);
+		this.order.add(entry);
+	}
+
+	/**
+	 * Unregister an element. Unknown elements will be ignored.
+	 *
+	 * @param element
+	 *            the element
+	 */
+	public void remove(GameElement element) {
+		Entry entry = this.entries.remove(element);
+		if (entry == null) {
+			return;
+		}
+		this.unlink(entry);
+		SpatialHash.swapRemove(this.order, entry.index).index = entry.index;
+	}
+
+	/**
+	 * Remove an entry from a list by replacing it with the last entry.
+	 *
+	 * @param list
+	 *            the list
+	 * @param index
+	 *            the index of the entry
+	 * @return the entry which is at the index now (or the removed entry if it
+	 *         was the last one)
+	 */
+	private static Entry swapRemove(List<Entry> list, int index) {
+		Entry last = list.remove(list.size() - 1);
+		if (index < list.size()) {
+			list.set(index, last);
+		}
+		return last;
+	}
+
+	/**
+	 * Remove all elements.
+	 */
+	public void clear() {
+		this.keys = new long[SpatialHash.INITIAL_CAPACITY];
+		this.table = new Cell[SpatialHash.INITIAL_CAPACITY];
+		this.cells = new Cell[SpatialHash.INITIAL_CAPACITY];
+		this.cellCount = 0;
+		this.emptyCells = 0;
+		this.entries.clear();
+		this.order.clear();
+		this.oversized.clear();
+	}
+
+	/**
+	 * Get the amount of registered elements.
+	 *
+	 * @return the amount of registered elements
+	 */
+	public int size() {
+		return this.order.size();
+	}
+
+	/**
+	 * Update the cells of all elements and invoke the consumer for each
+	 * candidate pair. Each unordered pair will be reported exactly once.<br>
+	 * The cells are updated once at the start of the pass. Frames are re-read
+	 * before a pair is reported, so an element moved by a reaction earlier in
+	 * the same pass is tested with its current frame. Its new cells will be
+	 * used by the next pass.
+	 *
+	 * @param pairConsumer
+	 *            the consumer for candidate pairs
+	 */
+	public void forEachCandidatePair(BiConsumer<GameElement, GameElement> pairConsumer) {
+		for (Entry entry : this.order) {
+			this.update(entry);
+		}
+		this.compact();
+		for (int c = 0; c < this.cellCount; c++) {
+			Cell cell = this.cells[c];
+			for (int i = 0; i < cell.size; i++) {
+				Entry a = cell.entries[i];
+				for (int j = i + 1; j < cell.size; j++) {
+					Entry b = cell.entries[j];
+					// Report the pair only in the first cell both elements share
+					if (Math.max(a.minCX, b.minCX) != cell.cx || Math.max(a.minCY, b.minCY) != cell.cy) {
+						continue;
+					}
+					SpatialHash.report(a, b, pairConsumer);
+				}
+			}
+		}
+		for (int i = 0; i < this.oversized.size(); i++) {
+			Entry a = this.oversized.get(i);
+			for (int j = i + 1; j < this.oversized.size(); j++) {
+				SpatialHash.report(a, this.oversized.get(j), pairConsumer);
+			}
+			for (Entry b : this.order) {
+				if (!b.oversized) {
+					SpatialHash.report(a, b, pairConsumer);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Report a pair if the teams can interact and the current frames overlap
+	 * (not the cached bounds, because a reaction earlier in the pass may have
+	 * moved one of the elements).
+	 *
+	 * @param a
+	 *            the first entry
+	 * @param b
+	 *            the second entry
+	 * @param pairConsumer
+	 *            the consumer
+	 */
+	private static void report(Entry a, Entry b, BiConsumer<GameElement, GameElement> pairConsumer) {
+		if (!a.element.getTeam().canInteract(b.element.getTeam())) {
+			return;
+		}
+		if (SpatialHash.overlap(a.element.getFrame(), b.element.getFrame())) {
+			pairConsumer.accept(a.element, b.element);
+		}
+	}
+
+	/**
+	 * Check whether two frames overlap.
+	 *
+	 * @param a
+	 *            the first frame
+	 * @param b
+	 *            the second frame
+	 * @return {@code true} if the frames overlap
+	 */
+	private static boolean overlap(Frame a, Frame b) {
+		return a.getBorder(Direction.LEFT) < b.getBorder(Direction.RIGHT) && a.getBorder(Direction.DOWN) < b.getBorder(Direction.UP)
+				&& a.getBorder(Direction.RIGHT) > b.getBorder(Direction.LEFT) && a.getBorder(Direction.UP) > b.getBorder(Direction.DOWN);
+	}
+
+	/**
+	 * Move an entry to the cells of its current frame if necessary.
+	 *
+	 * @param entry
+	 *            the entry
+	 */
+	private void update(Entry entry) {
+		Frame frame = entry.element.getFrame();
+		float minCX = (float) Math.floor(frame.getBorder(Direction.LEFT) / this.cellSize);
+		float minCY = (float) Math.floor(frame.getBorder(Direction.DOWN) / this.cellSize);
+		float maxCX = (float) Math.floor(frame.getBorder(Direction.RIGHT) / this.cellSize);
+		float maxCY = (float) Math.floor(frame.getBorder(Direction.UP) / this.cellSize);
+
+		// NaN or too many cells: check against everything
+		boolean valid = minCX <= maxCX && minCY <= maxCY && minCX >= Integer.MIN_VALUE && maxCX <= Integer.MAX_VALUE && minCY >= Integer.MIN_VALUE
+				&& maxCY <= Integer.MAX_VALUE;
+		if (!valid || (maxCX - minCX + 1) * (maxCY - minCY + 1) > SpatialHash.MAX_CELLS_PER_ELEMENT) {
+			if (!entry.oversized) {
+				this.unlink(entry);
+				entry.oversized = true;
+				entry.oversizedIndex = this.oversized.size();
+				this.oversized.add(entry);
+			}
+			return;
+		}
+
+		if (!entry.oversized && entry.linked && entry.minCX == (int) minCX && entry.minCY == (int) minCY && entry.maxCX == (int) maxCX
+				&& entry.maxCY == (int) maxCY) {
+			return;
+		}
+		this.unlink(entry);
+		entry.minCX = (int) minCX;
+		entry.minCY = (int) minCY;
+		entry.maxCX = (int) maxCX;
+		entry.maxCY = (int) maxCY;
+		int covered = (entry.maxCX - entry.minCX + 1) * (entry.maxCY - entry.minCY + 1);
+		if (entry.cells.length < covered) {
+			entry.cells = new Cell[covered];
+			entry.slots = new int[covered];
+		}
+		int index = 0;
+		for (int x = entry.minCX; x <= entry.maxCX; x++) {
+			for (int y = entry.minCY; y <= entry.maxCY; y++) {
+				this.link(entry, index++, this.cell(x, y));
+			}
+		}
+		entry.linked = true;
+	}
+
+	/**
+	 * Add an entry to a cell.
+	 *
+	 * @param entry
+	 *            the entry
+	 * @param index
+	 *            the index of the cell within the covered cells of the entry
+	 *            (see {@link Entry#indexOf(Cell)})
+	 * @param cell
+	 *            the cell
+	 */
+	private void link(Entry entry, int index, Cell cell) {
+		if (cell.size == 0) {
+			this.emptyCells--;
+		} else if (cell.size == cell.entries.length) {
+			cell.entries = Arrays.copyOf(cell.entries, cell.size * 2);
+		}
+		entry.cells[index] = cell;
+		entry.slots[index] = cell.size;
+		cell.entries[cell.size++] = entry;
+	}
+
+	/**
+	 * Remove an entry from all cells (or the oversized list).
+	 *
+	 * @param entry
+	 *            the entry
+	 */
+	private void unlink(Entry entry) {
+		if (entry.oversized) {
+			SpatialHash.swapRemove(this.oversized, entry.oversizedIndex).oversizedIndex = entry.oversizedIndex;
+			entry.oversized = false;
+		}
+		if (!entry.linked) {
+			return;
+		}
+		int covered = (entry.maxCX - entry.minCX + 1) * (entry.maxCY - entry.minCY + 1);
+		for (int index = 0; index < covered; index++) {
+			Cell cell = entry.cells[index];
+			int slot = entry.slots[index];
+			// swap-remove: the last entry of the cell takes the slot
+			Entry last = cell.entries[--cell.size];
+			cell.entries[cell.size] = null;
+			if (last != entry) {
+				cell.entries[slot] = last;
+				last.slots[last.indexOf(cell)] = slot;
+			}
+			entry.cells[index] = null;
+			if (cell.size == 0) {
+				this.emptyCells++;
+			}
+		}
+		entry.linked = false;
+	}
+
+	/**
+	 * Get a cell (or create an empty one).
+	 *
+	 * @param cx
+	 *            the x index of the cell
+	 * @param cy
+	 *            the y index of the cell
+	 * @return the cell
+	 */
+	private Cell cell(int cx, int cy) {
+		long key = SpatialHash.key(cx, cy);
+		int mask = this.table.length - 1;
+		int slot = SpatialHash.hash(key) & mask;
+		for (Cell cell; (cell = this.table[slot]) != null; slot = (slot + 1) & mask) {
+			if (this.keys[slot] == key) {
+				return cell;
+			}
+		}
+		Cell cell = new Cell(cx, cy);
+		if (this.cellCount == this.cells.length) {
+			this.cells = Arrays.copyOf(this.cells, this.cellCount * 2);
+		}
+		this.cells[this.cellCount++] = cell;
+		this.emptyCells++;
+		// keep the load factor at most 1/2
+		if (2 * this.cellCount > this.table.length) {
+			this.rehash(this.table.length * 2);
+		} else {
+			this.keys[slot] = key;
+			this.table[slot] = cell;
+		}
+		return cell;
+	}
+
+	/**
+	 * Drop all empty cells if they make up the majority of all cells (e.g.
+	 * the cells behind the player).
+	 */
+	private void compact() {
+		if (this.emptyCells < SpatialHash.MIN_EMPTY_CELLS || 2 * this.emptyCells < this.cellCount) {
+			return;
+		}
+		int kept = 0;
+		for (int c = 0; c < this.cellCount; c++) {
+			if (this.cells[c].size != 0) {
+				this.cells[kept++] = this.cells[c];
+			}
+		}
+		Arrays.fill(this.cells, kept, this.cellCount, null);
+		this.cellCount = kept;
+		this.emptyCells = 0;
+		int capacity = SpatialHash.INITIAL_CAPACITY;
+		while (2 * kept > capacity) {
+			capacity *= 2;
+		}
+		this.rehash(capacity);
+	}
+
+	/**
+	 * Rebuild the cell table from {@link #cells}.
+	 *
+	 * @param capacity
+	 *            the new capacity (power of two)
+	 */
+	private void rehash(int capacity) {
+		this.keys = new long[capacity];
+		this.table = new Cell[capacity];
+		int mask = capacity - 1;
+		for (int c = 0; c < this.cellCount; c++) {
+			Cell cell = this.cells[c];
+			long key = SpatialHash.key(cell.cx, cell.cy);
+			int slot = SpatialHash.hash(key) & mask;
+			while (this.table[slot] != null) {
+				slot = (slot + 1) & mask;
+			}
+			this.keys[slot] = key;
+			this.table[slot] = cell;
+		}
+	}
+
+	/**
+	 * Spread the bits of a key.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the hash
+	 */
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/**
+	 * Calculate the key of a cell.
+	 *
+	 * @param cx
+	 *            the x index of the cell
+	 * @param cy
+	 *            the y index of the cell
+	 * @return the key
+	 */
+	private static long key(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * This class holds the cached state of one element.
+	 *
+	 */
+	private static final class Entry {
+		/**
+		 * The element.
+		 */
+		private final GameElement element;
+		/**
+		 * The index of the entry in {@link SpatialHash#order}.
+		 */
+		private int index;
+		/**
+		 * The index of the entry in {@link SpatialHash#oversized} (if
+		 * {@link #oversized}).
+		 */
+		private int oversizedIndex;
+		/**
+		 * The covered cells (x-major, see {@link #indexOf(Cell)}).
+		 */
+		private Cell[] cells = new Cell[4];
+		/**
+		 * The positions of the entry within its {@link #cells}.
+		 */
+		private int[] slots = new int[4];
+		/**
+		 * The covered cells (inclusive).
+		 */
+		private int minCX, minCY, maxCX, maxCY;
+		/**
+		 * Indicates whether the entry is linked to {@link #minCX} ...
+		 * {@link #maxCY}.
+		 */
+		private boolean linked;
+		/**
+		 * Indicates whether the entry is in the oversized list.
+		 */
+		private boolean oversized;
+
+		/**
+		 * Create a new entry.
+		 *
+		 * @param element
+		 *            the element
+		 */
+		private Entry(GameElement element) {
+			this.element = element;
+		}
+
+		/**
+		 * Get the index of a linked cell within {@link #cells}.
+		 *
+		 * @param cell
+		 *            the cell
+		 * @return the index
+		 */
+		private int indexOf(Cell cell) {
+			return (cell.cx - this.minCX) * (this.maxCY - this.minCY + 1) + (cell.cy - this.minCY);
+		}
+	}
+
+	/**
+	 * This class holds the entries of one cell.
+	 *
+	 */
+	private static final class Cell {
+		/**
+		 * The indices of the cell.
+		 */
+		private final int cx, cy;
+		/**
+		 * The entries (the first {@link #size} are set).
+		 */
+		private Entry[] entries = new Entry[4];
+		/**
+		 * The amount of entries.
+		 */
+		private int size;
+
+		/**
+		 * Create a new empty cell.
+		 *
+		 * @param cx
+		 *            the x index of the cell
+		 * @param cy
+		 *            the y index of the cell
+		 */
+		private Cell(int cx, int cy) {
+			this.cx = cx;
+			this.cy = cy;
+		}
+	}
+}
@@ -55,7 +55,8 @@ public interface Filter {
 
 	/**
 	 * Indicates whether the internal state of the {@link Filter} has been
-	 * changed.
+	 * changed. This method will be invoked once per rendered frame, so a
+	 * filter may update its state here.
 	 *
 	 * @return {@code true} if state changed, {@code false} otherwise
 	 */
@@ -74,6 +75,19 @@ public interface Filter {
 		throw new UnsupportedOperationException("Not supported by " + this.getClass().getSimpleName());
 	}
 
+	/**
+	 * Apply Filter to a packed ARGB value (see {@link RGBAColor#toARGB()}).
+	 * Filters which can be applied pixel per pixel should override this
+	 * method, so it can be applied to whole frames without allocations.
+	 *
+	 * @param argb
+	 *            the original color
+	 * @return the new color
+	 */
+	default int apply(final int argb) {
+		return this.apply(new RGBAColor(argb)).toARGB();
+	}
+
 	/**
 	 * Apply Filter.
 	 *
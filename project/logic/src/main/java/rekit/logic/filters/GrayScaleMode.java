@@ -109,6 +109,12 @@ public final class GrayScaleMode implements Filter {
 		return new RGBAColor(gray, gray, gray, color.alpha);
 	}
 
+	@Override
+	public int apply(int argb) {
+		int gray = (((argb >> 16) & 0xFF) + ((argb >> 8) & 0xFF) + (argb & 0xFF)) / 3;
+		return (argb & 0xFF000000) | (gray << 16) | (gray << 8) | gray;
+	}
+
 	@Override
 	public boolean isApplyPixel() {
 		return true;
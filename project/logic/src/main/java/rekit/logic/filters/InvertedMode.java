@@ -17,6 +17,12 @@ public class InvertedMode implements Filter {
 		return new RGBAColor(255 - color.red, 255 - color.green, 255 - color.blue, color.alpha == 255 ? 255 : 255 - color.alpha);
 	}
 
+	@Override
+	public int apply(int argb) {
+		int alpha = argb >>> 24;
+		return ((alpha == 255 ? 255 : 255 - alpha) << 24) | (~argb & 0xFFFFFF);
+	}
+
 	@Override
 	public boolean isApplyPixel() {
 		return true;
@@ -1,15 +1,21 @@
 package rekit.logic.filters;
 
-import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
-import rekit.config.GameConf;
 import rekit.primitives.image.RGBAColor;
 import rekit.util.ReflectUtils.LoadMe;
 import rekit.util.container.ROContainer;
-import rekit.util.ThreadUtils;
 
 /**
  * This filter realizes a filter which will map a color to a random color.
+ * <br>
+ * The mappings will be stored in a small lock-free open addressing table
+ * which only holds the colors actually used. Every slot packs the original
+ * color, the random color and the generation of the mapping; all mappings
+ * will be renewed every {@link #RESET_INTERVAL} ms by increasing the
+ * generation, so outdated slots will be reused.
  *
  * @author Dominik Fuchss
  *
@@ -22,67 +28,168 @@ public final class RandomMode implements Filter {
 	public static final ROContainer<RandomMode> INSTANCE = new ROContainer<>();
 
 	/**
-	 * The mapping for all colors.
+	 * The time between two generations of mappings (in ms).
 	 */
-	private Integer[] map = new Integer[256 << 16];
+	private static final long RESET_INTERVAL = 10000;
 	/**
-	 * Indicates whether the internal state has been changed.
+	 * The amount of slots of {@link #map} (power of two).
 	 */
-	private boolean changed = false;
+	private static final int CAPACITY = 1 << 16;
+	/**
+	 * The maximum amount of slots which will be probed for a color. If no
+	 * slot has been found, the mapping will be derived from a hash (see
+	 * {@link #hashMapping(int, int)}).
+	 */
+	private static final int MAX_PROBES = 32;
+	/**
+	 * The mask of a 24 bit color.
+	 */
+	private static final int RGB = 0xFFFFFF;
+	/**
+	 * The mask of a generation (a slot with generation 0 is empty).
+	 */
+	private static final int GENERATIONS = 0xFFFF;
+
+	/**
+	 * The mapping for all used colors: generation (16 bit), random color (24
+	 * bit) and original color (24 bit).
+	 */
+	private final AtomicLongArray map = new AtomicLongArray(RandomMode.CAPACITY);
+	/**
+	 * The current generation.
+	 */
+	private volatile int generation = 1;
+	/**
+	 * The point in time of the next generation (shared by all threads which
+	 * apply the filter).
+	 */
+	private final AtomicLong nextReset = new AtomicLong(System.currentTimeMillis() + RandomMode.RESET_INTERVAL);
 
 	/**
 	 * Create a new RandomMode filter.
 	 */
 	private RandomMode() {
-		ThreadUtils.runDaemon(RandomMode.class.getSimpleName(), this::periodicallyReset);
 		RandomMode.INSTANCE.set(this);
 	}
 
 	/**
-	 * Update random values periodically.
+	 * Flyweight getter method for getting a random value between 1 and 255 for
+	 * every value between 0 and 255.
+	 *
+	 * @param argb
+	 *            the extrinsic, original color (packed ARGB)
+	 * @return the intrinsic, random color (packed ARGB)
 	 */
-	private void periodicallyReset() {
-		while (true) {
-			if (!this.changed) {
-				Arrays.fill(this.map, null);
-				this.changed = true;
+	private int getMapping(int argb) {
+		int key = argb & RandomMode.RGB;
+		int gen = this.generation;
+		int mask = RandomMode.CAPACITY - 1;
+		int slot = RandomMode.hash(key) & mask;
+		for (int probe = 0; probe < RandomMode.MAX_PROBES; probe++, slot = (slot + 1) & mask) {
+			long entry = this.map.get(slot);
+			while (RandomMode.generationOf(entry) != gen) {
+				// free or outdated slot: try to insert a new mapping (the filter
+				// is applied by several threads, so do not share a generator)
+				long created = RandomMode.entry(gen, ThreadLocalRandom.current().nextInt(RandomMode.RGB + 1), key);
+				if (this.map.compareAndSet(slot, entry, created)) {
+					return RandomMode.mappingOf(created) | (argb & 0xFF000000);
+				}
+				entry = this.map.get(slot);
+			}
+			if ((int) (entry & RandomMode.RGB) == key) {
+				return RandomMode.mappingOf(entry) | (argb & 0xFF000000);
 			}
-			ThreadUtils.sleep(10000);
-
 		}
+		return RandomMode.hashMapping(key, gen) | (argb & 0xFF000000);
 	}
 
 	/**
-	 * Flyweight getter method for getting a random value between 1 and 255 for
-	 * every value between 0 and 255.
+	 * Pack a slot.
 	 *
-	 * @param color
-	 *            the extrinsic, original color
-	 * @return the intrinsic, random color
-	 */
-	private synchronized RGBAColor getMapping(RGBAColor color) {
-		Integer mapping = this.map[color.red + (color.green << 8) + (color.blue << 16)];
-		if (mapping == null) {
-			int red = GameConf.PRNG.nextInt(256);
-			int green = GameConf.PRNG.nextInt(256);
-			int blue = GameConf.PRNG.nextInt(256);
-			mapping = this.map[color.red + (color.green << 8) + (color.blue << 16)] = (red << 16) | (green << 8) | blue;
-		}
-		return new RGBAColor(mapping | (color.alpha << 24));
+	 * @param gen
+	 *            the generation
+	 * @param mapping
+	 *            the random color
+	 * @param key
+	 *            the original color
+	 * @return the slot
+	 */
+	private static long entry(int gen, int mapping, int key) {
+		return ((long) gen << 48) | ((long) mapping << 24) | key;
 	}
 
+	/**
+	 * Get the generation of a slot.
+	 *
+	 * @param entry
+	 *            the slot
+	 * @return the generation
+	 */
+	private static int generationOf(long entry) {
+		return (int) (entry >>> 48);
+	}
+
+	/**
+	 * Get the random color of a slot.
+	 *
+	 * @param entry
+	 *            the slot
+	 * @return the random color
+	 */
+	private static int mappingOf(long entry) {
+		return (int) (entry >>> 24) & RandomMode.RGB;
+	}
+
+	/**
+	 * Derive a random color from a hash (for colors which did not fit into the
+	 * table).
+	 *
+	 * @param key
+	 *            the original color
+	 * @param gen
+	 *            the generation
+	 * @return the random color
+	 */
+	private static int hashMapping(int key, int gen) {
+		return RandomMode.hash(key ^ (gen * 0x632BE5AB)) & RandomMode.RGB;
+	}
+
+	/**
+	 * Spread the bits of a color.
+	 *
+	 * @param key
+	 *            the color
+	 * @return the hash
+	 */
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Start a new generation of mappings if {@link #RESET_INTERVAL} has been
+	 * elapsed.
+	 */
 	@Override
 	public boolean changed() {
-		if (this.changed) {
-			this.changed = false;
-			return true;
+		long now = System.currentTimeMillis();
+		long reset = this.nextReset.get();
+		if (now < reset || !this.nextReset.compareAndSet(reset, now + RandomMode.RESET_INTERVAL)) {
+			return false;
 		}
-		return false;
+		int next = (this.generation + 1) & RandomMode.GENERATIONS;
+		this.generation = next == 0 ? 1 : next;
+		return true;
 	}
 
 	@Override
 	public RGBAColor apply(RGBAColor color) {
-		return this.getMapping(color);
+		return new RGBAColor(this.getMapping(color.toARGB()));
+	}
+
+	@Override
+	public int apply(int argb) {
+		return this.getMapping(argb);
 	}
 
 	@Override
@@ -95,4 +202,4 @@ public final class RandomMode implements Filter {
 		return false;
 	}
 
-}
\ No newline at end of file
+}
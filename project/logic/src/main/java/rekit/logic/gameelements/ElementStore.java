@@ -0,0 +1,204 @@
+package rekit.logic.gameelements;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * This class stores the {@link GameElement GameElements} of a scene sorted by
+ * their z-layer (see {@link GameElement#getZ()}). Each layer is a dense array;
+ * the slot of an element is remembered by the element, so an element can be
+ * removed in O(1) by moving the last element of its layer into the free slot
+ * (the order within a layer is not stable). A bitset of the non-empty layers
+ * allows iterating without visiting empty layers.<br>
+ * This class is not thread-safe.
+ *
+ */
+public final class ElementStore {
+	/**
+	 * The amount of layers (one per byte value).
+	 */
+	public static final int LAYERS = 256;
+	/**
+	 * The initial capacity of a layer.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+	/**
+	 * The elements of all layers.
+	 */
+	private final GameElement[][] layers = new GameElement[ElementStore.LAYERS][];
+	/**
+	 * The amount of elements per layer.
+	 */
+	private final int[] sizes = new int[ElementStore.LAYERS];
+	/**
+	 * The bitset of the non-empty layers.
+	 */
+	private final long[] nonEmpty = new long[ElementStore.LAYERS / Long.SIZE];
+	/**
+	 * The amount of elements.
+	 */
+	private int size;
+
+	/**
+	 * Get the layer of a z value.
+	 *
+	 * @param z
+	 *            the z value
+	 * @return the layer
+	 */
+	public static int layerOf(byte z) {
+		return z + 128;
+	}
+
+	/**
+	 * Add an element to the layer of its z value.
+	 *
+	 * @param element
+	 *            the element
+	 * @return {@code true} if added, {@code false} if the element is already
+	 *         stored in this store
+	 */
+	public boolean add(GameElement element) {
+		if (this.contains(element)) {
+			return false;
+		}
+		int layer = ElementStore.layerOf(element.getZ());
+		GameElement[] elements = this.layers[layer];
+		int index = this.sizes[layer];
+		if (elements == null) {
+			elements = this.layers[layer] = new GameElement[ElementStore.INITIAL_CAPACITY];
+		} else if (index == elements.length) {
+			elements = this.layers[layer] = Arrays.copyOf(elements, 2 * index);
+		}
+		elements[index] = element;
+		element.storeLayer = layer;
+		element.storeIndex = index;
+		this.sizes[layer] = index + 1;
+		this.nonEmpty[layer >>> 6] |= 1L << layer;
+		this.size++;
+		return true;
+	}
+
+	/**
+	 * Remove an element in O(1).
+	 *
+	 * @param element
+	 *            the element
+	 * @return {@code true} if the element has been stored in this store,
+	 *         {@code false} otherwise
+	 */
+	public boolean remove(GameElement element) {
+		if (!this.contains(element)) {
+			return false;
+		}
+		int layer = element.storeLayer;
+		int index = element.storeIndex;
+		GameElement[] elements = this.layers[layer];
+		int last = --this.sizes[layer];
+		if (index != last) {
+			elements[index] = elements[last];
+			elements[index].storeIndex = index;
+		}
+		elements[last] = null;
+		element.storeLayer = -1;
+		element.storeIndex = -1;
+		if (last == 0) {
+			this.nonEmpty[layer >>> 6] &= ~(1L << layer);
+		}
+		this.size--;
+		return true;
+	}
+
+	/**
+	 * Check whether an element is stored in this store in O(1).
+	 *
+	 * @param element
+	 *            the element
+	 * @return {@code true} if stored, {@code false} otherwise
+	 */
+	public boolean contains(GameElement element) {
+		int layer = element.storeLayer;
+		int index = element.storeIndex;
+		return layer >= 0 && index < this.sizes[layer] && this.layers[layer][index] == element;
+	}
+
+	/**
+	 * Remove all elements.
+	 */
+	public void clear() {
+		for (int layer = 0; layer < ElementStore.LAYERS; layer++) {
+			GameElement[] elements = this.layers[layer];
+			for (int i = 0; i < this.sizes[layer]; i++) {
+				elements[i].storeLayer = -1;
+				elements[i].storeIndex = -1;
+				elements[i] = null;
+			}
+			this.sizes[layer] = 0;
+		}
+		Arrays.fill(this.nonEmpty, 0);
+		this.size = 0;
+	}
+
+	/**
+	 * Get the amount of elements.
+	 *
+	 * @return the amount of elements
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Apply a function to all elements layer by layer.
+	 *
+	 * @param function
+	 *            the function
+	 */
+	public void forEach(Consumer<? super GameElement> function) {
+		this.forEach(0, ElementStore.LAYERS, function);
+	}
+
+	/**
+	 * Apply a function to all elements of a range of layers, layer by layer.
+	 * The function must not add or remove elements.
+	 *
+	 * @param fromLayer
+	 *            the first layer (inclusive)
+	 * @param toLayer
+	 *            the last layer (exclusive)
+	 * @param function
+	 *            the function
+	 */
+	public void forEach(int fromLayer, int toLayer, Consumer<? super GameElement> function) {
+		int layer = this.nextLayer(fromLayer);
+		while (layer < toLayer) {
+			GameElement[] elements = this.layers[layer];
+			for (int i = 0; i < this.sizes[layer]; i++) {
+				function.accept(elements[i]);
+			}
+			layer = this.nextLayer(layer + 1);
+		}
+	}
+
+	/**
+	 * Find the next non-empty layer.
+	 *
+	 * @param from
+	 *            the first layer to check
+	 * @return the next non-empty layer or {@link #LAYERS} if none
+	 */
+	private int nextLayer(int from) {
+		if (from >= ElementStore.LAYERS) {
+			return ElementStore.LAYERS;
+		}
+		int word = from >>> 6;
+		long bits = this.nonEmpty[word] & (-1L << from);
+		while (bits == 0) {
+			if (++word == this.nonEmpty.length) {
+				return ElementStore.LAYERS;
+			}
+			bits = this.nonEmpty[word];
+		}
+		return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+	}
+}
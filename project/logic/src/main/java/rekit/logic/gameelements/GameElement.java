@@ -1,6 +1,7 @@
 package rekit.logic.gameelements;
 
 import rekit.config.GameConf;
+import rekit.core.Clock;
 import rekit.core.GameGrid;
 import rekit.core.GameTime;
 import rekit.core.Team;
@@ -37,6 +38,11 @@ import rekit.primitives.geometry.Vec;
  * @author Dominik Fuchss
  */
 public abstract class GameElement implements Collidable {
+	/**
+	 * The distance (in units) an element may be drawn beyond its
+	 * {@link Frame} (see {@link #isInView(float, float)}).
+	 */
+	private static final float VIEW_MARGIN = 1;
 
 	/**
 	 * Flag that is used to signal if the {@link GameElement} is supposed to be
@@ -52,27 +58,63 @@ public abstract class GameElement implements Collidable {
 
 	/**
 	 * The {@link GameElement GameElements} size that can be imagined as a box
-	 * of this {@link Vec Vecs} dimensions around the {@link Vec} <i>pos</i>.
+	 * of these dimensions around the position. The size is stored in primitives
+	 * so it can be updated without allocations, see {@link #getSize()} for the
+	 * {@link Vec} view.
+	 */
+	private float sizeX, sizeY, sizeZ;
+	/**
+	 * Indicates whether a size has been set ({@link #getSize()} returns
+	 * {@code null} otherwise).
+	 */
+	private boolean hasSize;
+	/**
+	 * The latest {@link Vec} view of the size (see {@link #getSize()}).
 	 */
 	private Vec size;
 
 	/**
 	 * The {@link GameElement GameElements} velocity that can be used to alter
-	 * its position in the <i>logicLoop</i>.
+	 * its position in the <i>logicLoop</i>. See {@link #getVel()} for the
+	 * {@link Vec} view.
+	 */
+	private float velX, velY, velZ;
+	/**
+	 * Indicates whether a velocity has been set ({@link #getVel()} returns
+	 * {@code null} otherwise).
+	 */
+	private boolean hasVel;
+	/**
+	 * The latest {@link Vec} view of the velocity (see {@link #getVel()}).
 	 */
 	private Vec vel;
 
 	/**
 	 * <p>
-	 * The {@link GameElement GameElements} absolute position in the level.
+	 * The {@link GameElement GameElements} absolute position in the level. See
+	 * {@link #getPos()} for the {@link Vec} view.
 	 * </p>
 	 * <p>
 	 * <b>Note:</b> the position points to the center of the
 	 * {@link GameElement}.
 	 * </p>
 	 */
+	private float posX, posY, posZ;
+	/**
+	 * Indicates whether a position has been set ({@link #getPos()} returns
+	 * {@code null} otherwise).
+	 */
+	private boolean hasPos;
+	/**
+	 * The latest {@link Vec} view of the position (see {@link #getPos()}).
+	 */
 	private Vec pos;
 
+	/**
+	 * The cached collision box (see {@link #getFrame()}).
+	 */
+	private CachedFrame frame;
+
 	/**
 	 * The {@link Team} the {@link GameElement} is in that mainly specifies
 	 * behavior upon collision.
@@ -93,7 +135,30 @@ public abstract class GameElement implements Collidable {
 	/**
 	 * Last time of invoking {@link #logicLoop()}.
 	 */
-	private long lastTime = GameTime.getTime();
+	private long lastTime = this.getClock().getTime();
+
+	/**
+	 * The position before the latest tick.
+	 *
+	 * @see #getLastPos()
+	 */
+	private float lastPosX, lastPosY, lastPosZ;
+	/**
+	 * Indicates whether {@link #lastPosX}, {@link #lastPosY} and
+	 * {@link #lastPosZ} have been set.
+	 */
+	private boolean hasLastPos;
+
+	/**
+	 * Indicates whether the element is currently held by a
+	 * {@link GameElementPool}.
+	 */
+	boolean pooled;
+	/**
+	 * The layer and the slot of the element in its {@link ElementStore} (or
+	 * {@code -1} if not stored).
+	 */
+	int storeLayer = -1, storeIndex = -1;
 
 	/**
 	 * Prototype constructor. Use the constructor <i>GameElement(Vec startPos,
@@ -124,8 +189,8 @@ public abstract class GameElement implements Collidable {
 	 */
 	protected GameElement(Vec startPos, Vec vel, Vec size, Team team) {
 		this.team = team;
-		this.vel = vel;
-		this.size = size;
+		this.setVel(vel);
+		this.setSizeUnchecked(size);
 		this.setPos(startPos);
 	}
 
@@ -142,7 +207,7 @@ public abstract class GameElement implements Collidable {
 	 */
 	public void logicLoop() {
 		// check if entity fell out of the world
-		this.deltaTime = GameTime.getTime() - this.lastTime;
+		this.deltaTime = this.getClock().getTime() - this.lastTime;
 		this.lastTime += this.deltaTime;
 		this.checkForDelete();
 	}
@@ -151,13 +216,14 @@ public abstract class GameElement implements Collidable {
 	 * Check whether the element shall be deleted. If so, mark for delete.
 	 */
 	private void checkForDelete() {
-		Vec realPos = this.getPos().translate2D(this.scene.getCameraOffset());
-		if (realPos.y > GameConf.GRID_H + GameConf.GRID_TOLERANCE_BELOW) {
+		float offset = this.scene.getCameraOffset();
+		// see Vec#translate2D(float)
+		float realX = this.posZ != 0 ? this.posX + offset / this.posZ : this.posX;
+		if (this.posY > GameConf.GRID_H + GameConf.GRID_TOLERANCE_BELOW) {
 			this.destroy();
 			return;
 		}
-		float relX = realPos.x + this.getSize().x;
-		float offset = this.getScene().getCameraOffset();
+		float relX = realX + this.sizeX;
 		if (offset > relX + GameConf.GRID_W && !this.getScene().isOffsetWildCard()) {
 			this.destroy();
 			return;
@@ -253,7 +319,33 @@ public abstract class GameElement implements Collidable {
 	 * @return the current position of the {@link GameElement}.
 	 */
 	public final Vec getPos() {
-		return this.pos;
+		if (!this.hasPos) {
+			return null;
+		}
+		Vec current = this.pos;
+		if (current == null || current.x != this.posX || current.y != this.posY || current.z != this.posZ) {
+			current = new Vec(this.posX, this.posY, this.posZ);
+			this.pos = current;
+		}
+		return current;
+	}
+
+	/**
+	 * Get the x component of the position (see {@link #getPos()}).
+	 *
+	 * @return the x component of the position
+	 */
+	public final float getPosX() {
+		return this.posX;
+	}
+
+	/**
+	 * Get the y component of the position (see {@link #getPos()}).
+	 *
+	 * @return the y component of the position
+	 */
+	public final float getPosY() {
+		return this.posY;
 	}
 
 	/**
@@ -270,6 +362,100 @@ public abstract class GameElement implements Collidable {
 	 */
 	public final void setPos(Vec value) {
 		this.pos = value;
+		this.hasPos = value != null;
+		if (value != null) {
+			this.posX = value.x;
+			this.posY = value.y;
+			this.posZ = value.z;
+		}
+	}
+
+	/**
+	 * Set the x and y component of the position without allocating a
+	 * {@link Vec}. The z component will be kept if the element already has a
+	 * position and reset to 0 otherwise (like {@code new Vec(x, y)}).
+	 *
+	 * @param x
+	 *            the new x component
+	 * @param y
+	 *            the new y component
+	 * @see #setPos(Vec)
+	 */
+	public final void setPos(float x, float y) {
+		this.setPos(x, y, this.hasPos ? this.posZ : 0);
+	}
+
+	/**
+	 * Set all components of the position without allocating a {@link Vec}.
+	 *
+	 * @param x
+	 *            the new x component
+	 * @param y
+	 *            the new y component
+	 * @param z
+	 *            the new z component
+	 * @see #setPos(Vec)
+	 */
+	public final void setPos(float x, float y, float z) {
+		this.posX = x;
+		this.posY = y;
+		this.posZ = z;
+		this.hasPos = true;
+	}
+
+	/**
+	 * Remember the current position as position of the last tick (see
+	 * {@link #getLastPos()}). This will be invoked by the scene before each
+	 * tick.
+	 */
+	public final void rememberPos() {
+		this.lastPosX = this.posX;
+		this.lastPosY = this.posY;
+		this.lastPosZ = this.posZ;
+		this.hasLastPos = this.hasPos;
+	}
+
+	/**
+	 * Get the position of the {@link GameElement} before the latest tick. This
+	 * allocates a {@link Vec}; hot paths shall use {@link #hasLastPos()},
+	 * {@link #getLastX()} and {@link #getLastY()} instead.
+	 *
+	 * @return the position before the latest tick or {@code null} if the
+	 *         element has not been updated so far
+	 */
+	public final Vec getLastPos() {
+		return this.hasLastPos ? new Vec(this.lastPosX, this.lastPosY, this.lastPosZ) : null;
+	}
+
+	/**
+	 * Indicates whether the element had a position before the latest tick
+	 * (see {@link #getLastPos()}).
+	 *
+	 * @return {@code true} if {@link #getLastX()} and {@link #getLastY()} are
+	 *         valid
+	 */
+	public final boolean hasLastPos() {
+		return this.hasLastPos;
+	}
+
+	/**
+	 * Get the x component of the position before the latest tick (see
+	 * {@link #getLastPos()}).
+	 *
+	 * @return the x component of the last position
+	 */
+	public final float getLastX() {
+		return this.lastPosX;
+	}
+
+	/**
+	 * Get the y component of the position before the latest tick (see
+	 * {@link #getLastPos()}).
+	 *
+	 * @return the y component of the last position
+	 */
+	public final float getLastY() {
+		return this.lastPosY;
 	}
 
 	/**
@@ -280,7 +466,33 @@ public abstract class GameElement implements Collidable {
 	 * @return the current velocity of the {@link GameElement}.
 	 */
 	public final Vec getVel() {
-		return this.vel;
+		if (!this.hasVel) {
+			return null;
+		}
+		Vec current = this.vel;
+		if (current == null || current.x != this.velX || current.y != this.velY || current.z != this.velZ) {
+			current = new Vec(this.velX, this.velY, this.velZ);
+			this.vel = current;
+		}
+		return current;
+	}
+
+	/**
+	 * Get the x component of the velocity (see {@link #getVel()}).
+	 *
+	 * @return the x component of the velocity
+	 */
+	public final float getVelX() {
+		return this.velX;
+	}
+
+	/**
+	 * Get the y component of the velocity (see {@link #getVel()}).
+	 *
+	 * @return the y component of the velocity
+	 */
+	public final float getVelY() {
+		return this.velY;
 	}
 
 	/**
@@ -293,6 +505,30 @@ public abstract class GameElement implements Collidable {
 	 */
 	public final void setVel(Vec newVel) {
 		this.vel = newVel;
+		this.hasVel = newVel != null;
+		if (newVel != null) {
+			this.velX = newVel.x;
+			this.velY = newVel.y;
+			this.velZ = newVel.z;
+		}
+	}
+
+	/**
+	 * Set the x and y component of the velocity without allocating a
+	 * {@link Vec}. The z component will be kept if the element already has a
+	 * velocity and reset to 0 otherwise (like {@code new Vec(x, y)}).
+	 *
+	 * @param x
+	 *            the new x component
+	 * @param y
+	 *            the new y component
+	 * @see #setVel(Vec)
+	 */
+	public final void setVel(float x, float y) {
+		this.velX = x;
+		this.velY = y;
+		this.velZ = this.hasVel ? this.velZ : 0;
+		this.hasVel = true;
 	}
 
 	/**
@@ -303,7 +539,33 @@ public abstract class GameElement implements Collidable {
 	 * @return the current size of the {@link GameElement}.
 	 */
 	public final Vec getSize() {
-		return this.size;
+		if (!this.hasSize) {
+			return null;
+		}
+		Vec current = this.size;
+		if (current == null || current.x != this.sizeX || current.y != this.sizeY || current.z != this.sizeZ) {
+			current = new Vec(this.sizeX, this.sizeY, this.sizeZ);
+			this.size = current;
+		}
+		return current;
+	}
+
+	/**
+	 * Get the x component of the size (see {@link #getSize()}).
+	 *
+	 * @return the x component of the size
+	 */
+	public final float getSizeX() {
+		return this.sizeX;
+	}
+
+	/**
+	 * Get the y component of the size (see {@link #getSize()}).
+	 *
+	 * @return the y component of the size
+	 */
+	public final float getSizeY() {
+		return this.sizeY;
 	}
 
 	/**
@@ -313,7 +575,23 @@ public abstract class GameElement implements Collidable {
 	 *            the size
 	 */
 	public void setSize(Vec size) {
-		this.size = size == null ? null : size.abs();
+		this.setSizeUnchecked(size == null ? null : size.abs());
+	}
+
+	/**
+	 * Set the size without taking the absolute value.
+	 *
+	 * @param size
+	 *            the size
+	 */
+	private void setSizeUnchecked(Vec size) {
+		this.size = size;
+		this.hasSize = size != null;
+		if (size != null) {
+			this.sizeX = size.x;
+			this.sizeY = size.y;
+			this.sizeZ = size.z;
+		}
 	}
 
 	@Override
@@ -326,21 +604,32 @@ public abstract class GameElement implements Collidable {
 	 * {@link GameElement} will be using. Is dependent of the {@link GameElement
 	 * GameElements} position and size.
 	 *
+	 * The default implementation will be cached until position or size change,
+	 * so it may be called in every collision check.
+	 *
 	 * @return the {@link GameElement GameElements} collision box
 	 */
 	public Frame getFrame() {
-		Vec v1 = this.getPos().add(this.getSize().scalar(-0.5f));
-		Vec v2 = this.getPos().add(this.getSize().scalar(0.5f));
-		return new Frame(v1, v2);
+		CachedFrame cached = this.frame;
+		if (cached == null || cached.x != this.posX || cached.y != this.posY || cached.width != this.sizeX || cached.height != this.sizeY) {
+			cached = new CachedFrame(this.posX, this.posY, this.sizeX, this.sizeY);
+			this.frame = cached;
+		}
+		return cached.frame;
 	}
 
 	/**
-	 * Setter for the {@link IScene} this {@link GameElement} belongs to.
+	 * Setter for the {@link IScene} this {@link GameElement} belongs to. The
+	 * time of the last logic loop will be taken from the clock of the new
+	 * scene.
 	 *
 	 * @param value
 	 *            the new {@link IScene} the GameElement is in.
 	 */
 	public final void setScene(ILevelScene value) {
+		if (value != null && value != this.scene) {
+			this.lastTime = value.getClock().getTime();
+		}
 		this.scene = value;
 	}
 
@@ -353,6 +642,17 @@ public abstract class GameElement implements Collidable {
 		return this.scene;
 	}
 
+	/**
+	 * Get the clock of the current scene (or the default clock if the element
+	 * does not belong to a scene yet, see {@link GameTime#getClock()}).
+	 *
+	 * @return the clock
+	 */
+	public final Clock getClock() {
+		ILevelScene current = this.scene;
+		return current == null ? GameTime.getClock() : current.getClock();
+	}
+
 	/**
 	 * Getter for the {@link GameElement GameElements} {@link Team} that mainly
 	 * specifies behavior upon collision.
@@ -420,7 +720,78 @@ public abstract class GameElement implements Collidable {
 	 * (Re-)Initialize the GameElement.
 	 */
 	public void init() {
-		this.lastTime = GameTime.getTime();
+		this.lastTime = this.getClock().getTime();
+	}
+
+	/**
+	 * Indicates whether this element may be recycled by the
+	 * {@link GameElementPool} after it has been removed from its scene.
+	 * Poolable elements must not be referenced after their removal and have to
+	 * reset their own state in {@link #recycle()}.
+	 *
+	 * @return {@code true} if poolable, {@code false} otherwise (default)
+	 */
+	public boolean isPoolable() {
+		return false;
+	}
+
+	/**
+	 * Indicates whether {@link #logicLoop()} of this element may run
+	 * concurrently to other elements (see
+	 * {@link rekit.config.GameConf#PARALLEL_UPDATE}). Elements which are not
+	 * thread-safe will be updated in a serial lane after the parallel phase.
+	 *
+	 * @return {@code true} if parallel updates are allowed (default),
+	 *         {@code false} otherwise
+	 */
+	public boolean isParallelUpdatable() {
+		return true;
+	}
+
+	/**
+	 * Check whether this element may be visible for a camera which moves
+	 * between two offsets. The check is based on {@link #getFrame()} (extended
+	 * by a small margin) and respects the perspective of elements with
+	 * {@code z != 0} (see {@link Vec#translate2D(float)}). Elements which draw
+	 * far beyond their frame have to override this method.
+	 *
+	 * @param fromOffset
+	 *            the first camera offset
+	 * @param toOffset
+	 *            the second camera offset
+	 * @return {@code true} if the element may be visible, {@code false} if it
+	 *         is definitely out of the view
+	 */
+	public boolean isInView(float fromOffset, float toOffset) {
+		Frame frame = this.getFrame();
+		float minOffset = Math.min(fromOffset, toOffset);
+		float maxOffset = Math.max(fromOffset, toOffset);
+		float left = frame.getBorder(Direction.LEFT);
+		float right = frame.getBorder(Direction.RIGHT);
+		if (this.posZ != 0) {
+			// see Vec#translate2D(float)
+			float shiftA = minOffset / this.posZ;
+			float shiftB = maxOffset / this.posZ;
+			left += Math.min(shiftA, shiftB);
+			right += Math.max(shiftA, shiftB);
+		}
+		return right >= minOffset - GameElement.VIEW_MARGIN //
+				&& left <= maxOffset + GameConf.GRID_W + GameElement.VIEW_MARGIN //
+				&& frame.getBorder(Direction.UP) >= -GameElement.VIEW_MARGIN //
+				&& frame.getBorder(Direction.DOWN) <= GameConf.GRID_H + GameElement.VIEW_MARGIN;
+	}
+
+	/**
+	 * Reset the state of a pooled element before it will be used again (see
+	 * {@link GameElementPool#acquire(Class, java.util.function.Supplier)}).
+	 * Overriding methods have to invoke this method.
+	 */
+	protected void recycle() {
+		this.deleteMe = false;
+		this.visible = true;
+		this.scene = null;
+		this.hasLastPos = false;
+		this.lastTime = this.getClock().getTime();
 	}
 
 	/**
@@ -439,13 +810,12 @@ public abstract class GameElement implements Collidable {
 			return;
 		}
 
-		float w = 0.5F * (this.size.x + e2.size.x);
-		float h = 0.5F * (this.size.y + e2.size.y);
-		Vec dxy = this.pos.sub(e2.pos);
-		float dx = dxy.x;
+		float w = 0.5F * (this.sizeX + e2.sizeX);
+		float h = 0.5F * (this.sizeY + e2.sizeY);
+		float dx = this.posX - e2.posX;
 		float adx = dx < 0 ? -dx : dx;
 
-		float dy = dxy.y;
+		float dy = this.posY - e2.posY;
 		float ady = dy < 0 ? -dy : dy;
 
 		if (adx < w && ady < h && Math.abs(adx - w) > GameElement.EPS && Math.abs(ady - h) > GameElement.EPS) {
@@ -484,4 +854,40 @@ public abstract class GameElement implements Collidable {
 	public boolean isAddableToGroup() {
 		return true;
 	}
+
+	/**
+	 * A {@link Frame} together with the position and size it has been created
+	 * from.
+	 *
+	 */
+	private static final class CachedFrame {
+		/**
+		 * The position and size the frame has been created from.
+		 */
+		private final float x, y, width, height;
+		/**
+		 * The frame.
+		 */
+		private final Frame frame;
+
+		/**
+		 * Create the frame of a box.
+		 *
+		 * @param x
+		 *            the x position of the center
+		 * @param y
+		 *            the y position of the center
+		 * @param width
+		 *            the width
+		 * @param height
+		 *            the height
+		 */
+		private CachedFrame(float x, float y, float width, float height) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.frame = new Frame(x - 0.5f * width, y - 0.5f * height, x + 0.5f * width, y + 0.5f * height);
+		}
+	}
 }
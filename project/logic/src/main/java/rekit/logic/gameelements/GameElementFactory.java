@@ -126,6 +126,14 @@ public final class GameElementFactory {
 		ThreadUtils.runDaemon("GameElementFactory", GameElementFactory::load);
 	}
 
+	/**
+	 * Initialize GameElementFactory and wait until all prototypes have been
+	 * loaded.
+	 */
+	public static void initializeNow() {
+		GameElementFactory.load();
+	}
+
 	/**
 	 * Load the factory.
 	 */
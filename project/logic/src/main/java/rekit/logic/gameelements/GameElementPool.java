@@ -0,0 +1,287 @@
+package rekit.logic.gameelements;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import rekit.config.GameConf;
+
+/**
+ * This class recycles {@link GameElement GameElements} which are created and
+ * removed at a high rate (e.g. particles, coins and blocks). <br>
+ * Pooling is opt-in: an element type takes part if it
+ * <ul>
+ * <li>acquires its instances via {@link #acquire(Class, Supplier)} (usually in
+ * its {@code create} method) and</li>
+ * <li>returns {@code true} in {@link GameElement#isPoolable()} and resets its
+ * own state in {@link GameElement#recycle()}.</li>
+ * </ul>
+ * Elements will be released by the scene after they have been removed (see
+ * {@link #release(GameElement)}), so poolable elements must not be referenced
+ * after their removal. Each type (exact class) has its own pool.
+ *
+ */
+public final class GameElementPool {
+	/**
+	 * The maximum amount of pooled elements per type.
+	 */
+	private static final int MAX_POOLED = 1024;
+	/**
+	 * The pools mapped by element type.
+	 */
+	private static final Map<Class<?>, Pool> POOLS = new ConcurrentHashMap<>();
+
+	/**
+	 * Prevent instantiation.
+	 */
+	private GameElementPool() {
+	}
+
+	/**
+	 * Get a recycled element of a type or create a new one. Recycled elements
+	 * will be reset via {@link GameElement#recycle()}, the caller has to set
+	 * up the type specific state (position, etc.) in both cases.
+	 *
+	 * @param type
+	 *            the exact type of the element
+	 * @param factory
+	 *            the factory for new elements
+	 * @param <E>
+	 *            the type of the element
+	 * @return a recycled or new element
+	 */
+	public static <E extends GameElement> E acquire(Class<E> type, Supplier<? extends E> factory) {
+		if (!GameConf.ELEMENT_POOLING) {
+			return factory.get();
+		}
+		GameElement recycled = GameElementPool.POOLS.computeIfAbsent(type, Pool::new).poll();
+		if (recycled == null) {
+			return factory.get();
+		}
+		recycled.recycle();
+		return type.cast(recycled);
+	}
+
+	/**
+	 * Return an element to the pool of its type. Elements which are not
+	 * {@link GameElement#isPoolable() poolable}, whose type has never been
+	 * acquired from a pool or which are already pooled will be ignored.
+	 *
+	 * @param element
+	 *            the element which has been removed from its scene
+	 */
+	public static void release(GameElement element) {
+		if (!GameConf.ELEMENT_POOLING || !element.isPoolable()) {
+			return;
+		}
+		Pool pool = GameElementPool.POOLS.get(element.getClass());
+		if (pool != null) {
+			pool.offer(element);
+		}
+	}
+
+	/**
+	 * Drop all pooled elements (the statistics will be kept).
+	 */
+	public static void clear() {
+		GameElementPool.POOLS.values().forEach(Pool::clear);
+	}
+
+	/**
+	 * Get the statistics of all pools.
+	 *
+	 * @return the statistics (sorted by type name)
+	 */
+	public static List<Statistics> getStatistics() {
+		List<Statistics> result = new ArrayList<>();
+		GameElementPool.POOLS.values().forEach(pool -> result.add(pool.getStatistics()));
+		result.sort(Comparator.comparing(Statistics::getType));
+		return result;
+	}
+
+	/**
+	 * The pool of one type.
+	 *
+	 */
+	private static final class Pool {
+		/**
+		 * The type.
+		 */
+		private final Class<?> type;
+		/**
+		 * The pooled elements.
+		 */
+		private final Deque<GameElement> elements = new ArrayDeque<>();
+		/**
+		 * The amount of acquisitions served by the pool.
+		 */
+		private long hits;
+		/**
+		 * The amount of acquisitions which needed a new element.
+		 */
+		private long misses;
+		/**
+		 * The amount of released elements which have been dropped as the pool
+		 * was full.
+		 */
+		private long dropped;
+
+		/**
+		 * Create a new pool.
+		 *
+		 * @param type
+		 *            the type
+		 */
+		private Pool(Class<?> type) {
+			this.type = type;
+		}
+
+		/**
+		 * Take an element.
+		 *
+		 * @return the element or {@code null} if empty
+		 */
+		private synchronized GameElement poll() {
+			GameElement element = this.elements.pollFirst();
+			if (element == null) {
+				this.misses++;
+				return null;
+			}
+			this.hits++;
+			element.pooled = false;
+			return element;
+		}
+
+		/**
+		 * Put an element.
+		 *
+		 * @param element
+		 *            the element
+		 */
+		private synchronized void offer(GameElement element) {
+			if (element.pooled) {
+				return;
+			}
+			if (this.elements.size() >= GameElementPool.MAX_POOLED) {
+				this.dropped++;
+				return;
+			}
+			element.pooled = true;
+			this.elements.addFirst(element);
+		}
+
+		/**
+		 * Drop all pooled elements.
+		 */
+		private synchronized void clear() {
+			this.elements.forEach(e -> e.pooled = false);
+			this.elements.clear();
+		}
+
+		/**
+		 * Get the current statistics.
+		 *
+		 * @return the statistics
+		 */
+		private synchronized Statistics getStatistics() {
+			return new Statistics(this.type.getSimpleName(), this.hits, this.misses, this.dropped, this.elements.size());
+		}
+	}
+
+	/**
+	 * The statistics of the pool of one type.
+	 *
+	 */
+	public static final class Statistics {
+		/**
+		 * The type.
+		 */
+		private final String type;
+		/**
+		 * The hits, misses and dropped elements.
+		 */
+		private final long hits, misses, dropped;
+		/**
+		 * The amount of pooled elements.
+		 */
+		private final int pooled;
+
+		/**
+		 * Create new statistics.
+		 *
+		 * @param type
+		 *            the type
+		 * @param hits
+		 *            the hits
+		 * @param misses
+		 *            the misses
+		 * @param dropped
+		 *            the dropped elements
+		 * @param pooled
+		 *            the amount of pooled elements
+		 */
+		private Statistics(String type, long hits, long misses, long dropped, int pooled) {
+			this.type = type;
+			this.hits = hits;
+			this.misses = misses;
+			this.dropped = dropped;
+			this.pooled = pooled;
+		}
+
+		/**
+		 * Get the (simple) name of the type.
+		 *
+		 * @return the type
+		 */
+		public String getType() {
+			return this.type;
+		}
+
+		/**
+		 * Get the amount of acquisitions served by the pool.
+		 *
+		 * @return the hits
+		 */
+		public long getHits() {
+			return this.hits;
+		}
+
+		/**
+		 * Get the amount of acquisitions which needed a new element.
+		 *
+		 * @return the misses
+		 */
+		public long getMisses() {
+			return this.misses;
+		}
+
+		/**
+		 * Get the amount of released elements which have been dropped as the
+		 * pool was full.
+		 *
+		 * @return the dropped elements
+		 */
+		public long getDropped() {
+			return this.dropped;
+		}
+
+		/**
+		 * Get the amount of currently pooled elements.
+		 *
+		 * @return the amount of pooled elements
+		 */
+		public int getPooled() {
+			return this.pooled;
+		}
+
+		@Override
+		public String toString() {
+			return this.type + ": " + this.hits + " hits, " + this.misses + " misses, " + this.dropped + " dropped, " + this.pooled + " pooled";
+		}
+	}
+}
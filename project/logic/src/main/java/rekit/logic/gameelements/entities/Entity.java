@@ -2,6 +2,7 @@ package rekit.logic.gameelements.entities;
 
 import rekit.config.GameConf;
 import rekit.core.Team;
+import rekit.logic.DeferredCommands;
 import rekit.logic.gameelements.GameElement;
 import rekit.logic.gameelements.type.Enemy;
 import rekit.logic.gameelements.type.Pickup;
@@ -62,15 +63,24 @@ public abstract class Entity extends GameElement {
 		super(startPos, vel, size, team);
 	}
 
+	@Override
+	protected void recycle() {
+		super.recycle();
+		this.invincibility = null;
+	}
+
 	@Override
 	public void addDamage(int damage) {
+		if (DeferredCommands.isRecording() && DeferredCommands.defer(() -> this.addDamage(damage))) {
+			return;
+		}
 		// no damage taken while invincibility time is not up
 		if (damage > 0 && this.invincibility != null && !this.invincibility.timeUp()) {
 			return;
 		}
 		this.lives -= damage;
 		if (damage > 0) {
-			this.invincibility = new Timer(2000);
+			this.invincibility = new Timer(2000, this::getClock);
 		}
 		if (this.lives <= 0) {
 			this.lives = 0;
@@ -108,21 +118,23 @@ public abstract class Entity extends GameElement {
 			this.invincibility.logicLoop();
 		}
 
-		// calculate new position
+		float dt = this.deltaTime / 1000F;
+		float velX = this.getVelX();
+		float velY = this.getVelY();
+		// calculate new position (in place, no Vec allocations)
 		// s1 = s0 + v*t because physics, thats why!
-		this.setPos(this.getPos().add(this.getVel().scalar(this.deltaTime / 1000F)));
+		this.setPos(this.getPosX() + velX * dt, this.getPosY() + velY * dt);
 
-		Vec newVel = this.getVel();
 		// apply gravity
-		newVel = newVel.addY(GameConf.G * this.deltaTime / 1000F);
+		velY += GameConf.G * this.deltaTime / 1000F;
 		// apply slowing down walk
-		newVel = newVel.addX(-Math.signum(newVel.x) * Player.STOP_ACCEL);
+		velX -= Math.signum(velX) * Player.STOP_ACCEL;
 		// we don't want weird floating point velocities
-		if (Math.abs(newVel.x) < 0.05) {
-			newVel = newVel.setX(0);
+		if (Math.abs(velX) < 0.05) {
+			velX = 0;
 		}
 		// save new velocity
-		this.setVel(newVel);
+		this.setVel(velX, velY);
 	}
 
 	/**
@@ -138,18 +150,18 @@ public abstract class Entity extends GameElement {
 		case LEFT:
 		case RIGHT:
 			// move entities right side to collisions left side / vice versa
-			float newX = collision.getBorder(dir) + signum * this.getSize().x / 1.9f;
-			this.setPos(this.getPos().setX(newX));
+			float newX = collision.getBorder(dir) + signum * this.getSizeX() / 1.9f;
+			this.setPos(newX, this.getPosY());
 			// stop velocity in x dimension
-			this.setVel(this.getVel().setX(0));
+			this.setVel(0, this.getVelY());
 			break;
 		case UP:
 		case DOWN:
 			// move entities lower side to collisions top side / vice versa
-			float newY = collision.getBorder(Direction.getOpposite(dir)) + signum * this.getSize().y / 1.9f;
-			this.setPos(this.getPos().setY(newY));
+			float newY = collision.getBorder(Direction.getOpposite(dir)) + signum * this.getSizeY() / 1.9f;
+			this.setPos(this.getPosX(), newY);
 			// stop velocity in y dimension
-			this.setVel(this.getVel().setY(0));
+			this.setVel(this.getVelX(), 0);
 			break;
 		default:
 			throw new Error();
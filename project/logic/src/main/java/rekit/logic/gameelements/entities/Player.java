@@ -9,6 +9,7 @@ import org.fuchss.configuration.annotations.SetterInfo;
 import rekit.core.CameraTarget;
 import rekit.core.GameGrid;
 import rekit.core.Team;
+import rekit.logic.DeferredCommands;
 import rekit.logic.gameelements.particles.ParticleSpawner;
 import rekit.logic.gameelements.particles.ParticleSpawnerOption;
 import rekit.logic.gameelements.particles.TextParticleSpawner;
@@ -174,6 +175,9 @@ public final class Player extends StateEntity implements CameraTarget, Configura
 
 	@Override
 	public void addDamage(int damage) {
+		if (DeferredCommands.isRecording() && DeferredCommands.defer(() -> this.addDamage(damage))) {
+			return;
+		}
 		if ((this.invincibility == null || this.invincibility.timeUp()) && damage > 0) {
 			// spawn particles
 			this.damageParticles.spawn(this.getScene(), this.getPos());
@@ -189,7 +193,7 @@ public final class Player extends StateEntity implements CameraTarget, Configura
 	 *            the millis
 	 */
 	public void setInvincible(long millis) {
-		this.invincibility = new Timer(millis);
+		this.invincibility = new Timer(millis, this::getClock);
 	}
 
 	/**
@@ -199,6 +203,12 @@ public final class Player extends StateEntity implements CameraTarget, Configura
 		this.currentCameraOffset = 0;
 	}
 
+	@Override
+	public boolean isParallelUpdatable() {
+		// the player is driven by the input and the camera
+		return false;
+	}
+
 	@Override
 	public float getCameraOffset() {
 		// get maximum player x and adjust level offset
@@ -219,7 +229,7 @@ public final class Player extends StateEntity implements CameraTarget, Configura
 	 */
 	public void setTemporaryAppearance(Consumer<GameGrid> r, long millis) {
 		this.tmpRenderer = r;
-		this.renderTimer = new Timer(millis);
+		this.renderTimer = new Timer(millis, this::getClock);
 
 	}
 
@@ -239,6 +249,9 @@ public final class Player extends StateEntity implements CameraTarget, Configura
 	 *            the points to add (or subtract, iff negative)
 	 */
 	public void addPoints(int points) {
+		if (DeferredCommands.isRecording() && DeferredCommands.defer(() -> this.addPoints(points))) {
+			return;
+		}
 		if (points < 0 && this.invincibility != null && !this.invincibility.timeUp()) {
 			return;
 		}
@@ -1,5 +1,6 @@
 package rekit.logic.gameelements.entities.pickups;
 
+import rekit.logic.gameelements.GameElementPool;
 import rekit.logic.gameelements.type.Coin;
 import rekit.primitives.geometry.Vec;
 import rekit.primitives.image.RGBAColor;
@@ -53,8 +54,16 @@ public class DefaultCoin extends Coin {
 		return 10;
 	}
 
+	@Override
+	public boolean isPoolable() {
+		return true;
+	}
+
 	@Override
 	public DefaultCoin create(Vec startPos, String... options) {
-		return new DefaultCoin(startPos);
+		DefaultCoin coin = GameElementPool.acquire(DefaultCoin.class, () -> new DefaultCoin(startPos));
+		coin.setPos(startPos);
+		coin.setVel(0, 0);
+		return coin;
 	}
 }
@@ -22,7 +22,7 @@ public class JumpState extends EntityState {
 	 */
 	public JumpState(StateEntity entity) {
 		super(entity);
-		this.timer = new Timer(Player.JUMP_TIME);
+		this.timer = new Timer(Player.JUMP_TIME, this.entity::getClock);
 	}
 
 	@Override
@@ -7,7 +7,6 @@ import org.fuchss.configuration.annotations.SetterInfo;
 import net.jafama.FastMath;
 import rekit.config.GameConf;
 import rekit.core.GameGrid;
-import rekit.core.GameTime;
 import rekit.core.Team;
 import rekit.logic.gameelements.GameElement;
 import rekit.logic.gameelements.particles.ParticleSpawner;
@@ -120,9 +119,11 @@ public final class EndTrigger extends InanimateTrigger implements Configurable {
 		private Vec currentSize;
 
 		/**
-		 * The last time of invoking {@link #logicLoop()}.
+		 * The last time of invoking {@link #logicLoop()} (measured by the
+		 * clock of the scene, {@link Long#MIN_VALUE} before the first
+		 * invocation).
 		 */
-		private long lastTime = GameTime.getTime();
+		private long lastTime = Long.MIN_VALUE;
 
 		/**
 		 * Create a portal-ring.
@@ -150,8 +151,9 @@ public final class EndTrigger extends InanimateTrigger implements Configurable {
 
 		@Override
 		public void logicLoop() {
-			long deltaTime = GameTime.getTime() - this.lastTime;
-			this.lastTime += deltaTime;
+			long now = this.getClock().getTime();
+			long deltaTime = this.lastTime == Long.MIN_VALUE ? 0 : now - this.lastTime;
+			this.lastTime = now;
 
 			this.x += deltaTime / 1000F;
 
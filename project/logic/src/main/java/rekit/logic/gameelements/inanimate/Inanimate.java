@@ -70,6 +70,18 @@ public class Inanimate extends GameElement {
 		// Do nothing, blocks cannot collide
 	}
 
+	/**
+	 * Indicates whether this inanimate is static terrain (a plain
+	 * {@link InanimateBox} or {@link InanimateFloor}). Static terrain will be
+	 * stored in the {@link rekit.logic.level.TileMap} of the level instead of
+	 * being updated every tick.
+	 *
+	 * @return {@code true} if static terrain, {@code false} otherwise
+	 */
+	public final boolean isStaticTile() {
+		return this.getClass() == InanimateBox.class || this.getClass() == InanimateFloor.class;
+	}
+
 	@Override
 	public int getLives() {
 		return 0;
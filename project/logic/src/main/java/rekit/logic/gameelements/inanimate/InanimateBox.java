@@ -2,6 +2,7 @@ package rekit.logic.gameelements.inanimate;
 
 import rekit.config.GameConf;
 import rekit.core.GameGrid;
+import rekit.logic.gameelements.GameElementPool;
 import rekit.primitives.geometry.Vec;
 import rekit.primitives.image.RGBAColor;
 
@@ -38,8 +39,13 @@ public class InanimateBox extends Inanimate {
 		f.drawRectangle(this.getPos(), this.getSize().scalar(0.5f), darkColor);
 	}
 
+	@Override
+	public boolean isPoolable() {
+		return true;
+	}
+
 	/**
-	 * Create a new InanimateBox.
+	 * Create a new InanimateBox (or recycle a pooled one).
 	 *
 	 * @param pos
 	 *            the position
@@ -47,7 +53,11 @@ public class InanimateBox extends Inanimate {
 	 */
 	public static Inanimate staticCreate(Vec pos) {
 		int randCol = (int) (GameConf.PRNG.nextDouble() * 60 + 50);
-		return new InanimateBox(pos, new Vec(1, 1), new RGBAColor(randCol, randCol, randCol, 255));
+		RGBAColor color = new RGBAColor(randCol, randCol, randCol, 255);
+		InanimateBox box = GameElementPool.acquire(InanimateBox.class, () -> new InanimateBox(pos, new Vec(1, 1), color));
+		box.setPos(pos);
+		box.color = color;
+		return box;
 	}
 
 }
@@ -1,9 +1,9 @@
 package rekit.logic.gameelements.particles;
 
 import rekit.core.GameGrid;
-import rekit.core.GameTime;
 import rekit.core.Team;
 import rekit.logic.gameelements.GameElement;
+import rekit.logic.gameelements.GameElementPool;
 import rekit.primitives.geometry.Direction;
 import rekit.primitives.geometry.Polygon;
 import rekit.primitives.geometry.Vec;
@@ -23,6 +23,10 @@ import rekit.primitives.time.Timer;
  * @author Angelo Aracri
  */
 public class Particle extends GameElement {
+	/**
+	 * The polygon the {@link #initialPolygon} has been cloned from.
+	 */
+	private Polygon source;
 	/**
 	 * The initial polygon.
 	 */
@@ -78,7 +82,7 @@ public class Particle extends GameElement {
 	/**
 	 * The last time of invoking {@link #logicLoop()}.
 	 */
-	private long lastTime = GameTime.getTime();
+	private long lastTime = this.getClock().getTime();
 
 	/**
 	 * Create a particle.
@@ -118,8 +122,15 @@ public class Particle extends GameElement {
 	 */
 	public void setProperties(Polygon polygon, Vec pos, long lifeTime, Progress scale, Progress speed, Progress rotation, Progress angle, Progress colorR,
 			Progress colorG, Progress colorB, Progress colorA) {
-		// clone polygon so we can work with it
-		this.polygon = this.initialPolygon = polygon.clone();
+		// clone polygon so we can work with it (a recycled particle can keep
+		// its clone of the same polygon)
+		if (this.source != polygon || this.initialPolygon == null) {
+			this.source = polygon;
+			this.initialPolygon = polygon.clone();
+		} else {
+			this.initialPolygon.moveTo(polygon.getStartPoint());
+		}
+		this.polygon = this.initialPolygon;
 
 		// set shape options
 		this.scale = scale;
@@ -135,15 +146,32 @@ public class Particle extends GameElement {
 		this.colorB = colorB;
 		this.colorA = colorA;
 		// create timer to get progress between 0 and 1 relative to time
-		this.timer = new Timer(lifeTime);
+		if (this.timer == null) {
+			this.timer = new Timer(lifeTime, this::getClock);
+		} else {
+			this.timer.restart(lifeTime);
+		}
 
 		// set position
 		this.setPos(pos.clone().add(new Vec(-0.1f, -0.1f)));
 	}
 
+	@Override
+	public boolean isPoolable() {
+		return true;
+	}
+
+	@Override
+	protected void recycle() {
+		super.recycle();
+		this.movementVec = null;
+		this.currentCol = new RGBAColor(0, 0, 0, 0);
+		this.lastTime = this.getClock().getTime();
+	}
+
 	@Override
 	public void logicLoop() {
-		long deltaTime = GameTime.getTime() - this.lastTime;
+		long deltaTime = this.getClock().getTime() - this.lastTime;
 		this.lastTime += deltaTime;
 		// tell timer passed time
 		this.timer.logicLoop();
@@ -211,12 +239,12 @@ public class Particle extends GameElement {
 	}
 
 	/**
-	 * Create a particle.
+	 * Create a particle (or recycle a pooled one).
 	 *
 	 * @return a new particle
 	 */
 	public Particle create() {
-		return new Particle();
+		return GameElementPool.acquire(Particle.class, Particle::new);
 	}
 
 }
@@ -1,10 +1,13 @@
 package rekit.logic.gameelements.particles;
 
+import java.util.Random;
+
 import org.fuchss.configuration.Configurable;
 import org.fuchss.configuration.annotations.NoSet;
 import org.fuchss.configuration.annotations.SetterInfo;
 
-import rekit.config.GameConf;
+import rekit.logic.DeferredCommands;
+import rekit.logic.ILevelScene;
 import rekit.logic.IScene;
 import rekit.primitives.geometry.Polygon;
 import rekit.primitives.geometry.Vec;
@@ -124,7 +127,11 @@ public class ParticleSpawner implements Configurable {
 	}
 
 	/**
-	 * Spawn particles in a {@link IScene} at a position.
+	 * Spawn particles in a {@link IScene} at a position. Plain
+	 * {@link Particle Particles} will be spawned into the
+	 * {@link ParticleSystem} of a {@link ILevelScene}. Spawners may be shared
+	 * by elements which are updated in parallel, so spawns will be deferred
+	 * (see {@link DeferredCommands}) and happen in a deterministic order.
 	 *
 	 * @param scene
 	 *            the scene
@@ -132,19 +139,55 @@ public class ParticleSpawner implements Configurable {
 	 *            the position
 	 */
 	public void spawn(IScene scene, Vec pos) {
-		int randomAmount = (int) (this.amountMin + GameConf.PRNG.nextDouble() * (this.amountMax - this.amountMin));
+		if (DeferredCommands.isRecording() && DeferredCommands.defer(() -> this.spawn(scene, pos))) {
+			return;
+		}
+		Random random = DeferredCommands.random();
+		int randomAmount = (int) (this.amountMin + random.nextDouble() * (this.amountMax - this.amountMin));
+
+		ParticleSystem system = this.particlePrototype.getClass() == Particle.class && scene.isLevelScene() ? ((ILevelScene) scene).getParticleSystem() : null;
+		if (system != null) {
+			this.spawn(system, pos, randomAmount, random);
+			return;
+		}
 
 		for (int i = 0; i < randomAmount; i++) {
-			long randomTime = (long) (1000 * (this.timeMin + GameConf.PRNG.nextDouble() * (this.timeMax - this.timeMin)));
+			long randomTime = (long) (1000 * (this.timeMin + random.nextDouble() * (this.timeMax - this.timeMin)));
 
 			this.polygon.moveTo(pos);
 
 			Particle p = this.particlePrototype.create();
-			p.setProperties(this.polygon, pos, randomTime, this.size.randomize(), this.speed.randomize(), this.rotation.randomize(), this.angle.randomize(),
-					this.colorR.randomize(), this.colorG.randomize(), this.colorB.randomize(), this.colorA.randomize());
+			p.setProperties(this.polygon, pos, randomTime, this.size.randomize(random), this.speed.randomize(random), this.rotation.randomize(random),
+					this.angle.randomize(random), this.colorR.randomize(random), this.colorG.randomize(random), this.colorB.randomize(random),
+					this.colorA.randomize(random));
 
 			scene.addGameElement(p);
 		}
 
 	}
+
+	/**
+	 * Spawn plain particles into a {@link ParticleSystem}. All particles of
+	 * one invocation share one shape.
+	 *
+	 * @param system
+	 *            the particle system
+	 * @param pos
+	 *            the position
+	 * @param amount
+	 *            the amount of particles
+	 * @param random
+	 *            the random generator
+	 */
+	private void spawn(ParticleSystem system, Vec pos, int amount, Random random) {
+		float[] shape = null;
+		for (int i = 0; i < amount; i++) {
+			long randomTime = (long) (1000 * (this.timeMin + random.nextDouble() * (this.timeMax - this.timeMin)));
+			if (shape == null) {
+				this.polygon.moveTo(pos);
+				shape = ParticleSystem.shapeOf(this.polygon);
+			}
+			system.spawn(random, shape, pos, randomTime, this.size, this.speed, this.rotation, this.angle, this.colorR, this.colorG, this.colorB, this.colorA);
+		}
+	}
 }
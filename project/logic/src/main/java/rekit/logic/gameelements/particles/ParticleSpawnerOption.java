@@ -1,8 +1,10 @@
 package rekit.logic.gameelements.particles;
 
+import java.util.Random;
+
 import org.fuchss.configuration.annotations.ClassParser;
 
-import rekit.config.GameConf;
+import rekit.logic.DeferredCommands;
 import rekit.primitives.time.Progress;
 
 /**
@@ -96,20 +98,54 @@ public class ParticleSpawnerOption {
 	 * deltaMin, deltaMax).
 	 *
 	 * @return the randomized ProgressDependency
+	 * @see DeferredCommands#random()
 	 */
 	public Progress randomize() {
+		return this.randomize(DeferredCommands.random());
+	}
+
+	/**
+	 * Same as {@link #randomize()} but uses a specific random generator.
+	 *
+	 * @param random
+	 *            the random generator
+	 * @return the randomized ProgressDependency
+	 */
+	public Progress randomize(Random random) {
 		// calculate random start value between startMin and startMax
 		// (only if startMin != startMax)
-		float start = this.startMin == this.startMax ? this.startMin : (float) (this.startMin + GameConf.PRNG.nextDouble() * (this.startMax - this.startMin));
+		float start = this.startMin == this.startMax ? this.startMin : (float) (this.startMin + random.nextDouble() * (this.startMax - this.startMin));
 
 		// calculate random delta value between deltaMin and deltaMax
 		// (only if deltaMin != deltaMax)
 		float delta = Math.abs(this.deltaMin - this.deltaMax) < 1E-8 ? this.deltaMin
-				: (float) (this.deltaMin + GameConf.PRNG.nextDouble() * (this.deltaMax - this.deltaMin));
+				: (float) (this.deltaMin + random.nextDouble() * (this.deltaMax - this.deltaMin));
 
 		// we don't wanna optimize case delta=0 => start+delta = delta,
 		// ProgressDependency does that
 		return new Progress(start, start + delta);
 	}
 
+	/**
+	 * Same as {@link #randomize(Random)} but stores start and delta in arrays
+	 * instead of creating a {@link Progress}.
+	 *
+	 * @param random
+	 *            the random generator
+	 * @param starts
+	 *            the array for the start value
+	 * @param deltas
+	 *            the array for the delta value
+	 * @param index
+	 *            the index in both arrays
+	 */
+	void randomize(Random random, float[] starts, float[] deltas, int index) {
+		float start = this.startMin == this.startMax ? this.startMin : (float) (this.startMin + random.nextDouble() * (this.startMax - this.startMin));
+		float delta = Math.abs(this.deltaMin - this.deltaMax) < 1E-8 ? this.deltaMin
+				: (float) (this.deltaMin + random.nextDouble() * (this.deltaMax - this.deltaMin));
+		starts[index] = start;
+		// same rounding as Progress: delta = end - start
+		deltas[index] = (start + delta) - start;
+	}
+
 }
@@ -0,0 +1,430 @@
+package rekit.logic.gameelements.particles;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.jafama.FastMath;
+import rekit.core.GameGrid;
+import rekit.core.Team;
+import rekit.logic.gameelements.GameElement;
+import rekit.primitives.geometry.Polygon;
+import rekit.primitives.geometry.Vec;
+
+/**
+ * This class simulates and renders plain {@link Particle Particles} of a scene
+ * as one {@link GameElement}. The state of all particles is stored in
+ * primitive arrays (one entry per particle), so a whole burst of a
+ * {@link ParticleSpawner} costs neither {@link GameElement GameElements} nor
+ * {@link rekit.primitives.time.Progress Progresses}. All particles will be
+ * updated in one loop and drawn in one batch (see
+ * {@link GameGrid#drawPolygons(float[], int, int[], int, boolean)}).<br>
+ * The behavior equals the behavior of {@link Particle}.
+ *
+ */
+public final class ParticleSystem extends GameElement {
+	/**
+	 * The initial capacity.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+	/**
+	 * The offset of the position of a particle to its spawn position.
+	 */
+	private static final float SPAWN_OFFSET = -0.1f;
+
+	/**
+	 * Index of the scale in {@link #starts} and {@link #deltas}.
+	 */
+	static final int SCALE = 0;
+	/**
+	 * Index of the speed in {@link #starts} and {@link #deltas}.
+	 */
+	static final int SPEED = 1;
+	/**
+	 * Index of the rotation in {@link #starts} and {@link #deltas}.
+	 */
+	static final int ROTATION = 2;
+	/**
+	 * Index of the angle in {@link #starts} and {@link #deltas}.
+	 */
+	static final int ANGLE = 3;
+	/**
+	 * Index of the red channel in {@link #starts} and {@link #deltas}.
+	 */
+	static final int RED = 4;
+	/**
+	 * Index of the green channel in {@link #starts} and {@link #deltas}.
+	 */
+	static final int GREEN = 5;
+	/**
+	 * Index of the blue channel in {@link #starts} and {@link #deltas}.
+	 */
+	static final int BLUE = 6;
+	/**
+	 * Index of the alpha channel in {@link #starts} and {@link #deltas}.
+	 */
+	static final int ALPHA = 7;
+	/**
+	 * The amount of progresses per particle.
+	 */
+	private static final int PROGRESSES = 8;
+
+	/**
+	 * The amount of particles.
+	 */
+	private int count;
+	/**
+	 * The positions.
+	 */
+	private float[] x, y;
+	/**
+	 * The cached movement per tick (see {@link #hasMovement}).
+	 */
+	private float[] moveX, moveY;
+	/**
+	 * Indicates whether {@link #moveX} and {@link #moveY} have been
+	 * calculated.
+	 */
+	private boolean[] hasMovement;
+	/**
+	 * The current rotation and scale of the shapes.
+	 */
+	private float[] rotation, scale;
+	/**
+	 * The current colors (ARGB).
+	 */
+	private int[] color;
+	/**
+	 * The time of the last update, the time left and the lifetime (in
+	 * millis).
+	 */
+	private long[] lastTime, timeLeft, lifeTime;
+	/**
+	 * The start values of the progresses (see {@link #SCALE} ...
+	 * {@link #ALPHA}).
+	 */
+	private final float[][] starts = new float[ParticleSystem.PROGRESSES][];
+	/**
+	 * The deltas of the progresses (see {@link #SCALE} ... {@link #ALPHA}).
+	 */
+	private final float[][] deltas = new float[ParticleSystem.PROGRESSES][];
+	/**
+	 * The shapes (relative points x1, y1, x2, y2, ... without the start point).
+	 */
+	private float[][] shape;
+
+	/**
+	 * The buffer for the points of {@link #drawBatch(GameGrid, int, int, int)}.
+	 */
+	private float[] points = new float[0];
+	/**
+	 * The buffer for the colors of
+	 * {@link #drawBatch(GameGrid, int, int, int)}.
+	 */
+	private int[] colors = new int[0];
+
+	/**
+	 * Create a new empty particle system.
+	 */
+	public ParticleSystem() {
+		super(new Vec(), new Vec(), new Vec(1), Team.EFFECT);
+		this.allocate(ParticleSystem.INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Get the amount of living particles.
+	 *
+	 * @return the amount of particles
+	 */
+	public synchronized int size() {
+		return this.count;
+	}
+
+	/**
+	 * Spawn one particle. The parameters equal the parameters of
+	 * {@link Particle#setProperties}, the progresses will be randomized by the
+	 * options.
+	 *
+	 * @param random
+	 *            the random generator for the options
+	 * @param shape
+	 *            the relative points of the shape (see
+	 *            {@link #shapeOf(Polygon)})
+	 * @param pos
+	 *            the position
+	 * @param lifeTime
+	 *            the lifetime in millis
+	 * @param options
+	 *            the options in the order {@link #SCALE} ... {@link #ALPHA}
+	 */
+	synchronized void spawn(Random random, float[] shape, Vec pos, long lifeTime, ParticleSpawnerOption... options) {
+		if (this.count == this.x.length) {
+			this.allocate(2 * this.x.length);
+		}
+		int i = this.count++;
+		this.x[i] = pos.x + ParticleSystem.SPAWN_OFFSET;
+		this.y[i] = pos.y + ParticleSystem.SPAWN_OFFSET;
+		this.hasMovement[i] = false;
+		this.rotation[i] = 0;
+		this.scale[i] = 1;
+		this.color[i] = 0;
+		this.lastTime[i] = this.getClock().getTime();
+		this.timeLeft[i] = lifeTime;
+		this.lifeTime[i] = lifeTime;
+		this.shape[i] = shape;
+		for (int p = 0; p < ParticleSystem.PROGRESSES; p++) {
+			options[p].randomize(random, this.starts[p], this.deltas[p], i);
+		}
+	}
+
+	/**
+	 * Calculate the relative points of a polygon as used by
+	 * {@link #spawn(Random, float[], Vec, long, ParticleSpawnerOption...)}.
+	 *
+	 * @param polygon
+	 *            the polygon
+	 * @return the relative points (x1, y1, x2, y2, ...)
+	 */
+	static float[] shapeOf(Polygon polygon) {
+		float[] absolute = polygon.getAbsoluteArray();
+		float[] relative = new float[absolute.length - 2];
+		for (int i = 0; i < relative.length; i += 2) {
+			relative[i] = absolute[i + 2] - absolute[0];
+			relative[i + 1] = absolute[i + 3] - absolute[1];
+		}
+		return relative;
+	}
+
+	@Override
+	public synchronized void logicLoop() {
+		long now = this.getClock().getTime();
+		int alive = 0;
+		for (int i = 0; i < this.count; i++) {
+			long deltaTime = now - this.lastTime[i];
+			// particles spawned in this tick start in the next one
+			if (deltaTime != 0) {
+				this.lastTime[i] = now;
+				this.timeLeft[i] -= deltaTime;
+				if (this.timeLeft[i] <= 0) {
+					continue;
+				}
+				this.update(i, deltaTime);
+			}
+			if (alive != i) {
+				this.move(i, alive);
+			}
+			alive++;
+		}
+		for (int i = alive; i < this.count; i++) {
+			this.shape[i] = null;
+		}
+		this.count = alive;
+	}
+
+	/**
+	 * Update one particle (see {@link Particle#logicLoop()}).
+	 *
+	 * @param i
+	 *            the index of the particle
+	 * @param deltaTime
+	 *            the passed time in millis
+	 */
+	private void update(int i, long deltaTime) {
+		float progress = 1 - ((1F * this.timeLeft[i]) / this.lifeTime[i]);
+
+		this.color[i] = ParticleSystem.capColor(this.now(ParticleSystem.ALPHA, i, progress)) << 24 //
+				| ParticleSystem.capColor(this.now(ParticleSystem.RED, i, progress)) << 16 //
+				| ParticleSystem.capColor(this.now(ParticleSystem.GREEN, i, progress)) << 8 //
+				| ParticleSystem.capColor(this.now(ParticleSystem.BLUE, i, progress));
+
+		float currentRotation = this.now(ParticleSystem.ROTATION, i, progress);
+		float currentScale = this.now(ParticleSystem.SCALE, i, progress);
+		// a rotation restarts from the initial shape, a scale accumulates
+		if (currentRotation != 0) {
+			this.rotation[i] = currentRotation;
+			this.scale[i] = 1;
+		}
+		if (currentScale != 1) {
+			this.scale[i] *= currentScale;
+		}
+
+		// only recalculate movement if speed and angle are dynamic
+		if (!this.hasMovement[i] || this.deltas[ParticleSystem.SPEED][i] != 0 || this.deltas[ParticleSystem.ANGLE][i] != 0) {
+			float distance = this.now(ParticleSystem.SPEED, i, progress) * deltaTime / 1000F;
+			float angle = this.now(ParticleSystem.ANGLE, i, progress);
+			// Direction.UP rotated by angle
+			this.moveX[i] = (float) (distance * FastMath.sinQuick(angle));
+			this.moveY[i] = (float) (-distance * FastMath.cosQuick(angle));
+			this.hasMovement[i] = true;
+		}
+		this.x[i] += this.moveX[i];
+		this.y[i] += this.moveY[i];
+	}
+
+	/**
+	 * Get the current value of a progress (see
+	 * {@link rekit.primitives.time.Progress#getNow(float)}).
+	 *
+	 * @param progressIndex
+	 *            the index of the progress ({@link #SCALE} ... {@link #ALPHA})
+	 * @param i
+	 *            the index of the particle
+	 * @param progress
+	 *            the progress of the particle
+	 * @return the current value
+	 */
+	private float now(int progressIndex, int i, float progress) {
+		float delta = this.deltas[progressIndex][i];
+		return delta == 0 ? this.starts[progressIndex][i] : this.starts[progressIndex][i] + delta * progress;
+	}
+
+	/**
+	 * Caps a color to make sure it is never smaller than 0 or greater than 255.
+	 *
+	 * @param col
+	 *            the color value to cap
+	 * @return the capped color
+	 */
+	private static int capColor(float col) {
+		int intCol = (int) col;
+		return intCol > 255 ? 255 : (intCol < 0 ? 0 : intCol);
+	}
+
+	/**
+	 * The particles of the system are spread over the whole scene, so the
+	 * system is always in view.
+	 */
+	@Override
+	public boolean isInView(float fromOffset, float toOffset) {
+		return true;
+	}
+
+	@Override
+	protected synchronized void internalRender(GameGrid f) {
+		int start = 0;
+		while (start < this.count) {
+			// batch all following particles with the same amount of points
+			int vertices = this.shape[start].length / 2 + 1;
+			int end = start + 1;
+			while (end < this.count && this.shape[end].length / 2 + 1 == vertices) {
+				end++;
+			}
+			this.drawBatch(f, start, end, vertices);
+			start = end;
+		}
+	}
+
+	/**
+	 * Draw the visible particles of a range with the same amount of points.
+	 *
+	 * @param f
+	 *            the grid
+	 * @param start
+	 *            the first particle (inclusive)
+	 * @param end
+	 *            the last particle (exclusive)
+	 * @param vertices
+	 *            the amount of points per particle
+	 */
+	private void drawBatch(GameGrid f, int start, int end, int vertices) {
+		int needed = (end - start) * vertices * 2;
+		if (this.points.length < needed) {
+			this.points = new float[needed];
+		}
+		if (this.colors.length < end - start) {
+			this.colors = new int[end - start];
+		}
+		int polygons = 0;
+		int p = 0;
+		for (int i = start; i < end; i++) {
+			if (this.color[i] >>> 24 == 0) {
+				// invisible
+				continue;
+			}
+			float[] relative = this.shape[i];
+			float cos = (float) FastMath.cosQuick(this.rotation[i]);
+			float sin = (float) FastMath.sinQuick(this.rotation[i]);
+			this.points[p++] = this.x[i];
+			this.points[p++] = this.y[i];
+			for (int j = 0; j < relative.length; j += 2) {
+				float rx = this.rotation[i] == 0 ? relative[j] : relative[j] * cos - relative[j + 1] * sin;
+				float ry = this.rotation[i] == 0 ? relative[j + 1] : relative[j] * sin + relative[j + 1] * cos;
+				this.points[p++] = this.x[i] + rx * this.scale[i];
+				this.points[p++] = this.y[i] + ry * this.scale[i];
+			}
+			this.colors[polygons++] = this.color[i];
+		}
+		if (polygons != 0) {
+			f.drawPolygons(this.points, vertices, this.colors, polygons, true);
+		}
+	}
+
+	/**
+	 * Move a particle to another index.
+	 *
+	 * @param from
+	 *            the current index
+	 * @param to
+	 *            the new index
+	 */
+	private void move(int from, int to) {
+		this.x[to] = this.x[from];
+		this.y[to] = this.y[from];
+		this.moveX[to] = this.moveX[from];
+		this.moveY[to] = this.moveY[from];
+		this.hasMovement[to] = this.hasMovement[from];
+		this.rotation[to] = this.rotation[from];
+		this.scale[to] = this.scale[from];
+		this.color[to] = this.color[from];
+		this.lastTime[to] = this.lastTime[from];
+		this.timeLeft[to] = this.timeLeft[from];
+		this.lifeTime[to] = this.lifeTime[from];
+		this.shape[to] = this.shape[from];
+		for (int p = 0; p < ParticleSystem.PROGRESSES; p++) {
+			this.starts[p][to] = this.starts[p][from];
+			this.deltas[p][to] = this.deltas[p][from];
+		}
+	}
+
+	/**
+	 * Resize all arrays.
+	 *
+	 * @param capacity
+	 *            the new capacity
+	 */
+	private void allocate(int capacity) {
+		if (this.x == null) {
+			this.x = new float[0];
+			this.y = new float[0];
+			this.moveX = new float[0];
+			this.moveY = new float[0];
+			this.hasMovement = new boolean[0];
+			this.rotation = new float[0];
+			this.scale = new float[0];
+			this.color = new int[0];
+			this.lastTime = new long[0];
+			this.timeLeft = new long[0];
+			this.lifeTime = new long[0];
+			this.shape = new float[0][];
+			for (int p = 0; p < ParticleSystem.PROGRESSES; p++) {
+				this.starts[p] = new float[0];
+				this.deltas[p] = new float[0];
+			}
+		}
+		this.x = Arrays.copyOf(this.x, capacity);
+		this.y = Arrays.copyOf(this.y, capacity);
+		this.moveX = Arrays.copyOf(this.moveX, capacity);
+		this.moveY = Arrays.copyOf(this.moveY, capacity);
+		this.hasMovement = Arrays.copyOf(this.hasMovement, capacity);
+		this.rotation = Arrays.copyOf(this.rotation, capacity);
+		this.scale = Arrays.copyOf(this.scale, capacity);
+		this.color = Arrays.copyOf(this.color, capacity);
+		this.lastTime = Arrays.copyOf(this.lastTime, capacity);
+		this.timeLeft = Arrays.copyOf(this.timeLeft, capacity);
+		this.lifeTime = Arrays.copyOf(this.lifeTime, capacity);
+		this.shape = Arrays.copyOf(this.shape, capacity);
+		for (int p = 0; p < ParticleSystem.PROGRESSES; p++) {
+			this.starts[p] = Arrays.copyOf(this.starts[p], capacity);
+			this.deltas[p] = Arrays.copyOf(this.deltas[p], capacity);
+		}
+	}
+}
@@ -145,6 +145,12 @@ public abstract class Boss extends Entity {
 		this.isHarmless = true;
 	}
 
+	@Override
+	public boolean isParallelUpdatable() {
+		// bosses control their boss structure and the camera
+		return false;
+	}
+
 	@Override
 	public Integer getZHint() {
 		return Team.ENEMY.zRange.min + 1;
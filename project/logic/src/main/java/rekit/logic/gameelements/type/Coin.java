@@ -59,6 +59,14 @@ public abstract class Coin extends Pickup {
 		super(startPos, new Vec(), new Vec(0.7f, 0.7f));
 	}
 
+	@Override
+	protected void recycle() {
+		super.recycle();
+		this.setLives(1);
+		this.x = 0;
+		this.sin = 0;
+	}
+
 	@Override
 	public void perform(GameElement collector) {
 		this.getScene().getPlayer().addPoints(this.getValue());
@@ -35,7 +35,7 @@ public class MainMenuGrid extends MenuGrid {
 	public MainMenuGrid(IScene scene, String text, int colCount) {
 		super(scene, text, colCount, 425, 100);
 		this.setItemSize(new Vec(425, 100));
-		this.frameTimer = new Timer(120);
+		this.frameTimer = new Timer(120, scene::getClock);
 	}
 
 	@Override
@@ -22,7 +22,6 @@ import rekit.primitives.geometry.Vec;
 import rekit.primitives.time.Progress;
 import rekit.primitives.time.Timer;
 import rekit.util.CalcUtil;
-import rekit.util.ThreadUtils;
 
 /**
  *
@@ -125,27 +124,31 @@ public final class BossStructure extends Structure implements Configurable {
 		this.boss.setBossStructure(this);
 		this.boss.setTarget(scene.getPlayer());
 
-		// Create thread for asynchronous stuff
-		ThreadUtils.runDaemon("BossRoom-Start", () -> this.startIntern(scene));
+		// Walk to the camera position (one step per logic tick)
+		scene.getJobs().schedule(GameConf.LOGIC_DELTA, GameConf.LOGIC_DELTA, () -> this.startIntern(scene));
 
 	}
 
 	/**
-	 * Start Boss Battle. Show intro text, set camera target.
+	 * Start Boss Battle. Walk to the camera position, afterwards show intro
+	 * text, set camera target. This method will be invoked once per logic
+	 * tick until the player has reached the camera position.
 	 *
 	 * @param scene
 	 *            the scene
+	 * @return {@code true} if the player is still walking, {@code false} if
+	 *         the battle has been started
 	 */
-	private void startIntern(ILevelScene scene) {
+	private boolean startIntern(ILevelScene scene) {
 		if (this.door == null || this.triggerPos == null) {
-			return;
+			return false;
 		}
 
 		Player player = scene.getPlayer();
 		// keep walking right to the right camera position
-		while (player.getPos().x < this.cameraTarget) {
+		if (player.getPos().x < this.cameraTarget) {
 			player.setVel(player.getVel().setX(1.8f));
-			Timer.sleep(GameConf.LOGIC_DELTA);
+			return true;
 		}
 
 		RangeCameraTarget tgt = new RangeCameraTarget(//
@@ -168,8 +171,9 @@ public final class BossStructure extends Structure implements Configurable {
 		TextOptions op = new TextOptions(new Vec(-0.5f, -0.5f), 30, GameConf.GAME_TEXT_COLOR, GameConf.GAME_TEXT_FONT, 1);
 		Text bossText = new Text(scene, op).setText(this.boss.getName());
 		bossText.setPos(CalcUtil.units2pixel(new Vec(GameConf.GRID_W / 2f, GameConf.GRID_H / 2f)));
-		scene.addGuiElement(new TimeDecorator(scene, bossText, new Timer(3000)));
+		scene.addGuiElement(new TimeDecorator(scene, bossText, new Timer(3000, scene::getClock)));
 		scene.setCanPause(true);
+		return false;
 	}
 
 	/**
@@ -183,13 +187,12 @@ public final class BossStructure extends Structure implements Configurable {
 			return;
 		}
 		this.ended = true;
-		// Create thread for asynchronous stuff
-		ThreadUtils.runDaemon("BossRoom-End", () -> this.endAnimation(scene));
+		this.endAnimation(scene);
 	}
 
 	/**
-	 * This method will invoked in a separate thread to perform the end
-	 * animation of the Boss.
+	 * This method performs the end animation of the Boss (one step per logic
+	 * tick).
 	 *
 	 * @param scene
 	 *            the scene
@@ -199,7 +202,7 @@ public final class BossStructure extends Structure implements Configurable {
 			return;
 		}
 		final Player player = scene.getPlayer();
-		final Timer timer = new Timer(7000);
+		final Timer timer = new Timer(7000, scene::getClock);
 
 		// Needed for animating camera movement
 		Progress cameraMover = new Progress(//
@@ -214,21 +217,35 @@ public final class BossStructure extends Structure implements Configurable {
 		);
 		// save Players current velocity
 		Vec[] save = { player.getVel(), player.getPos(), this.boss.getPos() };
-		// while timer has time left...
-		while (!timer.timeUp()) {
+		scene.getJobs().schedule(GameConf.LOGIC_DELTA, GameConf.LOGIC_DELTA, () -> {
+			// the animation ends when the time is up
+			if (timer.timeUp()) {
+				this.endAnimationFinished(scene, save[0]);
+				return false;
+			}
 			// freeze player and pos
 			player.setVel(new Vec());
 			player.setPos(save[1]);
 			this.boss.setVel(new Vec());
 			this.boss.setPos(save[2]);
-			// wait for time to be up
-			Timer.sleep(GameConf.LOGIC_DELTA);
 			this.phase(scene, timer, doorMover, cameraMover);
 			timer.logicLoop();
-		}
+			return true;
+		});
+	}
 
+	/**
+	 * Finish the end animation of the Boss: give control back to the player.
+	 *
+	 * @param scene
+	 *            the scene
+	 * @param velocity
+	 *            the velocity of the player before the animation
+	 */
+	private void endAnimationFinished(ILevelScene scene, Vec velocity) {
+		Player player = scene.getPlayer();
 		// re-apply velocity to Player
-		player.setVel(save[0]);
+		player.setVel(velocity);
 		// give player full health
 		if (player.getLives() < Player.LIVES) {
 			player.setLives(Player.LIVES);
@@ -1,5 +1,6 @@
 package rekit.logic.level;
 
+import rekit.config.GameConf;
 import rekit.logic.ILevelScene;
 import rekit.logic.gameelements.entities.Player;
 import rekit.persistence.level.DataKey;
@@ -18,6 +19,7 @@ public final class Level implements Comparable<Level>, DataKeySetter {
 	private final StructurePart sp;
 	private final LogicalPart lp;
 	private final LevelDefinition definition;
+	private final TileMap tiles;
 	private boolean success;
 	private boolean won;
 
@@ -36,6 +38,7 @@ public final class Level implements Comparable<Level>, DataKeySetter {
 		this.sp = sp;
 		this.lp = lp;
 		this.definition = mtx.getDefinition();
+		this.tiles = new TileMap(GameConf.GRID_H);
 	}
 
 	/**
@@ -57,6 +60,7 @@ public final class Level implements Comparable<Level>, DataKeySetter {
 	public void reset() {
 		this.lp.reset();
 		this.sp.reset();
+		this.tiles.clear();
 	}
 
 	/**
@@ -77,6 +81,15 @@ public final class Level implements Comparable<Level>, DataKeySetter {
 		return this.sp;
 	}
 
+	/**
+	 * Get the {@link TileMap} (static terrain) of the {@link Level}.
+	 *
+	 * @return the {@link TileMap}
+	 */
+	public TileMap getTiles() {
+		return this.tiles;
+	}
+
 	/**
 	 * Get the name of the level.
 	 *
@@ -0,0 +1,423 @@
+package rekit.logic.level;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import rekit.core.GameGrid;
+import rekit.core.RenderFrame;
+import rekit.logic.gameelements.GameElementPool;
+import rekit.logic.gameelements.inanimate.Inanimate;
+import rekit.primitives.geometry.Vec;
+
+/**
+ * This class stores the static terrain of a {@link Level} (see
+ * {@link Inanimate#isStaticTile()}). The tiles are organized in columns of
+ * fixed height which are held in a ring buffer, so a tile can be found by its
+ * cell in O(1) and whole columns can be evicted once they are behind the
+ * camera.<br>
+ * Tiles stored here will not be updated by the scene, they will only be
+ * rendered and used for collision detection. For rendering, the tiles are
+ * recorded in chunks of {@link #CHUNK_WIDTH} columns which will only be
+ * recorded again if a tile of the chunk has been changed (see
+ * {@link #renderChunks(int, int, GameGrid)}).
+ *
+ */
+public final class TileMap {
+	/**
+	 * The initial amount of columns.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+	/**
+	 * The amount of columns of a chunk (see
+	 * {@link #renderChunks(int, int, GameGrid)}).
+	 */
+	public static final int CHUNK_WIDTH = 8;
+	/**
+	 * The height of a column.
+	 */
+	private final int height;
+	/**
+	 * The columns (ring buffer), may contain {@code null} for unused columns.
+	 */
+	private Inanimate[][] columns;
+	/**
+	 * The index of the column of {@link #firstX} in {@link #columns}.
+	 */
+	private int head;
+	/**
+	 * The x position of the first stored column.
+	 */
+	private int firstX;
+	/**
+	 * The amount of stored columns.
+	 */
+	private int width;
+	/**
+	 * The amount of stored tiles.
+	 */
+	private int size;
+	/**
+	 * All columns before this x position have been evicted.
+	 */
+	private int evictedBefore;
+	/**
+	 * The recorded chunks mapped by their index (see
+	 * {@link #renderChunks(int, int, GameGrid)}). Chunks which are missing
+	 * have to be recorded again.
+	 */
+	private final Map<Integer, Chunk> chunks = new HashMap<>();
+	/**
+	 * The size of all chunks (see {@link Chunk#size}).
+	 */
+	private final Vec chunkSize;
+
+	/**
+	 * Create a new tile map.
+	 *
+	 * @param height
+	 *            the height of a column (in units)
+	 */
+	public TileMap(int height) {
+		this.height = height;
+		this.chunkSize = new Vec(TileMap.CHUNK_WIDTH, height);
+		this.columns = new Inanimate[TileMap.INITIAL_CAPACITY][];
+		this.clear();
+	}
+
+	/**
+	 * Remove all tiles.
+	 */
+	public void clear() {
+		for (Inanimate[] column : this.columns) {
+			if (column != null) {
+				Arrays.fill(column, null);
+			}
+		}
+		this.head = 0;
+		this.firstX = 0;
+		this.width = 0;
+		this.size = 0;
+		this.evictedBefore = Integer.MIN_VALUE;
+		this.chunks.clear();
+	}
+
+	/**
+	 * Store a tile at the cell of its position. A tile which is already at
+	 * that cell will be replaced and released to the {@link GameElementPool}.
+	 *
+	 * @param tile
+	 *            the tile
+	 * @return {@code true} if the tile has been taken by this map (tiles behind
+	 *         the evicted columns will be taken but released immediately),
+	 *         {@code false} if the tile is outside of the rows of this map
+	 */
+	public boolean set(Inanimate tile) {
+		int x = Math.round(tile.getPos().x);
+		int y = Math.round(tile.getPos().y);
+		if (y < 0 || y >= this.height) {
+			return false;
+		}
+		if (x < this.evictedBefore) {
+			GameElementPool.release(tile);
+			return true;
+		}
+		this.ensureColumn(x);
+		int idx = this.index(x);
+		if (this.columns[idx] == null) {
+			this.columns[idx] = new Inanimate[this.height];
+		}
+		Inanimate replaced = this.columns[idx][y];
+		if (replaced == null) {
+			this.size++;
+		} else if (replaced != tile) {
+			GameElementPool.release(replaced);
+		}
+		this.columns[idx][y] = tile;
+		// tiles may reach into the neighboring chunks
+		this.chunks.remove(TileMap.chunkOf(x - 1));
+		this.chunks.remove(TileMap.chunkOf(x));
+		this.chunks.remove(TileMap.chunkOf(x + 1));
+		return true;
+	}
+
+	/**
+	 * Get the tile at a cell.
+	 *
+	 * @param x
+	 *            the x position of the cell
+	 * @param y
+	 *            the y position of the cell
+	 * @return the tile or {@code null} if none
+	 */
+	public Inanimate get(int x, int y) {
+		if (y < 0 || y >= this.height || x < this.firstX || x >= this.firstX + this.width) {
+			return null;
+		}
+		Inanimate[] column = this.columns[this.index(x)];
+		return column == null ? null : column[y];
+	}
+
+	/**
+	 * Evict all columns before a x position. The evicted tiles will be
+	 * released to the {@link GameElementPool}.
+	 *
+	 * @param x
+	 *            the first x position which shall be kept
+	 */
+	public void evictBefore(int x) {
+		if (x <= this.evictedBefore) {
+			return;
+		}
+		this.evictedBefore = x;
+		this.chunks.keySet().removeIf(chunk -> (chunk + 1) * TileMap.CHUNK_WIDTH <= x);
+		while (this.width > 0 && this.firstX < x) {
+			Inanimate[] column = this.columns[this.head];
+			if (column != null) {
+				for (int y = 0; y < this.height; y++) {
+					if (column[y] != null) {
+						GameElementPool.release(column[y]);
+						column[y] = null;
+						this.size--;
+					}
+				}
+			}
+			this.head = (this.head + 1) % this.columns.length;
+			this.firstX++;
+			this.width--;
+		}
+	}
+
+	/**
+	 * Apply a function to all tiles (column by column).
+	 *
+	 * @param function
+	 *            the function
+	 */
+	public void forEach(Consumer<? super Inanimate> function) {
+		for (int i = 0; i < this.width; i++) {
+			Inanimate[] column = this.columns[(this.head + i) % this.columns.length];
+			if (column == null) {
+				continue;
+			}
+			for (Inanimate tile : column) {
+				if (tile != null) {
+					function.accept(tile);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Apply a function to the tiles of a range of columns (column by column).
+	 * Only the columns in the range will be visited.
+	 *
+	 * @param fromX
+	 *            the x position of the first column (inclusive)
+	 * @param toX
+	 *            the x position of the last column (exclusive)
+	 * @param function
+	 *            the function
+	 */
+	public void forEach(int fromX, int toX, Consumer<? super Inanimate> function) {
+		int end = Math.min(toX, this.firstX + this.width);
+		for (int x = Math.max(fromX, this.firstX); x < end; x++) {
+			Inanimate[] column = this.columns[this.index(x)];
+			if (column == null) {
+				continue;
+			}
+			for (Inanimate tile : column) {
+				if (tile != null) {
+					function.accept(tile);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Render the tiles of a range of columns chunk by chunk. Each chunk will
+	 * be recorded once and passed to
+	 * {@link GameGrid#drawCached(RenderFrame, Vec, Vec)}, so a grid can draw
+	 * it as one cached image until a tile of the chunk changes.
+	 *
+	 * @param fromX
+	 *            the x position of the first column (inclusive)
+	 * @param toX
+	 *            the x position of the last column (exclusive)
+	 * @param grid
+	 *            the grid
+	 */
+	public void renderChunks(int fromX, int toX, GameGrid grid) {
+		int end = Math.min(toX, this.firstX + this.width);
+		for (int chunk = TileMap.chunkOf(Math.max(fromX, this.firstX)); chunk * TileMap.CHUNK_WIDTH < end; chunk++) {
+			Chunk content = this.chunks.get(chunk);
+			if (content == null) {
+				content = this.recordChunk(chunk);
+				this.chunks.put(chunk, content);
+			}
+			if (content.content.size() != 0) {
+				grid.drawCached(content.content, content.pos, content.size);
+			}
+		}
+	}
+
+	/**
+	 * Record the tiles of a chunk.
+	 *
+	 * @param chunk
+	 *            the index of the chunk
+	 * @return the recorded chunk
+	 */
+	private Chunk recordChunk(int chunk) {
+		RenderFrame content = new RenderFrame();
+		GameGrid recorder = content.getRecorder();
+		// the tiles of the neighboring columns may reach into the chunk
+		int start = chunk * TileMap.CHUNK_WIDTH;
+		this.forEach(start - 1, start + TileMap.CHUNK_WIDTH + 1, tile -> tile.render(recorder));
+		// a tile at (x,y) covers [x-0.5,x+0.5] x [y-0.5,y+0.5]
+		Vec center = new Vec(start + (TileMap.CHUNK_WIDTH - 1) / 2f, (this.height - 1) / 2f);
+		return new Chunk(content, center, this.chunkSize);
+	}
+
+	/**
+	 * Get the index of the chunk of a column.
+	 *
+	 * @param x
+	 *            the x position of the column
+	 * @return the index of the chunk
+	 */
+	private static int chunkOf(int x) {
+		return Math.floorDiv(x, TileMap.CHUNK_WIDTH);
+	}
+
+	/**
+	 * Get the x position of the first stored column.
+	 *
+	 * @return the x position of the first column
+	 */
+	public int getFirstX() {
+		return this.firstX;
+	}
+
+	/**
+	 * Get the x position after the last stored column.
+	 *
+	 * @return the x position after the last column
+	 */
+	public int getEndX() {
+		return this.firstX + this.width;
+	}
+
+	/**
+	 * Get the height of the columns.
+	 *
+	 * @return the height
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+
+	/**
+	 * Get the amount of stored tiles.
+	 *
+	 * @return the amount of tiles
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Make sure that a column exists for a x position.
+	 *
+	 * @param x
+	 *            the x position
+	 */
+	private void ensureColumn(int x) {
+		if (this.width == 0) {
+			this.head = 0;
+			this.firstX = x;
+			this.width = 1;
+			return;
+		}
+		if (x < this.firstX) {
+			int add = this.firstX - x;
+			this.grow(this.width + add, add);
+			this.head = (this.head - add + this.columns.length) % this.columns.length;
+			this.firstX = x;
+			this.width += add;
+		} else if (x >= this.firstX + this.width) {
+			int newWidth = x - this.firstX + 1;
+			this.grow(newWidth, 0);
+			this.width = newWidth;
+		}
+	}
+
+	/**
+	 * Make sure that the ring buffer can hold a certain amount of columns.
+	 *
+	 * @param minCapacity
+	 *            the amount of columns
+	 * @param shift
+	 *            the amount of free columns to keep before the first column
+	 *            when the buffer has to be reallocated
+	 */
+	private void grow(int minCapacity, int shift) {
+		if (minCapacity <= this.columns.length) {
+			return;
+		}
+		Inanimate[][] newColumns = new Inanimate[Math.max(minCapacity, 2 * this.columns.length)][];
+		for (int i = 0; i < this.width; i++) {
+			newColumns[shift + i] = this.columns[(this.head + i) % this.columns.length];
+		}
+		this.columns = newColumns;
+		this.head = shift;
+	}
+
+	/**
+	 * Get the index of a column in {@link #columns}.
+	 *
+	 * @param x
+	 *            the x position (has to be stored)
+	 * @return the index
+	 */
+	private int index(int x) {
+		return (this.head + x - this.firstX) % this.columns.length;
+	}
+
+	/**
+	 * A recorded chunk with its position and size (see
+	 * {@link GameGrid#drawCached(RenderFrame, Vec, Vec)}).
+	 *
+	 */
+	private static final class Chunk {
+		/**
+		 * The recorded tiles.
+		 */
+		private final RenderFrame content;
+		/**
+		 * The position of the center of the chunk.
+		 */
+		private final Vec pos;
+		/**
+		 * The size of the chunk.
+		 */
+		private final Vec size;
+
+		/**
+		 * Create a new chunk.
+		 *
+		 * @param content
+		 *            the recorded tiles
+		 * @param pos
+		 *            the position of the center of the chunk
+		 * @param size
+		 *            the size of the chunk
+		 */
+		private Chunk(RenderFrame content, Vec pos, Vec size) {
+			this.content = content;
+			this.pos = pos;
+			this.size = size;
+		}
+	}
+}
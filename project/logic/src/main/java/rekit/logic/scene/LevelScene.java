@@ -10,13 +10,18 @@ import java.util.function.Consumer;
 
 import rekit.config.GameConf;
 import rekit.core.CameraTarget;
+import rekit.core.GameGrid;
 import rekit.core.ShutdownManager;
+import rekit.logic.DeferredCommands;
 import rekit.logic.GameModel;
 import rekit.logic.ILevelScene;
+import rekit.logic.collision.SpatialHash;
 import rekit.logic.filters.GrayScaleMode;
 import rekit.logic.gameelements.GameElement;
 import rekit.logic.gameelements.GameElementFactory;
 import rekit.logic.gameelements.entities.Player;
+import rekit.logic.gameelements.inanimate.Inanimate;
+import rekit.logic.gameelements.particles.ParticleSystem;
 import rekit.logic.gui.LifeGui;
 import rekit.logic.gui.ScoreGui;
 import rekit.logic.gui.Text;
@@ -31,11 +36,16 @@ import rekit.logic.gui.parallax.HeapLayer;
 import rekit.logic.gui.parallax.ParallaxContainer;
 import rekit.logic.gui.parallax.TriangulationLayer;
 import rekit.logic.level.Level;
+import rekit.logic.level.TileMap;
 import rekit.persistence.level.LevelType;
 import rekit.primitives.TextOptions;
+import rekit.primitives.geometry.Direction;
+import rekit.primitives.geometry.Frame;
 import rekit.primitives.geometry.Vec;
 import rekit.primitives.time.Timer;
 import rekit.util.CalcUtil;
+import rekit.util.profile.Phase;
+import rekit.util.profile.Profiler;
 
 /**
  * Scene that holds a playable Level created by a LevelCreator. Different Levels
@@ -94,6 +104,14 @@ public abstract class LevelScene extends Scene implements ILevelScene {
 	 * The handler for {@link #attack(boolean)} of the user.
 	 */
 	private Consumer<Boolean> attackHandler = LevelScene.DEFAULT_ATTACK;
+	/**
+	 * The broad phase for {@link #checkCollisions()}.
+	 */
+	private final SpatialHash collisionHash = new SpatialHash();
+	/**
+	 * The particle system of the scene.
+	 */
+	private ParticleSystem particleSystem;
 
 	private static final Consumer<Boolean> DEFAULT_ATTACK = (a) -> System.out.println("Great Attack! (" + a + ")");
 
@@ -115,11 +133,14 @@ public abstract class LevelScene extends Scene implements ILevelScene {
 	@Override
 	public void init() {
 		super.init();
+		this.collisionHash.clear();
 		this.level.reset();
 		this.offsetWildCard = false;
 		// Create Player and add him to game
 		this.cameraTarget = this.player;
 		this.addGameElement(this.player);
+		this.particleSystem = new ParticleSystem();
+		this.addGameElement(this.particleSystem);
 
 		// Init EnemyFactory with model
 		GameElementFactory.setScene(this);
@@ -131,7 +152,7 @@ public abstract class LevelScene extends Scene implements ILevelScene {
 		TextOptions op = new TextOptions(new Vec(-0.5f, -0.5f), 40, GameConf.GAME_TEXT_COLOR, GameConf.GAME_TEXT_FONT, Font.BOLD);
 		Text levelText = new Text(this, op).setText(this.level.getName());
 		levelText.setPos(CalcUtil.units2pixel(new Vec(GameConf.GRID_W / 2f, GameConf.GRID_H / 2f)));
-		this.addGuiElement(new TimeDecorator(this, levelText, new Timer(5000)));
+		this.addGuiElement(new TimeDecorator(this, levelText, new Timer(5000, this::getClock)));
 
 		this.createPauseMenu();
 
@@ -194,7 +215,7 @@ public abstract class LevelScene extends Scene implements ILevelScene {
 
 		// show end menu after the specified time
 		if (delay >= 0) {
-			Timer.execute(delay, () -> this.showEndMenu(won));
+			this.getJobs().schedule(delay, () -> this.showEndMenu(won));
 		}
 	}
 
@@ -253,7 +274,7 @@ public abstract class LevelScene extends Scene implements ILevelScene {
 
 		Text levelText = new Text(this, op).setText(won ? "You won the game!" : "You lost the game!");
 		levelText.setPos(CalcUtil.units2pixel(new Vec(GameConf.GRID_W / 2f, GameConf.GRID_H / 2f)));
-		this.addGuiElement(new TimeDecorator(this, levelText, new Timer(2000)));
+		this.addGuiElement(new TimeDecorator(this, levelText, new Timer(2000, this::getClock)));
 		if (won) {
 			this.getModel().removeFilter();
 		} else {
@@ -293,6 +314,11 @@ public abstract class LevelScene extends Scene implements ILevelScene {
 		}
 
 		this.parallax.logicLoop(this.getCameraOffset());
+
+		// evict static terrain that is behind the camera
+		if (!this.isOffsetWildCard()) {
+			this.level.getTiles().evictBefore((int) Math.ceil(this.getCameraOffset() - GameConf.GRID_W - 1));
+		}
 	}
 
 	@Override
@@ -301,16 +327,92 @@ public abstract class LevelScene extends Scene implements ILevelScene {
 			return;
 		}
 
+		long start = Profiler.start();
 		this.checkCollisions();
+		Profiler.stop(Phase.COLLIDE, this.getClass(), start);
 		if (this.player.getDeleteMe()) {
 			this.end(false);
 		}
 	}
 
+	@Override
+	protected boolean addStaticGameElement(GameElement element) {
+		return element instanceof Inanimate && ((Inanimate) element).isStaticTile() && this.level.getTiles().set((Inanimate) element);
+	}
+
+	@Override
+	protected void applyToStaticGameElements(Consumer<GameElement> function) {
+		this.level.getTiles().forEach(function);
+	}
+
+	@Override
+	protected void applyToStaticGameElementsInView(float fromOffset, float toOffset, Consumer<GameElement> function) {
+		this.level.getTiles().forEach(LevelScene.firstColumnInView(fromOffset, toOffset), LevelScene.endColumnInView(fromOffset, toOffset), function);
+	}
+
+	@Override
+	protected void renderStaticGameElementsInView(float fromOffset, float toOffset, GameGrid grid, Consumer<GameElement> render) {
+		if (!GameConf.TERRAIN_CHUNKS) {
+			super.renderStaticGameElementsInView(fromOffset, toOffset, grid, render);
+			return;
+		}
+		this.level.getTiles().renderChunks(LevelScene.firstColumnInView(fromOffset, toOffset), LevelScene.endColumnInView(fromOffset, toOffset), grid);
+	}
+
 	/**
-	 * Check and Threat collisions.
+	 * Get the first column of the {@link TileMap} which may be visible for a
+	 * camera moving between two offsets.
+	 *
+	 * @param fromOffset
+	 *            the first camera offset
+	 * @param toOffset
+	 *            the second camera offset
+	 * @return the x position of the first column (inclusive)
+	 */
+	private static int firstColumnInView(float fromOffset, float toOffset) {
+		// a tile at x covers [x-0.5,x+0.5], one more column for the margin
+		return (int) Math.floor(Math.min(fromOffset, toOffset)) - 1;
+	}
+
+	/**
+	 * Get the end of the columns of the {@link TileMap} which may be visible
+	 * for a camera moving between two offsets.
+	 *
+	 * @param fromOffset
+	 *            the first camera offset
+	 * @param toOffset
+	 *            the second camera offset
+	 * @return the x position of the last column (exclusive)
 	 */
-	private void checkCollisions() {
+	private static int endColumnInView(float fromOffset, float toOffset) {
+		return (int) Math.ceil(Math.max(fromOffset, toOffset)) + GameConf.GRID_W + 2;
+	}
+
+	@Override
+	protected void gameElementAdded(GameElement element) {
+		this.collisionHash.add(element);
+	}
+
+	@Override
+	protected void gameElementRemoved(GameElement element) {
+		this.collisionHash.remove(element);
+	}
+
+	/**
+	 * Check and Threat collisions. Uses the {@link SpatialHash} if
+	 * {@link GameConf#SPATIAL_COLLISIONS} is set, otherwise all pairs of
+	 * elements will be checked. Collisions with static terrain will be
+	 * checked by cell lookups in the {@link TileMap}.
+	 */
+	protected final void checkCollisions() {
+		this.applyToNonNeutralGameElements(this::checkTileCollisions);
+		if (GameConf.SPATIAL_COLLISIONS) {
+			this.collisionHash.forEachCandidatePair((e1, e2) -> {
+				e1.checkCollision(e2);
+				e2.checkCollision(e1);
+			});
+			return;
+		}
 		Set<GameElement> elements = new HashSet<>();
 		this.applyToNonNeutralGameElements(elements::add);
 		for (GameElement e1 : elements) {
@@ -321,11 +423,41 @@ public abstract class LevelScene extends Scene implements ILevelScene {
 		}
 	}
 
+	/**
+	 * Check and Threat collisions of an element with the static terrain.
+	 *
+	 * @param element
+	 *            the element
+	 */
+	private void checkTileCollisions(GameElement element) {
+		TileMap tiles = this.level.getTiles();
+		Frame frame = element.getFrame();
+		// a tile at (x,y) covers [x-0.5,x+0.5] x [y-0.5,y+0.5]
+		int minX = Math.max(tiles.getFirstX(), (int) Math.floor(frame.getBorder(Direction.LEFT) + 0.5f));
+		int maxX = Math.min(tiles.getEndX() - 1, (int) Math.floor(frame.getBorder(Direction.RIGHT) + 0.5f));
+		int minY = Math.max(0, (int) Math.floor(frame.getBorder(Direction.DOWN) + 0.5f));
+		int maxY = Math.min(tiles.getHeight() - 1, (int) Math.floor(frame.getBorder(Direction.UP) + 0.5f));
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				Inanimate tile = tiles.get(x, y);
+				if (tile != null) {
+					tile.checkCollision(element);
+					element.checkCollision(tile);
+				}
+			}
+		}
+	}
+
 	@Override
 	public Player getPlayer() {
 		return this.player;
 	}
 
+	@Override
+	public ParticleSystem getParticleSystem() {
+		return this.particleSystem;
+	}
+
 	@Override
 	public float getCameraOffset() {
 		return this.cameraTarget.getCameraOffset();
@@ -333,6 +465,9 @@ public abstract class LevelScene extends Scene implements ILevelScene {
 
 	@Override
 	public void setCameraTarget(CameraTarget cameraTarget) {
+		if (DeferredCommands.isRecording() && DeferredCommands.defer(() -> this.setCameraTarget(cameraTarget))) {
+			return;
+		}
 		this.cameraTarget = cameraTarget;
 	}
 
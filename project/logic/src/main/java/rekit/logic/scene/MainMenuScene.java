@@ -97,6 +97,18 @@ final class MainMenuScene extends Scene {
 		MenuList settings = new MenuList(this, "Settings");
 		settings.addItem(//
 				new BoolSetting(this, "Debug Mode", "DEBUG"), //
+				new BoolSetting(this, "Spatial Collisions", "SPATIAL_COLLISIONS"), //
+				new BoolSetting(this, "Element Pooling", "ELEMENT_POOLING"), //
+				new BoolSetting(this, "Parallel Update", "PARALLEL_UPDATE"), //
+				new BoolSetting(this, "View Culling", "VIEW_CULLING"), //
+				new BoolSetting(this, "Terrain Chunks", "TERRAIN_CHUNKS"), //
+				new BoolSetting(this, "Post-Process Filters", "POST_PROCESS_FILTERS"), //
+				new BoolSetting(this, "Volatile Sprites", "VOLATILE_SPRITES"), //
+				new BoolSetting(this, "Tiled Rendering", "TILED_RENDERING"), //
+				new BoolSetting(this, "Raster Rendering", "RASTER_RENDERING"), //
+				new BoolSetting(this, "Uncapped Frames", "UNCAPPED_FRAMES"), //
+				new BoolSetting(this, "Adaptive Frames", "ADAPTIVE_FRAMES"), //
+				new BoolSetting(this, "Profiling", "PROFILING"), //
 				new MenuActionItem(this, "Open Config",
 						LambdaConvert.wrap(() -> Desktop.getDesktop().open(DirFileDefinitions.BASE), e -> GameConf.GAME_LOGGER.fatal(e.getMessage()))) //
 		);
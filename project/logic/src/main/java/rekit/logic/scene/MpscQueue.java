@@ -0,0 +1,93 @@
+package rekit.logic.scene;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A lock-free multi-producer single-consumer queue. Producers push with one
+ * CAS, the consumer takes all pending items at once (see
+ * {@link #drain(Consumer)}), so a consumer can never be starved by producers
+ * which keep offering items while it drains.
+ *
+ * @param <E>
+ *            the type of the items
+ */
+final class MpscQueue<E> {
+	/**
+	 * The most recently offered item (the pending items form a stack).
+	 */
+	private final AtomicReference<Node<E>> head = new AtomicReference<>();
+
+	/**
+	 * Offer an item (may be invoked by any thread).
+	 *
+	 * @param item
+	 *            the item
+	 */
+	void offer(E item) {
+		Node<E> node = new Node<>(item);
+		Node<E> current;
+		do {
+			current = this.head.get();
+			node.next = current;
+		} while (!this.head.compareAndSet(current, node));
+	}
+
+	/**
+	 * Take all items which have been offered until now and apply a function
+	 * to them in the order they have been offered (only invoked by the
+	 * consumer). Items offered while draining will be kept for the next drain.
+	 *
+	 * @param function
+	 *            the function
+	 */
+	void drain(Consumer<? super E> function) {
+		Node<E> node = this.head.getAndSet(null);
+		// reverse stack to restore the order of offering
+		Node<E> fifo = null;
+		while (node != null) {
+			Node<E> next = node.next;
+			node.next = fifo;
+			fifo = node;
+			node = next;
+		}
+		while (fifo != null) {
+			function.accept(fifo.item);
+			fifo = fifo.next;
+		}
+	}
+
+	/**
+	 * Drop all pending items.
+	 */
+	void clear() {
+		this.head.set(null);
+	}
+
+	/**
+	 * A node of {@link MpscQueue}.
+	 *
+	 * @param <E>
+	 *            the type of the item
+	 */
+	private static final class Node<E> {
+		/**
+		 * The item.
+		 */
+		private final E item;
+		/**
+		 * The next node.
+		 */
+		private Node<E> next;
+
+		/**
+		 * Create a new node.
+		 *
+		 * @param item
+		 *            the item
+		 */
+		private Node(E item) {
+			this.item = item;
+		}
+	}
+}
@@ -1,26 +1,33 @@
 package rekit.logic.scene;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Queue;
-import java.util.TreeMap;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
 
 import rekit.config.GameConf;
 import rekit.core.CameraTarget;
-import rekit.core.GameTime;
+import rekit.core.Clock;
+import rekit.core.GameGrid;
+import rekit.core.Team;
+import rekit.logic.DeferredCommands;
 import rekit.logic.GameModel;
 import rekit.logic.ILevelScene;
 import rekit.logic.IScene;
+import rekit.logic.gameelements.ElementStore;
 import rekit.logic.gameelements.GameElement;
+import rekit.logic.gameelements.GameElementPool;
 import rekit.logic.gui.GuiElement;
+import rekit.primitives.time.TimerWheel;
 import rekit.util.LambdaUtil;
 import rekit.util.Once;
+import rekit.util.profile.Phase;
+import rekit.util.profile.Profiler;
 
 /**
  * Based on the concept of scenes in Unity. <br>
@@ -40,6 +47,10 @@ abstract class Scene implements CameraTarget, IScene {
 	 * The model.
 	 */
 	private GameModel model;
+	/**
+	 * The jobs of the scene (see {@link #getJobs()}).
+	 */
+	private final TimerWheel jobs;
 	/**
 	 * All gui elements.
 	 */
@@ -47,24 +58,33 @@ abstract class Scene implements CameraTarget, IScene {
 	/**
 	 * All game elements.
 	 */
-	private Queue<GameElement>[] gameElements;
+	private final ElementStore gameElements = new ElementStore();
 	/**
-	 * GameElements which shall be added.
+	 * GameElements which shall be added (lock-free, may be filled by any
+	 * thread).
 	 */
-	private Queue<GameElement> gameElementAddQueue;
+	private final MpscQueue<GameElement> gameElementAddQueue = new MpscQueue<>();
 	/**
-	 * GameElements which shall be removed.
+	 * GameElements which shall be removed (lock-free, may be filled by any
+	 * thread).
 	 */
-	private Queue<GameElement> gameElementRemoveQueue;
+	private final MpscQueue<GameElement> gameElementRemoveQueue = new MpscQueue<>();
 
 	/**
-	 * Stats of the gameElements for debugging.
+	 * The current run of parallel updatable elements of
+	 * {@link #updateInParallel()}.
+	 */
+	private final List<GameElement> parallelLane = new ArrayList<>();
+	/**
+	 * The command buffers of the chunks of {@link #parallelLane}.
 	 */
-	private Map<String, Long> gameElementDurations = new TreeMap<>();
+	private DeferredCommands[] chunkCommands = new DeferredCommands[0];
 	/**
-	 * The lock to synchronize access to {@link #gameElementDurations}.
+	 * The seeds of the random generators of the chunks of
+	 * {@link #parallelLane}.
 	 */
-	private final Lock gameElementDurationsLock = new ReentrantLock();
+	private long[] chunkSeeds = new long[0];
+
 	/**
 	 * Indicates whether the scene is paused.
 	 */
@@ -76,11 +96,15 @@ abstract class Scene implements CameraTarget, IScene {
 	/**
 	 * Last time of invoking {@link #logicLoop()}.
 	 */
-	private long lastTime = GameTime.getTime();
+	private long lastTime;
 	/**
 	 * The latest deltaTime in {@link #logicLoop()}.
 	 */
 	protected long deltaTime;
+	/**
+	 * The camera offset before the latest tick.
+	 */
+	private float lastCameraOffset = Float.NaN;
 	/**
 	 * This indicates whether this scene is a ILevelScene.
 	 */
@@ -99,22 +123,20 @@ abstract class Scene implements CameraTarget, IScene {
 	 */
 	Scene(GameModel model) {
 		this.model = model;
+		this.lastTime = this.getClock().getTime();
+		// one tick per logic step, aligned to the clock of the model
+		this.jobs = new TimerWheel(Math.max(1, GameConf.LOGIC_DELTA), this.lastTime);
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public synchronized void init() {
-		// Byte: [-128, 127]
-		final int length = 256;
 		this.guiElements = new ConcurrentLinkedDeque<>();
+		this.jobs.clear();
 
-		this.gameElements = (Queue<GameElement>[]) new Queue<?>[length];
-		for (int i = 0; i < this.gameElements.length; i++) {
-			this.gameElements[i] = new ArrayDeque<>();
-		}
-
-		this.gameElementAddQueue = new ArrayDeque<>();
-		this.gameElementRemoveQueue = new ArrayDeque<>();
+		this.gameElements.clear();
+		this.gameElementAddQueue.clear();
+		this.gameElementRemoveQueue.clear();
+		this.lastCameraOffset = Float.NaN;
 
 		// never start the game in paused state
 		this.setPause(false);
@@ -126,9 +148,9 @@ abstract class Scene implements CameraTarget, IScene {
 			return false;
 		}
 		if (this.paused) {
-			GameTime.resume();
+			this.getClock().resume();
 		} else {
-			GameTime.pause();
+			this.getClock().pause();
 		}
 		this.paused = !this.paused;
 		return true;
@@ -142,37 +164,141 @@ abstract class Scene implements CameraTarget, IScene {
 	@Override
 	public void setPause(boolean pause) {
 		if (pause) {
-			GameTime.pause();
+			this.getClock().pause();
 		} else {
-			GameTime.resume();
+			this.getClock().resume();
 		}
 		this.paused = pause;
 	}
 
 	@Override
 	public final void logicLoop() {
-		this.deltaTime = GameTime.getTime() - this.lastTime;
+		this.deltaTime = this.getClock().getTime() - this.lastTime;
 		this.lastTime += this.deltaTime;
 		this.innerLogicLoop();
 	}
 
 	/**
-	 * This method will be invoked in {@link #logicLoop()}.
+	 * This method will be invoked in {@link #logicLoop()}. The phases will be
+	 * measured by the {@link Profiler}.
 	 */
 	protected synchronized void innerLogicLoop() {
+		this.lastCameraOffset = this.getCameraOffset();
+		long start = Profiler.start();
 		this.logicLoopPre();
+		start = Profiler.lap(Phase.PRE, this.getClass(), start);
 		// add GameElements that have been added
 		this.addGameElements();
+		Profiler.stop(Phase.ADD, this.getClass(), start);
 		if (!this.paused) {
-			// iterate all GameElements to invoke logicLoop
-			Arrays.stream(this.gameElements).forEach(list -> list.forEach(this::logicLoopGameElement));
+			if (GameConf.PARALLEL_UPDATE) {
+				this.updateInParallel();
+			} else {
+				// iterate all GameElements to invoke logicLoop
+				this.gameElements.forEach(this::logicLoopGameElement);
+			}
 		}
 		// remove GameElements that must be removed
+		start = Profiler.start();
 		this.removeGameElements();
+		Profiler.stop(Phase.REMOVE, this.getClass(), start);
 		this.logicLoopAfter();
 		// after all game related logic update GuiElements
-		this.guiElements.forEach(e -> e.logicLoop());
+		this.guiElements.forEach(this::logicLoopGuiElement);
+
+	}
+
+	/**
+	 * Invoke {@link GuiElement#logicLoop()} for a gui element.
+	 *
+	 * @param e
+	 *            the element
+	 */
+	private void logicLoopGuiElement(GuiElement e) {
+		long start = Profiler.start();
+		e.logicLoop();
+		Profiler.stop(Phase.GUI, e.getClass(), start);
+	}
 
+	/**
+	 * Invoke {@link #logicLoopGameElement(GameElement)} for all game elements
+	 * in parallel. Consecutive elements (in the order of their z-layers) which
+	 * are {@link GameElement#isParallelUpdatable() parallel updatable} will be
+	 * collected in runs; every other element ends the current run (see
+	 * {@link #updateParallelLane()}) and will be updated serially afterwards,
+	 * so the elements are updated in the same order as without parallel
+	 * updating.
+	 */
+	private void updateInParallel() {
+		try {
+			this.gameElements.forEach(e -> {
+				if (e.isParallelUpdatable()) {
+					this.parallelLane.add(e);
+					return;
+				}
+				this.updateParallelLane();
+				this.logicLoopGameElement(e);
+			});
+			this.updateParallelLane();
+		} finally {
+			this.parallelLane.clear();
+		}
+	}
+
+	/**
+	 * Update the current run of {@link #parallelLane} in parallel and clear
+	 * it. The run will be split into chunks which are updated by
+	 * {@link #UPDATE_POOL}. Commands deferred by the elements (see
+	 * {@link DeferredCommands}) will be applied chunk by chunk afterwards;
+	 * every chunk uses its own seeded random generator (see
+	 * {@link DeferredCommands#random()}).
+	 */
+	private void updateParallelLane() {
+		int chunks = (this.parallelLane.size() + Scene.CHUNK_SIZE - 1) / Scene.CHUNK_SIZE;
+		if (chunks == 0) {
+			return;
+		}
+		if (this.chunkCommands.length < chunks) {
+			this.chunkCommands = Arrays.copyOf(this.chunkCommands, chunks);
+			for (int i = 0; i < chunks; i++) {
+				if (this.chunkCommands[i] == null) {
+					this.chunkCommands[i] = new DeferredCommands();
+				}
+			}
+			this.chunkSeeds = new long[chunks];
+		}
+		// seeds are drawn here (in order), so the chunks are deterministic
+		for (int i = 0; i < chunks; i++) {
+			this.chunkSeeds[i] = GameConf.PRNG.nextLong();
+		}
+		try {
+			if (chunks == 1) {
+				this.updateChunk(0);
+			} else {
+				Scene.UPDATE_POOL.invoke(new ChunkUpdate(this, 0, chunks));
+			}
+			for (int i = 0; i < chunks; i++) {
+				this.chunkCommands[i].apply();
+			}
+		} finally {
+			this.parallelLane.clear();
+		}
+	}
+
+	/**
+	 * Update one chunk of {@link #parallelLane} and record its commands.
+	 *
+	 * @param chunk
+	 *            the index of the chunk
+	 */
+	private void updateChunk(int chunk) {
+		int from = chunk * Scene.CHUNK_SIZE;
+		int to = Math.min(from + Scene.CHUNK_SIZE, this.parallelLane.size());
+		this.chunkCommands[chunk].record(this.chunkSeeds[chunk], () -> {
+			for (int i = from; i < to; i++) {
+				this.logicLoopGameElement(this.parallelLane.get(i));
+			}
+		});
 	}
 
 	/**
@@ -201,35 +327,10 @@ abstract class Scene implements CameraTarget, IScene {
 			return;
 		}
 
-		// Debug: Save time before logicLoop
-		long timeBefore = 0;
-		if (GameConf.DEBUG) {
-			timeBefore = GameTime.getTime();
-		}
-
+		e.rememberPos();
+		long start = Profiler.start();
 		e.logicLoop();
-		this.debug(e, timeBefore);
-	}
-
-	// Debug: Compare and save logicLoop Duration
-	private void debug(GameElement e, long timeBefore) {
-		if (GameConf.DEBUG) {
-			try {
-				this.gameElementDurationsLock.lock();
-				long timeAfter = GameTime.getTime();
-				String clazz = e.getClass().getSimpleName();
-				long dur = (timeAfter - timeBefore);
-				if (this.gameElementDurations.containsKey(clazz)) {
-					long newTime = this.gameElementDurations.get(clazz) + dur;
-					this.gameElementDurations.put(clazz, newTime);
-				} else {
-					this.gameElementDurations.put(clazz, dur);
-				}
-			} finally {
-				this.gameElementDurationsLock.unlock();
-			}
-		}
-
+		Profiler.stop(Phase.UPDATE, e.getClass(), start);
 	}
 
 	/**
@@ -243,10 +344,11 @@ abstract class Scene implements CameraTarget, IScene {
 	 */
 	@Override
 	public void addGameElement(GameElement element) {
-		synchronized (this.gameElementAddQueue) {
-			// Put GameElement in waiting list
-			this.gameElementAddQueue.add(element);
+		if (DeferredCommands.isRecording() && DeferredCommands.defer(() -> this.addGameElement(element))) {
+			return;
 		}
+		// Put GameElement in waiting list
+		this.gameElementAddQueue.offer(element);
 	}
 
 	/**
@@ -258,15 +360,12 @@ abstract class Scene implements CameraTarget, IScene {
 			LambdaUtil.invoke(this.isNoLevelSceneMsg);
 			return;
 		}
-		synchronized (this.gameElementAddQueue) {
-			Iterator<GameElement> it = this.gameElementAddQueue.iterator();
-			while (it.hasNext()) {
-				GameElement element = it.next();
-				this.gameElements[Scene.zToIndex(element.getZ())].add(element);
-				element.setScene((ILevelScene) this);
+		this.gameElementAddQueue.drain(element -> {
+			element.setScene((ILevelScene) this);
+			if (!this.addStaticGameElement(element) && this.gameElements.add(element)) {
+				this.gameElementAdded(element);
 			}
-			this.gameElementAddQueue.clear();
-		}
+		});
 
 	}
 
@@ -281,20 +380,110 @@ abstract class Scene implements CameraTarget, IScene {
 	 */
 	@Override
 	public void markForRemove(GameElement element) {
-		synchronized (this.gameElementRemoveQueue) {
-			this.gameElementRemoveQueue.add(element);
+		if (DeferredCommands.isRecording() && DeferredCommands.defer(() -> this.markForRemove(element))) {
+			return;
 		}
+		this.gameElementRemoveQueue.offer(element);
 	}
 
 	/**
 	 * Internal method to remove all waiting GameElements. See removeGameElement
-	 * for more info.
+	 * for more info. Removed elements will be released to the
+	 * {@link GameElementPool}. Each removal takes O(1).
 	 */
 	private void removeGameElements() {
-		synchronized (this.gameElementRemoveQueue) {
-			this.gameElementRemoveQueue.forEach(e -> this.gameElements[Scene.zToIndex(e.getZ())].remove(e));
-			this.gameElementRemoveQueue.clear();
-		}
+		this.gameElementRemoveQueue.drain(e -> {
+			if (this.gameElements.remove(e)) {
+				this.gameElementRemoved(e);
+				GameElementPool.release(e);
+			}
+		});
+	}
+
+	/**
+	 * Offer a {@link GameElement} to a separate store for static elements.
+	 * Static elements will not be updated in {@link #logicLoop()} but will be
+	 * passed to {@link #applyToGameElements(Consumer)}.
+	 *
+	 * @param element
+	 *            the element
+	 * @return {@code true} if the element has been taken as static element,
+	 *         {@code false} otherwise
+	 * @see #applyToStaticGameElements(Consumer)
+	 */
+	protected boolean addStaticGameElement(GameElement element) {
+		return false;
+	}
+
+	/**
+	 * Apply a function to all static elements.
+	 *
+	 * @param function
+	 *            the function
+	 * @see #addStaticGameElement(GameElement)
+	 */
+	protected void applyToStaticGameElements(Consumer<GameElement> function) {
+	}
+
+	/**
+	 * Apply a function to all static elements which may be visible for a
+	 * camera moving between two offsets. The default implementation checks
+	 * every static element; scenes with a spatial index of their static
+	 * elements should only visit the visible part of it.
+	 *
+	 * @param fromOffset
+	 *            the first camera offset
+	 * @param toOffset
+	 *            the second camera offset
+	 * @param function
+	 *            the function
+	 * @see #applyToStaticGameElements(Consumer)
+	 */
+	protected void applyToStaticGameElementsInView(float fromOffset, float toOffset, Consumer<GameElement> function) {
+		this.applyToStaticGameElements(e -> {
+			if (e.isInView(fromOffset, toOffset)) {
+				function.accept(e);
+			}
+		});
+	}
+
+	/**
+	 * Render all static elements which may be visible for a camera moving
+	 * between two offsets. The default implementation passes them to the
+	 * render function (see
+	 * {@link #applyToStaticGameElementsInView(float, float, Consumer)}).
+	 *
+	 * @param fromOffset
+	 *            the first camera offset
+	 * @param toOffset
+	 *            the second camera offset
+	 * @param grid
+	 *            the grid
+	 * @param render
+	 *            the function which renders an element
+	 */
+	protected void renderStaticGameElementsInView(float fromOffset, float toOffset, GameGrid grid, Consumer<GameElement> render) {
+		this.applyToStaticGameElementsInView(fromOffset, toOffset, render);
+	}
+
+	/**
+	 * Will be invoked after a {@link GameElement} has been added to the
+	 * internal data structure.
+	 *
+	 * @param element
+	 *            the added element
+	 */
+	protected void gameElementAdded(GameElement element) {
+	}
+
+	/**
+	 * Will be invoked after a {@link GameElement} has been removed from the
+	 * internal data structure.
+	 *
+	 * @param element
+	 *            the removed element
+	 */
+	protected void gameElementRemoved(GameElement element) {
 	}
 
 	/**
@@ -315,16 +504,42 @@ abstract class Scene implements CameraTarget, IScene {
 
 	@Override
 	public synchronized void applyToGameElements(Consumer<GameElement> function) {
-		for (Queue<GameElement> level : this.gameElements) {
-			level.forEach(function::accept);
-		}
+		this.gameElements.forEach(0, Scene.STATIC_LAYER, function);
+		this.applyToStaticGameElements(function);
+		this.gameElements.forEach(Scene.STATIC_LAYER, ElementStore.LAYERS, function);
+	}
+
+	@Override
+	public synchronized void applyToGameElementsInView(float fromOffset, float toOffset, Consumer<GameElement> function) {
+		Consumer<GameElement> inView = e -> {
+			if (e.isInView(fromOffset, toOffset)) {
+				function.accept(e);
+			}
+		};
+		this.gameElements.forEach(0, Scene.STATIC_LAYER, inView);
+		this.applyToStaticGameElementsInView(fromOffset, toOffset, function);
+		this.gameElements.forEach(Scene.STATIC_LAYER, ElementStore.LAYERS, inView);
+	}
+
+	@Override
+	public synchronized void renderGameElementsInView(float fromOffset, float toOffset, GameGrid grid, Consumer<GameElement> render) {
+		Consumer<GameElement> inView = e -> {
+			if (e.isInView(fromOffset, toOffset)) {
+				render.accept(e);
+			}
+		};
+		this.gameElements.forEach(0, Scene.STATIC_LAYER, inView);
+		this.renderStaticGameElementsInView(fromOffset, toOffset, grid, render);
+		this.gameElements.forEach(Scene.STATIC_LAYER, ElementStore.LAYERS, inView);
 	}
 
 	@Override
 	public synchronized void applyToNonNeutralGameElements(Consumer<GameElement> function) {
-		for (Queue<GameElement> level : this.gameElements) {
-			level.stream().filter(e -> !e.getTeam().isNeutral()).forEach(function::accept);
-		}
+		this.gameElements.forEach(e -> {
+			if (!e.getTeam().isNeutral()) {
+				function.accept(e);
+			}
+		});
 	}
 
 	@Override
@@ -336,24 +551,16 @@ abstract class Scene implements CameraTarget, IScene {
 
 	@Override
 	public synchronized int getGameElementCount() {
-		int size = 0;
-		for (Queue<GameElement> queue : this.gameElements) {
-			size += queue.size();
-		}
-		return size;
+		return this.gameElements.size();
 	}
 
 	@Override
-	public Map<String, Long> getGameElementDurations() {
-		this.gameElementDurationsLock.lock();
-		try {
-			Map<String, Long> ret = this.gameElementDurations;
-			this.gameElementDurations = new TreeMap<>();
-			return ret;
-		} finally {
-			this.gameElementDurationsLock.unlock();
+	public float getCameraOffset(float alpha) {
+		float current = this.getCameraOffset();
+		if (Float.isNaN(this.lastCameraOffset) || this.paused) {
+			return current;
 		}
-
+		return this.lastCameraOffset + (current - this.lastCameraOffset) * alpha;
 	}
 
 	@Override
@@ -361,20 +568,85 @@ abstract class Scene implements CameraTarget, IScene {
 		return this.model;
 	}
 
+	@Override
+	public final Clock getClock() {
+		return this.model.getClock();
+	}
+
+	@Override
+	public final TimerWheel getJobs() {
+		return this.jobs;
+	}
+
 	@Override
 	public void setCanPause(boolean canPause) {
 		this.canPause = canPause;
 	}
 
 	/**
-	 * Get index based on z-value of position.
+	 * The amount of elements which will be updated as one task by
+	 * {@link #updateInParallel()}.
+	 */
+	private static final int CHUNK_SIZE = 64;
+	/**
+	 * The pool for {@link #updateInParallel()}.
+	 */
+	private static final ForkJoinPool UPDATE_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+		ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+		worker.setName("GameModel-Worker-" + worker.getPoolIndex());
+		return worker;
+	}, null, false);
+
+	/**
+	 * The index of the z-layer where static elements will be placed (see
+	 * {@link #applyToStaticGameElements(Consumer)}).
+	 */
+	private static final int STATIC_LAYER = ElementStore.layerOf(Team.INANIMATE.zRange.std);
+
+	/**
+	 * This task updates a range of chunks of {@link Scene#parallelLane} by
+	 * splitting it in halves.
 	 *
-	 * @param zvalue
-	 *            the zvalue
-	 * @return the index
 	 */
-	private static int zToIndex(byte zvalue) {
-		return zvalue + 128;
-	}
+	private static final class ChunkUpdate extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		/**
+		 * The scene.
+		 */
+		private final transient Scene scene;
+		/**
+		 * The first chunk (inclusive).
+		 */
+		private final int from;
+		/**
+		 * The last chunk (exclusive).
+		 */
+		private final int to;
+
+		/**
+		 * Create a new task.
+		 *
+		 * @param scene
+		 *            the scene
+		 * @param from
+		 *            the first chunk (inclusive)
+		 * @param to
+		 *            the last chunk (exclusive)
+		 */
+		private ChunkUpdate(Scene scene, int from, int to) {
+			this.scene = scene;
+			this.from = from;
+			this.to = to;
+		}
 
+		@Override
+		protected void compute() {
+			if (this.to - this.from == 1) {
+				this.scene.updateChunk(this.from);
+				return;
+			}
+			int mid = (this.from + this.to) >>> 1;
+			ForkJoinTask.invokeAll(new ChunkUpdate(this.scene, this.from, mid), new ChunkUpdate(this.scene, mid, this.to));
+		}
+	}
 }
@@ -0,0 +1,286 @@
+package rekit.logic.collision;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import rekit.core.Team;
+import rekit.logic.gameelements.GameElement;
+import rekit.primitives.geometry.Vec;
+
+/**
+ * Tests for {@link SpatialHash}.
+ *
+ */
+public class SpatialHashTest {
+	/**
+	 * The hash under test.
+	 */
+	private SpatialHash hash;
+	/**
+	 * The reported pairs (two elements per pair).
+	 */
+	private List<GameElement> pairs;
+
+	/**
+	 * Create an empty hash.
+	 */
+	@Before
+	public void setUp() {
+		this.hash = new SpatialHash();
+		this.pairs = new ArrayList<>();
+	}
+
+	/**
+	 * Create an element.
+	 *
+	 * @param x
+	 *            the x position (center)
+	 * @param y
+	 *            the y position (center)
+	 * @param size
+	 *            the width and height
+	 * @param team
+	 *            the team
+	 * @return the element
+	 */
+	private static GameElement element(float x, float y, float size, Team team) {
+		return new GameElement(new Vec(x, y), new Vec(), new Vec(size, size), team) {
+		};
+	}
+
+	/**
+	 * Collect all candidate pairs of one pass.
+	 */
+	private void pass() {
+		this.pairs.clear();
+		this.hash.forEachCandidatePair((a, b) -> {
+			this.pairs.add(a);
+			this.pairs.add(b);
+		});
+	}
+
+	/**
+	 * Check whether a pair has been reported (in any order).
+	 *
+	 * @param a
+	 *            the first element
+	 * @param b
+	 *            the second element
+	 * @return the amount of reports of the pair
+	 */
+	private int count(GameElement a, GameElement b) {
+		int count = 0;
+		for (int i = 0; i < this.pairs.size(); i += 2) {
+			GameElement first = this.pairs.get(i), second = this.pairs.get(i + 1);
+			if (first == a && second == b || first == b && second == a) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Overlapping elements which share several cells are reported once.
+	 */
+	@Test
+	public void testPairSharingSeveralCellsIsReportedOnce() {
+		GameElement player = SpatialHashTest.element(0.5f, 0.5f, 3, Team.PLAYER);
+		GameElement enemy = SpatialHashTest.element(1, 1, 3, Team.ENEMY);
+		this.hash.add(player);
+		this.hash.add(enemy);
+		this.pass();
+		assertEquals(1, this.count(player, enemy));
+		assertEquals(2, this.pairs.size());
+	}
+
+	/**
+	 * Elements in the same cell whose frames do not overlap are not reported.
+	 */
+	@Test
+	public void testSameCellWithoutOverlapIsNotReported() {
+		this.hash.add(SpatialHashTest.element(0.2f, 0.2f, 0.2f, Team.PLAYER));
+		this.hash.add(SpatialHashTest.element(0.8f, 0.8f, 0.2f, Team.ENEMY));
+		this.pass();
+		assertTrue(this.pairs.isEmpty());
+	}
+
+	/**
+	 * Teams which cannot interact are not reported and neutral teams are not
+	 * registered at all.
+	 */
+	@Test
+	public void testTeams() {
+		this.hash.add(SpatialHashTest.element(0, 0, 1, Team.ENEMY));
+		this.hash.add(SpatialHashTest.element(0, 0, 1, Team.ENEMY));
+		this.hash.add(SpatialHashTest.element(0, 0, 1, Team.BACKGROUND));
+		assertEquals(2, this.hash.size());
+		this.pass();
+		assertTrue(this.pairs.isEmpty());
+	}
+
+	/**
+	 * Cells with negative indices do not collide with cells of positive
+	 * indices (the key packs both signed indices).
+	 */
+	@Test
+	public void testNegativeCells() {
+		GameElement player = SpatialHashTest.element(-5.5f, -5.5f, 0.5f, Team.PLAYER);
+		GameElement enemy = SpatialHashTest.element(-5.4f, -5.4f, 0.5f, Team.ENEMY);
+		GameElement far = SpatialHashTest.element(-5.5f, 5.5f, 0.5f, Team.ENEMY);
+		this.hash.add(player);
+		this.hash.add(enemy);
+		this.hash.add(far);
+		this.pass();
+		assertEquals(1, this.count(player, enemy));
+		assertEquals(0, this.count(player, far));
+	}
+
+	/**
+	 * Elements are moved to their new cells by the next pass.
+	 */
+	@Test
+	public void testMovedElementChangesCells() {
+		GameElement player = SpatialHashTest.element(0, 0, 1, Team.PLAYER);
+		GameElement enemy = SpatialHashTest.element(10, 10, 1, Team.ENEMY);
+		this.hash.add(player);
+		this.hash.add(enemy);
+		this.pass();
+		assertTrue(this.pairs.isEmpty());
+		player.setPos(10.2f, 10.2f);
+		this.pass();
+		assertEquals(1, this.count(player, enemy));
+		player.setPos(-10, -10);
+		this.pass();
+		assertTrue(this.pairs.isEmpty());
+	}
+
+	/**
+	 * An element moved by a reaction earlier in the pass is tested with its
+	 * current frame, not with its cached cells.
+	 */
+	@Test
+	public void testFramesAreRereadDuringPass() {
+		GameElement player = SpatialHashTest.element(0.5f, 0.5f, 0.5f, Team.PLAYER);
+		GameElement first = SpatialHashTest.element(0.5f, 0.5f, 0.5f, Team.ENEMY);
+		GameElement second = SpatialHashTest.element(0.5f, 0.5f, 0.5f, Team.ENEMY);
+		this.hash.add(player);
+		this.hash.add(first);
+		this.hash.add(second);
+		this.pairs.clear();
+		this.hash.forEachCandidatePair((a, b) -> {
+			this.pairs.add(a);
+			this.pairs.add(b);
+			// the first reaction pushes the player out of the cell
+			player.setPos(50, 50);
+		});
+		assertEquals(2, this.pairs.size());
+	}
+
+	/**
+	 * Removing elements (swap-remove) keeps the remaining elements registered.
+	 */
+	@Test
+	public void testRemove() {
+		GameElement player = SpatialHashTest.element(0, 0, 1, Team.PLAYER);
+		GameElement first = SpatialHashTest.element(0, 0, 1, Team.ENEMY);
+		GameElement second = SpatialHashTest.element(0, 0, 1, Team.ENEMY);
+		this.hash.add(player);
+		this.hash.add(first);
+		this.hash.add(second);
+		this.pass();
+		assertEquals(1, this.count(player, first));
+		this.hash.remove(player);
+		this.hash.remove(player);
+		assertEquals(2, this.hash.size());
+		this.pass();
+		assertTrue(this.pairs.isEmpty());
+		this.hash.add(player);
+		this.hash.remove(first);
+		this.pass();
+		assertEquals(0, this.count(player, first));
+		assertEquals(1, this.count(player, second));
+		assertEquals(2, this.pairs.size());
+	}
+
+	/**
+	 * Elements covering too many cells are checked against everything.
+	 */
+	@Test
+	public void testOversizedElement() {
+		GameElement ground = SpatialHashTest.element(0, 0, 100, Team.INANIMATE);
+		GameElement player = SpatialHashTest.element(-40, 40, 1, Team.PLAYER);
+		GameElement enemy = SpatialHashTest.element(200, 200, 1, Team.ENEMY);
+		this.hash.add(ground);
+		this.hash.add(player);
+		this.hash.add(enemy);
+		this.pass();
+		assertEquals(1, this.count(ground, player));
+		assertEquals(0, this.count(ground, enemy));
+		assertEquals(2, this.pairs.size());
+		// shrinking moves the element back into the cells
+		ground.setSize(new Vec(1, 1));
+		ground.setPos(-40, 40);
+		this.pass();
+		assertEquals(1, this.count(ground, player));
+		assertEquals(2, this.pairs.size());
+	}
+
+	/**
+	 * Entries which leave a shared cell in any order keep the positions of
+	 * the remaining entries in their cells intact.
+	 */
+	@Test
+	public void testLeaveSharedCells() {
+		GameElement player = SpatialHashTest.element(0.5f, 0.5f, 1.5f, Team.PLAYER);
+		List<GameElement> enemies = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			GameElement enemy = SpatialHashTest.element(0.5f, 0.5f, 0.5f + i % 3, Team.ENEMY);
+			enemies.add(enemy);
+			this.hash.add(enemy);
+		}
+		this.hash.add(player);
+		this.pass();
+		for (GameElement enemy : enemies) {
+			assertEquals(1, this.count(player, enemy));
+		}
+		// move every other enemy away (from the middle of the cells)
+		for (int i = 0; i < enemies.size(); i += 2) {
+			enemies.get(i).setPos(-20, -20);
+		}
+		this.hash.remove(enemies.get(1));
+		this.pass();
+		for (int i = 0; i < enemies.size(); i++) {
+			assertEquals("enemy " + i, i % 2 == 0 || i == 1 ? 0 : 1, this.count(player, enemies.get(i)));
+		}
+	}
+
+	/**
+	 * Empty cells left behind by moving elements are dropped without losing
+	 * the occupied cells.
+	 */
+	@Test
+	public void testEmptyCellsAreDropped() {
+		GameElement player = SpatialHashTest.element(0.5f, 0.5f, 0.5f, Team.PLAYER);
+		GameElement enemy = SpatialHashTest.element(0.5f, 0.5f, 0.5f, Team.ENEMY);
+		GameElement runner = SpatialHashTest.element(0.5f, 0.5f, 0.5f, Team.ENEMY);
+		this.hash.add(player);
+		this.hash.add(enemy);
+		this.hash.add(runner);
+		for (int x = 0; x < 2000; x++) {
+			runner.setPos(x + 0.5f, 100.5f);
+			this.pass();
+			assertEquals(1, this.count(player, enemy));
+			assertEquals(2, this.pairs.size());
+		}
+		runner.setPos(0.5f, 0.5f);
+		this.pass();
+		assertEquals(1, this.count(player, runner));
+		assertEquals(4, this.pairs.size());
+	}
+}
@@ -0,0 +1,183 @@
+package rekit.logic.gameelements;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import rekit.core.Team;
+import rekit.primitives.geometry.Vec;
+
+/**
+ * Tests for {@link ElementStore}.
+ *
+ */
+public class ElementStoreTest {
+	/**
+	 * The store under test.
+	 */
+	private ElementStore store;
+
+	/**
+	 * Create an empty store.
+	 */
+	@Before
+	public void setUp() {
+		this.store = new ElementStore();
+	}
+
+	/**
+	 * Create an element.
+	 *
+	 * @param team
+	 *            the team (and so the z value)
+	 * @return the element
+	 */
+	private static GameElement element(Team team) {
+		return new GameElement(new Vec(), new Vec(), new Vec(1, 1), team) {
+		};
+	}
+
+	/**
+	 * Collect all elements in iteration order.
+	 *
+	 * @return the elements
+	 */
+	private List<GameElement> elements() {
+		List<GameElement> result = new ArrayList<>();
+		this.store.forEach(result::add);
+		return result;
+	}
+
+	/**
+	 * Elements are visited layer by layer, including the layers at the
+	 * boundaries of the words of the bitset (128 is the first bit of a word,
+	 * 255 the sign bit of the last one).
+	 */
+	@Test
+	public void testLayerOrder() {
+		GameElement effect = ElementStoreTest.element(Team.EFFECT);
+		GameElement inanimate = ElementStoreTest.element(Team.INANIMATE);
+		GameElement trigger = ElementStoreTest.element(Team.TRIGGER);
+		GameElement enemy = ElementStoreTest.element(Team.ENEMY);
+		this.store.add(effect);
+		this.store.add(inanimate);
+		this.store.add(trigger);
+		this.store.add(enemy);
+		assertEquals(255, ElementStore.layerOf(effect.getZ()));
+		assertEquals(128, ElementStore.layerOf(inanimate.getZ()));
+		assertEquals(Arrays.asList(trigger, inanimate, enemy, effect), this.elements());
+
+		List<GameElement> range = new ArrayList<>();
+		this.store.forEach(128, 255, range::add);
+		assertEquals(Arrays.asList(inanimate, enemy), range);
+		range.clear();
+		this.store.forEach(129, 256, range::add);
+		assertEquals(Arrays.asList(enemy, effect), range);
+	}
+
+	/**
+	 * Removing an element moves the last element of its layer into its slot.
+	 */
+	@Test
+	public void testSwapRemove() {
+		GameElement a = ElementStoreTest.element(Team.ENEMY);
+		GameElement b = ElementStoreTest.element(Team.ENEMY);
+		GameElement c = ElementStoreTest.element(Team.ENEMY);
+		this.store.add(a);
+		this.store.add(b);
+		this.store.add(c);
+		assertTrue(this.store.remove(a));
+		assertEquals(Arrays.asList(c, b), this.elements());
+		assertEquals(0, c.storeIndex);
+		assertEquals(-1, a.storeIndex);
+		assertFalse(this.store.contains(a));
+		assertFalse(this.store.remove(a));
+		// removing the last element does not move anything
+		assertTrue(this.store.remove(b));
+		assertEquals(Arrays.asList(c), this.elements());
+		assertTrue(this.store.remove(c));
+		assertEquals(0, this.store.size());
+		assertTrue(this.elements().isEmpty());
+	}
+
+	/**
+	 * Emptied layers are skipped and can be filled again.
+	 */
+	@Test
+	public void testEmptiedLayer() {
+		GameElement effect = ElementStoreTest.element(Team.EFFECT);
+		GameElement player = ElementStoreTest.element(Team.PLAYER);
+		this.store.add(effect);
+		this.store.add(player);
+		this.store.remove(effect);
+		assertEquals(Arrays.asList(player), this.elements());
+		this.store.add(effect);
+		assertEquals(Arrays.asList(player, effect), this.elements());
+	}
+
+	/**
+	 * Elements are only stored once and a stale slot of another store does
+	 * not count as contained.
+	 */
+	@Test
+	public void testContains() {
+		GameElement a = ElementStoreTest.element(Team.PICKUP);
+		assertTrue(this.store.add(a));
+		assertFalse(this.store.add(a));
+		assertEquals(1, this.store.size());
+		ElementStore other = new ElementStore();
+		assertFalse(other.contains(a));
+		this.store.clear();
+		assertFalse(this.store.contains(a));
+		assertEquals(-1, a.storeLayer);
+		assertTrue(this.store.add(a));
+	}
+
+	/**
+	 * Random adds and removes beyond the initial capacity keep the store
+	 * consistent.
+	 */
+	@Test
+	public void testRandomOperations() {
+		Random random = new Random(42);
+		Team[] teams = { Team.PLAYER, Team.ENEMY, Team.INANIMATE, Team.EFFECT };
+		List<GameElement> stored = new ArrayList<>();
+		List<GameElement> removed = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			if (stored.isEmpty() || random.nextInt(3) != 0) {
+				GameElement element = removed.isEmpty() || random.nextBoolean() ? ElementStoreTest.element(teams[random.nextInt(teams.length)])
+						: removed.remove(removed.size() - 1);
+				assertTrue(this.store.add(element));
+				stored.add(element);
+			} else {
+				GameElement element = stored.remove(random.nextInt(stored.size()));
+				assertTrue(this.store.remove(element));
+				removed.add(element);
+			}
+		}
+		assertEquals(stored.size(), this.store.size());
+		List<GameElement> visited = this.elements();
+		assertEquals(stored.size(), visited.size());
+		assertEquals(new HashSet<>(stored), new HashSet<>(visited));
+		Set<GameElement> gone = new HashSet<>(removed);
+		for (GameElement element : stored) {
+			assertTrue(this.store.contains(element));
+		}
+		for (GameElement element : gone) {
+			assertFalse(this.store.contains(element));
+		}
+		for (int i = 1; i < visited.size(); i++) {
+			assertTrue(visited.get(i - 1).getZ() <= visited.get(i).getZ());
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package rekit.logic.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import rekit.logic.gameelements.GameElementPool;
+import rekit.logic.gameelements.inanimate.Inanimate;
+import rekit.primitives.geometry.Vec;
+import rekit.primitives.image.RGBAColor;
+
+/**
+ * Tests for the ring buffer of {@link TileMap}.
+ *
+ */
+public class TileMapTest {
+	/**
+	 * The height of the map.
+	 */
+	private static final int HEIGHT = 4;
+	/**
+	 * The map under test.
+	 */
+	private TileMap map;
+
+	/**
+	 * Create an empty map.
+	 */
+	@Before
+	public void setUp() {
+		this.map = new TileMap(TileMapTest.HEIGHT);
+	}
+
+	/**
+	 * Create a tile.
+	 *
+	 * @param x
+	 *            the x position
+	 * @param y
+	 *            the y position
+	 * @return the tile
+	 */
+	private static Inanimate tile(int x, int y) {
+		return new Inanimate(new Vec(x, y), new Vec(1, 1), new RGBAColor(0, 0, 0)) {
+		};
+	}
+
+	/**
+	 * Collect the x positions of all tiles in iteration order.
+	 *
+	 * @return the x positions
+	 */
+	private List<Integer> columns() {
+		List<Integer> result = new ArrayList<>();
+		this.map.forEach(tile -> result.add(Math.round(tile.getPos().x)));
+		return result;
+	}
+
+	/**
+	 * Tiles can be found by their cell and replaced; rows outside of the map
+	 * are rejected.
+	 */
+	@Test
+	public void testSetAndGet() {
+		Inanimate first = TileMapTest.tile(3, 1);
+		Inanimate second = TileMapTest.tile(3, 1);
+		assertTrue(this.map.set(first));
+		assertSame(first, this.map.get(3, 1));
+		assertTrue(this.map.set(second));
+		assertSame(second, this.map.get(3, 1));
+		assertEquals(1, this.map.size());
+		assertFalse(this.map.set(TileMapTest.tile(3, -1)));
+		assertFalse(this.map.set(TileMapTest.tile(3, TileMapTest.HEIGHT)));
+		assertNull(this.map.get(3, 0));
+		assertNull(this.map.get(2, 1));
+		assertNull(this.map.get(4, 1));
+		assertEquals(3, this.map.getFirstX());
+		assertEquals(4, this.map.getEndX());
+	}
+
+	/**
+	 * Columns can be added before the first column (the head wraps to the
+	 * end of the buffer).
+	 */
+	@Test
+	public void testPrepend() {
+		this.map.set(TileMapTest.tile(10, 0));
+		this.map.set(TileMapTest.tile(5, 2));
+		this.map.set(TileMapTest.tile(7, 3));
+		assertEquals(5, this.map.getFirstX());
+		assertEquals(11, this.map.getEndX());
+		assertEquals(3, this.map.size());
+		assertEquals(Arrays.asList(5, 7, 10), this.columns());
+		assertEquals(5, Math.round(this.map.get(5, 2).getPos().x));
+	}
+
+	/**
+	 * Evicted columns are reused when the map grows at its end, so the
+	 * columns wrap around the end of the buffer.
+	 */
+	@Test
+	public void testWrapAroundAfterEviction() {
+		for (int x = 0; x < 64; x++) {
+			this.map.set(TileMapTest.tile(x, x % TileMapTest.HEIGHT));
+		}
+		this.map.evictBefore(60);
+		assertEquals(60, this.map.getFirstX());
+		assertEquals(4, this.map.size());
+		assertNull(this.map.get(59, 59 % TileMapTest.HEIGHT));
+		// the new columns wrap around into the evicted ones
+		for (int x = 64; x < 100; x++) {
+			this.map.set(TileMapTest.tile(x, x % TileMapTest.HEIGHT));
+		}
+		assertEquals(40, this.map.size());
+		for (int x = 60; x < 100; x++) {
+			Inanimate tile = this.map.get(x, x % TileMapTest.HEIGHT);
+			assertEquals(x, Math.round(tile.getPos().x));
+			assertNull(this.map.get(x, (x + 1) % TileMapTest.HEIGHT));
+		}
+		List<Integer> expected = new ArrayList<>();
+		for (int x = 60; x < 100; x++) {
+			expected.add(x);
+		}
+		assertEquals(expected, this.columns());
+	}
+
+	/**
+	 * Growing a wrapped buffer keeps the order of the columns.
+	 */
+	@Test
+	public void testGrowWrappedBuffer() {
+		for (int x = 0; x < 64; x++) {
+			this.map.set(TileMapTest.tile(x, 0));
+		}
+		this.map.evictBefore(32);
+		// wrap around and grow beyond the capacity
+		for (int x = 64; x < 200; x++) {
+			this.map.set(TileMapTest.tile(x, 0));
+		}
+		assertEquals(168, this.map.size());
+		for (int x = 32; x < 200; x++) {
+			assertEquals(x, Math.round(this.map.get(x, 0).getPos().x));
+		}
+		// prepending is not possible anymore behind the evicted columns
+		assertTrue(this.map.set(TileMapTest.tile(10, 0)));
+		assertNull(this.map.get(10, 0));
+		assertEquals(32, this.map.getFirstX());
+	}
+
+	/**
+	 * Evicting all columns empties the map and evictions are monotonic.
+	 */
+	@Test
+	public void testEvictAll() {
+		this.map.set(TileMapTest.tile(1, 0));
+		this.map.set(TileMapTest.tile(2, 0));
+		this.map.evictBefore(10);
+		assertEquals(0, this.map.size());
+		assertTrue(this.columns().isEmpty());
+		this.map.evictBefore(5);
+		assertTrue(this.map.set(TileMapTest.tile(7, 0)));
+		assertNull(this.map.get(7, 0));
+		assertTrue(this.map.set(TileMapTest.tile(12, 0)));
+		assertEquals(1, this.map.size());
+		assertEquals(12, this.map.getFirstX());
+	}
+
+	/**
+	 * Range iteration only visits the stored columns of the range.
+	 */
+	@Test
+	public void testForEachRange() {
+		for (int x = -3; x < 5; x++) {
+			this.map.set(TileMapTest.tile(x, 1));
+		}
+		List<Integer> result = new ArrayList<>();
+		this.map.forEach(-10, 0, tile -> result.add(Math.round(tile.getPos().x)));
+		assertEquals(Arrays.asList(-3, -2, -1), result);
+		result.clear();
+		this.map.forEach(3, 10, tile -> result.add(Math.round(tile.getPos().x)));
+		assertEquals(Arrays.asList(3, 4), result);
+	}
+
+	/**
+	 * Clearing resets the evicted columns.
+	 */
+	@Test
+	public void testClear() {
+		this.map.set(TileMapTest.tile(5, 0));
+		this.map.evictBefore(3);
+		this.map.clear();
+		assertEquals(0, this.map.size());
+		assertTrue(this.map.set(TileMapTest.tile(-20, 0)));
+		assertEquals(-20, Math.round(this.map.get(-20, 0).getPos().x));
+	}
+
+	/**
+	 * Replaced tiles and tiles behind the evicted columns are released to the
+	 * {@link GameElementPool}.
+	 */
+	@Test
+	public void testReleaseDroppedTiles() {
+		GameElementPool.clear();
+		Inanimate first = GameElementPool.acquire(PooledTile.class, () -> new PooledTile(3, 1));
+		Inanimate second = GameElementPool.acquire(PooledTile.class, () -> new PooledTile(3, 1));
+		this.map.set(first);
+		this.map.set(second);
+		// setting the same tile again does not release it
+		this.map.set(second);
+		assertSame(first, GameElementPool.acquire(PooledTile.class, () -> new PooledTile(0, 0)));
+		assertNotSame(second, GameElementPool.acquire(PooledTile.class, () -> new PooledTile(0, 0)));
+		Inanimate behind = GameElementPool.acquire(PooledTile.class, () -> new PooledTile(2, 0));
+		this.map.evictBefore(5);
+		assertTrue(this.map.set(behind));
+		assertEquals(0, this.map.size());
+		// the pool returns the last released tile first
+		assertSame(behind, GameElementPool.acquire(PooledTile.class, () -> new PooledTile(0, 0)));
+		assertSame(second, GameElementPool.acquire(PooledTile.class, () -> new PooledTile(0, 0)));
+		GameElementPool.clear();
+	}
+
+	/**
+	 * A tile which can be pooled.
+	 *
+	 */
+	private static final class PooledTile extends Inanimate {
+		/**
+		 * Create a new tile.
+		 *
+		 * @param x
+		 *            the x position
+		 * @param y
+		 *            the y position
+		 */
+		private PooledTile(int x, int y) {
+			super(new Vec(x, y), new Vec(1, 1), new RGBAColor(0, 0, 0));
+		}
+
+		@Override
+		public boolean isPoolable() {
+			return true;
+		}
+	}
+}
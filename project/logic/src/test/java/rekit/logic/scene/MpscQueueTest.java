@@ -0,0 +1,119 @@
+package rekit.logic.scene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link MpscQueue}.
+ *
+ */
+public class MpscQueueTest {
+	/**
+	 * Items are drained in the order they have been offered.
+	 */
+	@Test
+	public void testOrder() {
+		MpscQueue<Integer> queue = new MpscQueue<>();
+		queue.offer(1);
+		queue.offer(2);
+		queue.offer(3);
+		List<Integer> result = new ArrayList<>();
+		queue.drain(result::add);
+		assertEquals(Arrays.asList(1, 2, 3), result);
+		result.clear();
+		queue.drain(result::add);
+		assertTrue(result.isEmpty());
+	}
+
+	/**
+	 * Items offered while draining are kept for the next drain.
+	 */
+	@Test
+	public void testOfferWhileDraining() {
+		MpscQueue<Integer> queue = new MpscQueue<>();
+		queue.offer(1);
+		queue.offer(2);
+		List<Integer> result = new ArrayList<>();
+		queue.drain(item -> {
+			result.add(item);
+			queue.offer(item + 10);
+		});
+		assertEquals(Arrays.asList(1, 2), result);
+		result.clear();
+		queue.drain(result::add);
+		assertEquals(Arrays.asList(11, 12), result);
+	}
+
+	/**
+	 * Clearing drops all pending items.
+	 */
+	@Test
+	public void testClear() {
+		MpscQueue<Integer> queue = new MpscQueue<>();
+		queue.offer(1);
+		queue.clear();
+		queue.offer(2);
+		List<Integer> result = new ArrayList<>();
+		queue.drain(result::add);
+		assertEquals(Arrays.asList(2), result);
+	}
+
+	/**
+	 * Concurrent producers lose no items and the items of each producer keep
+	 * their order.
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted
+	 */
+	@Test(timeout = 30000)
+	public void testConcurrentProducers() throws InterruptedException {
+		final int producers = 4;
+		final int items = 20000;
+		MpscQueue<int[]> queue = new MpscQueue<>();
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(producers);
+		for (int p = 0; p < producers; p++) {
+			final int producer = p;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < items; i++) {
+					queue.offer(new int[] { producer, i });
+				}
+				done.countDown();
+			});
+			thread.setDaemon(true);
+			thread.start();
+		}
+		int[] next = new int[producers];
+		int[] received = { 0 };
+		start.countDown();
+		while (received[0] < producers * items) {
+			boolean finished = done.getCount() == 0;
+			queue.drain(item -> {
+				assertEquals(next[item[0]], item[1]);
+				next[item[0]]++;
+				received[0]++;
+			});
+			if (finished && received[0] < producers * items) {
+				// everything has been offered before this drain
+				break;
+			}
+		}
+		assertEquals(producers * items, received[0]);
+		for (int p = 0; p < producers; p++) {
+			assertEquals(items, next[p]);
+		}
+	}
+}
@@ -0,0 +1,385 @@
+package rekit.logic.scene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import rekit.config.GameConf;
+import rekit.core.CameraTarget;
+import rekit.core.Team;
+import rekit.core.VirtualClock;
+import rekit.logic.DeferredCommands;
+import rekit.logic.GameModel;
+import rekit.logic.ILevelScene;
+import rekit.logic.gameelements.GameElement;
+import rekit.logic.gameelements.entities.Player;
+import rekit.logic.gameelements.particles.ParticleSystem;
+import rekit.logic.gui.menu.MenuItem;
+import rekit.logic.level.Level;
+import rekit.primitives.geometry.Vec;
+
+/**
+ * Tests for the parallel update of {@link Scene} (see
+ * {@link GameConf#PARALLEL_UPDATE}).
+ *
+ */
+public class ParallelUpdateTest {
+	/**
+	 * The amount of simulated ticks.
+	 */
+	private static final int TICKS = 60;
+	/**
+	 * The amount of initial elements (several chunks per run).
+	 */
+	private static final int POPULATION = 600;
+	/**
+	 * The value of {@link GameConf#PARALLEL_UPDATE} before the test.
+	 */
+	private boolean parallelUpdate;
+
+	/**
+	 * Remember the configuration.
+	 */
+	@Before
+	public void setUp() {
+		this.parallelUpdate = GameConf.PARALLEL_UPDATE;
+	}
+
+	/**
+	 * Restore the configuration.
+	 */
+	@After
+	public void tearDown() {
+		GameConf.PARALLEL_UPDATE = this.parallelUpdate;
+	}
+
+	/**
+	 * Simulate a seeded population. Every eleventh element is serial and
+	 * placed in the middle z-layer, so it splits the runs of parallel
+	 * elements.
+	 *
+	 * @param parallel
+	 *            the value of {@link GameConf#PARALLEL_UPDATE}
+	 * @param ownRandom
+	 *            indicates whether the elements use their own random
+	 *            generators instead of {@link DeferredCommands#random()}
+	 * @return the added and removed elements of every tick followed by all
+	 *         remaining elements with their positions
+	 */
+	private static List<String> simulate(boolean parallel, boolean ownRandom) {
+		GameConf.PARALLEL_UPDATE = parallel;
+		GameConf.PRNG.setSeed(42);
+		VirtualClock clock = new VirtualClock();
+		TestScene scene = new TestScene(new GameModel(clock));
+		scene.init();
+		Random seeds = new Random(7);
+		for (int i = 0; i < ParallelUpdateTest.POPULATION; i++) {
+			Vec pos = new Vec(seeds.nextInt(20), seeds.nextInt(10));
+			int z = Team.ENEMY.zRange.min + i % 11;
+			scene.addGameElement(new Walker(String.valueOf(i), pos, z, seeds.nextLong(), ownRandom));
+		}
+		for (int tick = 0; tick < ParallelUpdateTest.TICKS; tick++) {
+			clock.advance(GameConf.LOGIC_DELTA * 1_000_000L);
+			scene.logicLoop();
+			scene.log.add("tick " + tick);
+		}
+		scene.applyToGameElements(element -> scene.log.add(element.toString()));
+		return scene.log;
+	}
+
+	/**
+	 * A parallel update results in the same positions, additions and removals
+	 * as a serial update (as long as the elements do not share a random
+	 * generator, see {@link DeferredCommands#random()}).
+	 */
+	@Test(timeout = 60000)
+	public void testParallelEqualsSerial() {
+		List<String> serial = ParallelUpdateTest.simulate(false, true);
+		List<String> parallel = ParallelUpdateTest.simulate(true, true);
+		// children have been spawned
+		assertTrue(serial.stream().filter(line -> line.startsWith("+")).count() > ParallelUpdateTest.POPULATION);
+		assertTrue(serial.stream().anyMatch(line -> line.startsWith("-")));
+		assertEquals(serial, parallel);
+	}
+
+	/**
+	 * Parallel updates which use {@link DeferredCommands#random()} do not
+	 * depend on the scheduling of the chunks.
+	 */
+	@Test(timeout = 60000)
+	public void testParallelIsReproducible() {
+		List<String> first = ParallelUpdateTest.simulate(true, false);
+		for (int run = 0; run < 3; run++) {
+			assertEquals(first, ParallelUpdateTest.simulate(true, false));
+		}
+	}
+
+	/**
+	 * A serial element is updated after all parallel elements of the lower
+	 * z-layers and before all parallel elements of the higher z-layers.
+	 */
+	@Test(timeout = 60000)
+	public void testSerialElementSplitsRun() {
+		GameConf.PARALLEL_UPDATE = true;
+		VirtualClock clock = new VirtualClock();
+		TestScene scene = new TestScene(new GameModel(clock));
+		scene.init();
+		AtomicInteger below = new AtomicInteger(), above = new AtomicInteger();
+		List<String> seen = new ArrayList<>();
+		final int count = 200;
+		for (int i = 0; i < count; i++) {
+			scene.addGameElement(new Counter(Team.ENEMY.zRange.min, below));
+			scene.addGameElement(new Counter(Team.ENEMY.zRange.max, above));
+		}
+		scene.addGameElement(new Probe(() -> seen.add(below.get() + "/" + above.get())));
+		for (int tick = 0; tick < 5; tick++) {
+			below.set(0);
+			above.set(0);
+			clock.advance(GameConf.LOGIC_DELTA * 1_000_000L);
+			scene.logicLoop();
+			assertEquals(count, below.get());
+			assertEquals(count, above.get());
+			assertEquals(count + "/0", seen.get(tick));
+		}
+	}
+
+	/**
+	 * A minimal level scene which logs its additions and removals.
+	 *
+	 */
+	private static final class TestScene extends Scene implements ILevelScene {
+		/**
+		 * The log.
+		 */
+		private final List<String> log = new ArrayList<>();
+
+		/**
+		 * Create the scene.
+		 *
+		 * @param model
+		 *            the model
+		 */
+		private TestScene(GameModel model) {
+			super(model);
+		}
+
+		@Override
+		protected void gameElementAdded(GameElement element) {
+			this.log.add("+" + element);
+		}
+
+		@Override
+		protected void gameElementRemoved(GameElement element) {
+			this.log.add("-" + element);
+		}
+
+		@Override
+		public float getCameraOffset() {
+			return 0;
+		}
+
+		@Override
+		public void setCameraTarget(CameraTarget cameraTarget) {
+		}
+
+		@Override
+		public MenuItem getMenu() {
+			return null;
+		}
+
+		@Override
+		public Player getPlayer() {
+			return null;
+		}
+
+		@Override
+		public Level getLevel() {
+			return null;
+		}
+
+		@Override
+		public ParticleSystem getParticleSystem() {
+			return null;
+		}
+
+		@Override
+		public void end(boolean won) {
+		}
+
+		@Override
+		public boolean hasEnded() {
+			return false;
+		}
+
+		@Override
+		public boolean isOffsetWildCard() {
+			return true;
+		}
+
+		@Override
+		public void setOffsetWildCard(boolean wildcard) {
+		}
+	}
+
+	/**
+	 * An element which walks randomly, spawns children and destroys itself.
+	 * Elements in the middle z-layer of {@link Team#ENEMY} are serial.
+	 *
+	 */
+	private static final class Walker extends GameElement {
+		/**
+		 * The id (children append their number to the id of their parent).
+		 */
+		private final String id;
+		/**
+		 * The z-layer.
+		 */
+		private final int z;
+		/**
+		 * The own random generator or {@code null} to use
+		 * {@link DeferredCommands#random()}.
+		 */
+		private final Random random;
+		/**
+		 * The amount of spawned children.
+		 */
+		private int children;
+
+		/**
+		 * Create a new walker.
+		 *
+		 * @param id
+		 *            the id
+		 * @param pos
+		 *            the start position
+		 * @param z
+		 *            the z-layer
+		 * @param seed
+		 *            the seed of the own random generator
+		 * @param ownRandom
+		 *            indicates whether the own random generator shall be used
+		 */
+		private Walker(String id, Vec pos, int z, long seed, boolean ownRandom) {
+			super(pos, new Vec(), new Vec(0.5f, 0.5f), Team.ENEMY);
+			this.id = id;
+			this.z = z;
+			this.random = ownRandom ? new Random(seed) : null;
+		}
+
+		@Override
+		public void logicLoop() {
+			super.logicLoop();
+			Random r = this.random != null ? this.random : DeferredCommands.random();
+			Vec pos = this.getPos();
+			this.setPos(pos.x + r.nextFloat() - 0.5f, Math.max(0, Math.min(10, pos.y + r.nextFloat() - 0.5f)));
+			int action = r.nextInt(40);
+			if (action == 0) {
+				this.getScene().addGameElement(new Walker(this.id + "." + this.children++, pos, this.z, r.nextLong(), this.random != null));
+			} else if (action == 1) {
+				this.destroy();
+			}
+		}
+
+		@Override
+		public Integer getZHint() {
+			return this.z;
+		}
+
+		@Override
+		public boolean isParallelUpdatable() {
+			return this.z != Team.ENEMY.zRange.min + 5;
+		}
+
+		@Override
+		public String toString() {
+			Vec pos = this.getPos();
+			return this.id + " " + pos.x + " " + pos.y;
+		}
+	}
+
+	/**
+	 * A parallel element which counts its updates.
+	 *
+	 */
+	private static final class Counter extends GameElement {
+		/**
+		 * The z-layer.
+		 */
+		private final int z;
+		/**
+		 * The counter of the updates.
+		 */
+		private final AtomicInteger updates;
+
+		/**
+		 * Create a new counter.
+		 *
+		 * @param z
+		 *            the z-layer
+		 * @param updates
+		 *            the counter of the updates
+		 */
+		private Counter(int z, AtomicInteger updates) {
+			super(new Vec(), new Vec(), new Vec(1, 1), Team.ENEMY);
+			this.z = z;
+			this.updates = updates;
+		}
+
+		@Override
+		public void logicLoop() {
+			super.logicLoop();
+			this.updates.incrementAndGet();
+		}
+
+		@Override
+		public Integer getZHint() {
+			return this.z;
+		}
+	}
+
+	/**
+	 * A serial element in the middle z-layer of {@link Team#ENEMY}.
+	 *
+	 */
+	private static final class Probe extends GameElement {
+		/**
+		 * The action of an update.
+		 */
+		private final Runnable action;
+
+		/**
+		 * Create a new probe.
+		 *
+		 * @param action
+		 *            the action of an update
+		 */
+		private Probe(Runnable action) {
+			super(new Vec(), new Vec(), new Vec(1, 1), Team.ENEMY);
+			this.action = action;
+		}
+
+		@Override
+		public void logicLoop() {
+			super.logicLoop();
+			this.action.run();
+		}
+
+		@Override
+		public Integer getZHint() {
+			return (Team.ENEMY.zRange.min + Team.ENEMY.zRange.max) / 2;
+		}
+
+		@Override
+		public boolean isParallelUpdatable() {
+			return false;
+		}
+	}
+}